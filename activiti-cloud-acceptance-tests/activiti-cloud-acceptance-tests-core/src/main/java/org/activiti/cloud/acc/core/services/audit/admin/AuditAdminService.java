@@ -18,8 +18,6 @@ package org.activiti.cloud.acc.core.services.audit.admin;
 import feign.Param;
 import feign.RequestLine;
 import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
-import org.springframework.hateoas.CollectionModel;
-import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
 
 public interface AuditAdminService {
@@ -30,5 +28,5 @@ public interface AuditAdminService {
     PagedModel<CloudRuntimeEvent> getEvents();
 
     @RequestLine("DELETE /admin/v1/events")
-    CollectionModel<EntityModel<CloudRuntimeEvent>> deleteEvents();
+    void deleteEvents();
 }
@@ -25,8 +25,6 @@ import org.activiti.cloud.acc.shared.service.BaseService;
 import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.hateoas.CollectionModel;
-import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
 
 @EnableRuntimeFeignContext
@@ -51,8 +49,8 @@ public class AuditAdminSteps {
     }
 
     @Step
-    public CollectionModel<EntityModel<CloudRuntimeEvent>> deleteEvents() {
-        return auditAdminService.deleteEvents();
+    public void deleteEvents() {
+        auditAdminService.deleteEvents();
     }
 
     @Step
@@ -25,6 +25,7 @@ import org.springframework.hateoas.PagedModel;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -34,5 +35,8 @@ import org.springframework.web.bind.annotation.RestController;
 )
 public interface AuditEventsAdminController {
     @RequestMapping(method = RequestMethod.GET)
-    PagedModel<EntityModel<CloudRuntimeEvent<?, CloudRuntimeEventType>>> findAll(Pageable pageable);
+    PagedModel<EntityModel<CloudRuntimeEvent<?, CloudRuntimeEventType>>> findAll(
+        @RequestParam(value = "include", required = false) String include,
+        Pageable pageable
+    );
 }
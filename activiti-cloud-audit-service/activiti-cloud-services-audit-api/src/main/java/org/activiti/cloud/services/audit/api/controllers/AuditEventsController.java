@@ -41,6 +41,7 @@ public interface AuditEventsController {
     @RequestMapping(method = RequestMethod.GET)
     PagedModel<EntityModel<CloudRuntimeEvent<?, CloudRuntimeEventType>>> findAll(
         @RequestParam(value = "search", required = false) String search,
+        @RequestParam(value = "include", required = false) String include,
         Pageable pageable
     );
 }
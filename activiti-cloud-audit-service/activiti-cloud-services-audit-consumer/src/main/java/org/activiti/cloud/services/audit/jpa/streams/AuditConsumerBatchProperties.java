@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.streams;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = AuditConsumerBatchProperties.AUDIT_CONSUMER_BATCH_PREFIX)
+public class AuditConsumerBatchProperties {
+
+    public static final String AUDIT_CONSUMER_BATCH_PREFIX = "activiti.cloud.audit.consumer.batch";
+
+    /**
+     * Writes the audit events of the messages received concurrently in shared batches, each in a single
+     * transaction, instead of writing the events of each message in its own transaction. The messages are
+     * acknowledged once their batch is committed, so that the binding concurrency bounds the number of messages
+     * in a batch. Default is false
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of audit events above which a batch is written without waiting for more messages. Default is 500
+     */
+    private int maxSize = 500;
+
+    /**
+     * Maximum time a batch waits for the messages being submitted concurrently before being written. A batch is
+     * written straight away when no other message is being submitted. Default is 50ms
+     */
+    private Duration maxWait = Duration.ofMillis(50);
+
+    /**
+     * Number of inserts sent to the database in a single JDBC batch. Default is 50, the allocation size of the
+     * audit event ids
+     */
+    private int jdbcBatchSize = 50;
+
+    public AuditConsumerBatchProperties() {
+        // default constructor
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    public void setMaxWait(Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+
+    public int getJdbcBatchSize() {
+        return jdbcBatchSize;
+    }
+
+    public void setJdbcBatchSize(int jdbcBatchSize) {
+        this.jdbcBatchSize = jdbcBatchSize;
+    }
+}
@@ -51,25 +51,27 @@ public class AuditConsumerChannelHandlerImpl implements AuditConsumerChannelHand
         this.eventConverters = eventConverters;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void receiveCloudRuntimeEvent(@Headers Map<String, Object> headers, CloudRuntimeEvent<?, ?>... events) {
         if (events != null) {
-            AtomicInteger counter = new AtomicInteger(0);
-            List<AuditEventEntity> entities = new ArrayList<>();
-            for (CloudRuntimeEvent event : events) {
-                EventToEntityConverter converter = eventConverters.getConverterByEventTypeName(
-                    event.getEventType().name()
-                );
-                if (converter != null) {
-                    ((CloudRuntimeEventImpl) event).setMessageId((headers.get(MessageHeaders.ID).toString()));
-                    ((CloudRuntimeEventImpl) event).setSequenceNumber(counter.getAndIncrement());
-                    entities.add((AuditEventEntity) converter.convertToEntity(event));
-                } else {
-                    LOGGER.warn(">>> Ignoring CloudRuntimeEvents type: " + event.getEventType().name());
-                }
+            eventsRepository.saveAll(toEntities(headers, events));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected List<AuditEventEntity> toEntities(Map<String, Object> headers, CloudRuntimeEvent<?, ?>... events) {
+        AtomicInteger counter = new AtomicInteger(0);
+        List<AuditEventEntity> entities = new ArrayList<>();
+        for (CloudRuntimeEvent event : events) {
+            EventToEntityConverter converter = eventConverters.getConverterByEventTypeName(event.getEventType().name());
+            if (converter != null) {
+                ((CloudRuntimeEventImpl) event).setMessageId((headers.get(MessageHeaders.ID).toString()));
+                ((CloudRuntimeEventImpl) event).setSequenceNumber(counter.getAndIncrement());
+                entities.add((AuditEventEntity) converter.convertToEntity(event));
+            } else {
+                LOGGER.warn(">>> Ignoring CloudRuntimeEvents type: " + event.getEventType().name());
             }
-            eventsRepository.saveAll(entities);
         }
+        return entities;
     }
 }
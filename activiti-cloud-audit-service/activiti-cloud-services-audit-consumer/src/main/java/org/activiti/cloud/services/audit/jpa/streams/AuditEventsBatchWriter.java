@@ -0,0 +1,224 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.streams;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Writes the audit events submitted concurrently in shared batches, each in a single transaction, by a dedicated
+ * thread. A batch only waits for the submissions already under way, so that a lone submission is written straight away
+ * instead of waiting for messages that may never come. The submitting threads wait for the batch holding their events
+ * to be committed, so that their messages are only acknowledged once their events are stored. When a batch fails, the
+ * events of each submission are written on their own so that a single faulty message does not fail the others.
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class AuditEventsBatchWriter implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuditEventsBatchWriter.class);
+
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final EventsRepository eventsRepository;
+
+    private final TransactionOperations transactionOperations;
+
+    private final int maxSize;
+
+    private final long maxWaitNanos;
+
+    private final Timer batchTimer;
+
+    private final DistributionSummary batchSizeSummary;
+
+    private final BlockingQueue<PendingWrite> pendingWrites = new LinkedBlockingQueue<>();
+
+    // submissions handed to write() that the writer thread has not taken yet
+    private final AtomicInteger arrivingWrites = new AtomicInteger();
+
+    private final Thread writerThread;
+
+    private volatile boolean running = true;
+
+    public AuditEventsBatchWriter(
+        EventsRepository eventsRepository,
+        TransactionOperations transactionOperations,
+        int maxSize,
+        Duration maxWait,
+        MeterRegistry meterRegistry
+    ) {
+        this.eventsRepository = eventsRepository;
+        this.transactionOperations = transactionOperations;
+        this.maxSize = maxSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.batchTimer =
+            Timer
+                .builder("activiti.audit.consumer.batch.write")
+                .description("Time to write a batch of audit events")
+                .register(meterRegistry);
+        this.batchSizeSummary =
+            DistributionSummary
+                .builder("activiti.audit.consumer.batch.size")
+                .description("Number of audit events written in a batch")
+                .baseUnit("events")
+                .register(meterRegistry);
+        this.writerThread = new Thread(this::writeBatches, "audit-events-batch-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Waits for the given events to be written with the events submitted concurrently.
+     */
+    public void write(List<AuditEventEntity> entities) {
+        if (entities.isEmpty()) {
+            return;
+        }
+
+        PendingWrite pendingWrite = new PendingWrite(entities);
+        arrivingWrites.incrementAndGet();
+        pendingWrites.add(pendingWrite);
+        // when closing, the events may have been submitted after the writer thread has stopped
+        if (!running && pendingWrites.remove(pendingWrite)) {
+            arrivingWrites.decrementAndGet();
+            pendingWrite.fail(new IllegalStateException("The audit events batch writer is closed"));
+        }
+
+        try {
+            pendingWrite.written.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        writerThread.join(Duration.ofNanos(maxWaitNanos).plusSeconds(30).toMillis());
+
+        PendingWrite pendingWrite;
+        while ((pendingWrite = pendingWrites.poll()) != null) {
+            arrivingWrites.decrementAndGet();
+            pendingWrite.fail(new IllegalStateException("The audit events batch writer is closed"));
+        }
+    }
+
+    private void writeBatches() {
+        while (running || !pendingWrites.isEmpty()) {
+            try {
+                PendingWrite first = pendingWrites.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    arrivingWrites.decrementAndGet();
+                    writeBatch(collectBatch(first));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private List<PendingWrite> collectBatch(PendingWrite first) throws InterruptedException {
+        List<PendingWrite> batch = new ArrayList<>();
+        batch.add(first);
+        int size = first.entities.size();
+        long deadline = System.nanoTime() + maxWaitNanos;
+
+        // the batch is written as soon as no other submission is under way: waiting for messages that are not
+        // received yet would hold the messages of the batch, and so the consumer threads, for the whole max wait
+        while (size < maxSize && arrivingWrites.get() > 0) {
+            PendingWrite next = pendingWrites.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            arrivingWrites.decrementAndGet();
+            batch.add(next);
+            size += next.entities.size();
+        }
+        return batch;
+    }
+
+    int getPendingWrites() {
+        return pendingWrites.size();
+    }
+
+    private void writeBatch(List<PendingWrite> batch) {
+        List<AuditEventEntity> entities = batch
+            .stream()
+            .flatMap(pendingWrite -> pendingWrite.entities.stream())
+            .toList();
+        long start = System.nanoTime();
+        try {
+            save(entities);
+            batch.forEach(PendingWrite::complete);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Unable to write a batch of {} audit events, writing them by message", entities.size(), e);
+            batch.forEach(this::writeAlone);
+        } finally {
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSizeSummary.record(entities.size());
+        }
+    }
+
+    private void writeAlone(PendingWrite pendingWrite) {
+        // the ids generated for the rolled back batch must not be taken as existing events
+        pendingWrite.entities.forEach(entity -> entity.setId(null));
+        try {
+            save(pendingWrite.entities);
+            pendingWrite.complete();
+        } catch (RuntimeException e) {
+            pendingWrite.fail(e);
+        }
+    }
+
+    private void save(List<AuditEventEntity> entities) {
+        transactionOperations.executeWithoutResult(status -> eventsRepository.saveAll(entities));
+    }
+
+    private static class PendingWrite {
+
+        private final List<AuditEventEntity> entities;
+
+        private final CompletableFuture<Void> written = new CompletableFuture<>();
+
+        PendingWrite(List<AuditEventEntity> entities) {
+            this.entities = entities;
+        }
+
+        void complete() {
+            written.complete(null);
+        }
+
+        void fail(Throwable cause) {
+            written.completeExceptionally(cause);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.streams;
+
+import java.util.Map;
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.activiti.cloud.services.audit.api.converters.APIEventToEntityConverters;
+import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.springframework.messaging.handler.annotation.Headers;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Stores the audit events of each message with the events of the messages received concurrently, returning
+ * once they are committed.
+ */
+public class BatchingAuditConsumerChannelHandler extends AuditConsumerChannelHandlerImpl {
+
+    private final AuditEventsBatchWriter batchWriter;
+
+    public BatchingAuditConsumerChannelHandler(
+        EventsRepository eventsRepository,
+        APIEventToEntityConverters eventConverters,
+        AuditEventsBatchWriter batchWriter
+    ) {
+        super(eventsRepository, eventConverters);
+        this.batchWriter = batchWriter;
+    }
+
+    // the batch is written in its own transaction by the batch writer
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Override
+    public void receiveCloudRuntimeEvent(@Headers Map<String, Object> headers, CloudRuntimeEvent<?, ?>... events) {
+        if (events != null) {
+            batchWriter.write(toEntities(headers, events));
+        }
+    }
+}
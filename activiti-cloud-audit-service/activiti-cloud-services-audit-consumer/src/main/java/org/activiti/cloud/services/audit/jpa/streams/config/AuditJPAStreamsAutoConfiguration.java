@@ -15,6 +15,8 @@
  */
 package org.activiti.cloud.services.audit.jpa.streams.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -25,24 +27,78 @@ import org.activiti.cloud.services.audit.api.converters.APIEventToEntityConverte
 import org.activiti.cloud.services.audit.api.streams.AuditConsumerChannelHandler;
 import org.activiti.cloud.services.audit.api.streams.AuditConsumerChannels;
 import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.activiti.cloud.services.audit.jpa.streams.AuditConsumerBatchProperties;
 import org.activiti.cloud.services.audit.jpa.streams.AuditConsumerChannelHandlerImpl;
+import org.activiti.cloud.services.audit.jpa.streams.AuditEventsBatchWriter;
+import org.activiti.cloud.services.audit.jpa.streams.BatchingAuditConsumerChannelHandler;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.messaging.Message;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @AutoConfiguration
+@EnableConfigurationProperties(AuditConsumerBatchProperties.class)
 public class AuditJPAStreamsAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
     public AuditConsumerChannelHandler auditConsumerChannelHandler(
         EventsRepository eventsRepository,
-        APIEventToEntityConverters eventConverters
+        APIEventToEntityConverters eventConverters,
+        ObjectProvider<AuditEventsBatchWriter> batchWriter
     ) {
+        AuditEventsBatchWriter auditEventsBatchWriter = batchWriter.getIfAvailable();
+        if (auditEventsBatchWriter != null) {
+            return new BatchingAuditConsumerChannelHandler(eventsRepository, eventConverters, auditEventsBatchWriter);
+        }
         return new AuditConsumerChannelHandlerImpl(eventsRepository, eventConverters);
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+        prefix = AuditConsumerBatchProperties.AUDIT_CONSUMER_BATCH_PREFIX,
+        name = "enabled",
+        havingValue = "true"
+    )
+    public AuditEventsBatchWriter auditEventsBatchWriter(
+        EventsRepository eventsRepository,
+        PlatformTransactionManager transactionManager,
+        AuditConsumerBatchProperties batchProperties,
+        ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        return new AuditEventsBatchWriter(
+            eventsRepository,
+            new TransactionTemplate(transactionManager),
+            batchProperties.getMaxSize(),
+            batchProperties.getMaxWait(),
+            meterRegistry.getIfAvailable(() -> Metrics.globalRegistry)
+        );
+    }
+
+    @Bean
+    @ConditionalOnProperty(
+        prefix = AuditConsumerBatchProperties.AUDIT_CONSUMER_BATCH_PREFIX,
+        name = "enabled",
+        havingValue = "true"
+    )
+    public HibernatePropertiesCustomizer auditEventsBatchHibernatePropertiesCustomizer(
+        AuditConsumerBatchProperties batchProperties
+    ) {
+        // the inserts of the different event types are grouped so that they can be sent in JDBC batches
+        return hibernateProperties -> {
+            hibernateProperties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchProperties.getJdbcBatchSize());
+            hibernateProperties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+        };
+    }
+
     @FunctionBinding(input = AuditConsumerChannels.AUDIT_CONSUMER)
     @Bean
     public Consumer<Message<List<CloudRuntimeEvent<?, ?>>>> auditConsumerChannelHandlerConsumer(
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.streams;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.events.ProcessCreatedAuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+@ExtendWith(MockitoExtension.class)
+public class AuditEventsBatchWriterTest {
+
+    @Mock
+    private EventsRepository eventsRepository;
+
+    @Captor
+    private ArgumentCaptor<Iterable<AuditEventEntity>> entitiesCaptor;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AuditEventsBatchWriter batchWriter;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        batchWriter =
+            new AuditEventsBatchWriter(
+                eventsRepository,
+                TransactionOperations.withoutTransaction(),
+                2,
+                Duration.ofSeconds(10),
+                meterRegistry
+            );
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        batchWriter.close();
+    }
+
+    @Test
+    public void should_writeConcurrentSubmissionsInASingleBatch() throws Exception {
+        //given
+        AuditEventEntity blocking = new ProcessCreatedAuditEventEntity();
+        AuditEventEntity first = new ProcessCreatedAuditEventEntity();
+        AuditEventEntity second = new ProcessCreatedAuditEventEntity();
+        CountDownLatch blockingWriteStarted = new CountDownLatch(1);
+        given(eventsRepository.saveAll(any()))
+            .willAnswer(invocation -> {
+                Iterable<AuditEventEntity> entities = invocation.getArgument(0);
+                if (entities.iterator().next() == blocking) {
+                    blockingWriteStarted.countDown();
+                    // the next submissions queue up while this batch is written
+                    while (batchWriter.getPendingWrites() < 2) {
+                        Thread.sleep(10);
+                    }
+                }
+                return entities;
+            });
+        CompletableFuture<Void> blockingWrite = CompletableFuture.runAsync(() -> batchWriter.write(List.of(blocking)));
+        assertThat(blockingWriteStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        //when
+        CompletableFuture<Void> firstWrite = CompletableFuture.runAsync(() -> batchWriter.write(List.of(first)));
+        CompletableFuture<Void> secondWrite = CompletableFuture.runAsync(() -> batchWriter.write(List.of(second)));
+        CompletableFuture.allOf(blockingWrite, firstWrite, secondWrite).get(5, TimeUnit.SECONDS);
+
+        //then
+        verify(eventsRepository, times(2)).saveAll(entitiesCaptor.capture());
+        assertThat(entitiesCaptor.getAllValues().get(1)).containsExactlyInAnyOrder(first, second);
+        assertThat(meterRegistry.get("activiti.audit.consumer.batch.write").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("activiti.audit.consumer.batch.size").summary().totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    public void should_writeStraightAway_when_noOtherSubmissionIsUnderWay() throws Exception {
+        //given
+        AuditEventEntity entity = new ProcessCreatedAuditEventEntity();
+
+        //when
+        CompletableFuture<Void> write = CompletableFuture.runAsync(() -> batchWriter.write(List.of(entity)));
+
+        //then the batch does not wait for the 10s max wait
+        write.get(2, TimeUnit.SECONDS);
+        verify(eventsRepository).saveAll(entitiesCaptor.capture());
+        assertThat(entitiesCaptor.getValue()).containsExactly(entity);
+    }
+
+    @Test
+    public void should_writeSubmissionsOnTheirOwn_when_batchFails() throws Exception {
+        //given
+        AuditEventEntity valid = new ProcessCreatedAuditEventEntity();
+        AuditEventEntity faulty = new ProcessCreatedAuditEventEntity();
+        given(eventsRepository.saveAll(any()))
+            .willAnswer(invocation -> {
+                Iterable<AuditEventEntity> entities = invocation.getArgument(0);
+                for (AuditEventEntity entity : entities) {
+                    if (entity == faulty) {
+                        throw new IllegalStateException("faulty event");
+                    }
+                }
+                return entities;
+            });
+
+        //when
+        CompletableFuture<Void> validWrite = CompletableFuture.runAsync(() -> batchWriter.write(List.of(valid)));
+        CompletableFuture<Void> faultyWrite = CompletableFuture.runAsync(() -> batchWriter.write(List.of(faulty)));
+
+        //then
+        validWrite.get(5, TimeUnit.SECONDS);
+        assertThatThrownBy(() -> faultyWrite.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("faulty event");
+        verify(eventsRepository, times(3)).saveAll(any());
+    }
+
+    @Test
+    public void should_notWaitForAnything_when_noEventIsSubmitted() {
+        //when
+        batchWriter.write(List.of());
+
+        //then
+        verify(eventsRepository, times(0)).saveAll(any());
+    }
+}
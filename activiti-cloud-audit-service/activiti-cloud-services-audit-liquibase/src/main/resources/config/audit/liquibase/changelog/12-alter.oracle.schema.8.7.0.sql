@@ -0,0 +1 @@
+CREATE INDEX audit_event_timestamp_idx ON audit_event(timestamp);
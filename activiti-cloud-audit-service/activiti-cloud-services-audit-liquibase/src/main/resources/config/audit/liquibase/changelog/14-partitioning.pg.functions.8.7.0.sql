@@ -0,0 +1,51 @@
+-- creates the monthly partitions of audit_event from the month of from_date to months_ahead months from now
+CREATE OR REPLACE FUNCTION audit_event_create_partitions(from_date date, months_ahead integer) RETURNS integer AS $$
+DECLARE
+    partition_start date := date_trunc('month', from_date)::date;
+    partition_end date;
+    last_partition_start date := (date_trunc('month', now() AT TIME ZONE 'UTC') + make_interval(months => months_ahead))::date;
+    partition_name text;
+    created integer := 0;
+BEGIN
+    -- the replicas maintain the partitions one at a time, the others then find them created or dropped already
+    PERFORM pg_advisory_xact_lock(hashtext('audit_event_partitions'));
+    WHILE partition_start <= last_partition_start LOOP
+        partition_end := (partition_start + interval '1 month')::date;
+        partition_name := 'audit_event_p' || to_char(partition_start, 'YYYYMM');
+        IF to_regclass(partition_name) IS NULL THEN
+            EXECUTE format(
+                'CREATE TABLE %I PARTITION OF audit_event FOR VALUES FROM (%s) TO (%s)',
+                partition_name,
+                (extract(epoch FROM partition_start::timestamp) * 1000)::bigint,
+                (extract(epoch FROM partition_end::timestamp) * 1000)::bigint
+            );
+            created := created + 1;
+        END IF;
+        partition_start := partition_end;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- drops the monthly partitions of audit_event whose events are all older than before_timestamp
+CREATE OR REPLACE FUNCTION audit_event_drop_partitions(before_timestamp bigint) RETURNS integer AS $$
+DECLARE
+    partition_name text;
+    partition_end date;
+    dropped integer := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('audit_event_partitions'));
+    FOR partition_name IN
+        SELECT c.relname
+        FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'audit_event'::regclass AND c.relname ~ '^audit_event_p[0-9]{6}$'
+        ORDER BY c.relname
+    LOOP
+        partition_end := (to_date(substr(partition_name, 14), 'YYYYMM') + interval '1 month')::date;
+        EXIT WHEN (extract(epoch FROM partition_end::timestamp) * 1000)::bigint > before_timestamp;
+        EXECUTE format('DROP TABLE %I', partition_name);
+        dropped := dropped + 1;
+    END LOOP;
+    RETURN dropped;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,45 @@
+-- the existing table is attached as the partition of the events before next month rather than copied, so that
+-- the migration does not rewrite it: it is only scanned to check its bounds and indexed by (id, timestamp).
+-- Its events are purged by chunks, only the monthly partitions are dropped once expired.
+DO $$
+DECLARE
+    legacy_end date := (date_trunc('month', now() AT TIME ZONE 'UTC') + interval '1 month')::date;
+    legacy_primary_key text;
+BEGIN
+    ALTER TABLE audit_event RENAME TO audit_event_legacy;
+    ALTER INDEX IF EXISTS audit_event_event_id_idx RENAME TO audit_event_legacy_event_id_idx;
+    ALTER INDEX IF EXISTS audit_event_process_instance_id_idx RENAME TO audit_event_legacy_process_instance_id_idx;
+    ALTER INDEX IF EXISTS audit_event_app_name_idx RENAME TO audit_event_legacy_app_name_idx;
+    ALTER INDEX IF EXISTS audit_event_event_type_idx RENAME TO audit_event_legacy_event_type_idx;
+    ALTER INDEX IF EXISTS audit_event_timestamp_idx RENAME TO audit_event_legacy_timestamp_idx;
+    ALTER INDEX IF EXISTS audit_event_entity_id_idx RENAME TO audit_event_legacy_entity_id_idx;
+
+    -- the partition key is part of the primary key, so it cannot be null
+    UPDATE audit_event_legacy SET timestamp = 0 WHERE timestamp IS NULL;
+    ALTER TABLE audit_event_legacy ALTER COLUMN timestamp SET NOT NULL;
+
+    SELECT conname INTO legacy_primary_key
+    FROM pg_constraint
+    WHERE conrelid = 'audit_event_legacy'::regclass AND contype = 'p';
+    EXECUTE format('ALTER TABLE audit_event_legacy DROP CONSTRAINT %I', legacy_primary_key);
+    ALTER TABLE audit_event_legacy ADD CONSTRAINT audit_event_legacy_pkey PRIMARY KEY (id, timestamp);
+
+    CREATE TABLE audit_event (LIKE audit_event_legacy INCLUDING DEFAULTS) PARTITION BY RANGE (timestamp);
+    ALTER TABLE audit_event ADD PRIMARY KEY (id, timestamp);
+    CREATE INDEX audit_event_event_id_idx ON audit_event (event_id);
+    CREATE INDEX audit_event_process_instance_id_idx ON audit_event (process_instance_id);
+    CREATE INDEX audit_event_app_name_idx ON audit_event (app_name);
+    CREATE INDEX audit_event_event_type_idx ON audit_event (event_type);
+    CREATE INDEX audit_event_timestamp_idx ON audit_event (timestamp);
+
+    -- the indexes of the legacy table matching the ones of audit_event are attached rather than built again
+    EXECUTE format(
+        'ALTER TABLE audit_event ATTACH PARTITION audit_event_legacy FOR VALUES FROM (MINVALUE) TO (%s)',
+        (extract(epoch FROM legacy_end::timestamp) * 1000)::bigint
+    );
+
+    CREATE TABLE audit_event_default PARTITION OF audit_event DEFAULT;
+
+    PERFORM audit_event_create_partitions(legacy_end, 3);
+END;
+$$;
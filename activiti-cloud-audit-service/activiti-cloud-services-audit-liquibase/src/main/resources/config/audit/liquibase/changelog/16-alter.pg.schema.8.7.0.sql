@@ -0,0 +1 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS audit_event_entity_id_idx ON audit_event (entity_id);
@@ -0,0 +1 @@
+create index if not exists audit_event_entity_id_idx on audit_event (entity_id);
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS audit_event_timestamp_idx ON audit_event(timestamp);
@@ -66,14 +66,26 @@ import org.activiti.cloud.services.audit.jpa.converters.TimerScheduledEventConve
 import org.activiti.cloud.services.audit.jpa.converters.VariableCreatedEventConverter;
 import org.activiti.cloud.services.audit.jpa.converters.VariableDeletedEventConverter;
 import org.activiti.cloud.services.audit.jpa.converters.VariableUpdatedEventConverter;
+import org.activiti.cloud.services.audit.jpa.repository.EventSearchCompiler;
 import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 
 @AutoConfiguration
+@EnableConfigurationProperties({ AuditPayloadProperties.class, AuditSearchProperties.class })
 public class AuditJPAAutoConfiguration {
 
+    @ConditionalOnMissingBean
+    @Bean
+    public EventSearchCompiler eventSearchCompiler(AuditSearchProperties auditSearchProperties) {
+        return new EventSearchCompiler(
+            auditSearchProperties.isAllowUnboundedScans(),
+            auditSearchProperties.getCacheMaxSize()
+        );
+    }
+
     @ConditionalOnMissingBean
     @Bean
     public EventContextInfoAppender eventContextInfoAppender() {
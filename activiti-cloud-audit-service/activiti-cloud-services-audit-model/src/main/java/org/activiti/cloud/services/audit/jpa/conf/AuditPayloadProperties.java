@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.conf;
+
+import org.activiti.cloud.services.audit.jpa.converters.json.AuditPayloadFormat;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = AuditPayloadProperties.AUDIT_PAYLOAD_PREFIX)
+public class AuditPayloadProperties {
+
+    public static final String AUDIT_PAYLOAD_PREFIX = "activiti.cloud.audit.payload";
+
+    /**
+     * Encoding of the payload columns of the audit events written from now on, JSON or SMILE_DEFLATE. The stored
+     * payloads are read whatever their encoding is. Default is JSON
+     */
+    private AuditPayloadFormat format = AuditPayloadFormat.JSON;
+
+    public AuditPayloadProperties() {
+        // default constructor
+    }
+
+    public AuditPayloadFormat getFormat() {
+        return format;
+    }
+
+    public void setFormat(AuditPayloadFormat format) {
+        this.format = format;
+    }
+}
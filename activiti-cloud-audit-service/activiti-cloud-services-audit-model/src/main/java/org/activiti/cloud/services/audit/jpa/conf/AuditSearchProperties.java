@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.conf;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = AuditSearchProperties.AUDIT_SEARCH_PREFIX)
+public class AuditSearchProperties {
+
+    public static final String AUDIT_SEARCH_PREFIX = "activiti.cloud.audit.search";
+
+    /**
+     * Allows the searches with patterns or negations, or on fields which are not indexed, without bounding them by an
+     * event, process instance or entity id, or by a timestamp window. Default is false
+     */
+    private boolean allowUnboundedScans = false;
+
+    /**
+     * Maximum number of compiled search expressions cached. Default is 1000
+     */
+    private long cacheMaxSize = 1000;
+
+    public AuditSearchProperties() {
+        // default constructor
+    }
+
+    public boolean isAllowUnboundedScans() {
+        return allowUnboundedScans;
+    }
+
+    public void setAllowUnboundedScans(boolean allowUnboundedScans) {
+        this.allowUnboundedScans = allowUnboundedScans;
+    }
+
+    public long getCacheMaxSize() {
+        return cacheMaxSize;
+    }
+
+    public void setCacheMaxSize(long cacheMaxSize) {
+        this.cacheMaxSize = cacheMaxSize;
+    }
+}
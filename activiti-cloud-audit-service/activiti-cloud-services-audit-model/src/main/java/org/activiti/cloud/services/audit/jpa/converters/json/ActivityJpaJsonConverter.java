@@ -16,10 +16,15 @@
 package org.activiti.cloud.services.audit.jpa.converters.json;
 
 import org.activiti.api.process.model.BPMNActivity;
+import org.activiti.cloud.services.audit.jpa.conf.AuditPayloadProperties;
 
 public class ActivityJpaJsonConverter extends JpaJsonConverter<BPMNActivity> {
 
     public ActivityJpaJsonConverter() {
         super(BPMNActivity.class);
     }
+
+    public ActivityJpaJsonConverter(AuditPayloadProperties auditPayloadProperties) {
+        super(BPMNActivity.class, auditPayloadProperties);
+    }
 }
@@ -16,10 +16,15 @@
 package org.activiti.cloud.services.audit.jpa.converters.json;
 
 import org.activiti.api.process.model.Deployment;
+import org.activiti.cloud.services.audit.jpa.conf.AuditPayloadProperties;
 
 public class ApplicationJpaJsonConverter extends JpaJsonConverter<Deployment> {
 
     public ApplicationJpaJsonConverter() {
         super(Deployment.class);
     }
+
+    public ApplicationJpaJsonConverter(AuditPayloadProperties auditPayloadProperties) {
+        super(Deployment.class, auditPayloadProperties);
+    }
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.converters.json;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Base64;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import org.activiti.cloud.services.audit.jpa.conf.AuditPayloadProperties;
+
+/**
+ * Encodes the payload columns of the audit events with the given {@link AuditPayloadFormat} and decodes them
+ * whatever format they have been written with. The readers are resolved once for the payload type, rather than on
+ * each conversion.
+ */
+public class AuditPayloadCodec<T> {
+
+    static final String SMILE_DEFLATE_PREFIX = "~sd:";
+
+    private final ObjectWriter jsonWriter;
+    private final ObjectWriter smileWriter;
+    private final ObjectReader jsonReader;
+    private final ObjectReader smileReader;
+    private final AuditPayloadFormat format;
+
+    /**
+     * @param smileMapper a copy of the JSON mapper using a {@link SmileFactory}, see {@link #smileCopyOf}
+     */
+    public AuditPayloadCodec(
+        ObjectMapper jsonMapper,
+        ObjectMapper smileMapper,
+        JavaType type,
+        AuditPayloadFormat format
+    ) {
+        // the payloads are written with their runtime type, as their declared type is often an interface
+        this.jsonWriter = jsonMapper.writer();
+        this.smileWriter = smileMapper.writer();
+        this.jsonReader = jsonMapper.readerFor(type);
+        this.smileReader = smileMapper.readerFor(type);
+        this.format = format;
+    }
+
+    public static ObjectMapper smileCopyOf(ObjectMapper jsonMapper) {
+        return jsonMapper.copyWith(new SmileFactory());
+    }
+
+    /**
+     * @return the format of the payloads written with the given properties, JSON when there are none
+     */
+    public static AuditPayloadFormat formatOf(AuditPayloadProperties auditPayloadProperties) {
+        return auditPayloadProperties != null ? auditPayloadProperties.getFormat() : AuditPayloadFormat.JSON;
+    }
+
+    public AuditPayloadFormat getFormat() {
+        return format;
+    }
+
+    public String encode(T value) throws IOException {
+        if (format == AuditPayloadFormat.SMILE_DEFLATE) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try (OutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+                smileWriter.writeValue(out, value);
+            } finally {
+                deflater.end();
+            }
+            return SMILE_DEFLATE_PREFIX + Base64.getEncoder().encodeToString(bytes.toByteArray());
+        }
+        return jsonWriter.writeValueAsString(value);
+    }
+
+    /**
+     * @return the decoded payload, null when the column is empty
+     */
+    public T decode(String text) throws IOException {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        if (text.startsWith(SMILE_DEFLATE_PREFIX)) {
+            byte[] bytes = Base64.getDecoder().decode(text.substring(SMILE_DEFLATE_PREFIX.length()));
+            try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(bytes))) {
+                return smileReader.readValue(in);
+            }
+        }
+        return jsonReader.readValue(text);
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.converters.json;
+
+/**
+ * Encoding of the payload columns of the audit events written from now on. The payloads already stored are read
+ * whatever encoding they have been written with, so that the format can be changed without migrating them.
+ */
+public enum AuditPayloadFormat {
+    /**
+     * Plain JSON text, readable with the database JSON functions
+     */
+    JSON,
+
+    /**
+     * Binary JSON (Smile) compressed with deflate and stored as base64 text, several times smaller than plain
+     * JSON and faster to decode
+     */
+    SMILE_DEFLATE,
+}
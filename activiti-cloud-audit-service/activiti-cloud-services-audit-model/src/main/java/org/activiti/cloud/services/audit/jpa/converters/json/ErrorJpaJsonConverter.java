@@ -16,10 +16,15 @@
 package org.activiti.cloud.services.audit.jpa.converters.json;
 
 import org.activiti.api.process.model.BPMNError;
+import org.activiti.cloud.services.audit.jpa.conf.AuditPayloadProperties;
 
 public class ErrorJpaJsonConverter extends JpaJsonConverter<BPMNError> {
 
     public ErrorJpaJsonConverter() {
         super(BPMNError.class);
     }
+
+    public ErrorJpaJsonConverter(AuditPayloadProperties auditPayloadProperties) {
+        super(BPMNError.class, auditPayloadProperties);
+    }
 }
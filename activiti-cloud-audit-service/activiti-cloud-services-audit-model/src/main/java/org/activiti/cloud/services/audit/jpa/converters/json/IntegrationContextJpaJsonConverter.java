@@ -16,10 +16,15 @@
 package org.activiti.cloud.services.audit.jpa.converters.json;
 
 import org.activiti.api.process.model.IntegrationContext;
+import org.activiti.cloud.services.audit.jpa.conf.AuditPayloadProperties;
 
 public class IntegrationContextJpaJsonConverter extends JpaJsonConverter<IntegrationContext> {
 
     public IntegrationContextJpaJsonConverter() {
         super(IntegrationContext.class);
     }
+
+    public IntegrationContextJpaJsonConverter(AuditPayloadProperties auditPayloadProperties) {
+        super(IntegrationContext.class, auditPayloadProperties);
+    }
 }
@@ -15,7 +15,6 @@
  */
 package org.activiti.cloud.services.audit.jpa.converters.json;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.Version;
 import com.fasterxml.jackson.databind.BeanDescription;
 import com.fasterxml.jackson.databind.DeserializationConfig;
@@ -53,7 +52,12 @@ import org.activiti.api.runtime.model.impl.VariableInstanceImpl;
 import org.activiti.api.task.model.Task;
 import org.activiti.api.task.model.impl.TaskImpl;
 import org.activiti.cloud.services.audit.api.AuditException;
+import org.activiti.cloud.services.audit.jpa.conf.AuditPayloadProperties;
 
+/**
+ * Converts the payload columns of the audit events. The converters are created by Hibernate through the Spring bean
+ * container, which injects the {@link AuditPayloadProperties}; they write JSON when they are created without them.
+ */
 public class JpaJsonConverter<T> implements AttributeConverter<T, String> {
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
@@ -91,17 +95,29 @@ public class JpaJsonConverter<T> implements AttributeConverter<T, String> {
         }
     }
 
-    private Class<T> entityClass;
+    private static final ObjectMapper smileMapper = AuditPayloadCodec.smileCopyOf(objectMapper);
+
+    private final AuditPayloadCodec<T> codec;
 
     public JpaJsonConverter(Class<T> entityClass) {
-        this.entityClass = entityClass;
+        this(entityClass, null);
+    }
+
+    public JpaJsonConverter(Class<T> entityClass, AuditPayloadProperties auditPayloadProperties) {
+        this.codec =
+            new AuditPayloadCodec<>(
+                objectMapper,
+                smileMapper,
+                objectMapper.constructType(entityClass),
+                AuditPayloadCodec.formatOf(auditPayloadProperties)
+            );
     }
 
     @Override
     public String convertToDatabaseColumn(T entity) {
         try {
-            return objectMapper.writeValueAsString(entity);
-        } catch (JsonProcessingException e) {
+            return codec.encode(entity);
+        } catch (IOException e) {
             throw new AuditException("Unable to serialize object.", e);
         }
     }
@@ -109,11 +125,7 @@ public class JpaJsonConverter<T> implements AttributeConverter<T, String> {
     @Override
     public T convertToEntityAttribute(String entityTextRepresentation) {
         try {
-            if (entityTextRepresentation != null && entityTextRepresentation.length() > 0) {
-                return objectMapper.readValue(entityTextRepresentation, entityClass);
-            } else {
-                return null;
-            }
+            return codec.decode(entityTextRepresentation);
         } catch (IOException e) {
             throw new AuditException("Unable to deserialize object.", e);
         }
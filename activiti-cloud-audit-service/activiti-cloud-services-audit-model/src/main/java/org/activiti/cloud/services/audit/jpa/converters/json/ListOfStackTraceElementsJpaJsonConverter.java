@@ -15,7 +15,6 @@
  */
 package org.activiti.cloud.services.audit.jpa.converters.json;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.AttributeConverter;
@@ -23,16 +22,35 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import org.activiti.cloud.services.audit.api.AuditException;
+import org.activiti.cloud.services.audit.jpa.conf.AuditPayloadProperties;
 
 public class ListOfStackTraceElementsJpaJsonConverter implements AttributeConverter<List<StackTraceElement>, String> {
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
+    private static final ObjectMapper smileMapper = AuditPayloadCodec.smileCopyOf(objectMapper);
+
+    private final AuditPayloadCodec<List<StackTraceElement>> codec;
+
+    public ListOfStackTraceElementsJpaJsonConverter() {
+        this(null);
+    }
+
+    public ListOfStackTraceElementsJpaJsonConverter(AuditPayloadProperties auditPayloadProperties) {
+        this.codec =
+            new AuditPayloadCodec<>(
+                objectMapper,
+                smileMapper,
+                objectMapper.getTypeFactory().constructType(new TypeReference<List<StackTraceElement>>() {}),
+                AuditPayloadCodec.formatOf(auditPayloadProperties)
+            );
+    }
+
     @Override
     public String convertToDatabaseColumn(List<StackTraceElement> entity) {
         try {
-            return objectMapper.writeValueAsString(entity);
-        } catch (JsonProcessingException e) {
+            return codec.encode(entity);
+        } catch (IOException e) {
             throw new AuditException("Unable to serialize object.", e);
         }
     }
@@ -40,14 +58,8 @@ public class ListOfStackTraceElementsJpaJsonConverter implements AttributeConver
     @Override
     public List<StackTraceElement> convertToEntityAttribute(String entityTextRepresentation) {
         try {
-            if (entityTextRepresentation != null && entityTextRepresentation.length() > 0) {
-                return objectMapper.readValue(
-                    entityTextRepresentation,
-                    new TypeReference<List<StackTraceElement>>() {}
-                );
-            } else {
-                return Collections.emptyList();
-            }
+            List<StackTraceElement> stackTrace = codec.decode(entityTextRepresentation);
+            return stackTrace != null ? stackTrace : Collections.emptyList();
         } catch (IOException e) {
             throw new AuditException("Unable to deserialize object.", e);
         }
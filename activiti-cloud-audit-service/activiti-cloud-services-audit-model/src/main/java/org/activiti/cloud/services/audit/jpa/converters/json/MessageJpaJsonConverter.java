@@ -16,10 +16,15 @@
 package org.activiti.cloud.services.audit.jpa.converters.json;
 
 import org.activiti.api.process.model.BPMNMessage;
+import org.activiti.cloud.services.audit.jpa.conf.AuditPayloadProperties;
 
 public class MessageJpaJsonConverter extends JpaJsonConverter<BPMNMessage> {
 
     public MessageJpaJsonConverter() {
         super(BPMNMessage.class);
     }
+
+    public MessageJpaJsonConverter(AuditPayloadProperties auditPayloadProperties) {
+        super(BPMNMessage.class, auditPayloadProperties);
+    }
 }
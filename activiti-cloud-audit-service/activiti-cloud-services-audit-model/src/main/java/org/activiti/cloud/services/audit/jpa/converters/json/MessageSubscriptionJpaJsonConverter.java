@@ -16,10 +16,15 @@
 package org.activiti.cloud.services.audit.jpa.converters.json;
 
 import org.activiti.api.process.model.MessageSubscription;
+import org.activiti.cloud.services.audit.jpa.conf.AuditPayloadProperties;
 
 public class MessageSubscriptionJpaJsonConverter extends JpaJsonConverter<MessageSubscription> {
 
     public MessageSubscriptionJpaJsonConverter() {
         super(MessageSubscription.class);
     }
+
+    public MessageSubscriptionJpaJsonConverter(AuditPayloadProperties auditPayloadProperties) {
+        super(MessageSubscription.class, auditPayloadProperties);
+    }
 }
@@ -16,10 +16,15 @@
 package org.activiti.cloud.services.audit.jpa.converters.json;
 
 import org.activiti.api.runtime.model.impl.ProcessCandidateStarterGroupImpl;
+import org.activiti.cloud.services.audit.jpa.conf.AuditPayloadProperties;
 
 public class ProcessCandidateStarterGroupJpaJsonConverter extends JpaJsonConverter<ProcessCandidateStarterGroupImpl> {
 
     public ProcessCandidateStarterGroupJpaJsonConverter() {
         super(ProcessCandidateStarterGroupImpl.class);
     }
+
+    public ProcessCandidateStarterGroupJpaJsonConverter(AuditPayloadProperties auditPayloadProperties) {
+        super(ProcessCandidateStarterGroupImpl.class, auditPayloadProperties);
+    }
 }
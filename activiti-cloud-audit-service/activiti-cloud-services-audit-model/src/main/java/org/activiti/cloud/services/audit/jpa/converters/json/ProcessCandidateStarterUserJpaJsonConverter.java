@@ -16,10 +16,15 @@
 package org.activiti.cloud.services.audit.jpa.converters.json;
 
 import org.activiti.api.runtime.model.impl.ProcessCandidateStarterUserImpl;
+import org.activiti.cloud.services.audit.jpa.conf.AuditPayloadProperties;
 
 public class ProcessCandidateStarterUserJpaJsonConverter extends JpaJsonConverter<ProcessCandidateStarterUserImpl> {
 
     public ProcessCandidateStarterUserJpaJsonConverter() {
         super(ProcessCandidateStarterUserImpl.class);
     }
+
+    public ProcessCandidateStarterUserJpaJsonConverter(AuditPayloadProperties auditPayloadProperties) {
+        super(ProcessCandidateStarterUserImpl.class, auditPayloadProperties);
+    }
 }
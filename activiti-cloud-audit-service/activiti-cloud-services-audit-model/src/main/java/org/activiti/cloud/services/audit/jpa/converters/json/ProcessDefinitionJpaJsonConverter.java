@@ -16,10 +16,15 @@
 package org.activiti.cloud.services.audit.jpa.converters.json;
 
 import org.activiti.api.process.model.ProcessDefinition;
+import org.activiti.cloud.services.audit.jpa.conf.AuditPayloadProperties;
 
 public class ProcessDefinitionJpaJsonConverter extends JpaJsonConverter<ProcessDefinition> {
 
     public ProcessDefinitionJpaJsonConverter() {
         super(ProcessDefinition.class);
     }
+
+    public ProcessDefinitionJpaJsonConverter(AuditPayloadProperties auditPayloadProperties) {
+        super(ProcessDefinition.class, auditPayloadProperties);
+    }
 }
@@ -16,10 +16,15 @@
 package org.activiti.cloud.services.audit.jpa.converters.json;
 
 import org.activiti.api.process.model.ProcessInstance;
+import org.activiti.cloud.services.audit.jpa.conf.AuditPayloadProperties;
 
 public class ProcessInstanceJpaJsonConverter extends JpaJsonConverter<ProcessInstance> {
 
     public ProcessInstanceJpaJsonConverter() {
         super(ProcessInstance.class);
     }
+
+    public ProcessInstanceJpaJsonConverter(AuditPayloadProperties auditPayloadProperties) {
+        super(ProcessInstance.class, auditPayloadProperties);
+    }
 }
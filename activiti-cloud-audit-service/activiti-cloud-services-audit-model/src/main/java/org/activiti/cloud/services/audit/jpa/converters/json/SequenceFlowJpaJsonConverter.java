@@ -16,10 +16,15 @@
 package org.activiti.cloud.services.audit.jpa.converters.json;
 
 import org.activiti.api.process.model.BPMNSequenceFlow;
+import org.activiti.cloud.services.audit.jpa.conf.AuditPayloadProperties;
 
 public class SequenceFlowJpaJsonConverter extends JpaJsonConverter<BPMNSequenceFlow> {
 
     public SequenceFlowJpaJsonConverter() {
         super(BPMNSequenceFlow.class);
     }
+
+    public SequenceFlowJpaJsonConverter(AuditPayloadProperties auditPayloadProperties) {
+        super(BPMNSequenceFlow.class, auditPayloadProperties);
+    }
 }
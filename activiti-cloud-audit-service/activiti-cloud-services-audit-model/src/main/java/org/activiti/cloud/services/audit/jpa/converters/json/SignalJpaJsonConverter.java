@@ -16,10 +16,15 @@
 package org.activiti.cloud.services.audit.jpa.converters.json;
 
 import org.activiti.api.process.model.BPMNSignal;
+import org.activiti.cloud.services.audit.jpa.conf.AuditPayloadProperties;
 
 public class SignalJpaJsonConverter extends JpaJsonConverter<BPMNSignal> {
 
     public SignalJpaJsonConverter() {
         super(BPMNSignal.class);
     }
+
+    public SignalJpaJsonConverter(AuditPayloadProperties auditPayloadProperties) {
+        super(BPMNSignal.class, auditPayloadProperties);
+    }
 }
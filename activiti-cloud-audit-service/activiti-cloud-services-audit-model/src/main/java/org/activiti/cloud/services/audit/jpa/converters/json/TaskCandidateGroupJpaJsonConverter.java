@@ -16,10 +16,15 @@
 package org.activiti.cloud.services.audit.jpa.converters.json;
 
 import org.activiti.api.task.model.impl.TaskCandidateGroupImpl;
+import org.activiti.cloud.services.audit.jpa.conf.AuditPayloadProperties;
 
 public class TaskCandidateGroupJpaJsonConverter extends JpaJsonConverter<TaskCandidateGroupImpl> {
 
     public TaskCandidateGroupJpaJsonConverter() {
         super(TaskCandidateGroupImpl.class);
     }
+
+    public TaskCandidateGroupJpaJsonConverter(AuditPayloadProperties auditPayloadProperties) {
+        super(TaskCandidateGroupImpl.class, auditPayloadProperties);
+    }
 }
@@ -16,10 +16,15 @@
 package org.activiti.cloud.services.audit.jpa.converters.json;
 
 import org.activiti.api.task.model.impl.TaskCandidateUserImpl;
+import org.activiti.cloud.services.audit.jpa.conf.AuditPayloadProperties;
 
 public class TaskCandidateUserJpaJsonConverter extends JpaJsonConverter<TaskCandidateUserImpl> {
 
     public TaskCandidateUserJpaJsonConverter() {
         super(TaskCandidateUserImpl.class);
     }
+
+    public TaskCandidateUserJpaJsonConverter(AuditPayloadProperties auditPayloadProperties) {
+        super(TaskCandidateUserImpl.class, auditPayloadProperties);
+    }
 }
@@ -16,10 +16,15 @@
 package org.activiti.cloud.services.audit.jpa.converters.json;
 
 import org.activiti.api.task.model.Task;
+import org.activiti.cloud.services.audit.jpa.conf.AuditPayloadProperties;
 
 public class TaskJpaJsonConverter extends JpaJsonConverter<Task> {
 
     public TaskJpaJsonConverter() {
         super(Task.class);
     }
+
+    public TaskJpaJsonConverter(AuditPayloadProperties auditPayloadProperties) {
+        super(Task.class, auditPayloadProperties);
+    }
 }
@@ -16,10 +16,15 @@
 package org.activiti.cloud.services.audit.jpa.converters.json;
 
 import org.activiti.api.process.model.BPMNTimer;
+import org.activiti.cloud.services.audit.jpa.conf.AuditPayloadProperties;
 
 public class TimerJpaJsonConverter extends JpaJsonConverter<BPMNTimer> {
 
     public TimerJpaJsonConverter() {
         super(BPMNTimer.class);
     }
+
+    public TimerJpaJsonConverter(AuditPayloadProperties auditPayloadProperties) {
+        super(BPMNTimer.class, auditPayloadProperties);
+    }
 }
@@ -16,10 +16,15 @@
 package org.activiti.cloud.services.audit.jpa.converters.json;
 
 import org.activiti.api.model.shared.model.VariableInstance;
+import org.activiti.cloud.services.audit.jpa.conf.AuditPayloadProperties;
 
 public class VariableJpaJsonConverter extends JpaJsonConverter<VariableInstance> {
 
     public VariableJpaJsonConverter() {
         super(VariableInstance.class);
     }
+
+    public VariableJpaJsonConverter(AuditPayloadProperties auditPayloadProperties) {
+        super(VariableInstance.class, auditPayloadProperties);
+    }
 }
@@ -15,21 +15,40 @@
  */
 package org.activiti.cloud.services.audit.jpa.events;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.AttributeConverter;
 import java.io.IOException;
 import org.activiti.cloud.services.audit.api.AuditException;
+import org.activiti.cloud.services.audit.jpa.conf.AuditPayloadProperties;
+import org.activiti.cloud.services.audit.jpa.converters.json.AuditPayloadCodec;
 
 public class VariableValueJpaConverter implements AttributeConverter<VariableValue<?>, String> {
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
+    private static final ObjectMapper smileMapper = AuditPayloadCodec.smileCopyOf(objectMapper);
+
+    private final AuditPayloadCodec<VariableValue<?>> codec;
+
+    public VariableValueJpaConverter() {
+        this(null);
+    }
+
+    public VariableValueJpaConverter(AuditPayloadProperties auditPayloadProperties) {
+        this.codec =
+            new AuditPayloadCodec<>(
+                objectMapper,
+                smileMapper,
+                objectMapper.constructType(VariableValue.class),
+                AuditPayloadCodec.formatOf(auditPayloadProperties)
+            );
+    }
+
     @Override
     public String convertToDatabaseColumn(VariableValue<?> entity) {
         try {
-            return objectMapper.writeValueAsString(entity);
-        } catch (JsonProcessingException e) {
+            return codec.encode(entity);
+        } catch (IOException e) {
             throw new AuditException("Unable to serialize object.", e);
         }
     }
@@ -37,11 +56,7 @@ public class VariableValueJpaConverter implements AttributeConverter<VariableVal
     @Override
     public VariableValue<?> convertToEntityAttribute(String entityTextRepresentation) {
         try {
-            if (entityTextRepresentation != null && entityTextRepresentation.length() > 0) {
-                return objectMapper.readValue(entityTextRepresentation, VariableValue.class);
-            } else {
-                return null;
-            }
+            return codec.decode(entityTextRepresentation);
         } catch (IOException e) {
             throw new AuditException("Unable to deserialize object.", e);
         }
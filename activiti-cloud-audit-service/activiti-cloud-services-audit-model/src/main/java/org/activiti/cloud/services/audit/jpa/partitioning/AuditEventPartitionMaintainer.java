@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.partitioning;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+
+/**
+ * Creates the partitions of the coming months in advance, as otherwise their events would be stored in the
+ * default partition, which would then prevent creating them. They are created on start, which fails if they
+ * cannot be, and then on its own scheduler, so that scheduling does not have to be enabled for the whole
+ * application. The partitioning functions take an advisory lock, so the replicas maintain them one at a time.
+ */
+public class AuditEventPartitionMaintainer implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuditEventPartitionMaintainer.class);
+
+    private final AuditEventPartitionManager partitionManager;
+
+    private final AuditPartitioningProperties partitioningProperties;
+
+    private volatile ThreadPoolTaskScheduler taskScheduler;
+
+    public AuditEventPartitionMaintainer(
+        AuditEventPartitionManager partitionManager,
+        AuditPartitioningProperties partitioningProperties
+    ) {
+        this.partitionManager = partitionManager;
+        this.partitioningProperties = partitioningProperties;
+    }
+
+    @Override
+    public void start() {
+        createPartitions();
+
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix("audit-partitioning-");
+        scheduler.initialize();
+        scheduler.schedule(this::createScheduledPartitions, new CronTrigger(partitioningProperties.getSchedule()));
+        taskScheduler = scheduler;
+    }
+
+    @Override
+    public void stop() {
+        ThreadPoolTaskScheduler scheduler = taskScheduler;
+        if (scheduler != null) {
+            scheduler.shutdown();
+            taskScheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return taskScheduler != null;
+    }
+
+    public void createPartitions() {
+        int created = partitionManager.createPartitions(partitioningProperties.getMonthsAhead());
+        if (created > 0) {
+            LOGGER.info("Created {} audit event partitions", created);
+        }
+    }
+
+    void createScheduledPartitions() {
+        try {
+            createPartitions();
+        } catch (RuntimeException e) {
+            // the partitions are created months ahead, so there is time to fix it before events reach the default
+            LOGGER.error(
+                "Unable to create the audit event partitions of the next {} months, they are checked again on next " +
+                "schedule",
+                partitioningProperties.getMonthsAhead(),
+                e
+            );
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.partitioning;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Manages the monthly partitions of the audit_event table through the functions created by the partitioning
+ * changelog, so that it must only be used when the partitioning is enabled.
+ */
+public class AuditEventPartitionManager {
+
+    private final EntityManager entityManager;
+
+    public AuditEventPartitionManager(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * @return the number of partitions created, from the current UTC month to the given number of months ahead
+     */
+    @Transactional
+    public int createPartitions(int monthsAhead) {
+        return (
+            (Number) entityManager
+                .createNativeQuery("SELECT audit_event_create_partitions((now() AT TIME ZONE 'UTC')::date, ?1)")
+                .setParameter(1, monthsAhead)
+                .getSingleResult()
+        ).intValue();
+    }
+
+    /**
+     * Drops the partitions whose events are all older than the given timestamp, which is much cheaper than
+     * deleting their events.
+     *
+     * @return the number of partitions dropped
+     */
+    @Transactional
+    public int dropPartitionsBefore(long timestamp) {
+        return (
+            (Number) entityManager
+                .createNativeQuery("SELECT audit_event_drop_partitions(?1)")
+                .setParameter(1, timestamp)
+                .getSingleResult()
+        ).intValue();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.partitioning;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+@AutoConfiguration
+@ConditionalOnProperty(
+    prefix = AuditPartitioningProperties.AUDIT_PARTITIONING_PREFIX,
+    name = "enabled",
+    havingValue = "true"
+)
+@EnableConfigurationProperties(AuditPartitioningProperties.class)
+public class AuditPartitioningAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuditEventPartitionManager auditEventPartitionManager(
+        EntityManager entityManager,
+        EntityManagerFactory entityManagerFactory
+    ) {
+        requireSupportedDialect(
+            entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect()
+        );
+        return new AuditEventPartitionManager(entityManager);
+    }
+
+    /**
+     * The partitioning changelog only runs on PostgreSQL, so that the start fails rather than the partitions
+     * being silently missing on other databases.
+     */
+    static void requireSupportedDialect(Dialect dialect) {
+        if (!(dialect instanceof PostgreSQLDialect)) {
+            throw new IllegalStateException(
+                "The partitioning of the audit events is only supported on PostgreSQL, not with " +
+                dialect.getClass().getSimpleName() +
+                ": " +
+                AuditPartitioningProperties.AUDIT_PARTITIONING_PREFIX +
+                ".enabled must be false"
+            );
+        }
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuditEventPartitionMaintainer auditEventPartitionMaintainer(
+        AuditEventPartitionManager partitionManager,
+        AuditPartitioningProperties partitioningProperties
+    ) {
+        return new AuditEventPartitionMaintainer(partitionManager, partitioningProperties);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.partitioning;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = AuditPartitioningProperties.AUDIT_PARTITIONING_PREFIX)
+public class AuditPartitioningProperties {
+
+    public static final String AUDIT_PARTITIONING_PREFIX = "activiti.cloud.audit.partitioning";
+
+    /**
+     * Partitions the PostgreSQL audit_event table by month of the event timestamp. The existing table becomes
+     * the partition of the events until the end of the month on the next start, which is not copied but is
+     * scanned and indexed by (id, timestamp) while locked, so that it may take a while for large tables.
+     * Default is false
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of months ahead for which the partitions are created in advance. Default is 3
+     */
+    private int monthsAhead = 3;
+
+    /**
+     * Cron expression of the creation of the partitions in advance, also done on start. Default is daily
+     */
+    private String schedule = "0 0 1 * * *";
+
+    public AuditPartitioningProperties() {
+        // default constructor
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMonthsAhead() {
+        return monthsAhead;
+    }
+
+    public void setMonthsAhead(int monthsAhead) {
+        this.monthsAhead = monthsAhead;
+    }
+
+    public String getSchedule() {
+        return schedule;
+    }
+
+    public void setSchedule(String schedule) {
+        this.schedule = schedule;
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.repository;
+
+import org.activiti.cloud.api.model.shared.impl.events.CloudRuntimeEventImpl;
+import org.activiti.cloud.services.audit.api.converters.CloudRuntimeEventType;
+
+/**
+ * Header of an audit event, without its entity, read from the columns common to all the events.
+ */
+public class AuditEventSummary extends CloudRuntimeEventImpl<Object, CloudRuntimeEventType> {
+
+    private CloudRuntimeEventType eventType;
+
+    public AuditEventSummary() {}
+
+    public AuditEventSummary(String id, Long timestamp, CloudRuntimeEventType eventType) {
+        super(id, timestamp, null);
+        this.eventType = eventType;
+    }
+
+    @Override
+    public CloudRuntimeEventType getEventType() {
+        return eventType;
+    }
+}
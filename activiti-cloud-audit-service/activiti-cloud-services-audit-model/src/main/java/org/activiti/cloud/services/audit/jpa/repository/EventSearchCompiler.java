@@ -0,0 +1,195 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.repository;
+
+import static java.util.stream.Collectors.joining;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.activiti.cloud.services.audit.jpa.repository.EventSearchField.Indexing;
+import org.activiti.cloud.services.audit.jpa.repository.EventSearchQuery.Criterion;
+
+/**
+ * Compiles the search expressions of the audit events, such as {@code processInstanceId:1,eventType:TASK_CREATED},
+ * into {@link EventSearchQuery} instances cached by expression. An expression is rejected when:
+ * <ul>
+ *     <li>it cannot be parsed entirely, or searches on a field which is not a {@link EventSearchField}</li>
+ *     <li>it scans without being bounded by an event, process instance or entity id, or by both ends of a time
+ *     window, unless unbounded scans are allowed. A search scans when it uses a negation or a pattern other than a
+ *     prefix, when it searches on a prefix of a field which is not a key, or when it searches on a field which is not
+ *     indexed at all</li>
+ * </ul>
+ */
+public class EventSearchCompiler {
+
+    private static final Pattern CRITERION_PATTERN = Pattern.compile(
+        "(\\w+?)(" +
+        Arrays.stream(SearchOperation.SIMPLE_OPERATION_SET).map(Pattern::quote).collect(joining("|")) +
+        ")(\\p{Punct}?)([a-zA-Z0-9-_]+?)(\\p{Punct}?)(,|$)"
+    );
+
+    private static final Set<SearchOperation> SCAN_OPERATIONS = EnumSet.of(
+        SearchOperation.NEGATION,
+        SearchOperation.LIKE,
+        SearchOperation.ENDS_WITH,
+        SearchOperation.CONTAINS
+    );
+
+    private final boolean allowUnboundedScans;
+    private final Cache<String, EventSearchQuery> queries;
+
+    public EventSearchCompiler(boolean allowUnboundedScans, long cacheMaxSize) {
+        this.allowUnboundedScans = allowUnboundedScans;
+        this.queries = Caffeine.newBuilder().maximumSize(cacheMaxSize).build();
+    }
+
+    /**
+     * @return the compiled search, null when the expression is empty
+     * @throws InvalidEventSearchException when the expression is rejected
+     */
+    public EventSearchQuery compile(String search) {
+        if (search == null || search.isEmpty()) {
+            return null;
+        }
+        return queries.get(search, this::doCompile);
+    }
+
+    private EventSearchQuery doCompile(String search) {
+        List<Criterion> criteria = new ArrayList<>();
+        Matcher matcher = CRITERION_PATTERN.matcher(search);
+        int end = 0;
+        while (end < search.length()) {
+            if (!matcher.find(end) || matcher.start() != end) {
+                throw new InvalidEventSearchException(
+                    "Unable to parse the search from: '" + search.substring(end) + "'"
+                );
+            }
+            criteria.add(toCriterion(matcher));
+            end = matcher.end();
+        }
+
+        if (!allowUnboundedScans && criteria.stream().anyMatch(this::scans) && !isBounded(criteria)) {
+            throw new InvalidEventSearchException(
+                "The search '" +
+                search +
+                "' must be bounded by an eventId, processInstanceId or entityId, or by a timestamp window"
+            );
+        }
+
+        criteria.sort(Comparator.comparingInt(this::rank));
+        return new EventSearchQuery(criteria);
+    }
+
+    private Criterion toCriterion(Matcher matcher) {
+        EventSearchField field = EventSearchField
+            .ofAttribute(matcher.group(1))
+            .orElseThrow(() ->
+                new InvalidEventSearchException(
+                    "Unable to search on '" +
+                    matcher.group(1) +
+                    "', the searchable fields are: " +
+                    Arrays.stream(EventSearchField.values()).map(EventSearchField::getAttribute).collect(joining(", "))
+                )
+            );
+        SearchOperation operation = toOperation(matcher.group(2), matcher.group(3), matcher.group(5));
+        String value = matcher.group(4);
+
+        if (field.getIndexing() == Indexing.TIME) {
+            if (
+                operation != SearchOperation.EQUALITY &&
+                operation != SearchOperation.GREATER_THAN &&
+                operation != SearchOperation.LESS_THAN
+            ) {
+                throw new InvalidEventSearchException(
+                    "Unable to search on '" + field.getAttribute() + "' with a pattern"
+                );
+            }
+            try {
+                return new Criterion(field, operation, Long.valueOf(value));
+            } catch (NumberFormatException e) {
+                throw new InvalidEventSearchException(
+                    "The '" + field.getAttribute() + "' must be a number of milliseconds"
+                );
+            }
+        }
+        return new Criterion(field, operation, value);
+    }
+
+    private SearchOperation toOperation(String operation, String prefix, String suffix) {
+        SearchOperation op = SearchOperation.getSimpleOperation(operation.charAt(0));
+        if (op == SearchOperation.EQUALITY) {
+            boolean startWithAsterisk = prefix.contains(SearchOperation.ZERO_OR_MORE_REGEX);
+            boolean endWithAsterisk = suffix.contains(SearchOperation.ZERO_OR_MORE_REGEX);
+            if (startWithAsterisk && endWithAsterisk) {
+                return SearchOperation.CONTAINS;
+            } else if (startWithAsterisk) {
+                return SearchOperation.ENDS_WITH;
+            } else if (endWithAsterisk) {
+                return SearchOperation.STARTS_WITH;
+            }
+        }
+        return op;
+    }
+
+    private boolean scans(Criterion criterion) {
+        Indexing indexing = criterion.field().getIndexing();
+        return (
+            SCAN_OPERATIONS.contains(criterion.operation()) ||
+            indexing == Indexing.NONE ||
+            (criterion.operation() == SearchOperation.STARTS_WITH && indexing != Indexing.KEY)
+        );
+    }
+
+    private boolean isBounded(List<Criterion> criteria) {
+        boolean key = criteria
+            .stream()
+            .anyMatch(criterion ->
+                criterion.field().getIndexing() == Indexing.KEY && criterion.operation() == SearchOperation.EQUALITY
+            );
+        boolean from = criteria.stream().anyMatch(criterion -> isTime(criterion, SearchOperation.GREATER_THAN));
+        boolean to = criteria.stream().anyMatch(criterion -> isTime(criterion, SearchOperation.LESS_THAN));
+        boolean at = criteria.stream().anyMatch(criterion -> isTime(criterion, SearchOperation.EQUALITY));
+        return key || at || (from && to);
+    }
+
+    private boolean isTime(Criterion criterion, SearchOperation operation) {
+        return criterion.field().getIndexing() == Indexing.TIME && criterion.operation() == operation;
+    }
+
+    /**
+     * The most selective predicates come first: key equalities, then the time window, then the other indexed
+     * fields, then the scans.
+     */
+    private int rank(Criterion criterion) {
+        if (scans(criterion)) {
+            return 4;
+        }
+        return switch (criterion.field().getIndexing()) {
+            case KEY -> criterion.operation() == SearchOperation.EQUALITY ? 0 : 3;
+            case TIME -> 1;
+            case INDEXED -> 2;
+            case NONE -> 4;
+        };
+    }
+}
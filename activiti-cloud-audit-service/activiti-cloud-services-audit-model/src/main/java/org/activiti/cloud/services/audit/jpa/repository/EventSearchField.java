@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.repository;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Fields of the audit events that can be searched on.
+ */
+public enum EventSearchField {
+    EVENT_ID("eventId", Indexing.KEY),
+    PROCESS_INSTANCE_ID("processInstanceId", Indexing.KEY),
+    ENTITY_ID("entityId", Indexing.KEY),
+    TIMESTAMP("timestamp", Indexing.TIME),
+    APP_NAME("appName", Indexing.INDEXED),
+    EVENT_TYPE("eventType", Indexing.INDEXED),
+    PROCESS_DEFINITION_ID("processDefinitionId", Indexing.NONE),
+    PROCESS_DEFINITION_KEY("processDefinitionKey", Indexing.NONE),
+    PARENT_PROCESS_INSTANCE_ID("parentProcessInstanceId", Indexing.NONE),
+    BUSINESS_KEY("businessKey", Indexing.NONE),
+    APP_VERSION("appVersion", Indexing.NONE),
+    SERVICE_NAME("serviceName", Indexing.NONE),
+    SERVICE_FULL_NAME("serviceFullName", Indexing.NONE),
+    SERVICE_TYPE("serviceType", Indexing.NONE),
+    SERVICE_VERSION("serviceVersion", Indexing.NONE),
+    MESSAGE_ID("messageId", Indexing.NONE);
+
+    enum Indexing {
+        /**
+         * Indexed and selective enough to bound any search on its own
+         */
+        KEY,
+        /**
+         * Indexed, bounding a search when both ends of a time window are given
+         */
+        TIME,
+        /**
+         * Indexed but not selective
+         */
+        INDEXED,
+        /**
+         * Not indexed, so that searching on it scans the events matched by the other predicates
+         */
+        NONE,
+    }
+
+    private final String attribute;
+    private final Indexing indexing;
+
+    EventSearchField(String attribute, Indexing indexing) {
+        this.attribute = attribute;
+        this.indexing = indexing;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    Indexing getIndexing() {
+        return indexing;
+    }
+
+    public static Optional<EventSearchField> ofAttribute(String attribute) {
+        return Arrays.stream(values()).filter(field -> field.attribute.equals(attribute)).findFirst();
+    }
+}
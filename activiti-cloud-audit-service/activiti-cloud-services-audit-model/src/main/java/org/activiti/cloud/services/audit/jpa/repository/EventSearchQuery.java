@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Compiled search expression: validated criteria, with typed values, combined with AND in the order the most
+ * selective predicates come first. Immutable, so that it can be cached and shared between requests.
+ */
+public class EventSearchQuery implements Specification<AuditEventEntity> {
+
+    public record Criterion(EventSearchField field, SearchOperation operation, Comparable<?> value) {}
+
+    private final List<Criterion> criteria;
+
+    EventSearchQuery(List<Criterion> criteria) {
+        this.criteria = List.copyOf(criteria);
+    }
+
+    public List<Criterion> getCriteria() {
+        return criteria;
+    }
+
+    @Override
+    public Predicate toPredicate(Root<AuditEventEntity> root, CriteriaQuery<?> query, CriteriaBuilder builder) {
+        return builder.and(
+            criteria.stream().map(criterion -> toPredicate(criterion, root, builder)).toArray(Predicate[]::new)
+        );
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Predicate toPredicate(Criterion criterion, Root<AuditEventEntity> root, CriteriaBuilder builder) {
+        Expression path = root.get(criterion.field().getAttribute());
+        Comparable value = criterion.value();
+        return switch (criterion.operation()) {
+            case EQUALITY -> builder.equal(path, value);
+            case NEGATION -> builder.notEqual(path, value);
+            case GREATER_THAN -> builder.greaterThan(path, value);
+            case LESS_THAN -> builder.lessThan(path, value);
+            case LIKE -> builder.like(path, value.toString());
+            case STARTS_WITH -> builder.like(path, value + "%");
+            case ENDS_WITH -> builder.like(path, "%" + value);
+            case CONTAINS -> builder.like(path, "%" + value + "%");
+        };
+    }
+}
@@ -1,65 +0,0 @@
-/*
- * Copyright 2017-2020 Alfresco Software, Ltd.
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *     http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-package org.activiti.cloud.services.audit.jpa.repository;
-
-import jakarta.persistence.criteria.CriteriaBuilder;
-import jakarta.persistence.criteria.CriteriaQuery;
-import jakarta.persistence.criteria.Predicate;
-import jakarta.persistence.criteria.Root;
-import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
-import org.springframework.data.jpa.domain.Specification;
-
-public class EventSpecification implements Specification<AuditEventEntity> {
-
-    private SpecSearchCriteria criteria;
-
-    public EventSpecification(final SpecSearchCriteria criteria) {
-        super();
-        this.criteria = criteria;
-    }
-
-    public SpecSearchCriteria getCriteria() {
-        return criteria;
-    }
-
-    @Override
-    public Predicate toPredicate(
-        final Root<AuditEventEntity> root,
-        final CriteriaQuery<?> query,
-        final CriteriaBuilder builder
-    ) {
-        switch (criteria.getOperation()) {
-            case EQUALITY:
-                return builder.equal(root.get(criteria.getKey()), criteria.getValue());
-            case NEGATION:
-                return builder.notEqual(root.get(criteria.getKey()), criteria.getValue());
-            case GREATER_THAN:
-                return builder.greaterThan(root.get(criteria.getKey()), criteria.getValue().toString());
-            case LESS_THAN:
-                return builder.lessThan(root.get(criteria.getKey()), criteria.getValue().toString());
-            case LIKE:
-                return builder.like(root.get(criteria.getKey()), criteria.getValue().toString());
-            case STARTS_WITH:
-                return builder.like(root.get(criteria.getKey()), criteria.getValue() + "%");
-            case ENDS_WITH:
-                return builder.like(root.get(criteria.getKey()), "%" + criteria.getValue());
-            case CONTAINS:
-                return builder.like(root.get(criteria.getKey()), "%" + criteria.getValue() + "%");
-            default:
-                return null;
-        }
-    }
-}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.repository;
+
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface EventSummaryRepository {
+    /**
+     * Finds the headers of the events matching the specification, selecting only the columns common to all the
+     * events so that their payload columns are neither read nor deserialized.
+     * @param specification the events to find, all the events when null
+     */
+    Page<AuditEventSummary> findAllSummaries(Specification<AuditEventEntity> specification, Pageable pageable);
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.List;
+import org.activiti.cloud.services.audit.api.converters.CloudRuntimeEventType;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+public class EventSummaryRepositoryImpl implements EventSummaryRepository {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventSummaryRepositoryImpl.class);
+
+    private static final List<String> HEADER_ATTRIBUTES = List.of(
+        "eventId",
+        "timestamp",
+        "eventType",
+        "appName",
+        "appVersion",
+        "serviceName",
+        "serviceFullName",
+        "serviceType",
+        "serviceVersion",
+        "messageId",
+        "sequenceNumber",
+        "entityId",
+        "processInstanceId",
+        "processDefinitionId",
+        "processDefinitionKey",
+        "businessKey",
+        "parentProcessInstanceId"
+    );
+
+    private final EntityManager entityManager;
+
+    public EventSummaryRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<AuditEventSummary> findAllSummaries(Specification<AuditEventEntity> specification, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<AuditEventEntity> root = query.from(AuditEventEntity.class);
+        applySpecification(specification, root, query, criteriaBuilder);
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String attribute : HEADER_ATTRIBUTES) {
+            selections.add(root.get(attribute).alias(attribute));
+        }
+        query.multiselect(selections);
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+        }
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult(Math.toIntExact(pageable.getOffset()));
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        List<AuditEventSummary> summaries = new ArrayList<>();
+        for (Tuple tuple : typedQuery.getResultList()) {
+            String eventType = tuple.get("eventType", String.class);
+            if (isKnown(eventType)) {
+                summaries.add(toSummary(tuple, CloudRuntimeEventType.valueOf(eventType)));
+            } else {
+                LOGGER.warn("Unknown event type: {}", eventType);
+            }
+        }
+
+        return PageableExecutionUtils.getPage(summaries, pageable, () -> count(specification));
+    }
+
+    private long count(Specification<AuditEventEntity> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<AuditEventEntity> root = query.from(AuditEventEntity.class);
+        applySpecification(specification, root, query, criteriaBuilder);
+        query.select(query.isDistinct() ? criteriaBuilder.countDistinct(root) : criteriaBuilder.count(root));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private AuditEventSummary toSummary(Tuple tuple, CloudRuntimeEventType eventType) {
+        AuditEventSummary summary = new AuditEventSummary(
+            tuple.get("eventId", String.class),
+            tuple.get("timestamp", Long.class),
+            eventType
+        );
+        summary.setAppName(tuple.get("appName", String.class));
+        summary.setAppVersion(tuple.get("appVersion", String.class));
+        summary.setServiceName(tuple.get("serviceName", String.class));
+        summary.setServiceFullName(tuple.get("serviceFullName", String.class));
+        summary.setServiceType(tuple.get("serviceType", String.class));
+        summary.setServiceVersion(tuple.get("serviceVersion", String.class));
+        summary.setMessageId(tuple.get("messageId", String.class));
+        summary.setSequenceNumber(tuple.get("sequenceNumber", Integer.class));
+        summary.setEntityId(tuple.get("entityId", String.class));
+        summary.setProcessInstanceId(tuple.get("processInstanceId", String.class));
+        summary.setProcessDefinitionId(tuple.get("processDefinitionId", String.class));
+        summary.setProcessDefinitionKey(tuple.get("processDefinitionKey", String.class));
+        summary.setBusinessKey(tuple.get("businessKey", String.class));
+        summary.setParentProcessInstanceId(tuple.get("parentProcessInstanceId", String.class));
+        return summary;
+    }
+
+    private boolean isKnown(String eventType) {
+        for (CloudRuntimeEventType type : CloudRuntimeEventType.values()) {
+            if (type.name().equals(eventType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void applySpecification(
+        Specification<AuditEventEntity> specification,
+        Root<AuditEventEntity> root,
+        CriteriaQuery<?> query,
+        CriteriaBuilder criteriaBuilder
+    ) {
+        if (specification == null) {
+            return;
+        }
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
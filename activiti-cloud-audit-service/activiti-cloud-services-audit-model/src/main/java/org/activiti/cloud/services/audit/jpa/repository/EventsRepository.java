@@ -15,18 +15,73 @@
  */
 package org.activiti.cloud.services.audit.jpa.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import jakarta.persistence.QueryHint;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface EventsRepository<T extends AuditEventEntity>
-    extends PagingAndSortingRepository<T, Long>, JpaSpecificationExecutor<T>, CrudRepository<T, Long> {
+    extends
+        PagingAndSortingRepository<T, Long>,
+        JpaSpecificationExecutor<T>,
+        CrudRepository<T, Long>,
+        EventSummaryRepository {
     Optional<T> findByEventId(String eventId);
 
     Collection<T> findAllByOrderByTimestampDesc();
 
     Collection<AuditEventEntity> findAllByTimestampBetweenOrderByTimestampDesc(Long startDateTime, Long endDateTime);
+
+    /**
+     * Streams the events through a database cursor, so it must be consumed within a transaction and closed.
+     * The events are read-only and should be detached once processed to keep the persistence context small.
+     */
+    @QueryHints(
+        { @QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true") }
+    )
+    Stream<AuditEventEntity> streamAllByTimestampBetweenOrderByTimestampDesc(Long startDateTime, Long endDateTime);
+
+    @Query("select e.id from AuditEvent e")
+    List<Long> findIds(Pageable pageable);
+
+    @Query("select e.id from AuditEvent e where e.timestamp < :timestamp")
+    List<Long> findIdsByTimestampBefore(@Param("timestamp") Long timestamp, Pageable pageable);
+
+    @Query("select e.id from AuditEvent e where e.appName = :appName and e.timestamp < :timestamp")
+    List<Long> findIdsByAppNameAndTimestampBefore(
+        @Param("appName") String appName,
+        @Param("timestamp") Long timestamp,
+        Pageable pageable
+    );
+
+    @Query(
+        "select e.id from AuditEvent e where (e.appName is null or e.appName not in :appNames) and e.timestamp < :timestamp"
+    )
+    List<Long> findIdsByAppNameNotInAndTimestampBefore(
+        @Param("appNames") Collection<String> appNames,
+        @Param("timestamp") Long timestamp,
+        Pageable pageable
+    );
+
+    /**
+     * Deletes the given events with a single statement in its own transaction, without loading them.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from AuditEvent e where e.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.converters.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import org.activiti.api.process.model.ProcessInstance;
+import org.activiti.api.runtime.model.impl.ProcessInstanceImpl;
+import org.activiti.cloud.services.audit.jpa.conf.AuditPayloadProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+public class AuditPayloadCodecTest {
+
+    private ProcessInstanceJpaJsonConverter converter = new ProcessInstanceJpaJsonConverter();
+
+    private ProcessInstanceJpaJsonConverter compressingConverter = new ProcessInstanceJpaJsonConverter(
+        payloadProperties(AuditPayloadFormat.SMILE_DEFLATE)
+    );
+
+    @Test
+    public void should_writeCompressedPayload_when_formatIsSmileDeflate() {
+        //given
+        ProcessInstanceImpl processInstance = buildProcessInstance();
+
+        //when
+        String compressed = compressingConverter.convertToDatabaseColumn(processInstance);
+
+        //then
+        assertThat(compressed).startsWith(AuditPayloadCodec.SMILE_DEFLATE_PREFIX);
+        assertThat(compressingConverter.convertToEntityAttribute(compressed))
+            .usingRecursiveComparison()
+            .isEqualTo(processInstance);
+        assertThat(converter.convertToEntityAttribute(compressed))
+            .usingRecursiveComparison()
+            .isEqualTo(processInstance);
+    }
+
+    @Test
+    public void should_readJsonPayload_when_formatIsSmileDeflate() {
+        //given
+        ProcessInstanceImpl processInstance = buildProcessInstance();
+        String json = converter.convertToDatabaseColumn(processInstance);
+
+        //when
+        ProcessInstance decoded = compressingConverter.convertToEntityAttribute(json);
+
+        //then
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(processInstance);
+    }
+
+    @Test
+    public void should_returnNull_when_payloadIsEmpty() {
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+        assertThat(converter.convertToEntityAttribute("")).isNull();
+    }
+
+    @Test
+    public void should_injectPayloadProperties_when_converterIsCreatedByTheBeanContainer() {
+        //given
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("auditPayloadProperties", payloadProperties(AuditPayloadFormat.SMILE_DEFLATE));
+
+        //when
+        ProcessInstanceJpaJsonConverter createdConverter = (ProcessInstanceJpaJsonConverter) beanFactory.createBean(
+            ProcessInstanceJpaJsonConverter.class,
+            AutowireCapableBeanFactory.AUTOWIRE_CONSTRUCTOR,
+            false
+        );
+
+        //then
+        assertThat(createdConverter.convertToDatabaseColumn(buildProcessInstance()))
+            .startsWith(AuditPayloadCodec.SMILE_DEFLATE_PREFIX);
+    }
+
+    private AuditPayloadProperties payloadProperties(AuditPayloadFormat format) {
+        AuditPayloadProperties auditPayloadProperties = new AuditPayloadProperties();
+        auditPayloadProperties.setFormat(format);
+        return auditPayloadProperties;
+    }
+
+    private ProcessInstanceImpl buildProcessInstance() {
+        ProcessInstanceImpl processInstance = new ProcessInstanceImpl();
+        processInstance.setId("20");
+        processInstance.setName("My instance with a rather long name to compress");
+        processInstance.setProcessDefinitionId("proc-def-id");
+        processInstance.setProcessDefinitionKey("proc-def-key");
+        processInstance.setInitiator("initiator");
+        processInstance.setStartDate(new Date());
+        processInstance.setBusinessKey("business-key");
+        processInstance.setStatus(ProcessInstance.ProcessInstanceStatus.RUNNING);
+        return processInstance;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.partitioning;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.Test;
+
+public class AuditEventPartitionMaintainerTest {
+
+    private final AuditEventPartitionManager partitionManager = mock(AuditEventPartitionManager.class);
+
+    private final AuditEventPartitionMaintainer maintainer = new AuditEventPartitionMaintainer(
+        partitionManager,
+        new AuditPartitioningProperties()
+    );
+
+    @Test
+    public void should_createPartitionsAndSchedule_when_started() {
+        try {
+            maintainer.start();
+
+            verify(partitionManager).createPartitions(3);
+            assertThat(maintainer.isRunning()).isTrue();
+        } finally {
+            maintainer.stop();
+        }
+        assertThat(maintainer.isRunning()).isFalse();
+    }
+
+    @Test
+    public void should_failToStart_when_partitionsCannotBeCreated() {
+        given(partitionManager.createPartitions(3)).willThrow(new IllegalStateException("database unavailable"));
+
+        assertThatThrownBy(maintainer::start).hasMessage("database unavailable");
+        assertThat(maintainer.isRunning()).isFalse();
+    }
+
+    @Test
+    public void should_keepSchedule_when_scheduledCreationFails() {
+        given(partitionManager.createPartitions(3)).willThrow(new IllegalStateException("database unavailable"));
+
+        assertThatCode(maintainer::createScheduledPartitions).doesNotThrowAnyException();
+    }
+}
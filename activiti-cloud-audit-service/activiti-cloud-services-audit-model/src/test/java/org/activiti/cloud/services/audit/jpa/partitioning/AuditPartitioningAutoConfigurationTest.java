@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.partitioning;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.OracleDialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.junit.jupiter.api.Test;
+
+public class AuditPartitioningAutoConfigurationTest {
+
+    @Test
+    public void should_acceptPostgreSQL() {
+        assertThatCode(() -> AuditPartitioningAutoConfiguration.requireSupportedDialect(new PostgreSQLDialect()))
+            .doesNotThrowAnyException();
+    }
+
+    @Test
+    public void should_failToStart_when_databaseIsNotPostgreSQL() {
+        assertThatThrownBy(() -> AuditPartitioningAutoConfiguration.requireSupportedDialect(new OracleDialect()))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("OracleDialect");
+        assertThatThrownBy(() -> AuditPartitioningAutoConfiguration.requireSupportedDialect(new H2Dialect()))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("H2Dialect");
+    }
+}
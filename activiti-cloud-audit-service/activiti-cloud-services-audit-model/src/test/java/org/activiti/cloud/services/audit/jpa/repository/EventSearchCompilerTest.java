@@ -0,0 +1,142 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.activiti.cloud.services.audit.jpa.repository.EventSearchQuery.Criterion;
+import org.junit.jupiter.api.Test;
+
+public class EventSearchCompilerTest {
+
+    private EventSearchCompiler compiler = new EventSearchCompiler(false, 10);
+
+    @Test
+    public void should_putMostSelectivePredicatesFirst() {
+        //when
+        EventSearchQuery query = compiler.compile("eventType:TASK_CREATED,timestamp>100,processInstanceId:1");
+
+        //then
+        assertThat(query.getCriteria())
+            .extracting(Criterion::field)
+            .containsExactly(
+                EventSearchField.PROCESS_INSTANCE_ID,
+                EventSearchField.TIMESTAMP,
+                EventSearchField.EVENT_TYPE
+            );
+        assertThat(query.getCriteria().get(1).value()).isEqualTo(100L);
+    }
+
+    @Test
+    public void should_reuseCompiledQuery_when_searchIsRepeated() {
+        //when
+        EventSearchQuery query = compiler.compile("entityId:1234-abc");
+
+        //then
+        assertThat(compiler.compile("entityId:1234-abc")).isSameAs(query);
+    }
+
+    @Test
+    public void should_returnNull_when_searchIsEmpty() {
+        assertThat(compiler.compile(null)).isNull();
+        assertThat(compiler.compile("")).isNull();
+    }
+
+    @Test
+    public void should_detectPatternOperations() {
+        //when
+        EventSearchQuery query = compiler.compile("processInstanceId:1,businessKey:*key*,serviceName:rb*");
+
+        //then
+        assertThat(query.getCriteria())
+            .extracting(Criterion::operation)
+            .containsExactly(SearchOperation.EQUALITY, SearchOperation.CONTAINS, SearchOperation.STARTS_WITH);
+    }
+
+    @Test
+    public void should_reject_when_fieldIsNotSearchable() {
+        assertThatThrownBy(() -> compiler.compile("procesInstanceId:1"))
+            .isInstanceOf(InvalidEventSearchException.class)
+            .hasMessageContaining("procesInstanceId");
+    }
+
+    @Test
+    public void should_reject_when_searchCannotBeParsed() {
+        assertThatThrownBy(() -> compiler.compile("processInstanceId=1"))
+            .isInstanceOf(InvalidEventSearchException.class);
+    }
+
+    @Test
+    public void should_reject_when_timestampIsNotANumber() {
+        assertThatThrownBy(() -> compiler.compile("timestamp>yesterday"))
+            .isInstanceOf(InvalidEventSearchException.class);
+    }
+
+    @Test
+    public void should_reject_when_scanIsUnbounded() {
+        assertThatThrownBy(() -> compiler.compile("businessKey:*key*")).isInstanceOf(InvalidEventSearchException.class);
+        assertThatThrownBy(() -> compiler.compile("eventType!TASK_CREATED,timestamp>100"))
+            .isInstanceOf(InvalidEventSearchException.class);
+    }
+
+    @Test
+    public void should_reject_when_notIndexedFieldIsUnbounded() {
+        assertThatThrownBy(() -> compiler.compile("businessKey:key,eventType:TASK_CREATED"))
+            .isInstanceOf(InvalidEventSearchException.class);
+        assertThatThrownBy(() -> compiler.compile("serviceName:rb*")).isInstanceOf(InvalidEventSearchException.class);
+    }
+
+    @Test
+    public void should_reject_when_prefixOfNonKeyFieldIsUnbounded() {
+        assertThatThrownBy(() -> compiler.compile("eventType:TASK*")).isInstanceOf(InvalidEventSearchException.class);
+    }
+
+    @Test
+    public void should_allowPrefix_when_fieldIsAKey() {
+        assertThat(compiler.compile("processInstanceId:abc*")).isNotNull();
+    }
+
+    @Test
+    public void should_allowEquality_when_notIndexedFieldIsBounded() {
+        //when
+        EventSearchQuery query = compiler.compile("businessKey:key,eventType:TASK_CREATED,processInstanceId:1");
+
+        //then
+        assertThat(query.getCriteria())
+            .extracting(Criterion::field)
+            .containsExactly(
+                EventSearchField.PROCESS_INSTANCE_ID,
+                EventSearchField.EVENT_TYPE,
+                EventSearchField.BUSINESS_KEY
+            );
+    }
+
+    @Test
+    public void should_allowScan_when_boundedByKeyOrTimeWindow() {
+        assertThat(compiler.compile("entityId:1,businessKey:*key*")).isNotNull();
+        assertThat(compiler.compile("timestamp>100,timestamp<200,businessKey:*key*")).isNotNull();
+    }
+
+    @Test
+    public void should_allowScan_when_unboundedScansAreAllowed() {
+        //given
+        EventSearchCompiler permissiveCompiler = new EventSearchCompiler(true, 10);
+
+        //then
+        assertThat(permissiveCompiler.compile("businessKey:*key*").getCriteria()).hasSize(1);
+    }
+}
@@ -19,7 +19,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletResponse;
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
 import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
@@ -28,10 +27,13 @@ import org.activiti.cloud.services.audit.api.converters.APIEventToEntityConverte
 import org.activiti.cloud.services.audit.api.converters.CloudRuntimeEventType;
 import org.activiti.cloud.services.audit.api.resources.EventsLinkRelationProvider;
 import org.activiti.cloud.services.audit.jpa.assembler.EventRepresentationModelAssembler;
+import org.activiti.cloud.services.audit.jpa.controllers.AuditEventsExporter.CsvEventsWriter;
 import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.repository.AuditEventSummary;
 import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
 import org.activiti.cloud.services.audit.jpa.service.AuditEventsAdminService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -66,6 +68,8 @@ public class AuditEventsAdminControllerImpl implements AuditEventsAdminControlle
 
     private final AuditEventsAdminService auditEventsAdminService;
 
+    private final boolean includePayloadByDefault;
+
     @Autowired
     public AuditEventsAdminControllerImpl(
         EventsRepository eventsRepository,
@@ -73,7 +77,8 @@ public class AuditEventsAdminControllerImpl implements AuditEventsAdminControlle
         APIEventToEntityConverters eventConverters,
         AlfrescoPagedModelAssembler<CloudRuntimeEvent<?, CloudRuntimeEventType>> pagedCollectionModelAssembler,
         ObjectMapper objectMapper,
-        AuditEventsAdminService auditEventsAdminService
+        AuditEventsAdminService auditEventsAdminService,
+        @Value("${activiti.cloud.audit.events.include-payload:true}") boolean includePayloadByDefault
     ) {
         this.eventsRepository = eventsRepository;
         this.eventRepresentationModelAssembler = eventRepresentationModelAssembler;
@@ -81,10 +86,23 @@ public class AuditEventsAdminControllerImpl implements AuditEventsAdminControlle
         this.pagedCollectionModelAssembler = pagedCollectionModelAssembler;
         this.auditEventsExporter = new AuditEventsExporter(objectMapper);
         this.auditEventsAdminService = auditEventsAdminService;
+        this.includePayloadByDefault = includePayloadByDefault;
     }
 
     @RequestMapping(method = RequestMethod.GET)
-    public PagedModel<EntityModel<CloudRuntimeEvent<?, CloudRuntimeEventType>>> findAll(Pageable pageable) {
+    public PagedModel<EntityModel<CloudRuntimeEvent<?, CloudRuntimeEventType>>> findAll(
+        @RequestParam(value = "include", required = false) String include,
+        Pageable pageable
+    ) {
+        if (!AuditEventsInclude.includePayload(include, includePayloadByDefault)) {
+            Page<AuditEventSummary> summaries = eventsRepository.findAllSummaries(null, pageable);
+            return pagedCollectionModelAssembler.toModel(
+                pageable,
+                new PageImpl<>(new ArrayList<>(summaries.getContent()), pageable, summaries.getTotalElements()),
+                eventRepresentationModelAssembler
+            );
+        }
+
         Page<AuditEventEntity> allAuditInPage = eventsRepository.findAll(pageable);
 
         List<CloudRuntimeEvent<?, CloudRuntimeEventType>> events = toCloudRuntimeEvents(allAuditInPage.getContent());
@@ -101,13 +119,18 @@ public class AuditEventsAdminControllerImpl implements AuditEventsAdminControlle
         @PathVariable(value = "fileName") String fileName,
         @RequestParam(value = "from", required = true) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
         @RequestParam(value = "to", required = true) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        @RequestParam(value = "gzip", required = false, defaultValue = "false") boolean gzip,
         HttpServletResponse response
     ) throws Exception {
-        Collection<AuditEventEntity> audits = auditEventsAdminService.findAuditsBetweenDates(from, to);
-
-        List<CloudRuntimeEvent<?, CloudRuntimeEventType>> events = toCloudRuntimeEvents(audits);
-
-        auditEventsExporter.exportCsv(events, fileName, response);
+        auditEventsAdminService.validateDates(from, to);
+
+        try (CsvEventsWriter writer = auditEventsExporter.openCsv(fileName, gzip, response)) {
+            auditEventsAdminService.forEachAuditBetweenDates(
+                from,
+                to,
+                audit -> writer.write(toCloudRuntimeEvent(audit))
+            );
+        }
     }
 
     private List<CloudRuntimeEvent<?, CloudRuntimeEventType>> toCloudRuntimeEvents(
@@ -116,8 +139,12 @@ public class AuditEventsAdminControllerImpl implements AuditEventsAdminControlle
         List<CloudRuntimeEvent<?, CloudRuntimeEventType>> events = new ArrayList<>();
 
         for (AuditEventEntity aee : allAuditInPage) {
-            events.add(eventConverters.getConverterByEventTypeName(aee.getEventType()).convertToAPI(aee));
+            events.add(toCloudRuntimeEvent(aee));
         }
         return events;
     }
+
+    private CloudRuntimeEvent<?, CloudRuntimeEventType> toCloudRuntimeEvent(AuditEventEntity aee) {
+        return eventConverters.getConverterByEventTypeName(aee.getEventType()).convertToAPI(aee);
+    }
 }
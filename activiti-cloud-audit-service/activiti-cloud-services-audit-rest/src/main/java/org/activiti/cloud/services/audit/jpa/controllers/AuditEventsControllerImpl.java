@@ -15,14 +15,9 @@
  */
 package org.activiti.cloud.services.audit.jpa.controllers;
 
-import static java.util.stream.Collectors.joining;
-
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import org.activiti.api.runtime.shared.NotFoundException;
 import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
 import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
@@ -33,15 +28,16 @@ import org.activiti.cloud.services.audit.api.converters.EventToEntityConverter;
 import org.activiti.cloud.services.audit.api.resources.EventsLinkRelationProvider;
 import org.activiti.cloud.services.audit.jpa.assembler.EventRepresentationModelAssembler;
 import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
-import org.activiti.cloud.services.audit.jpa.repository.EventSpecificationsBuilder;
+import org.activiti.cloud.services.audit.jpa.repository.AuditEventSummary;
+import org.activiti.cloud.services.audit.jpa.repository.EventSearchCompiler;
 import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
-import org.activiti.cloud.services.audit.jpa.repository.SearchOperation;
 import org.activiti.cloud.services.audit.jpa.security.SecurityPoliciesApplicationServiceImpl;
 import org.activiti.core.common.spring.security.policies.ActivitiForbiddenException;
 import org.activiti.core.common.spring.security.policies.SecurityPolicyAccess;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -75,19 +71,27 @@ public class AuditEventsControllerImpl implements AuditEventsController {
 
     private final APIEventToEntityConverters eventConverters;
 
+    private final EventSearchCompiler eventSearchCompiler;
+
+    private final boolean includePayloadByDefault;
+
     @Autowired
     public AuditEventsControllerImpl(
         EventsRepository eventsRepository,
         EventRepresentationModelAssembler eventRepresentationModelAssembler,
         APIEventToEntityConverters eventConverters,
         SecurityPoliciesApplicationServiceImpl securityPoliciesApplicationService,
-        AlfrescoPagedModelAssembler<CloudRuntimeEvent<?, CloudRuntimeEventType>> pagedCollectionModelAssembler
+        AlfrescoPagedModelAssembler<CloudRuntimeEvent<?, CloudRuntimeEventType>> pagedCollectionModelAssembler,
+        EventSearchCompiler eventSearchCompiler,
+        @Value("${activiti.cloud.audit.events.include-payload:true}") boolean includePayloadByDefault
     ) {
         this.eventsRepository = eventsRepository;
         this.eventRepresentationModelAssembler = eventRepresentationModelAssembler;
         this.eventConverters = eventConverters;
         this.pagedCollectionModelAssembler = pagedCollectionModelAssembler;
         this.securityPoliciesApplicationService = securityPoliciesApplicationService;
+        this.eventSearchCompiler = eventSearchCompiler;
+        this.includePayloadByDefault = includePayloadByDefault;
     }
 
     @RequestMapping(value = "/{eventId}", method = RequestMethod.GET)
@@ -117,12 +121,22 @@ public class AuditEventsControllerImpl implements AuditEventsController {
     @RequestMapping(method = RequestMethod.GET)
     public PagedModel<EntityModel<CloudRuntimeEvent<?, CloudRuntimeEventType>>> findAll(
         @RequestParam(value = "search", required = false) String search,
+        @RequestParam(value = "include", required = false) String include,
         Pageable pageable
     ) {
         Specification<AuditEventEntity> spec = createSearchSpec(search);
 
         spec = securityPoliciesApplicationService.createSpecWithSecurity(spec, SecurityPolicyAccess.READ);
 
+        if (!AuditEventsInclude.includePayload(include, includePayloadByDefault)) {
+            Page<AuditEventSummary> summaries = eventsRepository.findAllSummaries(spec, pageable);
+            return pagedCollectionModelAssembler.toModel(
+                pageable,
+                new PageImpl<>(new ArrayList<>(summaries.getContent()), pageable, summaries.getTotalElements()),
+                eventRepresentationModelAssembler
+            );
+        }
+
         Page<AuditEventEntity> allAuditInPage = eventsRepository.findAll(spec, pageable);
         List<CloudRuntimeEvent<?, CloudRuntimeEventType>> events = new ArrayList<>();
 
@@ -145,21 +159,6 @@ public class AuditEventsControllerImpl implements AuditEventsController {
     }
 
     private Specification<AuditEventEntity> createSearchSpec(String search) {
-        EventSpecificationsBuilder builder = new EventSpecificationsBuilder();
-        if (search != null && !search.isEmpty()) {
-            String operationSetExpr = Arrays
-                .asList(SearchOperation.SIMPLE_OPERATION_SET)
-                .stream()
-                .collect(joining("|"));
-            Pattern pattern = Pattern.compile(
-                "(\\w+?)(" + operationSetExpr + ")(\\p{Punct}?)([a-zA-Z0-9-_]+?)(\\p{Punct}?),"
-            );
-            Matcher matcher = pattern.matcher(search + ",");
-            while (matcher.find()) {
-                builder.with(matcher.group(1), matcher.group(2), matcher.group(4), matcher.group(3), matcher.group(5));
-            }
-        }
-
-        return builder.build();
+        return eventSearchCompiler.compile(search);
     }
 }
@@ -15,19 +15,11 @@
  */
 package org.activiti.cloud.services.audit.jpa.controllers;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
-import org.activiti.cloud.services.audit.api.converters.APIEventToEntityConverters;
-import org.activiti.cloud.services.audit.api.converters.CloudRuntimeEventType;
 import org.activiti.cloud.services.audit.api.resources.EventsLinkRelationProvider;
-import org.activiti.cloud.services.audit.jpa.assembler.EventRepresentationModelAssembler;
-import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
-import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.activiti.cloud.services.audit.jpa.retention.AuditEventsPurgeResult;
+import org.activiti.cloud.services.audit.jpa.retention.AuditEventsRetentionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.hateoas.CollectionModel;
-import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -42,38 +34,15 @@ import org.springframework.web.bind.annotation.RestController;
 )
 public class AuditEventsDeleteController {
 
-    private final EventsRepository eventsRepository;
-
-    private final EventRepresentationModelAssembler eventRepresentationModelAssembler;
-
-    private final APIEventToEntityConverters eventConverters;
+    private final AuditEventsRetentionService retentionService;
 
     @Autowired
-    public AuditEventsDeleteController(
-        EventsRepository eventsRepository,
-        EventRepresentationModelAssembler eventRepresentationModelAssembler,
-        APIEventToEntityConverters eventConverters
-    ) {
-        this.eventsRepository = eventsRepository;
-        this.eventRepresentationModelAssembler = eventRepresentationModelAssembler;
-        this.eventConverters = eventConverters;
+    public AuditEventsDeleteController(AuditEventsRetentionService retentionService) {
+        this.retentionService = retentionService;
     }
 
     @RequestMapping(method = RequestMethod.DELETE)
-    public CollectionModel<EntityModel<CloudRuntimeEvent<?, CloudRuntimeEventType>>> deleteEvents() {
-        Collection<EntityModel<CloudRuntimeEvent<?, CloudRuntimeEventType>>> result = new ArrayList<>();
-        Iterable<AuditEventEntity> iterable = eventsRepository.findAll();
-
-        for (AuditEventEntity entity : iterable) {
-            result.add(
-                eventRepresentationModelAssembler.toModel(
-                    eventConverters.getConverterByEventTypeName(entity.getEventType()).convertToAPI(entity)
-                )
-            );
-        }
-
-        eventsRepository.deleteAll(iterable);
-
-        return CollectionModel.of(result);
+    public AuditEventsPurgeResult deleteEvents() {
+        return retentionService.deleteAll();
     }
 }
@@ -18,10 +18,12 @@ package org.activiti.cloud.services.audit.jpa.controllers;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.opencsv.bean.StatefulBeanToCsv;
 import com.opencsv.bean.StatefulBeanToCsvBuilder;
+import com.opencsv.exceptions.CsvException;
 import jakarta.servlet.http.HttpServletResponse;
-import java.io.PrintWriter;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.zip.GZIPOutputStream;
 import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
 import org.activiti.cloud.services.audit.api.converters.CloudRuntimeEventType;
 import org.activiti.cloud.services.audit.jpa.controllers.csv.CsvLogEntry;
@@ -31,7 +33,9 @@ public class AuditEventsExporter {
 
     private static final String HEADER_ATTACHMENT_FILENAME = "attachment;filename=";
     private static final String HEADER_CONTENT_DISPOSITION = "Content-Disposition";
+    private static final String HEADER_CONTENT_ENCODING = "Content-Encoding";
     private static final String CSV_CONTENT_TYPE = "text/csv";
+    private static final String GZIP_ENCODING = "gzip";
 
     private ObjectToJsonStrategy objectToJsonStrategy;
 
@@ -39,39 +43,49 @@ public class AuditEventsExporter {
         objectToJsonStrategy = new ObjectToJsonStrategy(objectMapper);
     }
 
-    public void exportCsv(
-        List<CloudRuntimeEvent<?, CloudRuntimeEventType>> events,
-        String fileName,
-        HttpServletResponse response
-    ) throws Exception {
-        setHttpHeaders(fileName, response);
-        writeEventsAsCsv(events, response);
+    /**
+     * Opens a writer streaming the events as CSV to the response, optionally gzip encoded.
+     * The events are written as they come, so the export is not held in memory.
+     */
+    public CsvEventsWriter openCsv(String fileName, boolean gzip, HttpServletResponse response) throws IOException {
+        setHttpHeaders(fileName, gzip, response);
+
+        Writer writer = gzip
+            ? new OutputStreamWriter(new GZIPOutputStream(response.getOutputStream()), response.getCharacterEncoding())
+            : response.getWriter();
+        return new CsvEventsWriter(writer);
     }
 
-    private void setHttpHeaders(String fileName, HttpServletResponse response) {
+    private void setHttpHeaders(String fileName, boolean gzip, HttpServletResponse response) {
         response.setContentType(CSV_CONTENT_TYPE);
         response.setHeader(HEADER_CONTENT_DISPOSITION, HEADER_ATTACHMENT_FILENAME + fileName);
+        if (gzip) {
+            response.setHeader(HEADER_CONTENT_ENCODING, GZIP_ENCODING);
+        }
     }
 
-    private void writeEventsAsCsv(
-        List<CloudRuntimeEvent<?, CloudRuntimeEventType>> events,
-        HttpServletResponse response
-    ) throws Exception {
-        List<CsvLogEntry> entries = toCsvLogEntryList(events);
+    public class CsvEventsWriter implements AutoCloseable {
 
-        PrintWriter writer = response.getWriter();
-        StatefulBeanToCsv beanToCsv = new StatefulBeanToCsvBuilder<List<CloudRuntimeEvent>>(writer)
-            .withMappingStrategy(objectToJsonStrategy)
-            .build();
-        beanToCsv.write(entries);
-        writer.close();
-    }
+        private final Writer writer;
+        private final StatefulBeanToCsv<CsvLogEntry> beanToCsv;
+
+        private CsvEventsWriter(Writer writer) {
+            this.writer = writer;
+            this.beanToCsv =
+                new StatefulBeanToCsvBuilder<CsvLogEntry>(writer).withMappingStrategy(objectToJsonStrategy).build();
+        }
+
+        public void write(CloudRuntimeEvent<?, CloudRuntimeEventType> event) {
+            try {
+                beanToCsv.write(new CsvLogEntry(event));
+            } catch (CsvException e) {
+                throw new IllegalStateException("Unable to write audit event " + event.getId() + " as CSV", e);
+            }
+        }
 
-    private List<CsvLogEntry> toCsvLogEntryList(List<CloudRuntimeEvent<?, CloudRuntimeEventType>> events) {
-        List<CsvLogEntry> entries = new ArrayList<>();
-        for (CloudRuntimeEvent event : events) {
-            entries.add(new CsvLogEntry(event));
+        @Override
+        public void close() throws IOException {
+            writer.close();
         }
-        return entries;
     }
 }
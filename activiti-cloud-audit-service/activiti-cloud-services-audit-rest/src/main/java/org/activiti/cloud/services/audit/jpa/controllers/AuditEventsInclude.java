@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.controllers;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Values of the include parameter of the audit event list endpoints.
+ */
+enum AuditEventsInclude {
+    /**
+     * Only the header of the events is read, the payload of each event is available from its self link
+     */
+    HEADER,
+    /**
+     * The events are read with their payload
+     */
+    PAYLOAD;
+
+    /**
+     * @return whether the listed events include their payload
+     * @throws InvalidIncludeException when the include parameter is neither header nor payload
+     */
+    static boolean includePayload(String include, boolean includePayloadByDefault) {
+        if (include == null) {
+            return includePayloadByDefault;
+        }
+        return of(include) == PAYLOAD;
+    }
+
+    private static AuditEventsInclude of(String include) {
+        return Arrays
+            .stream(values())
+            .filter(value -> value.name().equalsIgnoreCase(include))
+            .findFirst()
+            .orElseThrow(() ->
+                new InvalidIncludeException(
+                    "Unable to include '" +
+                    include +
+                    "', the include parameter must be one of: " +
+                    Arrays.stream(values()).map(value -> value.name().toLowerCase()).collect(Collectors.joining(", "))
+                )
+            );
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    static class InvalidIncludeException extends IllegalStateException {
+
+        InvalidIncludeException(String message) {
+            super(message);
+        }
+    }
+}
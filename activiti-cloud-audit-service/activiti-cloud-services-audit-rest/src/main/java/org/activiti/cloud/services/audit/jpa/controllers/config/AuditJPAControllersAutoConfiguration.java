@@ -15,14 +15,20 @@
  */
 package org.activiti.cloud.services.audit.jpa.controllers.config;
 
+import jakarta.persistence.EntityManager;
 import org.activiti.cloud.services.audit.jpa.assembler.config.EventRepresentationModelAssemblerConfiguration;
 import org.activiti.cloud.services.audit.jpa.controllers.AuditEventsAdminControllerImpl;
 import org.activiti.cloud.services.audit.jpa.controllers.AuditEventsControllerImpl;
 import org.activiti.cloud.services.audit.jpa.controllers.AuditEventsDeleteController;
+import org.activiti.cloud.services.audit.jpa.partitioning.AuditEventPartitionManager;
 import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.activiti.cloud.services.audit.jpa.retention.AuditEventsRetentionService;
+import org.activiti.cloud.services.audit.jpa.retention.AuditRetentionProperties;
 import org.activiti.cloud.services.audit.jpa.service.AuditEventsAdminService;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
@@ -38,6 +44,7 @@ import org.springframework.web.servlet.config.annotation.CorsRegistry;
         AuditEventsDeleteController.class,
     }
 )
+@EnableConfigurationProperties(AuditRetentionProperties.class)
 public class AuditJPAControllersAutoConfiguration {
 
     @Bean
@@ -52,7 +59,24 @@ public class AuditJPAControllersAutoConfiguration {
     }
 
     @Bean
-    public AuditEventsAdminService auditEventsAdminService(EventsRepository eventsRepository) {
-        return new AuditEventsAdminService(eventsRepository);
+    public AuditEventsAdminService auditEventsAdminService(
+        EventsRepository eventsRepository,
+        ObjectProvider<EntityManager> entityManager
+    ) {
+        return new AuditEventsAdminService(eventsRepository, entityManager.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuditEventsRetentionService auditEventsRetentionService(
+        EventsRepository eventsRepository,
+        AuditRetentionProperties retentionProperties,
+        ObjectProvider<AuditEventPartitionManager> partitionManager
+    ) {
+        return new AuditEventsRetentionService(
+            eventsRepository,
+            retentionProperties,
+            partitionManager.getIfAvailable()
+        );
     }
 }
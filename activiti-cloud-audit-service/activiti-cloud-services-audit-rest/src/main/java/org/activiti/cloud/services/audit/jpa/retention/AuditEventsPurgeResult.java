@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.retention;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Outcome of a purge of audit events, reported instead of the deleted events. The events of the dropped
+ * partitions are not counted, as they are not deleted one by one.
+ */
+public record AuditEventsPurgeResult(long deletedEvents, int droppedPartitions, long durationMillis) {
+    @JsonProperty
+    public double eventsPerSecond() {
+        return durationMillis > 0 ? deletedEvents * 1000.0 / durationMillis : deletedEvents;
+    }
+
+    AuditEventsPurgeResult plus(AuditEventsPurgeResult other) {
+        return new AuditEventsPurgeResult(
+            deletedEvents + other.deletedEvents,
+            droppedPartitions + other.droppedPartitions,
+            durationMillis + other.durationMillis
+        );
+    }
+}
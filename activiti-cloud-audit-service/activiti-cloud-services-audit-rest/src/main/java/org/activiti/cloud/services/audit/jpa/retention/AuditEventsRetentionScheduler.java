@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.retention;
+
+import java.util.concurrent.locks.Lock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.integration.support.locks.LockRegistry;
+import org.springframework.integration.support.locks.RenewableLockRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+
+/**
+ * Runs the purge of the expired audit events on its own scheduler, so that scheduling does not have to be
+ * enabled for the whole application. When a {@link LockRegistry} is given, a purge only runs while holding its
+ * lock, so that the replicas skip the purges already running on another replica rather than competing to delete
+ * the same events.
+ */
+public class AuditEventsRetentionScheduler implements SmartLifecycle {
+
+    static final String RETENTION_LOCK_KEY = "activiti-cloud-audit-retention";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuditEventsRetentionScheduler.class);
+
+    private final AuditEventsRetentionService retentionService;
+
+    private final LockRegistry lockRegistry;
+
+    private final String schedule;
+
+    private volatile ThreadPoolTaskScheduler taskScheduler;
+
+    /**
+     * @param lockRegistry the registry of the lock guarding the purges, null when only one replica purges
+     */
+    public AuditEventsRetentionScheduler(
+        AuditEventsRetentionService retentionService,
+        LockRegistry lockRegistry,
+        String schedule
+    ) {
+        this.retentionService = retentionService;
+        this.lockRegistry = lockRegistry;
+        this.schedule = schedule;
+    }
+
+    @Override
+    public void start() {
+        if (lockRegistry == null) {
+            LOGGER.warn(
+                "The purges of the audit events are not guarded by a LockRegistry, {}.enabled must only be true " +
+                "on one replica",
+                AuditRetentionProperties.AUDIT_RETENTION_PREFIX
+            );
+        }
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix("audit-retention-");
+        scheduler.initialize();
+        scheduler.schedule(this::purgeExpired, new CronTrigger(schedule));
+        taskScheduler = scheduler;
+    }
+
+    @Override
+    public void stop() {
+        ThreadPoolTaskScheduler scheduler = taskScheduler;
+        if (scheduler != null) {
+            scheduler.shutdown();
+            taskScheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return taskScheduler != null;
+    }
+
+    public void purgeExpired() {
+        if (lockRegistry == null) {
+            retentionService.purgeExpired();
+            return;
+        }
+
+        Lock lock = lockRegistry.obtain(RETENTION_LOCK_KEY);
+        if (!lock.tryLock()) {
+            LOGGER.debug("The audit events are being purged by another replica");
+            return;
+        }
+        try {
+            // a long purge must keep its lock, or another replica would start purging the same events
+            retentionService.purgeExpired(
+                lockRegistry instanceof RenewableLockRegistry renewableLockRegistry
+                    ? () -> renewableLockRegistry.renewLock(RETENTION_LOCK_KEY)
+                    : () -> {}
+            );
+        } finally {
+            lock.unlock();
+        }
+    }
+}
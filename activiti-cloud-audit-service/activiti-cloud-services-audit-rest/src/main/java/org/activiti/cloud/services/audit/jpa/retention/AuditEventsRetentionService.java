@@ -0,0 +1,184 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.retention;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import org.activiti.cloud.services.audit.jpa.partitioning.AuditEventPartitionManager;
+import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Purges audit events in chunks: the ids of a chunk are selected and then deleted by a single statement in its
+ * own transaction, so that neither the events are loaded nor long running transactions are held, whatever
+ * the number of events to purge. When the audit events are partitioned, the partitions expired for all the
+ * applications are dropped instead.
+ */
+public class AuditEventsRetentionService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuditEventsRetentionService.class);
+
+    private final EventsRepository<?> eventsRepository;
+
+    private final AuditRetentionProperties retentionProperties;
+
+    private final AuditEventPartitionManager partitionManager;
+
+    private final Clock clock;
+
+    public AuditEventsRetentionService(
+        EventsRepository<?> eventsRepository,
+        AuditRetentionProperties retentionProperties
+    ) {
+        this(eventsRepository, retentionProperties, null);
+    }
+
+    /**
+     * @param partitionManager the manager of the audit event partitions, null when they are not partitioned
+     */
+    public AuditEventsRetentionService(
+        EventsRepository<?> eventsRepository,
+        AuditRetentionProperties retentionProperties,
+        AuditEventPartitionManager partitionManager
+    ) {
+        this(eventsRepository, retentionProperties, partitionManager, Clock.systemUTC());
+    }
+
+    public AuditEventsRetentionService(
+        EventsRepository<?> eventsRepository,
+        AuditRetentionProperties retentionProperties,
+        AuditEventPartitionManager partitionManager,
+        Clock clock
+    ) {
+        this.eventsRepository = eventsRepository;
+        this.retentionProperties = retentionProperties;
+        this.partitionManager = partitionManager;
+        this.clock = clock;
+    }
+
+    public AuditEventsPurgeResult deleteAll() {
+        return purge("audit events", eventsRepository::findIds, () -> {});
+    }
+
+    /**
+     * Purges the audit events older than the max age of their application, or than the default max age
+     * for the applications without a specific policy.
+     */
+    public AuditEventsPurgeResult purgeExpired() {
+        return purgeExpired(() -> {});
+    }
+
+    /**
+     * @param progressListener run after each chunk deleted, such as to renew the lock guarding the purge
+     */
+    public AuditEventsPurgeResult purgeExpired(Runnable progressListener) {
+        long now = clock.millis();
+        AuditEventsPurgeResult result = dropExpiredPartitions(now);
+        progressListener.run();
+
+        for (Map.Entry<String, Duration> appPolicy : retentionProperties.getAppMaxAge().entrySet()) {
+            String appName = appPolicy.getKey();
+            long timestamp = now - appPolicy.getValue().toMillis();
+            result =
+                result.plus(
+                    purge(
+                        "audit events of " + appName,
+                        chunk -> eventsRepository.findIdsByAppNameAndTimestampBefore(appName, timestamp, chunk),
+                        progressListener
+                    )
+                );
+        }
+
+        Duration maxAge = retentionProperties.getMaxAge();
+        if (maxAge != null) {
+            long timestamp = now - maxAge.toMillis();
+            Set<String> appNames = retentionProperties.getAppMaxAge().keySet();
+            result =
+                result.plus(
+                    purge(
+                        "expired audit events",
+                        appNames.isEmpty()
+                            ? chunk -> eventsRepository.findIdsByTimestampBefore(timestamp, chunk)
+                            : chunk ->
+                                eventsRepository.findIdsByAppNameNotInAndTimestampBefore(appNames, timestamp, chunk),
+                        progressListener
+                    )
+                );
+        }
+
+        return result;
+    }
+
+    private AuditEventsPurgeResult dropExpiredPartitions(long now) {
+        Duration maxAge = retentionProperties.getMaxAge();
+        if (partitionManager == null || maxAge == null) {
+            return new AuditEventsPurgeResult(0, 0, 0);
+        }
+
+        // a partition holds the events of all the applications, so it can only be dropped once expired for all
+        Duration longestMaxAge = retentionProperties
+            .getAppMaxAge()
+            .values()
+            .stream()
+            .reduce(maxAge, BinaryOperator.maxBy(Comparator.naturalOrder()));
+
+        long start = clock.millis();
+        int droppedPartitions = partitionManager.dropPartitionsBefore(now - longestMaxAge.toMillis());
+        if (droppedPartitions > 0) {
+            LOGGER.info("Dropped {} expired audit event partitions", droppedPartitions);
+        }
+        return new AuditEventsPurgeResult(0, droppedPartitions, clock.millis() - start);
+    }
+
+    private AuditEventsPurgeResult purge(
+        String description,
+        Function<Pageable, List<Long>> chunkIdsFinder,
+        Runnable progressListener
+    ) {
+        Pageable chunk = PageRequest.ofSize(retentionProperties.getChunkSize());
+        long start = clock.millis();
+        long deletedEvents = 0;
+
+        List<Long> ids;
+        do {
+            ids = chunkIdsFinder.apply(chunk);
+            if (!ids.isEmpty()) {
+                deletedEvents += eventsRepository.deleteByIdIn(ids);
+                LOGGER.debug("Purged {} {} so far", deletedEvents, description);
+                progressListener.run();
+            }
+        } while (ids.size() == chunk.getPageSize());
+
+        AuditEventsPurgeResult result = new AuditEventsPurgeResult(deletedEvents, 0, clock.millis() - start);
+        LOGGER.info(
+            "Purged {} {} in {} ms ({} events/s)",
+            result.deletedEvents(),
+            description,
+            result.durationMillis(),
+            Math.round(result.eventsPerSecond())
+        );
+        return result;
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.retention;
+
+import org.activiti.cloud.services.audit.jpa.controllers.config.AuditJPAControllersAutoConfiguration;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.integration.support.locks.LockRegistry;
+
+@AutoConfiguration(after = AuditJPAControllersAutoConfiguration.class)
+@ConditionalOnProperty(prefix = AuditRetentionProperties.AUDIT_RETENTION_PREFIX, name = "enabled", havingValue = "true")
+public class AuditRetentionAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuditEventsRetentionScheduler auditEventsRetentionScheduler(
+        AuditEventsRetentionService retentionService,
+        AuditRetentionProperties retentionProperties,
+        ObjectProvider<LockRegistry> lockRegistry
+    ) {
+        return new AuditEventsRetentionScheduler(
+            retentionService,
+            lockRegistry.getIfUnique(),
+            retentionProperties.getSchedule()
+        );
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.retention;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = AuditRetentionProperties.AUDIT_RETENTION_PREFIX)
+public class AuditRetentionProperties {
+
+    public static final String AUDIT_RETENTION_PREFIX = "activiti.cloud.audit.retention";
+
+    /**
+     * Enables the scheduled purge of the audit events older than the retention policies. The purges of the
+     * replicas are guarded by the LockRegistry bean of the application, such as a JdbcLockRegistry, so that a
+     * single replica purges at a time. Without a LockRegistry bean, it must only be enabled on one replica.
+     * Default is false
+     */
+    private boolean enabled = false;
+
+    /**
+     * Cron expression of the scheduled purge. Default is every hour
+     */
+    private String schedule = "0 0 * * * *";
+
+    /**
+     * Number of audit events deleted by each statement, each in its own transaction. Default is 1000
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * Age after which the audit events of the applications without a specific policy are purged.
+     * Default is none, so that they are kept
+     */
+    private Duration maxAge;
+
+    /**
+     * Age after which the audit events are purged, by application name. Overrides max-age for these applications
+     */
+    private Map<String, Duration> appMaxAge = new LinkedHashMap<>();
+
+    public AuditRetentionProperties() {
+        // default constructor
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getSchedule() {
+        return schedule;
+    }
+
+    public void setSchedule(String schedule) {
+        this.schedule = schedule;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    public Map<String, Duration> getAppMaxAge() {
+        return appMaxAge;
+    }
+
+    public void setAppMaxAge(Map<String, Duration> appMaxAge) {
+        this.appMaxAge = appMaxAge;
+    }
+}
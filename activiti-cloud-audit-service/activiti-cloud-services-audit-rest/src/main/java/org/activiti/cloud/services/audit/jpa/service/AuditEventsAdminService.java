@@ -15,35 +15,59 @@
  */
 package org.activiti.cloud.services.audit.jpa.service;
 
+import jakarta.persistence.EntityManager;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
-import java.time.temporal.ChronoUnit;
-import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
 import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.springframework.transaction.annotation.Transactional;
 
 public class AuditEventsAdminService {
 
     private final EventsRepository eventsRepository;
 
-    public AuditEventsAdminService(EventsRepository eventsRepository) {
+    private final EntityManager entityManager;
+
+    public AuditEventsAdminService(EventsRepository eventsRepository, EntityManager entityManager) {
         this.eventsRepository = eventsRepository;
+        this.entityManager = entityManager;
     }
 
-    public Collection<AuditEventEntity> findAuditsBetweenDates(LocalDate fromDate, LocalDate toDate) {
-        if (fromDate.isAfter(toDate)) {
-            throw new IllegalArgumentException("From date cannot be after to date");
-        }
+    /**
+     * Streams the events between the given dates, most recent first, one at a time to the given action, so that
+     * ranges of any size can be processed in constant memory. Each event is detached once processed.
+     */
+    @Transactional(readOnly = true)
+    public void forEachAuditBetweenDates(LocalDate fromDate, LocalDate toDate, Consumer<AuditEventEntity> action) {
+        validateDates(fromDate, toDate);
 
-        long daysBetween = ChronoUnit.DAYS.between(fromDate, toDate);
+        Long startDateTime = fromDate.atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+        Long endDateTime = toDate.atStartOfDay().plusDays(1).toInstant(ZoneOffset.UTC).toEpochMilli();
 
-        if (daysBetween > 31) {
-            throw new IllegalArgumentException("Difference between dates cannot be more than 31 days");
+        try (
+            Stream<AuditEventEntity> audits = eventsRepository.streamAllByTimestampBetweenOrderByTimestampDesc(
+                startDateTime,
+                endDateTime
+            )
+        ) {
+            audits.forEach(audit -> {
+                action.accept(audit);
+                detach(audit);
+            });
         }
+    }
 
-        Long startDateTime = fromDate.atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
-        Long endDateTime = toDate.atStartOfDay().plusDays(1).toInstant(ZoneOffset.UTC).toEpochMilli();
+    public void validateDates(LocalDate fromDate, LocalDate toDate) {
+        if (fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("From date cannot be after to date");
+        }
+    }
 
-        return eventsRepository.findAllByTimestampBetweenOrderByTimestampDesc(startDateTime, endDateTime);
+    private void detach(AuditEventEntity audit) {
+        if (entityManager != null) {
+            entityManager.detach(audit);
+        }
     }
 }
@@ -16,16 +16,15 @@
 package org.activiti.cloud.services.audit.jpa.controller;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-import java.util.ArrayList;
 import java.util.List;
-import org.activiti.api.process.model.events.ProcessRuntimeEvent;
-import org.activiti.api.runtime.model.impl.ProcessInstanceImpl;
 import org.activiti.api.runtime.shared.identity.UserGroupManager;
 import org.activiti.api.runtime.shared.security.SecurityManager;
 import org.activiti.cloud.alfresco.config.AlfrescoWebAutoConfiguration;
@@ -34,16 +33,19 @@ import org.activiti.cloud.services.audit.api.resources.EventsLinkRelationProvide
 import org.activiti.cloud.services.audit.jpa.assembler.config.EventRepresentationModelAssemblerConfiguration;
 import org.activiti.cloud.services.audit.jpa.conf.AuditJPAAutoConfiguration;
 import org.activiti.cloud.services.audit.jpa.controllers.AuditEventsDeleteController;
-import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
-import org.activiti.cloud.services.audit.jpa.events.ProcessStartedAuditEventEntity;
 import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.activiti.cloud.services.audit.jpa.retention.AuditEventsRetentionService;
+import org.activiti.cloud.services.audit.jpa.retention.AuditRetentionProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
@@ -59,6 +61,7 @@ import org.springframework.test.web.servlet.MockMvc;
         AuditAPIAutoConfiguration.class,
         AuditJPAAutoConfiguration.class,
         AlfrescoWebAutoConfiguration.class,
+        AuditEventDeleteControllerIT.RetentionConfiguration.class,
     }
 )
 public class AuditEventDeleteControllerIT {
@@ -84,10 +87,11 @@ public class AuditEventDeleteControllerIT {
     }
 
     @Test
-    public void deleteEventsShouldReturnAllEventsAndDeleteThem() throws Exception {
+    public void deleteEventsShouldDeleteThemInChunksAndReturnTheCount() throws Exception {
         //given
-        List<AuditEventEntity> list = buildEventsData(1);
-        given(eventsRepository.findAll()).willReturn(list);
+        given(eventsRepository.findIds(any(Pageable.class))).willReturn(List.of(1L, 2L), List.of(3L));
+        given(eventsRepository.deleteByIdIn(List.of(1L, 2L))).willReturn(2);
+        given(eventsRepository.deleteByIdIn(List.of(3L))).willReturn(1);
 
         //when
         mockMvc
@@ -96,37 +100,21 @@ public class AuditEventDeleteControllerIT {
                     .accept(MediaType.APPLICATION_JSON)
             )
             //then
-            .andExpect(status().isOk());
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.deletedEvents").value(3));
 
-        verify(eventsRepository).deleteAll(list);
+        verify(eventsRepository).deleteByIdIn(List.of(1L, 2L));
+        verify(eventsRepository).deleteByIdIn(List.of(3L));
     }
 
-    private List<AuditEventEntity> buildEventsData(int recordsNumber) {
-        List<AuditEventEntity> eventsList = new ArrayList<>();
+    @TestConfiguration
+    static class RetentionConfiguration {
 
-        for (long i = 0; i < recordsNumber; i++) {
-            //would like to mock this but jackson and mockito not happy together
-            AuditEventEntity eventEntity = buildAuditEventEntity(i);
-            eventsList.add(eventEntity);
+        @Bean
+        public AuditEventsRetentionService auditEventsRetentionService(EventsRepository eventsRepository) {
+            AuditRetentionProperties retentionProperties = new AuditRetentionProperties();
+            retentionProperties.setChunkSize(2);
+            return new AuditEventsRetentionService(eventsRepository, retentionProperties);
         }
-
-        return eventsList;
-    }
-
-    private AuditEventEntity buildAuditEventEntity(long id) {
-        ProcessStartedAuditEventEntity eventEntity = new ProcessStartedAuditEventEntity();
-        eventEntity.setEventId("eventId");
-        eventEntity.setTimestamp(System.currentTimeMillis());
-        eventEntity.setId(id);
-        ProcessInstanceImpl processInstance = new ProcessInstanceImpl();
-        processInstance.setId("10");
-        processInstance.setProcessDefinitionId("1");
-        eventEntity.setProcessInstance(processInstance);
-        eventEntity.setServiceName("rb-my-app");
-        eventEntity.setEventType(ProcessRuntimeEvent.ProcessEvents.PROCESS_STARTED.name());
-        eventEntity.setProcessDefinitionId("1");
-        eventEntity.setProcessInstanceId("10");
-        eventEntity.setTimestamp(System.currentTimeMillis());
-        return eventEntity;
     }
 }
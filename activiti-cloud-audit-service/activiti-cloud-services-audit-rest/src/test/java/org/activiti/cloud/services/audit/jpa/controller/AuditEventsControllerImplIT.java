@@ -19,6 +19,8 @@ import static net.javacrumbs.jsonunit.fluent.JsonFluentAssert.assertThatJson;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
@@ -45,6 +47,7 @@ import org.activiti.api.runtime.shared.security.SecurityManager;
 import org.activiti.cloud.alfresco.argument.resolver.AlfrescoPageRequest;
 import org.activiti.cloud.alfresco.config.AlfrescoWebAutoConfiguration;
 import org.activiti.cloud.services.audit.api.config.AuditAPIAutoConfiguration;
+import org.activiti.cloud.services.audit.api.converters.CloudRuntimeEventType;
 import org.activiti.cloud.services.audit.jpa.assembler.config.EventRepresentationModelAssemblerConfiguration;
 import org.activiti.cloud.services.audit.jpa.conf.AuditJPAAutoConfiguration;
 import org.activiti.cloud.services.audit.jpa.controllers.AuditEventsControllerImpl;
@@ -57,6 +60,7 @@ import org.activiti.cloud.services.audit.jpa.events.MessageWaitingAuditEventEnti
 import org.activiti.cloud.services.audit.jpa.events.ProcessStartedAuditEventEntity;
 import org.activiti.cloud.services.audit.jpa.events.SignalReceivedAuditEventEntity;
 import org.activiti.cloud.services.audit.jpa.events.TimerFiredAuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.repository.AuditEventSummary;
 import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
 import org.activiti.cloud.services.audit.jpa.security.config.AuditJPASecurityAutoConfiguration;
 import org.activiti.core.common.spring.security.policies.conf.SecurityPoliciesProperties;
@@ -121,6 +125,34 @@ public class AuditEventsControllerImplIT {
             .andExpect(status().isOk());
     }
 
+    @Test
+    public void getEventHeaders() throws Exception {
+        PageRequest pageable = PageRequest.of(0, 10);
+        given(eventsRepository.findAllSummaries(any(), any(PageRequest.class)))
+            .willReturn(new PageImpl<>(List.of(buildAuditEventSummary()), pageable, 1));
+
+        MvcResult result = mockMvc
+            .perform(get("/{version}/events", "v1").param("include", "header").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        assertThatJson(result.getResponse().getContentAsString())
+            .node("list.entries[0].entry.eventType")
+            .isEqualTo("PROCESS_STARTED")
+            .node("list.entries[0].entry.processInstanceId")
+            .isEqualTo("10");
+        verify(eventsRepository, never()).findAll(any(), any(PageRequest.class));
+    }
+
+    @Test
+    public void shouldRejectUnknownInclude() throws Exception {
+        mockMvc
+            .perform(get("/{version}/events", "v1").param("include", "headers").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest());
+
+        verify(eventsRepository, never()).findAllSummaries(any(), any(PageRequest.class));
+    }
+
     private List<AuditEventEntity> buildEventsData(int recordsNumber) {
         List<AuditEventEntity> eventsList = new ArrayList<>();
 
@@ -371,4 +403,15 @@ public class AuditEventsControllerImplIT {
 
         return messageEventPayload;
     }
+
+    private AuditEventSummary buildAuditEventSummary() {
+        AuditEventSummary summary = new AuditEventSummary(
+            "eventId",
+            System.currentTimeMillis(),
+            CloudRuntimeEventType.PROCESS_STARTED
+        );
+        summary.setProcessInstanceId("10");
+        summary.setProcessDefinitionId("1");
+        return summary;
+    }
 }
@@ -19,15 +19,22 @@ import static net.javacrumbs.jsonunit.fluent.JsonFluentAssert.assertThatJson;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpHeaders.CONTENT_DISPOSITION;
+import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 import org.activiti.api.model.shared.event.VariableEvent;
 import org.activiti.api.process.model.events.ProcessRuntimeEvent;
 import org.activiti.api.runtime.model.impl.ProcessInstanceImpl;
@@ -37,6 +44,7 @@ import org.activiti.api.runtime.shared.security.SecurityManager;
 import org.activiti.cloud.alfresco.argument.resolver.AlfrescoPageRequest;
 import org.activiti.cloud.alfresco.config.AlfrescoWebAutoConfiguration;
 import org.activiti.cloud.services.audit.api.config.AuditAPIAutoConfiguration;
+import org.activiti.cloud.services.audit.api.converters.CloudRuntimeEventType;
 import org.activiti.cloud.services.audit.jpa.assembler.config.EventRepresentationModelAssemblerConfiguration;
 import org.activiti.cloud.services.audit.jpa.conf.AuditJPAAutoConfiguration;
 import org.activiti.cloud.services.audit.jpa.controllers.AuditEventsAdminControllerImpl;
@@ -44,6 +52,7 @@ import org.activiti.cloud.services.audit.jpa.controllers.config.AuditJPAControll
 import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
 import org.activiti.cloud.services.audit.jpa.events.ProcessStartedAuditEventEntity;
 import org.activiti.cloud.services.audit.jpa.events.VariableCreatedEventEntity;
+import org.activiti.cloud.services.audit.jpa.repository.AuditEventSummary;
 import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
 import org.activiti.cloud.services.audit.jpa.security.config.AuditJPASecurityAutoConfiguration;
 import org.activiti.core.common.spring.security.policies.conf.SecurityPoliciesProperties;
@@ -120,12 +129,44 @@ class EventsEngineEventsAdminControllerIT {
             .andExpect(status().isOk());
     }
 
+    @Test
+    void getEventHeaders() throws Exception {
+        PageRequest pageable = PageRequest.of(0, 10);
+        given(eventsRepository.findAllSummaries(isNull(), any(PageRequest.class)))
+            .willReturn(new PageImpl<>(List.of(buildAuditEventSummary()), pageable, 1));
+
+        MvcResult result = mockMvc
+            .perform(get("/admin/{version}/events", "v1").param("include", "header").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        assertThatJson(result.getResponse().getContentAsString())
+            .node("list.entries[0].entry.eventType")
+            .isEqualTo("PROCESS_STARTED")
+            .node("list.entries[0].entry.processInstanceId")
+            .isEqualTo("10");
+        verify(eventsRepository, never()).findAll(any(PageRequest.class));
+    }
+
+    @Test
+    void shouldRejectUnknownInclude() throws Exception {
+        mockMvc
+            .perform(
+                get("/admin/{version}/events", "v1").param("include", "headers").accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isBadRequest());
+
+        verify(eventsRepository, never()).findAllSummaries(any(), any(PageRequest.class));
+        verify(eventsRepository, never()).findAll(any(PageRequest.class));
+    }
+
     @Test
     void exportEvents() throws Exception {
         List<AuditEventEntity> events = buildEventsData(1);
         events.add(buildVariableAuditEventEntity(2));
 
-        given(eventsRepository.findAllByTimestampBetweenOrderByTimestampDesc(anyLong(), anyLong())).willReturn(events);
+        given(eventsRepository.streamAllByTimestampBetweenOrderByTimestampDesc(anyLong(), anyLong()))
+            .willReturn(events.stream());
 
         MvcResult response = mockMvc
             .perform(
@@ -139,6 +180,34 @@ class EventsEngineEventsAdminControllerIT {
         assertCsv(response.getResponse(), CSV_CONTENT);
     }
 
+    @Test
+    void exportEventsGzipped() throws Exception {
+        List<AuditEventEntity> events = buildEventsData(1);
+        events.add(buildVariableAuditEventEntity(2));
+
+        given(eventsRepository.streamAllByTimestampBetweenOrderByTimestampDesc(anyLong(), anyLong()))
+            .willReturn(events.stream());
+
+        MvcResult response = mockMvc
+            .perform(
+                get("/admin/{version}/events/export/" + CSV_FILENAME, "v1")
+                    .param("from", "2024-01-01")
+                    .param("to", "2024-07-24")
+                    .param("gzip", "true")
+            )
+            .andExpect(status().isOk())
+            .andReturn();
+
+        assertThat(response.getResponse().getHeader(CONTENT_ENCODING)).isEqualTo("gzip");
+        try (
+            GZIPInputStream content = new GZIPInputStream(
+                new ByteArrayInputStream(response.getResponse().getContentAsByteArray())
+            )
+        ) {
+            assertThat(new String(content.readAllBytes(), StandardCharsets.ISO_8859_1)).isEqualTo(CSV_CONTENT);
+        }
+    }
+
     private List<AuditEventEntity> buildEventsData(int recordsNumber) {
         List<AuditEventEntity> eventsList = new ArrayList<>();
 
@@ -250,4 +319,15 @@ class EventsEngineEventsAdminControllerIT {
         assertThat(fileName).isEqualTo(CSV_FILENAME);
         assertThat(new String(contentBytes)).isEqualTo(expectedContent);
     }
+
+    private AuditEventSummary buildAuditEventSummary() {
+        AuditEventSummary summary = new AuditEventSummary(
+            "eventId",
+            System.currentTimeMillis(),
+            CloudRuntimeEventType.PROCESS_STARTED
+        );
+        summary.setProcessInstanceId("10");
+        summary.setProcessDefinitionId("1");
+        return summary;
+    }
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import org.activiti.api.task.model.Task;
+import org.activiti.api.task.model.impl.TaskImpl;
+import org.activiti.cloud.services.audit.api.converters.CloudRuntimeEventType;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.events.TaskCreatedEventEntity;
+import org.activiti.cloud.services.audit.jpa.repository.config.AuditJPARepositoryAutoConfiguration;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(AuditJPARepositoryAutoConfiguration.class)
+public class EventsRepositoryIT {
+
+    @Autowired
+    private EventsRepository<AuditEventEntity> eventsRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        entityManager.persist(taskCreatedEvent("event1", 100L, "1"));
+        entityManager.persist(taskCreatedEvent("event2", 200L, "1"));
+        entityManager.persist(taskCreatedEvent("event3", 300L, "2"));
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics =
+            entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void findAllSummariesShouldReturnTheHeadersWithoutLoadingTheEvents() {
+        //when
+        Page<AuditEventSummary> summaries = eventsRepository.findAllSummaries(
+            processInstanceId("1"),
+            PageRequest.of(0, 10, Sort.by("timestamp"))
+        );
+
+        //then
+        assertThat(summaries.getContent())
+            .extracting(
+                AuditEventSummary::getId,
+                AuditEventSummary::getTimestamp,
+                AuditEventSummary::getEventType,
+                AuditEventSummary::getAppName,
+                AuditEventSummary::getSequenceNumber,
+                AuditEventSummary::getEntityId,
+                AuditEventSummary::getProcessInstanceId,
+                AuditEventSummary::getBusinessKey,
+                AuditEventSummary::getEntity
+            )
+            .containsExactly(
+                tuple("event1", 100L, CloudRuntimeEventType.TASK_CREATED, "app", 1, "task-event1", "1", "key", null),
+                tuple("event2", 200L, CloudRuntimeEventType.TASK_CREATED, "app", 1, "task-event2", "1", "key", null)
+            );
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getEntityFetchCount()).isZero();
+    }
+
+    @Test
+    public void findAllSummariesShouldCountAllTheMatchingEvents() {
+        //when
+        Page<AuditEventSummary> summaries = eventsRepository.findAllSummaries(
+            null,
+            PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "timestamp"))
+        );
+
+        //then
+        assertThat(summaries.getContent()).extracting(AuditEventSummary::getId).containsExactly("event3", "event2");
+        assertThat(summaries.getTotalElements()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    private static Specification<AuditEventEntity> processInstanceId(String processInstanceId) {
+        return (root, query, criteriaBuilder) ->
+            criteriaBuilder.equal(root.get("processInstanceId"), processInstanceId);
+    }
+
+    private static TaskCreatedEventEntity taskCreatedEvent(String eventId, Long timestamp, String processInstanceId) {
+        TaskCreatedEventEntity event = new TaskCreatedEventEntity();
+        event.setEventId(eventId);
+        event.setTimestamp(timestamp);
+        event.setEventType(CloudRuntimeEventType.TASK_CREATED.name());
+        event.setAppName("app");
+        event.setSequenceNumber(1);
+        event.setEntityId("task-" + eventId);
+        event.setProcessInstanceId(processInstanceId);
+        event.setBusinessKey("key");
+        event.setTask(new TaskImpl("task-" + eventId, "my task", Task.TaskStatus.CREATED));
+        return event;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.retention;
+
+import static org.activiti.cloud.services.audit.jpa.retention.AuditEventsRetentionScheduler.RETENTION_LOCK_KEY;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.locks.Lock;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.integration.support.locks.LockRegistry;
+import org.springframework.integration.support.locks.RenewableLockRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class AuditEventsRetentionSchedulerTest {
+
+    @Mock
+    private AuditEventsRetentionService retentionService;
+
+    @Mock
+    private Lock lock;
+
+    @Test
+    void should_purgeWhileHoldingTheLock() {
+        // given
+        LockRegistry lockRegistry = mock(LockRegistry.class);
+        given(lockRegistry.obtain(RETENTION_LOCK_KEY)).willReturn(lock);
+        given(lock.tryLock()).willReturn(true);
+        AuditEventsRetentionScheduler scheduler = new AuditEventsRetentionScheduler(
+            retentionService,
+            lockRegistry,
+            "0 0 * * * *"
+        );
+
+        // when
+        scheduler.purgeExpired();
+
+        // then
+        verify(retentionService).purgeExpired(any(Runnable.class));
+        verify(lock).unlock();
+    }
+
+    @Test
+    void should_notPurge_when_anotherReplicaHoldsTheLock() {
+        // given
+        LockRegistry lockRegistry = mock(LockRegistry.class);
+        given(lockRegistry.obtain(RETENTION_LOCK_KEY)).willReturn(lock);
+        given(lock.tryLock()).willReturn(false);
+        AuditEventsRetentionScheduler scheduler = new AuditEventsRetentionScheduler(
+            retentionService,
+            lockRegistry,
+            "0 0 * * * *"
+        );
+
+        // when
+        scheduler.purgeExpired();
+
+        // then
+        verify(retentionService, never()).purgeExpired(any(Runnable.class));
+        verify(lock, never()).unlock();
+    }
+
+    @Test
+    void should_renewTheLock_when_purgeProgresses() {
+        // given
+        RenewableLockRegistry lockRegistry = mock(RenewableLockRegistry.class);
+        given(lockRegistry.obtain(RETENTION_LOCK_KEY)).willReturn(lock);
+        given(lock.tryLock()).willReturn(true);
+        willAnswer(invocation -> {
+                invocation.<Runnable>getArgument(0).run();
+                return new AuditEventsPurgeResult(2, 0, 1);
+            })
+            .given(retentionService)
+            .purgeExpired(any(Runnable.class));
+        AuditEventsRetentionScheduler scheduler = new AuditEventsRetentionScheduler(
+            retentionService,
+            lockRegistry,
+            "0 0 * * * *"
+        );
+
+        // when
+        scheduler.purgeExpired();
+
+        // then
+        verify(lockRegistry).renewLock(RETENTION_LOCK_KEY);
+        verify(lock).unlock();
+    }
+
+    @Test
+    void should_purgeWithoutLock_when_noLockRegistryIsConfigured() {
+        // given
+        AuditEventsRetentionScheduler scheduler = new AuditEventsRetentionScheduler(
+            retentionService,
+            null,
+            "0 0 * * * *"
+        );
+
+        // when
+        scheduler.purgeExpired();
+
+        // then
+        verify(retentionService).purgeExpired();
+    }
+}
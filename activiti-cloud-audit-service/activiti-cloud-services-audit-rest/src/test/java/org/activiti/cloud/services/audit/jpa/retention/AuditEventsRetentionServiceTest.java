@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.retention;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.activiti.cloud.services.audit.jpa.partitioning.AuditEventPartitionManager;
+import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+@ExtendWith(MockitoExtension.class)
+class AuditEventsRetentionServiceTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Mock
+    private EventsRepository<?> eventsRepository;
+
+    @Mock
+    private AuditEventPartitionManager partitionManager;
+
+    private AuditRetentionProperties retentionProperties;
+
+    private AuditEventsRetentionService retentionService;
+
+    @BeforeEach
+    void setUp() {
+        retentionProperties = new AuditRetentionProperties();
+        retentionProperties.setChunkSize(2);
+        retentionService =
+            new AuditEventsRetentionService(
+                eventsRepository,
+                retentionProperties,
+                partitionManager,
+                Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC)
+            );
+    }
+
+    @Test
+    void should_deleteAllEventsInChunks() {
+        // given
+        given(eventsRepository.findIds(any(Pageable.class))).willReturn(List.of(1L, 2L), List.of(3L, 4L), List.of());
+        given(eventsRepository.deleteByIdIn(any())).willReturn(2);
+
+        // when
+        AuditEventsPurgeResult result = retentionService.deleteAll();
+
+        // then
+        assertThat(result.deletedEvents()).isEqualTo(4);
+        verify(eventsRepository).deleteByIdIn(List.of(1L, 2L));
+        verify(eventsRepository).deleteByIdIn(List.of(3L, 4L));
+    }
+
+    @Test
+    void should_purgeEventsOlderThanTheirAppPolicyAndOtherAppsOlderThanMaxAge() {
+        // given
+        retentionProperties.setMaxAge(Duration.ofDays(30));
+        retentionProperties.getAppMaxAge().put("short-lived-app", Duration.ofDays(1));
+        long appTimestamp = NOW - Duration.ofDays(1).toMillis();
+        long defaultTimestamp = NOW - Duration.ofDays(30).toMillis();
+        given(eventsRepository.findIdsByAppNameAndTimestampBefore("short-lived-app", appTimestamp, Pageable.ofSize(2)))
+            .willReturn(List.of(1L));
+        given(
+            eventsRepository.findIdsByAppNameNotInAndTimestampBefore(
+                Set.of("short-lived-app"),
+                defaultTimestamp,
+                Pageable.ofSize(2)
+            )
+        )
+            .willReturn(List.of(5L));
+        given(eventsRepository.deleteByIdIn(any())).willReturn(1);
+
+        // when
+        AuditEventsPurgeResult result = retentionService.purgeExpired();
+
+        // then
+        assertThat(result.deletedEvents()).isEqualTo(2);
+        verify(eventsRepository).deleteByIdIn(List.of(1L));
+        verify(eventsRepository).deleteByIdIn(List.of(5L));
+        verify(eventsRepository, never()).findIdsByTimestampBefore(any(), any());
+    }
+
+    @Test
+    void should_reportProgress_when_eachChunkIsPurged() {
+        // given
+        retentionProperties.setMaxAge(Duration.ofDays(30));
+        long timestamp = NOW - Duration.ofDays(30).toMillis();
+        given(eventsRepository.findIdsByTimestampBefore(timestamp, Pageable.ofSize(2)))
+            .willReturn(List.of(1L, 2L), List.of(3L));
+        given(eventsRepository.deleteByIdIn(any())).willReturn(2, 1);
+        AtomicInteger progress = new AtomicInteger();
+
+        // when
+        retentionService.purgeExpired(progress::incrementAndGet);
+
+        // then
+        // once after the partitions are dropped, then once per chunk
+        assertThat(progress).hasValue(3);
+    }
+
+    @Test
+    void should_notPurgeAnything_when_noPolicyIsConfigured() {
+        // when
+        AuditEventsPurgeResult result = retentionService.purgeExpired();
+
+        // then
+        assertThat(result.deletedEvents()).isZero();
+        verify(eventsRepository, never()).deleteByIdIn(any());
+        verify(partitionManager, never()).dropPartitionsBefore(anyLong());
+    }
+
+    @Test
+    void should_dropPartitionsExpiredForAllApps() {
+        // given
+        retentionProperties.setMaxAge(Duration.ofDays(30));
+        retentionProperties.getAppMaxAge().put("long-lived-app", Duration.ofDays(365));
+        given(partitionManager.dropPartitionsBefore(NOW - Duration.ofDays(365).toMillis())).willReturn(2);
+        given(eventsRepository.findIdsByAppNameAndTimestampBefore(any(), any(), any())).willReturn(List.of());
+        given(eventsRepository.findIdsByAppNameNotInAndTimestampBefore(any(), any(), any())).willReturn(List.of());
+
+        // when
+        AuditEventsPurgeResult result = retentionService.purgeExpired();
+
+        // then
+        assertThat(result.droppedPartitions()).isEqualTo(2);
+        assertThat(result.deletedEvents()).isZero();
+    }
+}
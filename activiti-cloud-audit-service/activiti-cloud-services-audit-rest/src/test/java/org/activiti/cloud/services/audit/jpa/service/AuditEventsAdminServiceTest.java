@@ -15,12 +15,19 @@
  */
 package org.activiti.cloud.services.audit.jpa.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
 
+import jakarta.persistence.EntityManager;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.events.ProcessStartedAuditEventEntity;
 import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -34,6 +41,9 @@ class AuditEventsAdminServiceTest {
     @Mock
     private EventsRepository eventsRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private AuditEventsAdminService auditEventsAdminService;
 
@@ -46,7 +56,7 @@ class AuditEventsAdminServiceTest {
         // when
         IllegalArgumentException thrown = assertThrows(
             IllegalArgumentException.class,
-            () -> auditEventsAdminService.findAuditsBetweenDates(fromDate, toDate)
+            () -> auditEventsAdminService.forEachAuditBetweenDates(fromDate, toDate, audit -> {})
         );
 
         // then
@@ -54,31 +64,35 @@ class AuditEventsAdminServiceTest {
     }
 
     @Test
-    void should_throw_exception_when_difference_between_dates_is_more_than_31_days() {
+    void should_stream_events_between_dates() {
         // given
         LocalDate fromDate = LocalDate.of(2020, 1, 1);
-        LocalDate toDate = LocalDate.of(2020, 3, 1);
+        LocalDate toDate = LocalDate.of(2020, 1, 2);
+        AuditEventEntity audit = new ProcessStartedAuditEventEntity();
+        given(eventsRepository.streamAllByTimestampBetweenOrderByTimestampDesc(1577836800000L, 1578009600000L))
+            .willReturn(Stream.of(audit));
+        List<AuditEventEntity> audits = new ArrayList<>();
 
         // when
-        IllegalArgumentException thrown = assertThrows(
-            IllegalArgumentException.class,
-            () -> auditEventsAdminService.findAuditsBetweenDates(fromDate, toDate)
-        );
+        auditEventsAdminService.forEachAuditBetweenDates(fromDate, toDate, audits::add);
 
         // then
-        assertEquals("Difference between dates cannot be more than 31 days", thrown.getMessage());
+        assertThat(audits).containsExactly(audit);
+        verify(entityManager).detach(audit);
     }
 
     @Test
-    void should_return_events_between_dates() {
+    void should_stream_events_when_difference_between_dates_is_more_than_31_days() {
         // given
         LocalDate fromDate = LocalDate.of(2020, 1, 1);
-        LocalDate toDate = LocalDate.of(2020, 1, 2);
+        LocalDate toDate = LocalDate.of(2020, 3, 1);
+        given(eventsRepository.streamAllByTimestampBetweenOrderByTimestampDesc(1577836800000L, 1583107200000L))
+            .willReturn(Stream.empty());
 
         // when
-        auditEventsAdminService.findAuditsBetweenDates(fromDate, toDate);
+        auditEventsAdminService.forEachAuditBetweenDates(fromDate, toDate, audit -> {});
 
         // then
-        verify(eventsRepository).findAllByTimestampBetweenOrderByTimestampDesc(anyLong(), anyLong());
+        verify(eventsRepository).streamAllByTimestampBetweenOrderByTimestampDesc(1577836800000L, 1583107200000L);
     }
 }
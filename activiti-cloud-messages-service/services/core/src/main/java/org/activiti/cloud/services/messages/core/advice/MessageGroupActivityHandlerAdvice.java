@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.advice;
+
+import org.activiti.cloud.services.messages.core.support.MessageGroupActivityIndex;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.integration.aggregator.CorrelationStrategy;
+import org.springframework.integration.handler.advice.AbstractHandleMessageAdvice;
+import org.springframework.messaging.Message;
+
+/**
+ * Records the activity of the message group of each message handled by the aggregator for the expiry of stale
+ * groups.
+ */
+public class MessageGroupActivityHandlerAdvice
+    extends AbstractHandleMessageAdvice
+    implements MessageConnectorHandlerAdvice {
+
+    private final CorrelationStrategy correlationStrategy;
+    private final MessageGroupActivityIndex activityIndex;
+
+    public MessageGroupActivityHandlerAdvice(
+        CorrelationStrategy correlationStrategy,
+        MessageGroupActivityIndex activityIndex
+    ) {
+        this.correlationStrategy = correlationStrategy;
+        this.activityIndex = activityIndex;
+    }
+
+    @Override
+    protected Object doInvoke(MethodInvocation invocation, Message<?> message) throws Throwable {
+        Object groupId = correlationStrategy.getCorrelationKey(message);
+        if (groupId != null) {
+            activityIndex.touch(groupId);
+        }
+
+        return invocation.proceed();
+    }
+
+    @Override
+    public String getComponentType() {
+        return this.getClass().getSimpleName();
+    }
+}
@@ -15,10 +15,10 @@
  */
 package org.activiti.cloud.services.messages.core.advice;
 
-import static org.activiti.cloud.services.messages.core.support.MessageComparators.TIMESTAMP;
 import static org.activiti.cloud.services.messages.core.support.Predicates.MESSAGE_RECEIVED;
-import static org.activiti.cloud.services.messages.core.support.Predicates.MESSAGE_WAITING;
 
+import org.activiti.api.process.model.events.BPMNMessageEvent.MessageEvents;
+import org.activiti.cloud.services.messages.core.support.IndexedMessageGroupStore;
 import org.activiti.cloud.services.messages.core.support.LockTemplate;
 import org.springframework.integration.aggregator.CorrelationStrategy;
 import org.springframework.integration.store.MessageGroup;
@@ -52,13 +52,11 @@ public class MessageReceivedHandlerAdvice extends AbstractMessageConnectorHandle
             () -> {
                 MessageGroup group = messageStore.getMessageGroup(groupId);
 
-                group
-                    .getMessages()
-                    .stream()
-                    .filter(MESSAGE_WAITING)
-                    .min(TIMESTAMP)
-                    .ifPresent(result -> {
-                        messageStore.removeMessagesFromGroup(groupId, result);
+                IndexedMessageGroupStore
+                    .indexOf(messageStore, group)
+                    .first(MessageEvents.MESSAGE_WAITING)
+                    .ifPresent(messageId -> {
+                        messageStore.removeMessageFromGroupById(groupId, messageId);
                     });
             }
         );
@@ -15,8 +15,12 @@
  */
 package org.activiti.cloud.services.messages.core.aggregator;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.stream.Collectors;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 import org.springframework.integration.aggregator.AbstractCorrelatingMessageHandler;
 import org.springframework.integration.aggregator.CorrelationStrategy;
 import org.springframework.integration.aggregator.MessageGroupProcessor;
@@ -91,11 +95,7 @@ public class MessageConnectorAggregator extends AbstractCorrelatingMessageHandle
         boolean isCompleted = false;
 
         if (completedMessages != null && !completedMessages.isEmpty()) {
-            Collection<Message<?>> deletedMessages = messageGroup
-                .getMessages()
-                .stream()
-                .filter(completedMessages::contains)
-                .collect(Collectors.toList());
+            Collection<Message<?>> deletedMessages = findMessagesInGroup(messageGroup, completedMessages);
 
             if (!deletedMessages.isEmpty()) {
                 messageStore.removeMessagesFromGroup(groupId, deletedMessages);
@@ -113,4 +113,33 @@ public class MessageConnectorAggregator extends AbstractCorrelatingMessageHandle
             remove(messageGroup);
         }
     }
+
+    /**
+     * Matches the completed messages with the messages of the group by id, in a single pass over each of them.
+     * Messages without id are matched by equality, as before.
+     */
+    private Collection<Message<?>> findMessagesInGroup(
+        MessageGroup messageGroup,
+        Collection<Message<?>> completedMessages
+    ) {
+        Set<UUID> completedIds = new HashSet<>(completedMessages.size());
+        List<Message<?>> completedWithoutId = new ArrayList<>();
+        for (Message<?> message : completedMessages) {
+            UUID id = message.getHeaders().getId();
+            if (id != null) {
+                completedIds.add(id);
+            } else {
+                completedWithoutId.add(message);
+            }
+        }
+
+        List<Message<?>> deletedMessages = new ArrayList<>();
+        for (Message<?> message : messageGroup.getMessages()) {
+            UUID id = message.getHeaders().getId();
+            if (id != null ? completedIds.contains(id) : completedWithoutId.contains(message)) {
+                deletedMessages.add(message);
+            }
+        }
+        return deletedMessages;
+    }
 }
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.aggregator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.locks.Lock;
+import org.activiti.cloud.services.messages.core.support.CorrelationKeyOwnership;
+import org.activiti.cloud.services.messages.core.support.MessageGroupActivityIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.integration.store.MessageGroup;
+import org.springframework.integration.store.MessageGroupStore;
+import org.springframework.integration.support.locks.LockRegistry;
+import org.springframework.integration.util.UUIDConverter;
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * Removes the message groups without activity for longer than the expiry timeout, such as the messages waiting
+ * for, or sent to, process instances which have been abandoned. The groups to check are found with the
+ * {@link MessageGroupActivityIndex}, which is maintained as messages are handled, so the store is not scanned on
+ * every sweep. Each sweep removes at most a batch of groups, the others are removed by the next sweeps.
+ * <p>
+ * When the correlation keys are locked with distributed locks, the groups already in the store are added to the
+ * index a batch per sweep, so that starting does not wait for the store to be read. When this node owns its
+ * correlation keys exclusively, the store is not read at all: other nodes handle the groups of their partitions
+ * under their local locks only, so this node only sweeps the groups whose messages it handled.
+ */
+public class MessageGroupExpirySweeper implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MessageGroupExpirySweeper.class);
+
+    private final MessageGroupStore messageStore;
+    private final LockRegistry lockRegistry;
+    private final CorrelationKeyOwnership ownership;
+    private final MessageGroupActivityIndex activityIndex;
+    private final TaskScheduler taskScheduler;
+    private final long timeoutMillis;
+    private final Duration sweepInterval;
+    private final int batchSize;
+
+    private final Timer sweepTimer;
+    private final Counter expiredGroups;
+    private final Counter expiredMessages;
+
+    private volatile ScheduledFuture<?> sweeps;
+
+    // groups of the store not indexed yet, only read by the sweeps which never run concurrently
+    private Iterator<MessageGroup> unindexedGroups;
+    private boolean storeIndexed;
+
+    public MessageGroupExpirySweeper(
+        MessageGroupStore messageStore,
+        LockRegistry lockRegistry,
+        CorrelationKeyOwnership ownership,
+        MessageGroupActivityIndex activityIndex,
+        TaskScheduler taskScheduler,
+        Duration timeout,
+        Duration sweepInterval,
+        int batchSize,
+        MeterRegistry meterRegistry
+    ) {
+        this.messageStore = messageStore;
+        this.lockRegistry = lockRegistry;
+        this.ownership = ownership;
+        this.storeIndexed = ownership != CorrelationKeyOwnership.NONE;
+        this.activityIndex = activityIndex;
+        this.taskScheduler = taskScheduler;
+        this.timeoutMillis = timeout.toMillis();
+        this.sweepInterval = sweepInterval;
+        this.batchSize = batchSize;
+        this.sweepTimer =
+            Timer
+                .builder("activiti.messages.expiry.sweep")
+                .description("Time to sweep the expired message groups")
+                .register(meterRegistry);
+        this.expiredGroups =
+            Counter
+                .builder("activiti.messages.expiry.groups")
+                .description("Number of expired message groups removed")
+                .register(meterRegistry);
+        this.expiredMessages =
+            Counter
+                .builder("activiti.messages.expiry.messages")
+                .description("Number of messages removed with the expired message groups")
+                .register(meterRegistry);
+        Gauge
+            .builder("activiti.messages.expiry.tracked", activityIndex, MessageGroupActivityIndex::size)
+            .description("Number of message groups tracked for expiry")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        sweeps = taskScheduler.scheduleWithFixedDelay(this::sweep, sweepInterval);
+    }
+
+    @Override
+    public void stop() {
+        ScheduledFuture<?> scheduled = sweeps;
+        if (scheduled != null) {
+            scheduled.cancel(false);
+            sweeps = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return sweeps != null;
+    }
+
+    public void sweep() {
+        sweepTimer.record(() -> {
+            long now = System.currentTimeMillis();
+            indexStoredGroups();
+            List<Object> candidates = activityIndex.pollExpired(now - timeoutMillis, batchSize);
+            for (Object groupId : candidates) {
+                try {
+                    expire(groupId, now);
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Unable to expire message group {}", groupId, e);
+                    activityIndex.touch(groupId, now - timeoutMillis - 1);
+                }
+            }
+        });
+    }
+
+    private void indexStoredGroups() {
+        if (storeIndexed) {
+            return;
+        }
+        if (unindexedGroups == null) {
+            unindexedGroups = messageStore.iterator();
+        }
+        for (int i = 0; i < batchSize && unindexedGroups.hasNext(); i++) {
+            MessageGroup group = unindexedGroups.next();
+            // the groups handled since start are indexed with their latest activity already
+            if (!activityIndex.contains(group.getGroupId())) {
+                activityIndex.touch(group.getGroupId(), lastActivity(group));
+            }
+        }
+        if (!unindexedGroups.hasNext()) {
+            storeIndexed = true;
+            unindexedGroups = null;
+            LOGGER.debug("Tracking {} message groups for expiry", activityIndex.size());
+        }
+    }
+
+    private void expire(Object groupId, long now) {
+        // the same lock as the aggregator handling the messages of the group, the distributed lock of the group
+        // being taken unless this node owns the group exclusively, in which case no other node handles it
+        Lock lock = lockRegistry.obtain(UUIDConverter.getUUID(groupId).toString());
+        if (!lock.tryLock()) {
+            // the group is being handled, it is checked again on the next sweep
+            activityIndex.touch(groupId, now - timeoutMillis - 1);
+            return;
+        }
+        try {
+            MessageGroup group = messageStore.getMessageGroup(groupId);
+            if (group.size() == 0 && !group.isComplete()) {
+                // the group has been removed already
+                return;
+            }
+
+            long lastActivity = lastActivity(group);
+            if (now - lastActivity < timeoutMillis) {
+                // the group has been updated by another instance
+                activityIndex.touch(groupId, lastActivity);
+                return;
+            }
+
+            int size = group.size();
+            messageStore.removeMessageGroup(groupId);
+            expiredGroups.increment();
+            expiredMessages.increment(size);
+            LOGGER.debug("Expired message group {} with {} messages", groupId, size);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long lastActivity(MessageGroup group) {
+        return group.getLastModified() > 0 ? group.getLastModified() : group.getTimestamp();
+    }
+}
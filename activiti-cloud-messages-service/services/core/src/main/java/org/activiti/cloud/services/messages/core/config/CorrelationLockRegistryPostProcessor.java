@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.activiti.cloud.services.messages.core.support.CorrelationKeyOwnership;
+import org.activiti.cloud.services.messages.core.support.MeteredLockRegistry;
+import org.activiti.cloud.services.messages.core.support.ShardedLockRegistry;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.integration.support.locks.LockRegistry;
+
+/**
+ * Decorates the {@link LockRegistry} of the configured message store, whichever it is, with lock metrics and, when
+ * sharded locks or partition ownership are enabled, with local lock stripes, so that the aggregator and the handler
+ * advices share the same locks.
+ */
+public class CorrelationLockRegistryPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<MessageAggregatorProperties> properties;
+    private final ObjectProvider<CorrelationKeyOwnership> ownership;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public CorrelationLockRegistryPostProcessor(
+        ObjectProvider<MessageAggregatorProperties> properties,
+        ObjectProvider<CorrelationKeyOwnership> ownership,
+        ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        this.properties = properties;
+        this.ownership = ownership;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (
+            !(bean instanceof LockRegistry lockRegistry) ||
+            bean instanceof MeteredLockRegistry ||
+            bean instanceof ShardedLockRegistry
+        ) {
+            return bean;
+        }
+
+        String store = MeteredLockRegistry.storeOf(lockRegistry);
+        MessageAggregatorProperties aggregatorProperties = properties.getIfAvailable(MessageAggregatorProperties::new);
+        CorrelationKeyOwnership keyOwnership = ownership.getIfAvailable(() -> CorrelationKeyOwnership.NONE);
+        if (aggregatorProperties.isShardedLocks() || keyOwnership != CorrelationKeyOwnership.NONE) {
+            lockRegistry = new ShardedLockRegistry(lockRegistry, aggregatorProperties.getLockStripes(), keyOwnership);
+        }
+
+        return new MeteredLockRegistry(lockRegistry, store, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.config;
+
+import org.activiti.cloud.services.messages.core.support.IndexedMessageGroupStore;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.integration.store.MessageGroupStore;
+
+/**
+ * Decorates the configured {@link MessageGroupStore}, whichever it is, with the index of its message groups when
+ * indexed message groups are enabled, so that the aggregator, the group processors and the handler advices share the
+ * same indexes.
+ */
+public class IndexedMessageGroupStorePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<MessageAggregatorProperties> properties;
+
+    public IndexedMessageGroupStorePostProcessor(ObjectProvider<MessageAggregatorProperties> properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (
+            !(bean instanceof MessageGroupStore messageGroupStore) ||
+            bean instanceof IndexedMessageGroupStore ||
+            !properties.getIfAvailable(MessageAggregatorProperties::new).isIndexedMessageGroups()
+        ) {
+            return bean;
+        }
+
+        return new IndexedMessageGroupStore(messageGroupStore);
+    }
+}
@@ -15,6 +15,7 @@
  */
 package org.activiti.cloud.services.messages.core.config;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.expression.Expression;
 
@@ -47,6 +48,45 @@ public class MessageAggregatorProperties {
      */
     private String headerChannelsTimeToLiveExpression = null;
 
+    /**
+     * Whether correlation keys are locked on a local striped lock set before the lock registry, so that only one
+     * thread per stripe of this node waits on a distributed lock
+     */
+    private boolean shardedLocks = false;
+
+    /**
+     * Number of local lock stripes when sharded locks are enabled
+     */
+    private int lockStripes = 256;
+
+    /**
+     * Whether this node owns exclusively the correlation keys of its partition when messaging is partitioned, so
+     * that correlation keys are only locked locally. Requires each instance to consume a distinct partition
+     */
+    private boolean partitionOwnership = false;
+
+    /**
+     * Whether the message groups are indexed by event type as messages are added and removed, so that the release
+     * checks and the group processors do not read all the messages of a group for each incoming message
+     */
+    private boolean indexedMessageGroups = false;
+
+    /**
+     * Time without activity after which a message group is removed from the store, i.e. 7d. Stale groups are not
+     * removed when not set. With partition ownership, a node only removes the groups whose messages it handled
+     */
+    private Duration groupExpiryTimeout;
+
+    /**
+     * Interval between the sweeps removing the stale message groups
+     */
+    private Duration groupExpirySweepInterval = Duration.ofMinutes(1);
+
+    /**
+     * Maximum number of stale message groups removed by a sweep, and of stored groups indexed by a sweep after start
+     */
+    private int groupExpiryBatchSize = 1000;
+
     public Expression getGroupTimeout() {
         return this.groupTimeout;
     }
@@ -78,4 +118,60 @@ public class MessageAggregatorProperties {
     public void setHeaderChannelsTimeToLiveExpression(String headerChannelsTimeToLiveExpression) {
         this.headerChannelsTimeToLiveExpression = headerChannelsTimeToLiveExpression;
     }
+
+    public boolean isShardedLocks() {
+        return shardedLocks;
+    }
+
+    public void setShardedLocks(boolean shardedLocks) {
+        this.shardedLocks = shardedLocks;
+    }
+
+    public int getLockStripes() {
+        return lockStripes;
+    }
+
+    public void setLockStripes(int lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
+    public boolean isPartitionOwnership() {
+        return partitionOwnership;
+    }
+
+    public void setPartitionOwnership(boolean partitionOwnership) {
+        this.partitionOwnership = partitionOwnership;
+    }
+
+    public boolean isIndexedMessageGroups() {
+        return indexedMessageGroups;
+    }
+
+    public void setIndexedMessageGroups(boolean indexedMessageGroups) {
+        this.indexedMessageGroups = indexedMessageGroups;
+    }
+
+    public Duration getGroupExpiryTimeout() {
+        return groupExpiryTimeout;
+    }
+
+    public void setGroupExpiryTimeout(Duration groupExpiryTimeout) {
+        this.groupExpiryTimeout = groupExpiryTimeout;
+    }
+
+    public Duration getGroupExpirySweepInterval() {
+        return groupExpirySweepInterval;
+    }
+
+    public void setGroupExpirySweepInterval(Duration groupExpirySweepInterval) {
+        this.groupExpirySweepInterval = groupExpirySweepInterval;
+    }
+
+    public int getGroupExpiryBatchSize() {
+        return groupExpiryBatchSize;
+    }
+
+    public void setGroupExpiryBatchSize(int groupExpiryBatchSize) {
+        this.groupExpiryBatchSize = groupExpiryBatchSize;
+    }
 }
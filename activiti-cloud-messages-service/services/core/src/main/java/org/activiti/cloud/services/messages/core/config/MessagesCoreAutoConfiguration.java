@@ -17,14 +17,18 @@ package org.activiti.cloud.services.messages.core.config;
 
 import static org.activiti.cloud.services.messages.core.integration.MessageConnectorIntegrationFlow.DISCARD_CHANNEL;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import java.util.List;
 import java.util.Optional;
 import org.activiti.cloud.common.messaging.ActivitiCloudMessagingProperties;
 import org.activiti.cloud.services.messages.core.advice.MessageConnectorHandlerAdvice;
+import org.activiti.cloud.services.messages.core.advice.MessageGroupActivityHandlerAdvice;
 import org.activiti.cloud.services.messages.core.advice.MessageReceivedHandlerAdvice;
 import org.activiti.cloud.services.messages.core.advice.SubscriptionCancelledHandlerAdvice;
 import org.activiti.cloud.services.messages.core.aggregator.MessageConnectorAggregator;
 import org.activiti.cloud.services.messages.core.aggregator.MessageConnectorAggregatorFactoryBean;
+import org.activiti.cloud.services.messages.core.aggregator.MessageGroupExpirySweeper;
 import org.activiti.cloud.services.messages.core.channels.MessageConnectorProcessor;
 import org.activiti.cloud.services.messages.core.controlbus.ControlBusGateway;
 import org.activiti.cloud.services.messages.core.integration.MessageConnectorIntegrationFlow;
@@ -40,11 +44,17 @@ import org.activiti.cloud.services.messages.core.router.CommandConsumerDestinati
 import org.activiti.cloud.services.messages.core.router.CommandConsumerMessageChannelResolver;
 import org.activiti.cloud.services.messages.core.router.CommandConsumerMessageRouter;
 import org.activiti.cloud.services.messages.core.support.ChainBuilder;
+import org.activiti.cloud.services.messages.core.support.CorrelationKeyOwnership;
 import org.activiti.cloud.services.messages.core.support.LockTemplate;
+import org.activiti.cloud.services.messages.core.support.MessageGroupActivityIndex;
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.stream.binding.BindingService;
 import org.springframework.cloud.stream.function.StreamBridge;
@@ -52,6 +62,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.DependsOn;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.integration.IntegrationMessageHeaderAccessor;
 import org.springframework.integration.aggregator.CorrelationStrategy;
 import org.springframework.integration.aggregator.HeaderAttributeCorrelationStrategy;
@@ -59,6 +71,7 @@ import org.springframework.integration.aggregator.MessageGroupProcessor;
 import org.springframework.integration.aggregator.ReleaseStrategy;
 import org.springframework.integration.config.EnableIntegration;
 import org.springframework.integration.config.EnableIntegrationManagement;
+import org.springframework.integration.context.IntegrationContextUtils;
 import org.springframework.integration.dsl.IntegrationFlow;
 import org.springframework.integration.dsl.MessageChannels;
 import org.springframework.integration.handler.LoggingHandler;
@@ -73,6 +86,7 @@ import org.springframework.integration.support.locks.DefaultLockRegistry;
 import org.springframework.integration.support.locks.LockRegistry;
 import org.springframework.integration.transaction.PseudoTransactionManager;
 import org.springframework.messaging.MessageChannel;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
@@ -187,6 +201,31 @@ public class MessagesCoreAutoConfiguration {
         return new LockTemplate(lockRegistry);
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public CorrelationKeyOwnership correlationKeyOwnership(ActivitiCloudMessagingProperties messagingProperties) {
+        // a partitioned consumer only receives the message events routed by correlation id to its partition
+        return properties.isPartitionOwnership() && Boolean.TRUE.equals(messagingProperties.isPartitioned())
+            ? key -> true
+            : CorrelationKeyOwnership.NONE;
+    }
+
+    @Bean
+    public static BeanPostProcessor correlationLockRegistryPostProcessor(
+        ObjectProvider<MessageAggregatorProperties> properties,
+        ObjectProvider<CorrelationKeyOwnership> ownership,
+        ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        return new CorrelationLockRegistryPostProcessor(properties, ownership, meterRegistry);
+    }
+
+    @Bean
+    public static BeanPostProcessor indexedMessageGroupStorePostProcessor(
+        ObjectProvider<MessageAggregatorProperties> properties
+    ) {
+        return new IndexedMessageGroupStorePostProcessor(properties);
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public CorrelationStrategy correlationStrategy() {
@@ -223,6 +262,48 @@ public class MessagesCoreAutoConfiguration {
         return new SubscriptionCancelledHandlerAdvice(messageStore, correlationStrategy, lockTemplate);
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = MessageAggregatorProperties.PREFIX, name = "group-expiry-timeout")
+    public MessageGroupActivityIndex messageGroupActivityIndex() {
+        return new MessageGroupActivityIndex(properties.getGroupExpirySweepInterval());
+    }
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @ConditionalOnMissingBean(name = "messageGroupActivityHandlerAdvice")
+    @ConditionalOnProperty(prefix = MessageAggregatorProperties.PREFIX, name = "group-expiry-timeout")
+    public MessageConnectorHandlerAdvice messageGroupActivityHandlerAdvice(
+        CorrelationStrategy correlationStrategy,
+        MessageGroupActivityIndex messageGroupActivityIndex
+    ) {
+        return new MessageGroupActivityHandlerAdvice(correlationStrategy, messageGroupActivityIndex);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = MessageAggregatorProperties.PREFIX, name = "group-expiry-timeout")
+    public MessageGroupExpirySweeper messageGroupExpirySweeper(
+        MessageGroupStore messageStore,
+        LockRegistry lockRegistry,
+        ObjectProvider<CorrelationKeyOwnership> ownership,
+        MessageGroupActivityIndex messageGroupActivityIndex,
+        @Qualifier(IntegrationContextUtils.TASK_SCHEDULER_BEAN_NAME) TaskScheduler taskScheduler,
+        ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        return new MessageGroupExpirySweeper(
+            messageStore,
+            lockRegistry,
+            ownership.getIfAvailable(() -> CorrelationKeyOwnership.NONE),
+            messageGroupActivityIndex,
+            taskScheduler,
+            properties.getGroupExpiryTimeout(),
+            properties.getGroupExpirySweepInterval(),
+            properties.getGroupExpiryBatchSize(),
+            meterRegistry.getIfAvailable(() -> Metrics.globalRegistry)
+        );
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public MetadataStoreSelector metadataStoreSelector(
@@ -264,7 +345,10 @@ public class MessagesCoreAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean
     public MessageGroupReleaseChain messageGroupReleaseChain(MessageGroupStore messageGroupStore) {
-        return ChainBuilder.of(MessageGroupReleaseChain.class).first(new MessageSentReleaseHandler()).build();
+        return ChainBuilder
+            .of(MessageGroupReleaseChain.class)
+            .first(new MessageSentReleaseHandler(messageGroupStore))
+            .build();
     }
 
     @Bean
@@ -16,12 +16,12 @@
 package org.activiti.cloud.services.messages.core.processor;
 
 import static org.activiti.cloud.services.messages.core.integration.MessageEventHeaders.MESSAGE_PAYLOAD_TYPE;
-import static org.activiti.cloud.services.messages.core.support.Predicates.MESSAGE_SENT;
-import static org.activiti.cloud.services.messages.core.support.Predicates.MESSAGE_WAITING;
 
-import java.util.Collection;
+import java.util.UUID;
+import org.activiti.api.process.model.events.BPMNMessageEvent.MessageEvents;
 import org.activiti.api.process.model.payloads.ReceiveMessagePayload;
-import org.activiti.cloud.services.messages.core.support.MessageComparators;
+import org.activiti.cloud.services.messages.core.support.IndexedMessageGroupStore;
+import org.activiti.cloud.services.messages.core.support.MessageGroupIndex;
 import org.activiti.cloud.services.messages.core.transformer.ReceiveMessagePayloadTransformer;
 import org.springframework.integration.store.MessageGroup;
 import org.springframework.integration.store.MessageGroupStore;
@@ -38,7 +38,11 @@ public class ReceiveMessagePayloadGroupProcessor extends AbstractMessageGroupPro
 
     @Override
     protected Message<?> process(MessageGroup group) {
-        Message<?> result = group.getMessages().stream().filter(MESSAGE_SENT).min(MessageComparators.TIMESTAMP).get();
+        UUID messageId = IndexedMessageGroupStore
+            .indexOf(messageGroupStore, group)
+            .first(MessageEvents.MESSAGE_SENT)
+            .get();
+        Message<?> result = messageGroupStore.getMessageFromGroup(group.getGroupId(), messageId);
 
         messageGroupStore.removeMessagesFromGroup(group.getGroupId(), result);
         return buildOutputMessage(result);
@@ -55,8 +59,8 @@ public class ReceiveMessagePayloadGroupProcessor extends AbstractMessageGroupPro
 
     @Override
     protected boolean canProcess(MessageGroup group) {
-        Collection<Message<?>> messages = group.getMessages();
+        MessageGroupIndex index = IndexedMessageGroupStore.indexOf(messageGroupStore, group);
 
-        return messages.stream().anyMatch(MESSAGE_WAITING) && messages.stream().anyMatch(MESSAGE_SENT);
+        return index.contains(MessageEvents.MESSAGE_WAITING) && index.contains(MessageEvents.MESSAGE_SENT);
     }
 }
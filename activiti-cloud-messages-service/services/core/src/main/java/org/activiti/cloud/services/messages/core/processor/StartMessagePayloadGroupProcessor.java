@@ -16,13 +16,14 @@
 package org.activiti.cloud.services.messages.core.processor;
 
 import static org.activiti.cloud.services.messages.core.integration.MessageEventHeaders.MESSAGE_PAYLOAD_TYPE;
-import static org.activiti.cloud.services.messages.core.support.Predicates.MESSAGE_SENT;
-import static org.activiti.cloud.services.messages.core.support.Predicates.START_MESSAGE_DEPLOYED;
 
 import java.util.Collection;
 import java.util.stream.Collectors;
+import org.activiti.api.process.model.events.BPMNMessageEvent.MessageEvents;
+import org.activiti.api.process.model.events.MessageDefinitionEvent.MessageDefinitionEvents;
 import org.activiti.api.process.model.payloads.StartMessagePayload;
-import org.activiti.cloud.services.messages.core.support.MessageComparators;
+import org.activiti.cloud.services.messages.core.support.IndexedMessageGroupStore;
+import org.activiti.cloud.services.messages.core.support.MessageGroupIndex;
 import org.activiti.cloud.services.messages.core.transformer.StartMessagePayloadTransformer;
 import org.springframework.integration.store.MessageGroup;
 import org.springframework.integration.store.MessageGroupStore;
@@ -39,14 +40,15 @@ public class StartMessagePayloadGroupProcessor extends AbstractMessageGroupProce
 
     @Override
     protected Collection<Message<?>> process(MessageGroup group) {
-        Collection<Message<?>> result = group.getMessages().stream().filter(MESSAGE_SENT).collect(Collectors.toList());
-
-        messageGroupStore.removeMessagesFromGroup(group.getGroupId(), result);
-        return result
+        Collection<Message<?>> result = IndexedMessageGroupStore
+            .indexOf(messageGroupStore, group)
+            .ids(MessageEvents.MESSAGE_SENT)
             .stream()
-            .sorted(MessageComparators.TIMESTAMP)
-            .map(this::buildOutputMessage)
+            .map(messageId -> messageGroupStore.getMessageFromGroup(group.getGroupId(), messageId))
             .collect(Collectors.toList());
+
+        messageGroupStore.removeMessagesFromGroup(group.getGroupId(), result);
+        return result.stream().map(this::buildOutputMessage).collect(Collectors.toList());
     }
 
     protected Message<?> buildOutputMessage(Message<?> message) {
@@ -60,8 +62,10 @@ public class StartMessagePayloadGroupProcessor extends AbstractMessageGroupProce
 
     @Override
     protected boolean canProcess(MessageGroup group) {
-        Collection<Message<?>> messages = group.getMessages();
+        MessageGroupIndex index = IndexedMessageGroupStore.indexOf(messageGroupStore, group);
 
-        return messages.stream().anyMatch(START_MESSAGE_DEPLOYED) && messages.stream().anyMatch(MESSAGE_SENT);
+        return (
+            index.contains(MessageDefinitionEvents.START_MESSAGE_DEPLOYED) && index.contains(MessageEvents.MESSAGE_SENT)
+        );
     }
 }
@@ -15,17 +15,25 @@
  */
 package org.activiti.cloud.services.messages.core.release;
 
-import static org.activiti.cloud.services.messages.core.support.Predicates.MESSAGE_SENT;
-import static org.activiti.cloud.services.messages.core.support.Predicates.MESSAGE_WAITING;
-import static org.activiti.cloud.services.messages.core.support.Predicates.START_MESSAGE_DEPLOYED;
-
-import java.util.Collection;
+import org.activiti.api.process.model.events.BPMNMessageEvent.MessageEvents;
+import org.activiti.api.process.model.events.MessageDefinitionEvent.MessageDefinitionEvents;
+import org.activiti.cloud.services.messages.core.support.IndexedMessageGroupStore;
+import org.activiti.cloud.services.messages.core.support.MessageGroupIndex;
 import org.springframework.integration.store.MessageGroup;
-import org.springframework.messaging.Message;
+import org.springframework.integration.store.MessageGroupStore;
 
 public class MessageSentReleaseHandler implements MessageGroupReleaseHandler {
 
-    public MessageSentReleaseHandler() {}
+    private final MessageGroupStore messageGroupStore;
+
+    public MessageSentReleaseHandler() {
+        // without a store, the messages of the group are indexed each time
+        this(null);
+    }
+
+    public MessageSentReleaseHandler(MessageGroupStore messageGroupStore) {
+        this.messageGroupStore = messageGroupStore;
+    }
 
     @Override
     public Boolean handle(MessageGroup group) {
@@ -37,11 +45,14 @@ public class MessageSentReleaseHandler implements MessageGroupReleaseHandler {
     }
 
     protected boolean canRelease(MessageGroup group) {
-        Collection<Message<?>> messages = group.getMessages();
+        MessageGroupIndex index = IndexedMessageGroupStore.indexOf(messageGroupStore, group);
 
         return (
-            messages.stream().anyMatch(MESSAGE_WAITING.or(START_MESSAGE_DEPLOYED)) &&
-            messages.stream().anyMatch(MESSAGE_SENT)
+            (
+                index.contains(MessageEvents.MESSAGE_WAITING) ||
+                index.contains(MessageDefinitionEvents.START_MESSAGE_DEPLOYED)
+            ) &&
+            index.contains(MessageEvents.MESSAGE_SENT)
         );
     }
 }
@@ -0,0 +1,27 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.support;
+
+/**
+ * Tells whether the correlation keys hashing to a partition are only ever handled by this node, in which case
+ * {@link ShardedLockRegistry} does not need to take the distributed lock of the key.
+ */
+@FunctionalInterface
+public interface CorrelationKeyOwnership {
+    CorrelationKeyOwnership NONE = key -> false;
+
+    boolean isOwnedExclusively(Object key);
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.support;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.springframework.integration.store.MessageGroup;
+import org.springframework.integration.store.MessageGroupMetadata;
+import org.springframework.integration.store.MessageGroupStore;
+import org.springframework.messaging.Message;
+
+/**
+ * Decorates a {@link MessageGroupStore}, whichever it is, with a {@link MessageGroupIndex} of each group it has been
+ * asked for, updated as messages are added to and removed from the group through this store.
+ * <p>
+ * The index of a group is used as long as the group has the size and last modification the index has recorded. A
+ * group modified by another node, or by the delegate store itself when expiring groups, is indexed again from its
+ * messages the next time it is asked for.
+ */
+public class IndexedMessageGroupStore implements MessageGroupStore {
+
+    private final MessageGroupStore delegate;
+    private final Map<Object, MessageGroupIndex> indexes = new ConcurrentHashMap<>();
+
+    public IndexedMessageGroupStore(MessageGroupStore delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * @return the index of the group kept by the store when it is an {@link IndexedMessageGroupStore}, otherwise an
+     * index of the messages of the group
+     */
+    public static MessageGroupIndex indexOf(MessageGroupStore store, MessageGroup group) {
+        return store instanceof IndexedMessageGroupStore indexedStore
+            ? indexedStore.getIndex(group)
+            : MessageGroupIndex.of(group);
+    }
+
+    public MessageGroupIndex getIndex(MessageGroup group) {
+        Object groupId = group.getGroupId();
+        MessageGroupIndex index = indexes.get(groupId);
+
+        if (index == null || !index.isCurrent(group)) {
+            index = MessageGroupIndex.of(group);
+            if (index.size() > 0) {
+                indexes.put(groupId, index);
+            }
+        }
+        return index;
+    }
+
+    @Override
+    public MessageGroup addMessageToGroup(Object groupId, Message<?> message) {
+        MessageGroup group = delegate.addMessageToGroup(groupId, message);
+
+        MessageGroupIndex index = indexes.get(groupId);
+        if (index != null) {
+            index.add(message);
+            synchronize(groupId, index, group.size(), group.getLastModified());
+        }
+        return group;
+    }
+
+    @Override
+    public void addMessagesToGroup(Object groupId, Message<?>... messages) {
+        delegate.addMessagesToGroup(groupId, messages);
+        update(groupId, index -> Arrays.stream(messages).forEach(index::add));
+    }
+
+    @Override
+    public void removeMessagesFromGroup(Object groupId, Collection<Message<?>> messages) {
+        delegate.removeMessagesFromGroup(groupId, messages);
+        update(groupId, index -> messages.forEach(message -> index.remove(message.getHeaders().getId())));
+    }
+
+    @Override
+    public void removeMessagesFromGroup(Object groupId, Message<?>... messages) {
+        removeMessagesFromGroup(groupId, Arrays.asList(messages));
+    }
+
+    @Override
+    public boolean removeMessageFromGroupById(Object groupId, UUID messageId) {
+        boolean removed = delegate.removeMessageFromGroupById(groupId, messageId);
+        update(groupId, index -> index.remove(messageId));
+        return removed;
+    }
+
+    @Override
+    public Message<?> pollMessageFromGroup(Object groupId) {
+        Message<?> message = delegate.pollMessageFromGroup(groupId);
+        if (message != null) {
+            update(groupId, index -> index.remove(message.getHeaders().getId()));
+        }
+        return message;
+    }
+
+    @Override
+    public void removeMessageGroup(Object groupId) {
+        delegate.removeMessageGroup(groupId);
+        indexes.remove(groupId);
+    }
+
+    @Override
+    public void completeGroup(Object groupId) {
+        delegate.completeGroup(groupId);
+        update(groupId, index -> {});
+    }
+
+    @Override
+    public void setLastReleasedSequenceNumberForGroup(Object groupId, int sequenceNumber) {
+        delegate.setLastReleasedSequenceNumberForGroup(groupId, sequenceNumber);
+        update(groupId, index -> {});
+    }
+
+    @Override
+    public void setGroupCondition(Object groupId, String condition) {
+        delegate.setGroupCondition(groupId, condition);
+        update(groupId, index -> {});
+    }
+
+    @Override
+    public int expireMessageGroups(long timeout) {
+        // the groups expired by the delegate are indexed again if they are asked for
+        return delegate.expireMessageGroups(timeout);
+    }
+
+    @Override
+    public MessageGroup getMessageGroup(Object groupId) {
+        return delegate.getMessageGroup(groupId);
+    }
+
+    @Override
+    public int messageGroupSize(Object groupId) {
+        return delegate.messageGroupSize(groupId);
+    }
+
+    @Override
+    public int getMessageCountForAllMessageGroups() {
+        return delegate.getMessageCountForAllMessageGroups();
+    }
+
+    @Override
+    public int getMessageGroupCount() {
+        return delegate.getMessageGroupCount();
+    }
+
+    @Override
+    public Message<?> getMessageFromGroup(Object groupId, UUID messageId) {
+        return delegate.getMessageFromGroup(groupId, messageId);
+    }
+
+    @Override
+    public void registerMessageGroupExpiryCallback(MessageGroupCallback callback) {
+        delegate.registerMessageGroupExpiryCallback(callback);
+    }
+
+    @Override
+    public Iterator<MessageGroup> iterator() {
+        return delegate.iterator();
+    }
+
+    @Override
+    public MessageGroupMetadata getGroupMetadata(Object groupId) {
+        return delegate.getGroupMetadata(groupId);
+    }
+
+    @Override
+    public Message<?> getOneMessageFromGroup(Object groupId) {
+        return delegate.getOneMessageFromGroup(groupId);
+    }
+
+    @Override
+    public Collection<Message<?>> getMessagesForGroup(Object groupId) {
+        return delegate.getMessagesForGroup(groupId);
+    }
+
+    @Override
+    public Stream<Message<?>> streamMessagesForGroup(Object groupId) {
+        return delegate.streamMessagesForGroup(groupId);
+    }
+
+    private void update(Object groupId, Consumer<MessageGroupIndex> change) {
+        MessageGroupIndex index = indexes.get(groupId);
+        if (index == null) {
+            return;
+        }
+
+        change.accept(index);
+        MessageGroupMetadata metadata = delegate.getGroupMetadata(groupId);
+        if (metadata == null) {
+            indexes.remove(groupId, index);
+        } else {
+            synchronize(groupId, index, metadata.size(), metadata.getLastModified());
+        }
+    }
+
+    private void synchronize(Object groupId, MessageGroupIndex index, int groupSize, long groupLastModified) {
+        // an index missing changes made elsewhere is dropped, and built again when the group is next asked for, as is
+        // the index of an emptied group so that the indexes do not outlive the groups
+        if (!index.synchronize(groupSize, groupLastModified) || groupSize == 0) {
+            indexes.remove(groupId, index);
+        }
+    }
+}
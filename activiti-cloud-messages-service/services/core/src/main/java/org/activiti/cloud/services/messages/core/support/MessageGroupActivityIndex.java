@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the last activity of the message groups in time buckets, so that the groups without activity for a
+ * while are found by looking at the expired buckets only, instead of scanning all the groups of the store.
+ */
+public class MessageGroupActivityIndex {
+
+    private final long bucketMillis;
+    private final Map<Object, Long> bucketByGroup = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Object>> groupsByBucket = new ConcurrentHashMap<>();
+
+    public MessageGroupActivityIndex(Duration bucketWidth) {
+        this.bucketMillis = Math.max(1, bucketWidth.toMillis());
+    }
+
+    public void touch(Object groupId) {
+        touch(groupId, System.currentTimeMillis());
+    }
+
+    public void touch(Object groupId, long timestamp) {
+        long bucket = timestamp / bucketMillis;
+        Long previous = bucketByGroup.put(groupId, bucket);
+        if (previous == null || previous != bucket) {
+            groupsByBucket.compute(
+                bucket,
+                (key, groups) -> {
+                    Set<Object> result = groups != null ? groups : ConcurrentHashMap.newKeySet();
+                    result.add(groupId);
+                    return result;
+                }
+            );
+            if (previous != null) {
+                removeFromBucket(groupId, previous);
+            }
+        }
+    }
+
+    public void remove(Object groupId) {
+        Long bucket = bucketByGroup.remove(groupId);
+        if (bucket != null) {
+            removeFromBucket(groupId, bucket);
+        }
+    }
+
+    /**
+     * Removes from the index the groups without activity since the given timestamp, up to the given number of
+     * groups. The other expired groups are kept for the next poll.
+     */
+    public List<Object> pollExpired(long timestamp, int maxGroups) {
+        List<Object> expired = new ArrayList<>();
+        // the buckets containing activity at or after the timestamp are not expired
+        long firstActiveBucket = timestamp / bucketMillis;
+
+        Iterator<Long> buckets = groupsByBucket.keySet().iterator();
+        while (buckets.hasNext() && expired.size() < maxGroups) {
+            Long bucket = buckets.next();
+            if (bucket >= firstActiveBucket) {
+                continue;
+            }
+            Set<Object> groups = groupsByBucket.get(bucket);
+            if (groups == null) {
+                continue;
+            }
+            for (Object groupId : groups) {
+                if (expired.size() >= maxGroups) {
+                    break;
+                }
+                // groups touched since they have been added to the bucket are not removed
+                if (bucketByGroup.remove(groupId, bucket)) {
+                    expired.add(groupId);
+                }
+                groups.remove(groupId);
+            }
+            groupsByBucket.computeIfPresent(bucket, (key, remaining) -> remaining.isEmpty() ? null : remaining);
+        }
+
+        return expired;
+    }
+
+    public boolean contains(Object groupId) {
+        return bucketByGroup.containsKey(groupId);
+    }
+
+    public int size() {
+        return bucketByGroup.size();
+    }
+
+    private void removeFromBucket(Object groupId, long bucket) {
+        groupsByBucket.computeIfPresent(
+            bucket,
+            (key, groups) -> {
+                groups.remove(groupId);
+                return groups.isEmpty() ? null : groups;
+            }
+        );
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.support;
+
+import static org.activiti.cloud.services.messages.core.integration.MessageEventHeaders.MESSAGE_EVENT_TYPE;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+import org.springframework.integration.store.MessageGroup;
+import org.springframework.messaging.Message;
+
+/**
+ * Index of the ids of the messages of a {@link MessageGroup} by event type, each event type being a queue ordered by
+ * timestamp, then by the order the messages have been added. Whether the group has messages of an event type and its
+ * earliest message are known without reading the messages of the group, and the index is kept up to date as messages
+ * are added and removed instead of being built again.
+ */
+public class MessageGroupIndex {
+
+    private static final Comparator<Entry> TIMESTAMP_ORDER = Comparator
+        .comparingLong(Entry::timestamp)
+        .thenComparingLong(Entry::sequence);
+
+    private final Map<String, NavigableSet<Entry>> queues = new HashMap<>();
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private long sequence;
+    private long lastModified;
+
+    private MessageGroupIndex() {}
+
+    /**
+     * Indexes the messages of the group in a single pass, in the order the group returns them.
+     */
+    public static MessageGroupIndex of(MessageGroup group) {
+        MessageGroupIndex index = new MessageGroupIndex();
+        group.getMessages().forEach(index::add);
+        index.lastModified = group.getLastModified();
+        return index;
+    }
+
+    public synchronized void add(Message<?> message) {
+        UUID id = message.getHeaders().getId();
+        Object eventType = message.getHeaders().get(MESSAGE_EVENT_TYPE);
+        Long timestamp = message.getHeaders().getTimestamp();
+
+        Entry entry = new Entry(
+            id,
+            eventType != null ? eventType.toString() : null,
+            timestamp != null ? timestamp : Long.MAX_VALUE,
+            sequence++
+        );
+        remove(id);
+        entries.put(id, entry);
+        if (entry.eventType() != null) {
+            queues.computeIfAbsent(entry.eventType(), key -> new TreeSet<>(TIMESTAMP_ORDER)).add(entry);
+        }
+    }
+
+    public synchronized void remove(UUID id) {
+        Entry entry = entries.remove(id);
+        if (entry != null && entry.eventType() != null) {
+            NavigableSet<Entry> queue = queues.get(entry.eventType());
+            queue.remove(entry);
+            if (queue.isEmpty()) {
+                queues.remove(entry.eventType());
+            }
+        }
+    }
+
+    public synchronized boolean contains(Enum<?> eventType) {
+        return queues.containsKey(eventType.name());
+    }
+
+    /**
+     * @return the id of the message of the event type with the lowest timestamp, the first added among them if several
+     */
+    public synchronized Optional<UUID> first(Enum<?> eventType) {
+        return Optional.ofNullable(queues.get(eventType.name())).map(queue -> queue.first().id());
+    }
+
+    /**
+     * @return the ids of the messages of the event type ordered by timestamp
+     */
+    public synchronized List<UUID> ids(Enum<?> eventType) {
+        return Optional
+            .ofNullable(queues.get(eventType.name()))
+            .map(queue -> queue.stream().map(Entry::id).toList())
+            .orElseGet(List::of);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return whether the index has the messages of the group, that is the group has not been modified since the index
+     * has last been synchronized with it
+     */
+    public synchronized boolean isCurrent(MessageGroup group) {
+        return entries.size() == group.size() && lastModified == group.getLastModified();
+    }
+
+    /**
+     * Records the size and last modification of the group after the index has been updated with its changes.
+     *
+     * @return whether the index still has as many messages as the group
+     */
+    public synchronized boolean synchronize(int groupSize, long groupLastModified) {
+        lastModified = groupLastModified;
+        return entries.size() == groupSize;
+    }
+
+    private record Entry(UUID id, String eventType, long timestamp, long sequence) {}
+}
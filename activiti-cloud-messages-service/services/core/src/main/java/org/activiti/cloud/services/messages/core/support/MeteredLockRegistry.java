@@ -0,0 +1,156 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.support;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import org.springframework.integration.support.locks.LockRegistry;
+
+/**
+ * {@link LockRegistry} recording the time waited to acquire the locks of the delegate registry, and the time they
+ * are held, tagged with the type of store backing the locks.
+ */
+public class MeteredLockRegistry implements LockRegistry {
+
+    public static final String ACQUIRE_TIMER = "activiti.messages.lock.acquire";
+    public static final String HOLD_TIMER = "activiti.messages.lock.hold";
+
+    private final LockRegistry delegate;
+    private final Timer acquireTimer;
+    private final Timer failedAcquireTimer;
+    private final Timer holdTimer;
+
+    public MeteredLockRegistry(LockRegistry delegate, String store, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.acquireTimer =
+            Timer
+                .builder(ACQUIRE_TIMER)
+                .description("Time waited to acquire a correlation lock")
+                .tag("store", store)
+                .tag("acquired", "true")
+                .register(meterRegistry);
+        this.failedAcquireTimer =
+            Timer
+                .builder(ACQUIRE_TIMER)
+                .description("Time waited to acquire a correlation lock")
+                .tag("store", store)
+                .tag("acquired", "false")
+                .register(meterRegistry);
+        this.holdTimer =
+            Timer
+                .builder(HOLD_TIMER)
+                .description("Time a correlation lock is held")
+                .tag("store", store)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the type of store backing the locks of the registry, i.e. jdbc for the {@code JdbcLockRegistry}
+     */
+    public static String storeOf(LockRegistry registry) {
+        LockRegistry target = registry instanceof ShardedLockRegistry sharded ? sharded.getDelegate() : registry;
+        String name = target.getClass().getSimpleName();
+        if (
+            name.endsWith(LockRegistry.class.getSimpleName()) &&
+            name.length() > LockRegistry.class.getSimpleName().length()
+        ) {
+            name = name.substring(0, name.length() - LockRegistry.class.getSimpleName().length());
+        }
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public Lock obtain(Object lockKey) {
+        return new MeteredLock(delegate.obtain(lockKey));
+    }
+
+    private class MeteredLock implements Lock {
+
+        private final Lock lock;
+        private long acquiredAt;
+        private int holdCount;
+
+        MeteredLock(Lock lock) {
+            this.lock = lock;
+        }
+
+        @Override
+        public void lock() {
+            long start = System.nanoTime();
+            lock.lock();
+            acquired(start);
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            long start = System.nanoTime();
+            try {
+                lock.lockInterruptibly();
+            } catch (InterruptedException | RuntimeException e) {
+                failedAcquireTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw e;
+            }
+            acquired(start);
+        }
+
+        @Override
+        public boolean tryLock() {
+            long start = System.nanoTime();
+            return attempted(start, lock.tryLock());
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            long start = System.nanoTime();
+            return attempted(start, lock.tryLock(time, unit));
+        }
+
+        @Override
+        public void unlock() {
+            lock.unlock();
+            if (holdCount > 0 && --holdCount == 0) {
+                holdTimer.record(System.nanoTime() - acquiredAt, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        @Override
+        public Condition newCondition() {
+            return lock.newCondition();
+        }
+
+        private boolean attempted(long start, boolean acquired) {
+            if (acquired) {
+                acquired(start);
+            } else {
+                failedAcquireTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            return acquired;
+        }
+
+        private void acquired(long start) {
+            long now = System.nanoTime();
+            acquireTimer.record(now - start, TimeUnit.NANOSECONDS);
+            // the lock is only used by the thread holding it, the hold time is measured from the outermost lock
+            if (holdCount++ == 0) {
+                acquiredAt = now;
+            }
+        }
+    }
+}
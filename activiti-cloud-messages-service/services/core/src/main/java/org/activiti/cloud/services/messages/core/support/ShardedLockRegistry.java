@@ -0,0 +1,162 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.support;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.integration.support.locks.LockRegistry;
+
+/**
+ * {@link LockRegistry} locking keys in two tiers: keys are hashed onto a set of local lock stripes, and the lock
+ * of the key in the delegate registry is only taken once the local stripe is held, so that at most one thread per
+ * stripe of this node waits on a distributed lock. The distributed lock is not taken at all for the keys owned
+ * exclusively by this node.
+ * <p>
+ * Unrelated keys hashing onto the same stripe are serialized on this node, the number of stripes should then be
+ * well above the number of threads handling messages.
+ * <p>
+ * The locks obtained do not support conditions: {@link Lock#newCondition()} throws an
+ * {@link UnsupportedOperationException}. Awaiting a condition of the distributed lock would keep holding the local
+ * stripe, so that no other thread of this node could take the lock to signal it.
+ */
+public class ShardedLockRegistry implements LockRegistry {
+
+    private final LockRegistry delegate;
+    private final CorrelationKeyOwnership ownership;
+    private final Stripe[] stripes;
+
+    public ShardedLockRegistry(LockRegistry delegate, int stripes, CorrelationKeyOwnership ownership) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("The number of lock stripes must be positive");
+        }
+        this.delegate = delegate;
+        this.ownership = ownership;
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    public LockRegistry getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public Lock obtain(Object lockKey) {
+        Lock stripe = stripe(lockKey);
+
+        return ownership.isOwnedExclusively(lockKey) ? stripe : new TwoTierLock(stripe, delegate.obtain(lockKey));
+    }
+
+    Lock stripe(Object lockKey) {
+        int hash = lockKey.hashCode();
+        return stripes[Math.floorMod(hash ^ (hash >>> 16), stripes.length)];
+    }
+
+    private static class Stripe extends ReentrantLock {
+
+        @Override
+        public Condition newCondition() {
+            throw conditionsNotSupported();
+        }
+    }
+
+    private static UnsupportedOperationException conditionsNotSupported() {
+        return new UnsupportedOperationException("Conditions are not supported by sharded locks");
+    }
+
+    private static class TwoTierLock implements Lock {
+
+        private final Lock local;
+        private final Lock distributed;
+
+        TwoTierLock(Lock local, Lock distributed) {
+            this.local = local;
+            this.distributed = distributed;
+        }
+
+        @Override
+        public void lock() {
+            local.lock();
+            try {
+                distributed.lock();
+            } catch (RuntimeException e) {
+                local.unlock();
+                throw e;
+            }
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            local.lockInterruptibly();
+            try {
+                distributed.lockInterruptibly();
+            } catch (InterruptedException | RuntimeException e) {
+                local.unlock();
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean tryLock() {
+            if (!local.tryLock()) {
+                return false;
+            }
+            boolean acquired = false;
+            try {
+                acquired = distributed.tryLock();
+                return acquired;
+            } finally {
+                if (!acquired) {
+                    local.unlock();
+                }
+            }
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            long deadline = System.nanoTime() + unit.toNanos(time);
+            if (!local.tryLock(time, unit)) {
+                return false;
+            }
+            boolean acquired = false;
+            try {
+                acquired = distributed.tryLock(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                return acquired;
+            } finally {
+                if (!acquired) {
+                    local.unlock();
+                }
+            }
+        }
+
+        @Override
+        public void unlock() {
+            try {
+                distributed.unlock();
+            } finally {
+                local.unlock();
+            }
+        }
+
+        @Override
+        public Condition newCondition() {
+            throw conditionsNotSupported();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.aggregator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.integration.aggregator.MessageGroupProcessor;
+import org.springframework.integration.store.SimpleMessageStore;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+
+public class MessageConnectorAggregatorTest {
+
+    private static final String GROUP_ID = "group";
+
+    private SimpleMessageStore messageStore;
+    private MessageConnectorAggregator aggregator;
+
+    @BeforeEach
+    public void setUp() {
+        messageStore = new SimpleMessageStore();
+        aggregator = new MessageConnectorAggregator(mock(MessageGroupProcessor.class), messageStore);
+        aggregator.setCompleteGroupsWhenEmpty(true);
+    }
+
+    @Test
+    public void should_removeOnlyCompletedMessages_when_released() {
+        //given
+        Message<?> completed = MessageBuilder.withPayload("completed").build();
+        Message<?> pending = MessageBuilder.withPayload("pending").build();
+        messageStore.addMessagesToGroup(GROUP_ID, completed, pending);
+
+        //when
+        aggregator.afterRelease(
+            messageStore.getMessageGroup(GROUP_ID),
+            List.of(completed, MessageBuilder.withPayload("output").build())
+        );
+
+        //then
+        assertThat(messageStore.getMessageGroup(GROUP_ID).getMessages()).containsExactly(pending);
+        assertThat(messageStore.getMessageGroup(GROUP_ID).isComplete()).isFalse();
+    }
+
+    @Test
+    public void should_completeGroup_when_allMessagesAreCompleted() {
+        //given
+        Message<?> first = MessageBuilder.withPayload("first").build();
+        Message<?> second = MessageBuilder.withPayload("second").build();
+        messageStore.addMessagesToGroup(GROUP_ID, first, second);
+
+        //when
+        aggregator.afterRelease(
+            messageStore.getMessageGroup(GROUP_ID),
+            List.of(MessageBuilder.fromMessage(second).build(), first)
+        );
+
+        //then
+        assertThat(messageStore.messageGroupSize(GROUP_ID)).isZero();
+        assertThat(messageStore.getMessageGroup(GROUP_ID).isComplete()).isTrue();
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.aggregator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import org.activiti.cloud.services.messages.core.support.CorrelationKeyOwnership;
+import org.activiti.cloud.services.messages.core.support.MessageGroupActivityIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.integration.store.MessageGroup;
+import org.springframework.integration.store.MessageGroupStore;
+import org.springframework.integration.store.SimpleMessageGroup;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.integration.support.locks.DefaultLockRegistry;
+import org.springframework.scheduling.TaskScheduler;
+
+public class MessageGroupExpirySweeperTest {
+
+    private static final Duration TIMEOUT = Duration.ofHours(1);
+
+    private MessageGroupStore messageStore;
+    private MessageGroupActivityIndex activityIndex;
+    private SimpleMeterRegistry meterRegistry;
+    private MessageGroupExpirySweeper sweeper;
+
+    @BeforeEach
+    public void setUp() {
+        messageStore = mock(MessageGroupStore.class);
+        given(messageStore.iterator()).willReturn(Collections.emptyIterator());
+        activityIndex = new MessageGroupActivityIndex(Duration.ofMinutes(1));
+        meterRegistry = new SimpleMeterRegistry();
+        sweeper = sweeper(CorrelationKeyOwnership.NONE, 100);
+    }
+
+    private MessageGroupExpirySweeper sweeper(CorrelationKeyOwnership ownership, int batchSize) {
+        return new MessageGroupExpirySweeper(
+            messageStore,
+            new DefaultLockRegistry(),
+            ownership,
+            activityIndex,
+            mock(TaskScheduler.class),
+            TIMEOUT,
+            Duration.ofMinutes(1),
+            batchSize,
+            meterRegistry
+        );
+    }
+
+    @Test
+    public void should_notReadStore_when_started() {
+        //when
+        sweeper.start();
+
+        //then
+        verify(messageStore, never()).iterator();
+    }
+
+    @Test
+    public void should_indexStoredGroupsBatchBySweep_when_locksAreDistributed() {
+        //given
+        long staleTimestamp = System.currentTimeMillis() - TIMEOUT.toMillis() * 2;
+        given(messageStore.iterator())
+            .willReturn(
+                List
+                    .<MessageGroup>of(
+                        new SimpleMessageGroup(List.of(), "first", staleTimestamp, false),
+                        new SimpleMessageGroup(List.of(), "second", staleTimestamp, false)
+                    )
+                    .iterator()
+            );
+        sweeper = sweeper(CorrelationKeyOwnership.NONE, 1);
+
+        //when
+        sweeper.sweep();
+
+        //then
+        assertThat(activityIndex.contains("first")).isTrue();
+        assertThat(activityIndex.contains("second")).isFalse();
+
+        //when
+        sweeper.sweep();
+
+        //then
+        assertThat(activityIndex.contains("second")).isTrue();
+        verify(messageStore, times(1)).iterator();
+    }
+
+    @Test
+    public void should_notReadStore_when_correlationKeysAreOwnedExclusively() {
+        //given
+        sweeper = sweeper(key -> true, 100);
+
+        //when
+        sweeper.sweep();
+
+        //then
+        verify(messageStore, never()).iterator();
+    }
+
+    @Test
+    public void should_removeGroup_when_noActivitySinceTimeout() {
+        //given
+        long staleTimestamp = System.currentTimeMillis() - TIMEOUT.toMillis() * 2;
+        given(messageStore.getMessageGroup("stale"))
+            .willReturn(
+                new SimpleMessageGroup(
+                    List.of(MessageBuilder.withPayload("waiting").build()),
+                    "stale",
+                    staleTimestamp,
+                    false
+                )
+            );
+        activityIndex.touch("stale", staleTimestamp);
+
+        //when
+        sweeper.sweep();
+
+        //then
+        verify(messageStore).removeMessageGroup("stale");
+        assertThat(meterRegistry.get("activiti.messages.expiry.groups").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("activiti.messages.expiry.messages").counter().count()).isEqualTo(1);
+        assertThat(activityIndex.size()).isZero();
+    }
+
+    @Test
+    public void should_keepGroup_when_updatedSinceIndexed() {
+        //given
+        long staleTimestamp = System.currentTimeMillis() - TIMEOUT.toMillis() * 2;
+        SimpleMessageGroup group = new SimpleMessageGroup(
+            List.of(MessageBuilder.withPayload("waiting").build()),
+            "group",
+            staleTimestamp,
+            false
+        );
+        group.setLastModified(System.currentTimeMillis());
+        given(messageStore.getMessageGroup("group")).willReturn(group);
+        activityIndex.touch("group", staleTimestamp);
+
+        //when
+        sweeper.sweep();
+
+        //then
+        verify(messageStore, never()).removeMessageGroup("group");
+        assertThat(activityIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_notQueryStore_when_noGroupIsStale() {
+        //given
+        activityIndex.touch("active");
+
+        //when
+        sweeper.sweep();
+
+        //then
+        verify(messageStore, never()).getMessageGroup("active");
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.activiti.cloud.common.messaging.ActivitiCloudMessagingProperties;
+import org.activiti.cloud.services.messages.core.support.CorrelationKeyOwnership;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.integration.support.locks.LockRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class CorrelationKeyOwnershipConfigurationTest {
+
+    private final MessageAggregatorProperties properties = new MessageAggregatorProperties();
+    private final ActivitiCloudMessagingProperties messagingProperties = new ActivitiCloudMessagingProperties();
+
+    @Test
+    public void should_ownCorrelationKeys_when_partitionOwnershipIsEnabledOnPartitionedMessaging() {
+        //given
+        properties.setPartitionOwnership(true);
+        messagingProperties.setPartitioned(true);
+
+        //when
+        CorrelationKeyOwnership ownership = correlationKeyOwnership();
+
+        //then
+        assertThat(ownership.isOwnedExclusively("key")).isTrue();
+    }
+
+    @Test
+    public void should_notOwnCorrelationKeys_when_messagingIsNotPartitioned() {
+        //given
+        properties.setPartitionOwnership(true);
+        messagingProperties.setPartitioned(false);
+
+        //when
+        //then
+        assertThat(correlationKeyOwnership()).isSameAs(CorrelationKeyOwnership.NONE);
+    }
+
+    @Test
+    public void should_notOwnCorrelationKeys_when_partitionOwnershipIsDisabled() {
+        //given
+        messagingProperties.setPartitioned(true);
+
+        //when
+        //then
+        assertThat(correlationKeyOwnership()).isSameAs(CorrelationKeyOwnership.NONE);
+    }
+
+    @Test
+    public void should_lockOwnedCorrelationKeysLocally_when_lockRegistryIsPostProcessed() {
+        //given
+        LockRegistry delegate = mock(LockRegistry.class);
+        CorrelationLockRegistryPostProcessor postProcessor = postProcessor(key -> true);
+
+        //when
+        LockRegistry lockRegistry = (LockRegistry) postProcessor.postProcessAfterInitialization(
+            delegate,
+            "lockRegistry"
+        );
+        lockRegistry.obtain("key");
+
+        //then
+        verify(delegate, never()).obtain(any());
+    }
+
+    @Test
+    public void should_lockCorrelationKeysWithRegistry_when_correlationKeysAreNotOwned() {
+        //given
+        LockRegistry delegate = mock(LockRegistry.class);
+        CorrelationLockRegistryPostProcessor postProcessor = postProcessor(CorrelationKeyOwnership.NONE);
+
+        //when
+        LockRegistry lockRegistry = (LockRegistry) postProcessor.postProcessAfterInitialization(
+            delegate,
+            "lockRegistry"
+        );
+        lockRegistry.obtain("key");
+
+        //then
+        verify(delegate).obtain("key");
+    }
+
+    private CorrelationKeyOwnership correlationKeyOwnership() {
+        MessagesCoreAutoConfiguration configuration = new MessagesCoreAutoConfiguration();
+        ReflectionTestUtils.setField(configuration, "properties", properties);
+        return configuration.correlationKeyOwnership(messagingProperties);
+    }
+
+    private CorrelationLockRegistryPostProcessor postProcessor(CorrelationKeyOwnership ownership) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("properties", properties);
+        beanFactory.addBean("ownership", ownership);
+
+        ObjectProvider<MessageAggregatorProperties> propertiesProvider = beanFactory.getBeanProvider(
+            MessageAggregatorProperties.class
+        );
+        ObjectProvider<CorrelationKeyOwnership> ownershipProvider = beanFactory.getBeanProvider(
+            CorrelationKeyOwnership.class
+        );
+        return new CorrelationLockRegistryPostProcessor(
+            propertiesProvider,
+            ownershipProvider,
+            beanFactory.getBeanProvider(MeterRegistry.class)
+        );
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.correlation;
+
+import static org.activiti.cloud.services.messages.core.integration.MessageEventHeaders.APP_NAME;
+import static org.activiti.cloud.services.messages.core.integration.MessageEventHeaders.MESSAGE_EVENT_CORRELATION_KEY;
+import static org.activiti.cloud.services.messages.core.integration.MessageEventHeaders.MESSAGE_EVENT_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.activiti.cloud.services.messages.events.support.MessageEventsPartitionKeyExtractor;
+import org.junit.jupiter.api.Test;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+
+/**
+ * The runtime bundle partitions the message events by the correlation id the messages service aggregates them by, so
+ * that all the events of a message group are consumed by the same messages service instance.
+ */
+public class CorrelationsTest {
+
+    private final MessageEventsPartitionKeyExtractor partitionKeyExtractor = new MessageEventsPartitionKeyExtractor();
+
+    @Test
+    public void should_beThePartitionKeyOfMessageEvents_when_messageHasCorrelationKey() {
+        //given
+        Message<?> message = MessageBuilder
+            .withPayload("payload")
+            .setHeader(APP_NAME, "app")
+            .setHeader(MESSAGE_EVENT_NAME, "message")
+            .setHeader(MESSAGE_EVENT_CORRELATION_KEY, "key")
+            .build();
+
+        //when
+        String correlationId = Correlations.getCorrelationId(message);
+
+        //then
+        assertThat(correlationId).isEqualTo("app:message:key");
+        assertThat(partitionKeyExtractor.extractKey(message)).isEqualTo(correlationId);
+    }
+
+    @Test
+    public void should_beThePartitionKeyOfMessageEvents_when_messageHasNoCorrelationKey() {
+        //given
+        Message<?> message = MessageBuilder
+            .withPayload("payload")
+            .setHeader(APP_NAME, "app")
+            .setHeader(MESSAGE_EVENT_NAME, "message")
+            .build();
+
+        //when
+        String correlationId = Correlations.getCorrelationId(message);
+
+        //then
+        assertThat(correlationId).isEqualTo("app:message");
+        assertThat(partitionKeyExtractor.extractKey(message)).isEqualTo(correlationId);
+    }
+}
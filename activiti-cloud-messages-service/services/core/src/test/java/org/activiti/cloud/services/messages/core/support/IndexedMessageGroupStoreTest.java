@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.support;
+
+import static org.activiti.cloud.services.messages.core.integration.MessageEventHeaders.MESSAGE_EVENT_TYPE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.activiti.api.process.model.events.BPMNMessageEvent.MessageEvents;
+import org.junit.jupiter.api.Test;
+import org.springframework.integration.store.SimpleMessageStore;
+import org.springframework.integration.support.MutableMessageBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+
+public class IndexedMessageGroupStoreTest {
+
+    private static final String GROUP_ID = "group";
+
+    private final SimpleMessageStore delegate = new SimpleMessageStore();
+    private final IndexedMessageGroupStore messageStore = new IndexedMessageGroupStore(delegate);
+
+    @Test
+    public void should_orderMessagesByTimestampThenArrival_when_indexed() {
+        //given
+        Message<?> late = message(MessageEvents.MESSAGE_SENT, 300);
+        Message<?> early = message(MessageEvents.MESSAGE_SENT, 100);
+        Message<?> sameTime = message(MessageEvents.MESSAGE_SENT, 100);
+        Message<?> waiting = message(MessageEvents.MESSAGE_WAITING, 50);
+        messageStore.addMessagesToGroup(GROUP_ID, late, early, sameTime, waiting);
+
+        //when
+        MessageGroupIndex index = messageStore.getIndex(messageStore.getMessageGroup(GROUP_ID));
+
+        //then
+        assertThat(index.first(MessageEvents.MESSAGE_SENT)).contains(early.getHeaders().getId());
+        assertThat(index.ids(MessageEvents.MESSAGE_SENT))
+            .containsExactly(early.getHeaders().getId(), sameTime.getHeaders().getId(), late.getHeaders().getId());
+        assertThat(index.contains(MessageEvents.MESSAGE_WAITING)).isTrue();
+        assertThat(index.contains(MessageEvents.MESSAGE_RECEIVED)).isFalse();
+    }
+
+    @Test
+    public void should_updateIndex_when_messagesAreAddedAndRemovedThroughStore() {
+        //given
+        Message<?> first = message(MessageEvents.MESSAGE_SENT, 100);
+        Message<?> second = message(MessageEvents.MESSAGE_SENT, 200);
+        messageStore.addMessageToGroup(GROUP_ID, second);
+        MessageGroupIndex index = messageStore.getIndex(messageStore.getMessageGroup(GROUP_ID));
+
+        //when
+        messageStore.addMessageToGroup(GROUP_ID, first);
+        messageStore.removeMessageFromGroupById(GROUP_ID, second.getHeaders().getId());
+
+        //then
+        assertThat(messageStore.getIndex(messageStore.getMessageGroup(GROUP_ID))).isSameAs(index);
+        assertThat(index.ids(MessageEvents.MESSAGE_SENT)).containsExactly(first.getHeaders().getId());
+    }
+
+    @Test
+    public void should_indexGroupAgain_when_groupIsModifiedElsewhere() {
+        //given
+        messageStore.addMessageToGroup(GROUP_ID, message(MessageEvents.MESSAGE_SENT, 100));
+        MessageGroupIndex index = messageStore.getIndex(messageStore.getMessageGroup(GROUP_ID));
+        Message<?> waiting = message(MessageEvents.MESSAGE_WAITING, 200);
+
+        //when
+        delegate.addMessagesToGroup(GROUP_ID, waiting);
+
+        //then
+        MessageGroupIndex current = messageStore.getIndex(messageStore.getMessageGroup(GROUP_ID));
+        assertThat(current).isNotSameAs(index);
+        assertThat(current.first(MessageEvents.MESSAGE_WAITING)).contains(waiting.getHeaders().getId());
+    }
+
+    @Test
+    public void should_indexGroupOnce_when_groupIsNotModified() {
+        //given
+        messageStore.addMessageToGroup(GROUP_ID, message(MessageEvents.MESSAGE_SENT, 100));
+
+        //when
+        MessageGroupIndex index = messageStore.getIndex(messageStore.getMessageGroup(GROUP_ID));
+
+        //then
+        assertThat(messageStore.getIndex(messageStore.getMessageGroup(GROUP_ID))).isSameAs(index);
+    }
+
+    @Test
+    public void should_dropIndex_when_groupIsRemoved() {
+        //given
+        Message<?> sent = message(MessageEvents.MESSAGE_SENT, 100);
+        messageStore.addMessageToGroup(GROUP_ID, sent);
+        MessageGroupIndex index = messageStore.getIndex(messageStore.getMessageGroup(GROUP_ID));
+
+        //when
+        messageStore.removeMessageGroup(GROUP_ID);
+
+        //then
+        MessageGroupIndex current = messageStore.getIndex(messageStore.getMessageGroup(GROUP_ID));
+        assertThat(current).isNotSameAs(index);
+        assertThat(current.size()).isZero();
+    }
+
+    @Test
+    public void should_indexMessagesOfGroup_when_storeIsNotIndexed() {
+        //given
+        Message<?> sent = message(MessageEvents.MESSAGE_SENT, 100);
+        delegate.addMessagesToGroup(GROUP_ID, sent);
+
+        //when
+        MessageGroupIndex index = IndexedMessageGroupStore.indexOf(delegate, delegate.getMessageGroup(GROUP_ID));
+
+        //then
+        assertThat(index.first(MessageEvents.MESSAGE_SENT)).contains(sent.getHeaders().getId());
+    }
+
+    private Message<?> message(MessageEvents eventType, long timestamp) {
+        return MutableMessageBuilder
+            .withPayload(eventType.name())
+            .setHeader(MESSAGE_EVENT_TYPE, eventType.name())
+            .setHeader(MessageHeaders.TIMESTAMP, timestamp)
+            .build();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+public class MessageGroupActivityIndexTest {
+
+    private final MessageGroupActivityIndex index = new MessageGroupActivityIndex(Duration.ofMillis(10));
+
+    @Test
+    public void should_pollOnlyExpiredGroups_when_groupsHaveDifferentActivity() {
+        //given
+        index.touch("stale", 100);
+        index.touch("active", 500);
+
+        //when
+        //then
+        assertThat(index.pollExpired(300, 10)).containsExactly("stale");
+        assertThat(index.pollExpired(300, 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_notPollGroup_when_touchedAfterBecomingStale() {
+        //given
+        index.touch("group", 100);
+        index.touch("group", 500);
+
+        //when
+        //then
+        assertThat(index.pollExpired(300, 10)).isEmpty();
+        assertThat(index.pollExpired(600, 10)).containsExactly("group");
+    }
+
+    @Test
+    public void should_keepRemainingExpiredGroups_when_batchIsFull() {
+        //given
+        index.touch("first", 100);
+        index.touch("second", 100);
+        index.touch("third", 150);
+
+        //when
+        //then
+        assertThat(index.pollExpired(300, 2)).hasSize(2);
+        assertThat(index.pollExpired(300, 2)).hasSize(1);
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    public void should_notPollGroup_when_removed() {
+        //given
+        index.touch("group", 100);
+
+        //when
+        index.remove("group");
+
+        //then
+        assertThat(index.pollExpired(300, 10)).isEmpty();
+    }
+}
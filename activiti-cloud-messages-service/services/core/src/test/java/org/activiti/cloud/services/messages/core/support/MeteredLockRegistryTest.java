@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.locks.Lock;
+import org.junit.jupiter.api.Test;
+import org.springframework.integration.support.locks.DefaultLockRegistry;
+import org.springframework.integration.support.locks.LockRegistry;
+
+public class MeteredLockRegistryTest {
+
+    @Test
+    public void should_recordAcquireAndHoldTimes_when_lockIsReleased() {
+        //given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MeteredLockRegistry registry = new MeteredLockRegistry(new DefaultLockRegistry(), "default", meterRegistry);
+
+        //when
+        Lock lock = registry.obtain("key");
+        lock.lock();
+        lock.lock();
+        lock.unlock();
+        lock.unlock();
+
+        //then
+        assertThat(
+            meterRegistry
+                .get(MeteredLockRegistry.ACQUIRE_TIMER)
+                .tag("store", "default")
+                .tag("acquired", "true")
+                .timer()
+                .count()
+        )
+            .isEqualTo(2);
+        assertThat(meterRegistry.get(MeteredLockRegistry.HOLD_TIMER).tag("store", "default").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    public void should_tagStoreType_when_registryIsSharded() {
+        //given
+        LockRegistry registry = new ShardedLockRegistry(new DefaultLockRegistry(), 16, CorrelationKeyOwnership.NONE);
+
+        //when
+        String store = MeteredLockRegistry.storeOf(registry);
+
+        //then
+        assertThat(store).isEqualTo("default");
+    }
+}
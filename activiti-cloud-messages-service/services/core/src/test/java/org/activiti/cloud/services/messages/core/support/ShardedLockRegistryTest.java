@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.junit.jupiter.api.Test;
+import org.springframework.integration.support.locks.LockRegistry;
+
+public class ShardedLockRegistryTest {
+
+    @Test
+    public void should_takeLocalAndDistributedLocks_when_keyIsNotOwned() {
+        //given
+        Lock distributed = mock(Lock.class);
+        LockRegistry delegate = mock(LockRegistry.class);
+        given(delegate.obtain("key")).willReturn(distributed);
+        given(distributed.tryLock()).willReturn(true);
+        ShardedLockRegistry registry = new ShardedLockRegistry(delegate, 16, CorrelationKeyOwnership.NONE);
+
+        //when
+        Lock lock = registry.obtain("key");
+        lock.lock();
+        boolean lockedByOtherThread = CompletableFuture.supplyAsync(() -> tryLockAndRelease(registry)).join();
+        lock.unlock();
+
+        //then
+        verify(distributed).lock();
+        verify(distributed).unlock();
+        assertThat(lockedByOtherThread).isFalse();
+        assertThat(CompletableFuture.supplyAsync(() -> tryLockAndRelease(registry)).join()).isTrue();
+    }
+
+    @Test
+    public void should_onlyTakeLocalLock_when_keyIsOwnedExclusively() {
+        //given
+        LockRegistry delegate = mock(LockRegistry.class);
+        ShardedLockRegistry registry = new ShardedLockRegistry(delegate, 16, key -> true);
+
+        //when
+        Lock lock = registry.obtain("key");
+        lock.lock();
+        lock.unlock();
+
+        //then
+        verify(delegate, never()).obtain(any());
+    }
+
+    @Test
+    public void should_releaseLocalLock_when_distributedLockIsNotAcquired() {
+        //given
+        Lock distributed = mock(Lock.class);
+        LockRegistry delegate = mock(LockRegistry.class);
+        given(delegate.obtain("key")).willReturn(distributed);
+        given(distributed.tryLock()).willReturn(false);
+        ShardedLockRegistry registry = new ShardedLockRegistry(delegate, 16, CorrelationKeyOwnership.NONE);
+
+        //when
+        boolean acquired = registry.obtain("key").tryLock();
+
+        //then
+        assertThat(acquired).isFalse();
+        assertThat(((ReentrantLock) registry.stripe("key")).isLocked()).isFalse();
+    }
+
+    @Test
+    public void should_notSupportConditions_whetherKeyIsOwnedOrNot() {
+        //given
+        LockRegistry delegate = mock(LockRegistry.class);
+        given(delegate.obtain("key")).willReturn(mock(Lock.class));
+        ShardedLockRegistry registry = new ShardedLockRegistry(delegate, 16, CorrelationKeyOwnership.NONE);
+        ShardedLockRegistry owningRegistry = new ShardedLockRegistry(delegate, 16, key -> true);
+
+        //then
+        assertThatThrownBy(() -> registry.obtain("key").newCondition())
+            .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> owningRegistry.obtain("key").newCondition())
+            .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    private boolean tryLockAndRelease(LockRegistry registry) {
+        Lock lock = registry.obtain("key");
+        if (lock.tryLock()) {
+            lock.unlock();
+            return true;
+        }
+        return false;
+    }
+}
@@ -16,31 +16,58 @@
 package org.activiti.cloud.services.notifications.graphql.events;
 
 import java.lang.annotation.Annotation;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.activiti.cloud.services.notifications.graphql.events.model.EngineEvent;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.ParserContext;
 import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 
+/**
+ * Resolves routing keys from the {@link SpELTemplateRoutingKey} template of the class of the objects. The templates
+ * are parsed once per class, and compiled to bytecode once they have been evaluated, falling back to interpretation
+ * for the parts that cannot be compiled. The routing key of an {@link EngineEvent} is only resolved once.
+ */
 public class SpELTemplateRoutingKeyResolver implements RoutingKeyResolver {
 
-    private ExpressionParser parser = new SpelExpressionParser();
+    private final ExpressionParser parser = new SpelExpressionParser(
+        new SpelParserConfiguration(SpelCompilerMode.MIXED, SpELTemplateRoutingKeyResolver.class.getClassLoader())
+    );
+
+    private final ParserContext parserContext = new TemplateParserContext();
 
-    private ParserContext parserContext = new TemplateParserContext();
+    private final Map<Class<?>, Expression> expressions = new ConcurrentHashMap<>();
 
     @Override
     public String resolveRoutingKey(Object object) {
-        Annotation annotation = AnnotationUtils.findAnnotation(object.getClass(), SpELTemplateRoutingKey.class);
+        if (object instanceof EngineEvent engineEvent) {
+            String routingKey = engineEvent.getResolvedRoutingKey();
+            if (routingKey == null) {
+                routingKey = evaluate(engineEvent);
+                engineEvent.setResolvedRoutingKey(routingKey);
+            }
+            return routingKey;
+        }
 
-        if (annotation == null) throw new RuntimeException(
-            "Cannot resolve routing key for class: " + object.getClass()
-        );
+        return evaluate(object);
+    }
 
-        String value = AnnotationUtils.getValue(annotation).toString();
+    private String evaluate(Object object) {
+        return expressions.computeIfAbsent(object.getClass(), this::parseExpression).getValue(object).toString();
+    }
+
+    private Expression parseExpression(Class<?> type) {
+        Annotation annotation = AnnotationUtils.findAnnotation(type, SpELTemplateRoutingKey.class);
 
-        Expression expression = parser.parseExpression(value, parserContext);
+        if (annotation == null) throw new RuntimeException("Cannot resolve routing key for class: " + type);
+
+        String value = AnnotationUtils.getValue(annotation).toString();
 
-        return expression.getValue(object).toString();
+        return parser.parseExpression(value, parserContext);
     }
 }
@@ -20,6 +20,7 @@ import java.util.List;
 import org.activiti.cloud.services.notifications.graphql.events.RoutingKeyResolver;
 import org.activiti.cloud.services.notifications.graphql.events.SpELTemplateRoutingKeyResolver;
 import org.activiti.cloud.services.notifications.graphql.events.model.EngineEvent;
+import org.activiti.cloud.services.notifications.graphql.events.transformer.EngineEventsDecoder;
 import org.activiti.cloud.services.notifications.graphql.events.transformer.EngineEventsTransformer;
 import org.activiti.cloud.services.notifications.graphql.events.transformer.Transformer;
 import org.reactivestreams.Publisher;
@@ -87,8 +88,20 @@ public class EngineEventsConsumerAutoConfiguration {
 
         @Bean
         @ConditionalOnMissingBean
-        public EngineEventsConsumerMessageHandler engineEventsMessageHandler(Transformer engineEventsTransformer) {
-            return new EngineEventsConsumerMessageHandler(engineEventsTransformer);
+        public EngineEventsDecoder engineEventsDecoder() {
+            return new EngineEventsDecoder(
+                Arrays.asList(properties.getProcessEngineEventAttributeKeys().split(",")),
+                properties.getProcessEngineEventTypeKey()
+            );
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public EngineEventsConsumerMessageHandler engineEventsMessageHandler(
+            Transformer engineEventsTransformer,
+            EngineEventsDecoder engineEventsDecoder
+        ) {
+            return new EngineEventsConsumerMessageHandler(engineEventsTransformer, engineEventsDecoder);
         }
 
         @Bean
@@ -15,9 +15,11 @@
  */
 package org.activiti.cloud.services.notifications.graphql.events.consumer;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import org.activiti.cloud.services.notifications.graphql.events.model.EngineEvent;
+import org.activiti.cloud.services.notifications.graphql.events.transformer.EngineEventsDecoder;
 import org.activiti.cloud.services.notifications.graphql.events.transformer.Transformer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,17 +32,34 @@ public class EngineEventsConsumerMessageHandler {
 
     private final Transformer transformer;
 
-    public EngineEventsConsumerMessageHandler(Transformer transformer) {
+    private final EngineEventsDecoder decoder;
+
+    public EngineEventsConsumerMessageHandler(Transformer transformer, EngineEventsDecoder decoder) {
         this.transformer = transformer;
+        this.decoder = decoder;
     }
 
+    /**
+     * The raw JSON payloads are decoded on demand by the {@link EngineEventsDecoder}, the decoded ones are transformed.
+     */
+    @SuppressWarnings("unchecked")
     @org.springframework.integration.annotation.Transformer
-    public Message<List<EngineEvent>> receive(Message<List<Map<String, Object>>> message) {
-        List<Map<String, Object>> events = message.getPayload();
+    public Message<List<EngineEvent>> receive(Message<?> message) {
         String routingKey = (String) message.getHeaders().get("routingKey");
 
         logger.debug("Received source message {} with routingKey: {}", message, routingKey);
 
-        return MessageBuilder.<List<EngineEvent>>createMessage(transformer.transform(events), message.getHeaders());
+        Object payload = message.getPayload();
+        List<EngineEvent> events;
+
+        if (payload instanceof byte[] json) {
+            events = decoder.decode(json);
+        } else if (payload instanceof String json) {
+            events = decoder.decode(json.getBytes(StandardCharsets.UTF_8));
+        } else {
+            events = transformer.transform((List<Map<String, Object>>) payload);
+        }
+
+        return MessageBuilder.<List<EngineEvent>>createMessage(events, message.getHeaders());
     }
 }
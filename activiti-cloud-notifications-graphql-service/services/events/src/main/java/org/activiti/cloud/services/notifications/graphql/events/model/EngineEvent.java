@@ -15,10 +15,26 @@
  */
 package org.activiti.cloud.services.notifications.graphql.events.model;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.SequencedCollection;
+import java.util.SequencedMap;
+import java.util.SequencedSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import org.activiti.cloud.services.notifications.graphql.events.SpELTemplateRoutingKey;
 
+/**
+ * An engine event, as the map of its attributes. The events can be decoded on demand: only the attributes needed to
+ * route the event are decoded up front, and the other attributes are decoded the first time they are accessed. As
+ * such events are read by the subscriptions concurrently, they are read-only: their attributes are held in immutable
+ * maps, replaced once decoded, and never in the map the event extends.
+ */
 @SpELTemplateRoutingKey(
     "engineEvents.#{['serviceName']?:'_'}.#{['appName']?:'_'}.#{['eventType']?:'_'}.#{['processDefinitionKey']?:'_'}.#{['processInstanceId']?:'_'}.#{['businessKey']?:'_'}"
 )
@@ -29,6 +45,28 @@ public class EngineEvent extends LinkedHashMap<String, Object> {
      */
     private static final long serialVersionUID = 1L;
 
+    /**
+     * routing key resolved from the entries of the event, forgotten when the event is modified through its methods.
+     * The event is not expected to be modified through its key, value or entry views once the key is resolved
+     */
+    private transient volatile String resolvedRoutingKey;
+
+    /**
+     * keys of the attributes that are known without decoding the event, whether the event has them or not
+     */
+    private transient volatile Set<String> decodedKeys;
+
+    /**
+     * decodes all the attributes of the event, null once the event is decoded
+     */
+    private transient Supplier<Map<String, Object>> decoder;
+
+    /**
+     * attributes of an event decoded on demand, the ones decoded up front until all of them are decoded, null for
+     * the other events
+     */
+    private transient volatile SequencedMap<String, Object> attributes;
+
     public EngineEvent() {
         super();
     }
@@ -37,7 +75,285 @@ public class EngineEvent extends LinkedHashMap<String, Object> {
         super(m);
     }
 
+    /**
+     * @param attributes the attributes decoded up front
+     * @param decodedKeys the keys of the attributes decoded up front, including the ones the event does not have
+     * @param decoder decodes all the attributes of the event on demand
+     */
+    public EngineEvent(Map<String, Object> attributes, Set<String> decodedKeys, Supplier<Map<String, Object>> decoder) {
+        super();
+        this.decodedKeys = decodedKeys;
+        this.decoder = decoder;
+        this.attributes = Collections.unmodifiableSequencedMap(new LinkedHashMap<>(attributes));
+    }
+
+    public boolean isDecoded() {
+        return decodedKeys == null;
+    }
+
     public String getEventType() {
         return get("eventType").toString();
     }
+
+    public String getResolvedRoutingKey() {
+        return resolvedRoutingKey;
+    }
+
+    public void setResolvedRoutingKey(String resolvedRoutingKey) {
+        this.resolvedRoutingKey = resolvedRoutingKey;
+    }
+
+    private boolean isLazy() {
+        return attributes != null;
+    }
+
+    /**
+     * @return the attributes with the given key, decoding all of them unless the key is decoded up front
+     */
+    private SequencedMap<String, Object> attributes(Object key) {
+        // the keys are read first, as all the attributes are decoded once they are cleared
+        Set<String> keys = decodedKeys;
+
+        return keys == null || keys.contains(key) ? attributes : attributes();
+    }
+
+    /**
+     * @return all the decoded attributes
+     */
+    private SequencedMap<String, Object> attributes() {
+        if (decodedKeys != null) {
+            synchronized (this) {
+                if (decodedKeys != null) {
+                    attributes = Collections.unmodifiableSequencedMap(new LinkedHashMap<>(decoder.get()));
+                    decoder = null;
+                    decodedKeys = null;
+                }
+            }
+        }
+        return attributes;
+    }
+
+    /**
+     * Checks that the event can be modified, and forgets its routing key as the attributes it is resolved from may
+     * change.
+     */
+    private void modify() {
+        if (isLazy()) {
+            throw readOnly();
+        }
+        resolvedRoutingKey = null;
+    }
+
+    private UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Engine events decoded on demand are read-only");
+    }
+
+    @Override
+    public Object get(Object key) {
+        return isLazy() ? attributes(key).get(key) : super.get(key);
+    }
+
+    @Override
+    public Object getOrDefault(Object key, Object defaultValue) {
+        return isLazy() ? attributes(key).getOrDefault(key, defaultValue) : super.getOrDefault(key, defaultValue);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return isLazy() ? attributes(key).containsKey(key) : super.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return isLazy() ? attributes().containsValue(value) : super.containsValue(value);
+    }
+
+    @Override
+    public int size() {
+        return isLazy() ? attributes().size() : super.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return isLazy() ? attributes().isEmpty() : super.isEmpty();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return isLazy() ? attributes().keySet() : super.keySet();
+    }
+
+    @Override
+    public Collection<Object> values() {
+        return isLazy() ? attributes().values() : super.values();
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        return isLazy() ? attributes().entrySet() : super.entrySet();
+    }
+
+    @Override
+    public SequencedSet<String> sequencedKeySet() {
+        return isLazy() ? attributes().sequencedKeySet() : super.sequencedKeySet();
+    }
+
+    @Override
+    public SequencedCollection<Object> sequencedValues() {
+        return isLazy() ? attributes().sequencedValues() : super.sequencedValues();
+    }
+
+    @Override
+    public SequencedSet<Map.Entry<String, Object>> sequencedEntrySet() {
+        return isLazy() ? attributes().sequencedEntrySet() : super.sequencedEntrySet();
+    }
+
+    @Override
+    public SequencedMap<String, Object> reversed() {
+        return isLazy() ? attributes().reversed() : super.reversed();
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super Object> action) {
+        if (isLazy()) {
+            attributes().forEach(action);
+        } else {
+            super.forEach(action);
+        }
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        modify();
+        return super.put(key, value);
+    }
+
+    @Override
+    public Object putFirst(String key, Object value) {
+        modify();
+        return super.putFirst(key, value);
+    }
+
+    @Override
+    public Object putLast(String key, Object value) {
+        modify();
+        return super.putLast(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends Object> m) {
+        modify();
+        super.putAll(m);
+    }
+
+    @Override
+    public Object putIfAbsent(String key, Object value) {
+        modify();
+        return super.putIfAbsent(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        modify();
+        return super.remove(key);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        modify();
+        return super.remove(key, value);
+    }
+
+    @Override
+    public Object replace(String key, Object value) {
+        modify();
+        return super.replace(key, value);
+    }
+
+    @Override
+    public boolean replace(String key, Object oldValue, Object newValue) {
+        modify();
+        return super.replace(key, oldValue, newValue);
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super String, ? super Object, ? extends Object> function) {
+        modify();
+        super.replaceAll(function);
+    }
+
+    @Override
+    public Object computeIfAbsent(String key, Function<? super String, ? extends Object> mappingFunction) {
+        modify();
+        return super.computeIfAbsent(key, mappingFunction);
+    }
+
+    @Override
+    public Object computeIfPresent(
+        String key,
+        BiFunction<? super String, ? super Object, ? extends Object> remappingFunction
+    ) {
+        modify();
+        return super.computeIfPresent(key, remappingFunction);
+    }
+
+    @Override
+    public Object compute(String key, BiFunction<? super String, ? super Object, ? extends Object> remappingFunction) {
+        modify();
+        return super.compute(key, remappingFunction);
+    }
+
+    @Override
+    public Object merge(
+        String key,
+        Object value,
+        BiFunction<? super Object, ? super Object, ? extends Object> remappingFunction
+    ) {
+        modify();
+        return super.merge(key, value, remappingFunction);
+    }
+
+    @Override
+    public Map.Entry<String, Object> pollFirstEntry() {
+        modify();
+        return super.pollFirstEntry();
+    }
+
+    @Override
+    public Map.Entry<String, Object> pollLastEntry() {
+        modify();
+        return super.pollLastEntry();
+    }
+
+    @Override
+    public void clear() {
+        modify();
+        super.clear();
+    }
+
+    @Override
+    public Object clone() {
+        // a modifiable copy of the attributes
+        return isLazy() ? new EngineEvent(attributes()) : super.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return isLazy() ? o == this || attributes().equals(o) : super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return isLazy() ? attributes().hashCode() : super.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return isLazy() ? attributes().toString() : super.toString();
+    }
+
+    private Object writeReplace() {
+        // the attributes are serialized from the internal table of the map
+        return isLazy() ? new EngineEvent(attributes()) : this;
+    }
 }
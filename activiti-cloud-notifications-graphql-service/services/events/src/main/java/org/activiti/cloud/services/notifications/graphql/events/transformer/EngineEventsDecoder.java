@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.events.transformer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.activiti.cloud.services.notifications.graphql.events.model.EngineEvent;
+import org.springframework.messaging.converter.MessageConversionException;
+
+/**
+ * Decode the JSON array of engine events of a message on demand. The array is scanned once with a streaming parser,
+ * which only decodes the common attributes and the eventType of the events, needed to route them, whatever their
+ * values, and skips the other attributes, e.g. the entity of the event. The events without eventType are filtered out
+ * as by the {@link EngineEventsTransformer}. All the attributes of an event are decoded from its slice of the message
+ * the first time one of them is accessed.
+ */
+public class EngineEventsDecoder {
+
+    private static final TypeReference<Map<String, Object>> ATTRIBUTES = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Set<String> attributeKeys;
+
+    private final String eventTypeKey;
+
+    public EngineEventsDecoder(List<String> attributeList, String eventTypeKey) {
+        this.attributeKeys = new HashSet<>(attributeList);
+        this.attributeKeys.add(eventTypeKey);
+        this.eventTypeKey = eventTypeKey;
+    }
+
+    public List<EngineEvent> decode(byte[] payload) {
+        List<EngineEvent> events = new ArrayList<>();
+
+        try (JsonParser parser = objectMapper.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new MessageConversionException("Expected a JSON array of engine events");
+            }
+
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                int offset = (int) parser.currentTokenLocation().getByteOffset();
+                Map<String, Object> attributes = new LinkedHashMap<>();
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    JsonToken value = parser.nextToken();
+
+                    if (attributeKeys.contains(name)) {
+                        // an attribute decoded up front is never decoded again, whatever its value
+                        attributes.put(
+                            name,
+                            value.isScalarValue() ? scalarValue(parser, value) : parser.readValueAs(Object.class)
+                        );
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+
+                int length = (int) parser.currentLocation().getByteOffset() - offset;
+
+                if (attributes.get(eventTypeKey) != null) {
+                    events.add(
+                        new EngineEvent(attributes, attributeKeys, () -> decodeAttributes(payload, offset, length))
+                    );
+                }
+            }
+        } catch (IOException e) {
+            throw new MessageConversionException("Unable to decode engine events", e);
+        }
+
+        return events;
+    }
+
+    private Map<String, Object> decodeAttributes(byte[] payload, int offset, int length) {
+        try {
+            return objectMapper.readValue(payload, offset, length, ATTRIBUTES);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Object scalarValue(JsonParser parser, JsonToken value) throws IOException {
+        // the same values as decoded in maps by the object mapper
+        return switch (value) {
+            case VALUE_STRING -> parser.getText();
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getNumberValue();
+            case VALUE_TRUE -> Boolean.TRUE;
+            case VALUE_FALSE -> Boolean.FALSE;
+            case VALUE_EMBEDDED_OBJECT -> parser.getEmbeddedObject();
+            default -> null;
+        };
+    }
+}
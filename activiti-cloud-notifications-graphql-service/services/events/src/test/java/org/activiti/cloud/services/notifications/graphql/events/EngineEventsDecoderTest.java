@@ -0,0 +1,147 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.activiti.cloud.services.notifications.graphql.events.consumer.EngineEventsConsumerProperties;
+import org.activiti.cloud.services.notifications.graphql.events.model.EngineEvent;
+import org.activiti.cloud.services.notifications.graphql.events.transformer.EngineEventsDecoder;
+import org.junit.jupiter.api.Test;
+
+public class EngineEventsDecoderTest {
+
+    private static final String EVENTS =
+        "[" +
+        "{\"serviceName\":\"rb\",\"appName\":\"app\",\"eventType\":\"TASK_CREATED\",\"processInstanceId\":\"p1\"," +
+        "\"entity\":{\"id\":\"t1\",\"name\":\"task\",\"variables\":[1,2]},\"sequenceNumber\":3,\"timestamp\":1.5}," +
+        "{\"serviceName\":\"rb\",\"entity\":{\"id\":\"t2\"}}," +
+        "{\"serviceName\":\"rb\",\"appName\":\"app\",\"eventType\":\"PROCESS_STARTED\",\"businessKey\":null}" +
+        "]";
+
+    private final EngineEventsConsumerProperties properties = new EngineEventsConsumerProperties();
+
+    private final EngineEventsDecoder decoder = new EngineEventsDecoder(
+        List.of(properties.getProcessEngineEventAttributeKeys().split(",")),
+        properties.getProcessEngineEventTypeKey()
+    );
+
+    @Test
+    public void should_decodeRoutingAttributesOnly_when_eventsAreRouted() {
+        //when
+        List<EngineEvent> events = decoder.decode(EVENTS.getBytes(StandardCharsets.UTF_8));
+
+        //then
+        assertThat(events).hasSize(2);
+        EngineEvent event = events.get(0);
+        assertThat(event.getEventType()).isEqualTo("TASK_CREATED");
+        assertThat(event.get("processInstanceId")).isEqualTo("p1");
+        assertThat(event.get("businessKey")).isNull();
+        assertThat(new SpELTemplateRoutingKeyResolver().resolveRoutingKey(event))
+            .isEqualTo("engineEvents.rb.app.TASK_CREATED._.p1._");
+        assertThat(event.isDecoded()).isFalse();
+    }
+
+    @Test
+    public void should_decodeRoutingAttribute_when_itsValueIsAnObject() throws Exception {
+        //given
+        String payload =
+            "[{\"serviceName\":\"rb\",\"eventType\":\"PROCESS_STARTED\"," +
+            "\"businessKey\":{\"id\":\"b1\",\"tags\":[\"a\"]},\"processInstanceId\":[\"p1\"]}]";
+        List<Map<String, Object>> expected = new ObjectMapper().readValue(payload, List.class);
+
+        //when
+        EngineEvent event = decoder.decode(payload.getBytes(StandardCharsets.UTF_8)).get(0);
+
+        //then
+        assertThat(event.get("businessKey")).isEqualTo(Map.of("id", "b1", "tags", List.of("a")));
+        assertThat(event.get("processInstanceId")).isEqualTo(List.of("p1"));
+        assertThat(event.isDecoded()).isFalse();
+        assertThat(event).isEqualTo(expected.get(0));
+    }
+
+    @Test
+    public void should_decodeAllAttributes_when_otherAttributeIsAccessed() throws Exception {
+        //given
+        List<EngineEvent> events = decoder.decode(EVENTS.getBytes(StandardCharsets.UTF_8));
+        List<Map<String, Object>> expected = new ObjectMapper().readValue(EVENTS, List.class);
+
+        //when
+        Object entity = events.get(0).get("entity");
+
+        //then
+        assertThat(events.get(0).isDecoded()).isTrue();
+        assertThat(entity).isEqualTo(Map.of("id", "t1", "name", "task", "variables", List.of(1, 2)));
+        assertThat(events.get(0)).isEqualTo(expected.get(0));
+        assertThat(events.get(1)).isEqualTo(expected.get(2));
+        assertThat(new ObjectMapper().writeValueAsString(events.get(1)))
+            .isEqualTo(new ObjectMapper().writeValueAsString(expected.get(2)));
+    }
+
+    @Test
+    public void should_readRoutingAttributes_when_eventIsDecodedConcurrently() throws Exception {
+        //given
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int i = 0; i < 100; i++) {
+                EngineEvent event = decoder.decode(EVENTS.getBytes(StandardCharsets.UTF_8)).get(0);
+                CountDownLatch start = new CountDownLatch(1);
+
+                //when
+                List<Future<Object>> reads = new ArrayList<>();
+                for (int thread = 0; thread < threads; thread++) {
+                    boolean decoding = thread % 2 == 0;
+                    reads.add(
+                        executor.submit(() -> {
+                            start.await();
+                            return decoding ? event.get("entity") : event.getEventType();
+                        })
+                    );
+                }
+                start.countDown();
+
+                //then
+                for (Future<Object> read : reads) {
+                    assertThat(read.get()).isNotNull();
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void should_throwUnsupportedOperation_when_decodedOnDemandEventIsModified() {
+        //given
+        EngineEvent event = decoder.decode(EVENTS.getBytes(StandardCharsets.UTF_8)).get(0);
+
+        //then
+        assertThatThrownBy(() -> event.put("eventType", "TASK_COMPLETED"))
+            .isInstanceOf(UnsupportedOperationException.class);
+        assertThat(event.getEventType()).isEqualTo("TASK_CREATED");
+    }
+}
@@ -17,6 +17,7 @@ package org.activiti.cloud.services.notifications.graphql.events;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Map;
 import org.activiti.cloud.services.notifications.graphql.events.model.EngineEvent;
 import org.junit.jupiter.api.Test;
 
@@ -39,4 +40,54 @@ public class SpELRoutingKeyTest {
 
         assertThat(routingKey).isEqualTo("engineEvents.my-rb.app.PROCESS_STARTED.Simple.12._");
     }
+
+    @Test
+    public void should_resolveSameRoutingKeys_when_expressionIsCompiled() {
+        //given
+        RoutingKeyResolver routingKeyResolver = new SpELTemplateRoutingKeyResolver();
+
+        for (int i = 0; i < 5; i++) {
+            //when
+            String routingKey = routingKeyResolver.resolveRoutingKey(
+                new EngineEvent(Map.of("serviceName", "my-rb", "eventType", "TASK_CREATED", "processInstanceId", i))
+            );
+
+            //then
+            assertThat(routingKey).isEqualTo("engineEvents.my-rb._.TASK_CREATED._." + i + "._");
+        }
+    }
+
+    @Test
+    public void should_resolveRoutingKeyOnce_when_eventIsNotModified() {
+        //given
+        RoutingKeyResolver routingKeyResolver = new SpELTemplateRoutingKeyResolver();
+        EngineEvent notification = new EngineEvent(Map.of("eventType", "PROCESS_STARTED"));
+
+        //when
+        String routingKey = routingKeyResolver.resolveRoutingKey(notification);
+
+        //then
+        assertThat(routingKeyResolver.resolveRoutingKey(notification)).isSameAs(routingKey);
+    }
+
+    @Test
+    public void should_resolveRoutingKeyAgain_when_eventIsModified() {
+        //given
+        RoutingKeyResolver routingKeyResolver = new SpELTemplateRoutingKeyResolver();
+        EngineEvent notification = new EngineEvent(Map.of("eventType", "PROCESS_STARTED", "appName", "app"));
+        routingKeyResolver.resolveRoutingKey(notification);
+
+        //when
+        notification.put("eventType", "PROCESS_COMPLETED");
+        String completedRoutingKey = routingKeyResolver.resolveRoutingKey(notification);
+        notification.remove("appName");
+        String removedRoutingKey = routingKeyResolver.resolveRoutingKey(notification);
+        notification.merge("serviceName", "my-rb", (previous, value) -> value);
+
+        //then
+        assertThat(completedRoutingKey).isEqualTo("engineEvents._.app.PROCESS_COMPLETED._._._");
+        assertThat(removedRoutingKey).isEqualTo("engineEvents._._.PROCESS_COMPLETED._._._");
+        assertThat(routingKeyResolver.resolveRoutingKey(notification))
+            .isEqualTo("engineEvents.my-rb._.PROCESS_COMPLETED._._._");
+    }
 }
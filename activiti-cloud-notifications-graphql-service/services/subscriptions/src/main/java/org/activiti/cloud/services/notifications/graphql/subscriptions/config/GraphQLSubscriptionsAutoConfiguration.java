@@ -24,6 +24,8 @@ import org.activiti.cloud.services.notifications.graphql.events.model.EngineEven
 import org.activiti.cloud.services.notifications.graphql.subscriptions.GraphQLSubscriptionSchemaBuilder;
 import org.activiti.cloud.services.notifications.graphql.subscriptions.GraphQLSubscriptionSchemaProperties;
 import org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher.EngineEventsDestinationsPredicateFactory;
+import org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher.EngineEventsDispatcher;
+import org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher.EngineEventsDispatcherPublisherFactory;
 import org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher.EngineEventsFluxPublisherFactory;
 import org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher.EngineEventsPredicateFactory;
 import org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher.EngineEventsPublisherDataFetcher;
@@ -68,8 +70,21 @@ public class GraphQLSubscriptionsAutoConfiguration {
         @ConditionalOnMissingBean
         public EngineEventsPublisherFactory engineEventPublisherFactory(
             EngineEventsPredicateFactory engineEventsPredicateFactory,
-            Flux<Message<List<EngineEvent>>> engineEventsFlux
+            Flux<Message<List<EngineEvent>>> engineEventsFlux,
+            RoutingKeyResolver routingKeyResolver
         ) {
+            // the destinations of the subscriptions can be indexed unless the events are filtered by a custom predicate
+            // or path matcher, the index only matching the destinations as the default path matcher does
+            if (
+                engineEventsPredicateFactory instanceof EngineEventsDestinationsPredicateFactory destinationsPredicateFactory &&
+                destinationsPredicateFactory.hasDefaultPathMatcher()
+            ) {
+                return new EngineEventsDispatcherPublisherFactory(
+                    new EngineEventsDispatcher(engineEventsFlux, routingKeyResolver),
+                    destinationsPredicateFactory.getDestinationResolver()
+                );
+            }
+
             return new EngineEventsFluxPublisherFactory(engineEventsFlux, engineEventsPredicateFactory);
         }
 
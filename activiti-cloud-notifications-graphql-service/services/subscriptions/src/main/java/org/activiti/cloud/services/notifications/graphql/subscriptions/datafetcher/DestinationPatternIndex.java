@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+
+/**
+ * Index of the subscribers of destination patterns, as resolved by {@link AntPathDestinationResolver}, finding the
+ * subscribers of a routing key in a single walk down a trie of the pattern segments instead of matching the routing
+ * key against every pattern. Patterns are matched as by an {@link AntPathMatcher} with the same path separator: the
+ * {@code *} segment matches one segment and the {@code **} segment any number of segments. The patterns with other
+ * wildcards within their segments are matched with the {@link AntPathMatcher}.
+ */
+public class DestinationPatternIndex<T> {
+
+    private static final String ANY = "**";
+    private static final String WILDCARD = "*";
+
+    private final String pathSeparator;
+    private final AntPathMatcher pathMatcher;
+    private final Node<T> root = new Node<>();
+    private final Map<String, Set<T>> otherPatterns = new ConcurrentHashMap<>();
+
+    public DestinationPatternIndex() {
+        this(".");
+    }
+
+    public DestinationPatternIndex(String pathSeparator) {
+        this.pathSeparator = pathSeparator;
+        this.pathMatcher = new AntPathMatcher(pathSeparator);
+    }
+
+    public void add(String pattern, T subscriber) {
+        if (isIndexable(pattern)) {
+            synchronized (root) {
+                Node<T> node = root;
+                for (String segment : tokenize(pattern)) {
+                    node = node.children.computeIfAbsent(segment, key -> new Node<>());
+                }
+                node.subscribers.add(subscriber);
+            }
+        } else {
+            otherPatterns.computeIfAbsent(pattern, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+    }
+
+    public void remove(String pattern, T subscriber) {
+        if (isIndexable(pattern)) {
+            synchronized (root) {
+                remove(root, tokenize(pattern), 0, subscriber);
+            }
+        } else {
+            otherPatterns.computeIfPresent(
+                pattern,
+                (key, subscribers) -> {
+                    subscribers.remove(subscriber);
+                    return subscribers.isEmpty() ? null : subscribers;
+                }
+            );
+        }
+    }
+
+    /**
+     * @param subscribers the set to add the subscribers of the patterns matching the routing key to
+     */
+    public void match(String routingKey, Set<T> subscribers) {
+        // as with the path matcher, a routing key starting with a separator only matches such patterns
+        if (!routingKey.startsWith(pathSeparator)) {
+            match(root, tokenize(routingKey), 0, subscribers);
+        }
+
+        otherPatterns.forEach((pattern, patternSubscribers) -> {
+            if (pathMatcher.match(pattern, routingKey)) {
+                subscribers.addAll(patternSubscribers);
+            }
+        });
+    }
+
+    private void match(Node<T> node, String[] segments, int index, Set<T> subscribers) {
+        Node<T> any = node.children.get(ANY);
+        if (any != null) {
+            for (int next = index; next <= segments.length; next++) {
+                match(any, segments, next, subscribers);
+            }
+        }
+
+        if (index == segments.length) {
+            subscribers.addAll(node.subscribers);
+            return;
+        }
+
+        Node<T> exact = node.children.get(segments[index]);
+        if (exact != null) {
+            match(exact, segments, index + 1, subscribers);
+        }
+
+        Node<T> wildcard = node.children.get(WILDCARD);
+        if (wildcard != null && exact != wildcard) {
+            match(wildcard, segments, index + 1, subscribers);
+        }
+    }
+
+    /**
+     * @return whether the node is left empty, so that the nodes of the destinations of subscriptions for a single
+     * process instance or task do not pile up
+     */
+    private boolean remove(Node<T> node, String[] segments, int index, T subscriber) {
+        if (index == segments.length) {
+            node.subscribers.remove(subscriber);
+        } else {
+            Node<T> child = node.children.get(segments[index]);
+            if (child != null && remove(child, segments, index + 1, subscriber)) {
+                node.children.remove(segments[index]);
+            }
+        }
+        return node.subscribers.isEmpty() && node.children.isEmpty();
+    }
+
+    private boolean isIndexable(String pattern) {
+        if (pattern.startsWith(pathSeparator)) {
+            return false;
+        }
+        for (String segment : tokenize(pattern)) {
+            boolean plain = segment.indexOf('*') < 0 && segment.indexOf('?') < 0 && segment.indexOf('{') < 0;
+            if (!plain && !WILDCARD.equals(segment) && !ANY.equals(segment)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String[] tokenize(String path) {
+        // the same tokenization as the path matcher, ignoring empty segments
+        return StringUtils.tokenizeToStringArray(path, pathSeparator, false, true);
+    }
+
+    private static class Node<T> {
+
+        private final Map<String, Node<T>> children = new ConcurrentHashMap<>();
+        private final Set<T> subscribers = ConcurrentHashMap.newKeySet();
+    }
+}
@@ -30,8 +30,10 @@ public class EngineEventsDestinationsPredicateFactory implements EngineEventsPre
 
     private final RoutingKeyResolver routingKeyResolver;
 
+    private final AntPathMatcher defaultPathMatcher = new AntPathMatcher(".");
+
     private DataFetcherDestinationResolver destinationResolver = new AntPathDestinationResolver();
-    private AntPathMatcher pathMatcher = new AntPathMatcher(".");
+    private AntPathMatcher pathMatcher = defaultPathMatcher;
 
     public EngineEventsDestinationsPredicateFactory(RoutingKeyResolver routingKeyResolver) {
         this.routingKeyResolver = routingKeyResolver;
@@ -61,9 +63,21 @@ public class EngineEventsDestinationsPredicateFactory implements EngineEventsPre
         return this;
     }
 
+    public DataFetcherDestinationResolver getDestinationResolver() {
+        return destinationResolver;
+    }
+
     public EngineEventsDestinationsPredicateFactory pathMatcher(AntPathMatcher pathMatcher) {
         this.pathMatcher = pathMatcher;
 
         return this;
     }
+
+    /**
+     * @return whether the destinations are matched by the default path matcher, so that they can be matched by a
+     * {@link DestinationPatternIndex} instead
+     */
+    public boolean hasDefaultPathMatcher() {
+        return pathMatcher == defaultPathMatcher;
+    }
 }
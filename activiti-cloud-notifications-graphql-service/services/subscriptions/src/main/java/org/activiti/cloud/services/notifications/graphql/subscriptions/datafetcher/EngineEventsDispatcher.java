@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.activiti.cloud.services.notifications.graphql.events.RoutingKeyResolver;
+import org.activiti.cloud.services.notifications.graphql.events.model.EngineEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Dispatches the engine events to the subscriptions with a single subscriber of the shared engine events flux: the
+ * routing key of each event is resolved once, the subscriptions matching it are looked up in a
+ * {@link DestinationPatternIndex}, and each subscription only receives the events it subscribed to, in the order
+ * they have been received.
+ */
+public class EngineEventsDispatcher implements Disposable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EngineEventsDispatcher.class);
+
+    private final RoutingKeyResolver routingKeyResolver;
+    private final DestinationPatternIndex<Subscription> index = new DestinationPatternIndex<>();
+    private final Disposable engineEventsSubscription;
+
+    public EngineEventsDispatcher(
+        Flux<Message<List<EngineEvent>>> engineEventsFlux,
+        RoutingKeyResolver routingKeyResolver
+    ) {
+        this.routingKeyResolver = routingKeyResolver;
+        this.engineEventsSubscription =
+            engineEventsFlux.subscribe(
+                this::dispatch,
+                error -> LOGGER.error("Engine events flux terminated with error", error)
+            );
+    }
+
+    /**
+     * @param destinations the destination patterns of the subscription, as resolved by the
+     * {@link AntPathDestinationResolver}
+     */
+    public Flux<List<EngineEvent>> subscribe(List<String> destinations) {
+        return Flux.defer(() -> {
+            Subscription subscription = new Subscription(destinations);
+            destinations.forEach(destination -> index.add(destination, subscription));
+
+            return subscription.sink
+                .asFlux()
+                .doFinally(signal -> destinations.forEach(destination -> index.remove(destination, subscription)));
+        });
+    }
+
+    void dispatch(Message<List<EngineEvent>> message) {
+        Map<Subscription, List<EngineEvent>> events = new LinkedHashMap<>();
+        Set<Subscription> subscriptions = new HashSet<>();
+
+        for (EngineEvent event : message.getPayload()) {
+            String routingKey;
+            try {
+                routingKey = routingKeyResolver.resolveRoutingKey(event);
+            } catch (RuntimeException e) {
+                // an error would cancel the subscription of the engine events flux for all the subscriptions
+                LOGGER.warn("Unable to resolve the routing key of {}", event, e);
+                continue;
+            }
+            subscriptions.clear();
+            index.match(routingKey, subscriptions);
+
+            LOGGER.debug("Resolved routing key {} to {} subscriptions", routingKey, subscriptions.size());
+
+            for (Subscription subscription : subscriptions) {
+                events.computeIfAbsent(subscription, key -> new ArrayList<>()).add(event);
+            }
+        }
+
+        events.forEach((subscription, subscriptionEvents) -> {
+            Sinks.EmitResult result = subscription.sink.tryEmitNext(subscriptionEvents);
+            if (result.isFailure()) {
+                LOGGER.debug("Dropped {} engine events for {}: {}", subscriptionEvents.size(), subscription, result);
+            }
+        });
+    }
+
+    @Override
+    public void dispose() {
+        engineEventsSubscription.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return engineEventsSubscription.isDisposed();
+    }
+
+    private static class Subscription {
+
+        private final List<String> destinations;
+        private final Sinks.Many<List<EngineEvent>> sink = Sinks.many().unicast().onBackpressureBuffer();
+
+        Subscription(List<String> destinations) {
+            this.destinations = destinations;
+        }
+
+        @Override
+        public String toString() {
+            return "Subscription" + destinations;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher;
+
+import graphql.schema.DataFetchingEnvironment;
+import java.util.List;
+import org.activiti.cloud.services.notifications.graphql.events.model.EngineEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import reactor.core.publisher.Flux;
+
+/**
+ * Publishes the engine events of the subscriptions from an {@link EngineEventsDispatcher}, instead of filtering the
+ * whole engine events flux for each subscription as the {@link EngineEventsFluxPublisherFactory} does.
+ */
+public class EngineEventsDispatcherPublisherFactory implements EngineEventsPublisherFactory, DisposableBean {
+
+    private static Logger logger = LoggerFactory.getLogger(EngineEventsDispatcherPublisherFactory.class);
+
+    private final EngineEventsDispatcher dispatcher;
+    private final DataFetcherDestinationResolver destinationResolver;
+
+    public EngineEventsDispatcherPublisherFactory(
+        EngineEventsDispatcher dispatcher,
+        DataFetcherDestinationResolver destinationResolver
+    ) {
+        this.dispatcher = dispatcher;
+        this.destinationResolver = destinationResolver;
+    }
+
+    @Override
+    public Flux<List<EngineEvent>> getPublisher(DataFetchingEnvironment environment) {
+        List<String> destinations = destinationResolver.resolveDestinations(environment);
+
+        logger.info("Resolved destinations {} for environment: {}", destinations, environment);
+
+        return dispatcher.subscribe(destinations);
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.dispose();
+    }
+}
@@ -17,15 +17,23 @@ package org.activiti.cloud.services.notifications.graphql.subscriptions.config;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import org.activiti.cloud.services.notifications.graphql.events.RoutingKeyResolver;
 import org.activiti.cloud.services.notifications.graphql.subscriptions.GraphQLSubscriptionSchemaBuilder;
 import org.activiti.cloud.services.notifications.graphql.subscriptions.GraphQLSubscriptionSchemaProperties;
+import org.activiti.cloud.services.notifications.graphql.subscriptions.config.GraphQLSubscriptionsAutoConfiguration.DefaultGraphQLSubscriptionsSchemaConfiguration;
+import org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher.EngineEventsDestinationsPredicateFactory;
+import org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher.EngineEventsDispatcherPublisherFactory;
+import org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher.EngineEventsFluxPublisherFactory;
 import org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher.EngineEventsPublisherDataFetcher;
+import org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher.EngineEventsPublisherFactory;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.AntPathMatcher;
+import reactor.core.publisher.Flux;
 
 @SpringBootTest(webEnvironment = WebEnvironment.NONE)
 public class GraphQLSubscriptionsAutoConfigurationTest {
@@ -39,6 +47,11 @@ public class GraphQLSubscriptionsAutoConfigurationTest {
     @Autowired
     private EngineEventsPublisherDataFetcher stompRelayDataFetcher;
 
+    @Autowired
+    private EngineEventsPublisherFactory engineEventsPublisherFactory;
+
+    private final RoutingKeyResolver routingKeyResolver = object -> "routingKey";
+
     @EnableAutoConfiguration
     @Configuration
     static class GraphQLSubscriptionSchemaTestApplication {}
@@ -64,4 +77,25 @@ public class GraphQLSubscriptionsAutoConfigurationTest {
                 }
             );
     }
+
+    @Test
+    public void should_dispatchEngineEvents_when_destinationsAreMatchedByDefaultPathMatcher() {
+        assertThat(engineEventsPublisherFactory).isInstanceOf(EngineEventsDispatcherPublisherFactory.class);
+    }
+
+    @Test
+    public void should_filterEngineEvents_when_destinationsAreMatchedByCustomPathMatcher() {
+        //given
+        EngineEventsDestinationsPredicateFactory predicateFactory = new EngineEventsDestinationsPredicateFactory(
+            routingKeyResolver
+        )
+            .pathMatcher(new AntPathMatcher("/"));
+
+        //when
+        EngineEventsPublisherFactory publisherFactory = new DefaultGraphQLSubscriptionsSchemaConfiguration()
+            .engineEventPublisherFactory(predicateFactory, Flux.never(), routingKeyResolver);
+
+        //then
+        assertThat(publisherFactory).isInstanceOf(EngineEventsFluxPublisherFactory.class);
+    }
 }
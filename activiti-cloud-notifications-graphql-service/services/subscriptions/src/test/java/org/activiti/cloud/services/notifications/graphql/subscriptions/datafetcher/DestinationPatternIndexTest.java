@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.AntPathMatcher;
+
+public class DestinationPatternIndexTest {
+
+    private static final List<String> PATTERNS = List.of(
+        "engineEvents.**",
+        "engineEvents.*.app.*.*.*.*",
+        "engineEvents.rb.app.PROCESS_STARTED.*.*.*",
+        "engineEvents.*.*.TASK_*.*.*.*",
+        "engineEvents.rb.**.1",
+        "engineEvents.rb.other.**",
+        "**",
+        "*.*"
+    );
+
+    private static final List<String> ROUTING_KEYS = List.of(
+        "engineEvents.rb.app.PROCESS_STARTED.def.1.key",
+        "engineEvents.rb.app.TASK_CREATED.def.1._",
+        "engineEvents.rb.other.TASK_CREATED.def.2._",
+        "engineEvents.rb.app.PROCESS_STARTED.def.1",
+        "engineEvents.rb",
+        "other.rb"
+    );
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher(".");
+
+    @Test
+    public void should_matchSameSubscribersAsAntPathMatcher_when_routingKeysAreMatched() {
+        //given
+        DestinationPatternIndex<String> index = new DestinationPatternIndex<>();
+        PATTERNS.forEach(pattern -> index.add(pattern, pattern));
+
+        for (String routingKey : ROUTING_KEYS) {
+            //when
+            Set<String> subscribers = new HashSet<>();
+            index.match(routingKey, subscribers);
+
+            //then
+            assertThat(subscribers)
+                .as(routingKey)
+                .isEqualTo(
+                    PATTERNS
+                        .stream()
+                        .filter(pattern -> pathMatcher.match(pattern, routingKey))
+                        .collect(Collectors.toSet())
+                );
+        }
+    }
+
+    @Test
+    public void should_notMatchSubscriber_when_removed() {
+        //given
+        DestinationPatternIndex<String> index = new DestinationPatternIndex<>();
+        index.add("engineEvents.**", "a");
+        index.add("engineEvents.**", "b");
+        index.add("engineEvents.*.*.TASK_*.*.*.*", "a");
+
+        //when
+        index.remove("engineEvents.**", "a");
+        index.remove("engineEvents.*.*.TASK_*.*.*.*", "a");
+
+        //then
+        Set<String> subscribers = new HashSet<>();
+        index.match("engineEvents.rb.app.TASK_CREATED.def.1._", subscribers);
+        assertThat(subscribers).containsExactly("b");
+    }
+}
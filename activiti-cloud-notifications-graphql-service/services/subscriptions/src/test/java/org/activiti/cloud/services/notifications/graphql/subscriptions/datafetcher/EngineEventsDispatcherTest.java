@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.activiti.cloud.services.notifications.graphql.events.model.EngineEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import reactor.core.Disposable;
+import reactor.core.publisher.Sinks;
+
+public class EngineEventsDispatcherTest {
+
+    private final Sinks.Many<Message<List<EngineEvent>>> engineEvents = Sinks.many().multicast().directBestEffort();
+
+    private final EngineEventsDispatcher dispatcher = new EngineEventsDispatcher(
+        engineEvents.asFlux(),
+        event -> "engineEvents.rb.app." + ((EngineEvent) event).getEventType()
+    );
+
+    @Test
+    public void should_dispatchMatchingEvents_when_subscribed() {
+        //given
+        List<List<EngineEvent>> tasks = new ArrayList<>();
+        List<List<EngineEvent>> all = new ArrayList<>();
+        Disposable tasksSubscription = dispatcher
+            .subscribe(List.of("engineEvents.*.*.TASK_CREATED", "engineEvents.*.*.TASK_COMPLETED"))
+            .subscribe(tasks::add);
+        Disposable allSubscription = dispatcher.subscribe(List.of("engineEvents.**")).subscribe(all::add);
+
+        EngineEvent processStarted = event("PROCESS_STARTED");
+        EngineEvent taskCreated = event("TASK_CREATED");
+        EngineEvent taskCompleted = event("TASK_COMPLETED");
+
+        //when
+        engineEvents.tryEmitNext(
+            MessageBuilder.withPayload(List.of(processStarted, taskCreated, taskCompleted)).build()
+        );
+
+        //then
+        assertThat(tasks).containsExactly(List.of(taskCreated, taskCompleted));
+        assertThat(all).containsExactly(List.of(processStarted, taskCreated, taskCompleted));
+
+        tasksSubscription.dispose();
+        allSubscription.dispose();
+    }
+
+    @Test
+    public void should_notDispatchEvents_when_subscriptionIsCancelled() {
+        //given
+        List<List<EngineEvent>> received = new ArrayList<>();
+        Disposable subscription = dispatcher.subscribe(List.of("engineEvents.**")).subscribe(received::add);
+
+        //when
+        subscription.dispose();
+        engineEvents.tryEmitNext(MessageBuilder.withPayload(List.of(event("TASK_CREATED"))).build());
+
+        //then
+        assertThat(received).isEmpty();
+    }
+
+    private static EngineEvent event(String eventType) {
+        return new EngineEvent(Map.of("eventType", eventType));
+    }
+}
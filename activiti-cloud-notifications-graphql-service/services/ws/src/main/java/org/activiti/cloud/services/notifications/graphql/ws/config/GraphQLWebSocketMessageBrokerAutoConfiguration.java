@@ -17,9 +17,13 @@ package org.activiti.cloud.services.notifications.graphql.ws.config;
 
 import graphql.GraphQL;
 import graphql.schema.GraphQLSchema;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import org.activiti.cloud.services.notifications.graphql.ws.transport.GraphQLBrokerMessageHandler;
 import org.activiti.cloud.services.notifications.graphql.ws.transport.GraphQLBrokerSubProtocolHandler;
+import org.activiti.cloud.services.notifications.graphql.ws.transport.GraphQLSessionSendQueues;
 import org.activiti.cloud.services.notifications.graphql.ws.transport.GraphQLSubscriptionExecutor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -96,7 +100,8 @@ public class GraphQLWebSocketMessageBrokerAutoConfiguration {
             MessageChannel clientOutboundChannel,
             SubscribableChannel brokerChannel,
             TaskScheduler messageBrokerTaskScheduler,
-            GraphQLSubscriptionExecutor graphQLSubscriptionExecutor
+            GraphQLSubscriptionExecutor graphQLSubscriptionExecutor,
+            ObjectProvider<MeterRegistry> meterRegistry
         ) {
             GraphQLBrokerMessageHandler messageHandler = new GraphQLBrokerMessageHandler(
                 clientInboundChannel,
@@ -108,7 +113,19 @@ public class GraphQLWebSocketMessageBrokerAutoConfiguration {
             messageHandler
                 .setTaskScheduler(messageBrokerTaskScheduler)
                 .setBufferCount(configurationProperties.getBufferCount())
-                .setBufferTimeSpanMs(configurationProperties.getBufferTimeSpanMs());
+                .setBufferTimeSpanMs(configurationProperties.getBufferTimeSpanMs())
+                .setSharedSubscriptions(configurationProperties.getSharedSubscriptions());
+
+            if (configurationProperties.getSendQueueCapacity() > 0) {
+                messageHandler.setSendQueues(
+                    new GraphQLSessionSendQueues(
+                        configurationProperties.getSendQueueCapacity(),
+                        configurationProperties.getSendQueueOverflowPolicy(),
+                        meterRegistry.getIfAvailable(() -> Metrics.globalRegistry),
+                        configurationProperties.getSendQueueSessionMetrics()
+                    )
+                );
+            }
 
             return messageHandler;
         }
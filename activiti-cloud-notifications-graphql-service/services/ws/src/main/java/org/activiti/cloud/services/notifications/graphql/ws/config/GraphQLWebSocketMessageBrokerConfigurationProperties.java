@@ -17,6 +17,7 @@ package org.activiti.cloud.services.notifications.graphql.ws.config;
 
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import org.activiti.cloud.services.notifications.graphql.ws.transport.GraphQLSendQueueOverflowPolicy;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
@@ -68,6 +69,22 @@ public class GraphQLWebSocketMessageBrokerConfigurationProperties {
     @NotNull
     private Integer bufferTimeSpanMs;
 
+    /* Share the execution and encoding of the results of subscriptions with the same query and variables between sessions. Default is true */
+    @NotNull
+    private Boolean sharedSubscriptions;
+
+    /* Maximum number of subscription messages waiting to be sent to a session, 0 to send them as they are published. Default is 0 */
+    @NotNull
+    private Integer sendQueueCapacity;
+
+    /* What to do when the send queue of a session is full: DROP_OLDEST or DISCONNECT. Default is DROP_OLDEST */
+    @NotNull
+    private GraphQLSendQueueOverflowPolicy sendQueueOverflowPolicy;
+
+    /* Expose the send queue metrics of each session, tagged by session id. Default is false */
+    @NotNull
+    private Boolean sendQueueSessionMetrics;
+
     public Boolean isEnabled() {
         return enabled;
     }
@@ -140,6 +157,38 @@ public class GraphQLWebSocketMessageBrokerConfigurationProperties {
         this.bufferTimeSpanMs = bufferTimeSpanMs;
     }
 
+    public Boolean getSharedSubscriptions() {
+        return sharedSubscriptions;
+    }
+
+    public void setSharedSubscriptions(Boolean sharedSubscriptions) {
+        this.sharedSubscriptions = sharedSubscriptions;
+    }
+
+    public Integer getSendQueueCapacity() {
+        return sendQueueCapacity;
+    }
+
+    public void setSendQueueCapacity(Integer sendQueueCapacity) {
+        this.sendQueueCapacity = sendQueueCapacity;
+    }
+
+    public GraphQLSendQueueOverflowPolicy getSendQueueOverflowPolicy() {
+        return sendQueueOverflowPolicy;
+    }
+
+    public void setSendQueueOverflowPolicy(GraphQLSendQueueOverflowPolicy sendQueueOverflowPolicy) {
+        this.sendQueueOverflowPolicy = sendQueueOverflowPolicy;
+    }
+
+    public Boolean getSendQueueSessionMetrics() {
+        return sendQueueSessionMetrics;
+    }
+
+    public void setSendQueueSessionMetrics(Boolean sendQueueSessionMetrics) {
+        this.sendQueueSessionMetrics = sendQueueSessionMetrics;
+    }
+
     public String getSystemLogin() {
         return systemLogin;
     }
@@ -38,6 +38,7 @@ import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
 import org.springframework.messaging.simp.broker.BrokerAvailabilityEvent;
+import org.springframework.messaging.support.InterceptableChannel;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.messaging.support.MessageHeaderInitializer;
@@ -64,6 +65,12 @@ public class GraphQLBrokerMessageHandler extends AbstractBrokerMessageHandler {
 
     private final GraphQLBrokerSubscriptionRegistry graphQLsubscriptionRegistry;
 
+    private final GraphQLSharedSubscriptionRegistry sharedSubscriptionRegistry;
+
+    private boolean sharedSubscriptions = true;
+
+    private GraphQLSessionSendQueues sendQueues;
+
     private long bufferTimeSpanMs = 1000;
 
     private int bufferCount = 50;
@@ -77,6 +84,7 @@ public class GraphQLBrokerMessageHandler extends AbstractBrokerMessageHandler {
         super(inboundChannel, outboundChannel, brokerChannel);
         this.graphQLSubscriptionExecutor = graphQLSubscriptionExecutor;
         this.graphQLsubscriptionRegistry = new GraphQLBrokerSubscriptionRegistry();
+        this.sharedSubscriptionRegistry = new GraphQLSharedSubscriptionRegistry();
 
         setPreservePublishOrder(true);
     }
@@ -85,6 +93,41 @@ public class GraphQLBrokerMessageHandler extends AbstractBrokerMessageHandler {
         return graphQLsubscriptionRegistry;
     }
 
+    public GraphQLSharedSubscriptionRegistry getSharedSubscriptionRegistry() {
+        return sharedSubscriptionRegistry;
+    }
+
+    public boolean isSharedSubscriptions() {
+        return sharedSubscriptions;
+    }
+
+    public GraphQLBrokerMessageHandler setSharedSubscriptions(boolean sharedSubscriptions) {
+        this.sharedSubscriptions = sharedSubscriptions;
+
+        return this;
+    }
+
+    public GraphQLSessionSendQueues getSendQueues() {
+        return sendQueues;
+    }
+
+    /**
+     * Configure bounded send queues for the messages of the subscriptions to the sessions, instead of sending them to
+     * the client outbound channel as they are published. The send queues are registered as an interceptor of the
+     * client outbound channel, to be notified of the messages handled by the WebSocket sessions.
+     */
+    public GraphQLBrokerMessageHandler setSendQueues(GraphQLSessionSendQueues sendQueues) {
+        Assert.isInstanceOf(
+            InterceptableChannel.class,
+            getClientOutboundChannel(),
+            "Send queues require an interceptable client outbound channel"
+        );
+        ((InterceptableChannel) getClientOutboundChannel()).addInterceptor(sendQueues);
+        this.sendQueues = sendQueues;
+
+        return this;
+    }
+
     public long getBufferTimeSpanMs() {
         return bufferTimeSpanMs;
     }
@@ -256,10 +299,20 @@ public class GraphQLBrokerMessageHandler extends AbstractBrokerMessageHandler {
             if (executionResult.getData() == null) {
                 sendErrorMessageToClient("Server error!", GraphQLMessageType.ERROR, message);
             } else if (executionResult.getData() instanceof Publisher) {
+                QueryParameters subscriptionParameters = parameters;
                 Optional
                     .of(executionResult.<Publisher<ExecutionResult>>getData())
+                    .map(data ->
+                        sharedSubscriptions
+                            ? sharedSubscriptionRegistry.share(
+                                subscriptionParameters.getQuery(),
+                                subscriptionParameters.getVariables(),
+                                data
+                            )
+                            : data
+                    )
                     .ifPresent(data -> {
-                        MessageChannel outboundChannel = getClientOutboundChannelForSession(sessionId);
+                        MessageChannel outboundChannel = getSubscriptionOutboundChannel(sessionId);
 
                         GraphQLBrokerChannelSubscriber subscriber = new GraphQLBrokerChannelSubscriber(
                             message,
@@ -345,6 +398,16 @@ public class GraphQLBrokerMessageHandler extends AbstractBrokerMessageHandler {
                 subscriber.cancel();
             }
         );
+
+        if (sendQueues != null) {
+            sendQueues.remove(sessionId);
+        }
+    }
+
+    private MessageChannel getSubscriptionOutboundChannel(String sessionId) {
+        MessageChannel outboundChannel = getClientOutboundChannelForSession(sessionId);
+
+        return sendQueues != null ? sendQueues.getSessionChannel(sessionId, outboundChannel) : outboundChannel;
     }
 
     private void sendErrorMessageToClient(String errorText, GraphQLMessageType type, Message<?> inputMessage) {
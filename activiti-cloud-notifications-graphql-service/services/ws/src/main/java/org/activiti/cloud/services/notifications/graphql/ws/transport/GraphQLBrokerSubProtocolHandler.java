@@ -64,6 +64,11 @@ public class GraphQLBrokerSubProtocolHandler implements SubProtocolHandler, Appl
 
     public static final String GRAPHQL_WS = "graphql-ws";
 
+    /**
+     * Header of the messages after which the WebSocket session of the client is closed
+     */
+    public static final String CLOSE_SESSION_HEADER = "graphQLCloseSession";
+
     public static final int MINIMUM_WEBSOCKET_MESSAGE_SIZE = 16 * 1024 + 256;
 
     private static final Logger logger = LoggerFactory.getLogger(GraphQLBrokerSubProtocolHandler.class);
@@ -215,6 +220,10 @@ public class GraphQLBrokerSubProtocolHandler implements SubProtocolHandler, Appl
             byte[] bytes = objectMapper.writer().writeValueAsBytes(message.getPayload());
 
             session.sendMessage(new TextMessage(bytes));
+
+            if (Boolean.TRUE.equals(message.getHeaders().get(CLOSE_SESSION_HEADER))) {
+                session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            }
         } catch (SessionLimitExceededException ex) {
             // Bad session, just get out
             throw ex;
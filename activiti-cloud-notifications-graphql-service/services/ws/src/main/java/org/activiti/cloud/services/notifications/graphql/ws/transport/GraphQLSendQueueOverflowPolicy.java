@@ -0,0 +1,32 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.ws.transport;
+
+/**
+ * What to do when the send queue of a session is full, as the client does not keep up with its subscriptions.
+ * Only the data messages of the subscriptions are dropped, never the messages completing them or reporting errors.
+ */
+public enum GraphQLSendQueueOverflowPolicy {
+    /**
+     * Drop the oldest data message waiting in the queue
+     */
+    DROP_OLDEST,
+
+    /**
+     * Discard the queue and close the session of the client
+     */
+    DISCONNECT,
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.ws.transport;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.activiti.cloud.services.notifications.graphql.ws.api.GraphQLMessage;
+import org.activiti.cloud.services.notifications.graphql.ws.api.GraphQLMessageType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+
+/**
+ * Bounded send queues of the messages of the subscriptions to the sessions of the clients. A session only has one
+ * message at a time in the client outbound channel: the next one is sent once the previous one has been handled by
+ * the WebSocket session, as reported to this interceptor of the client outbound channel. The messages of a session
+ * that does not keep up with its subscriptions wait in its queue, up to the capacity of the queue, above which the
+ * {@link GraphQLSendQueueOverflowPolicy} is applied.
+ */
+public class GraphQLSessionSendQueues implements ExecutorChannelInterceptor {
+
+    /**
+     * Header of the queued messages with the {@link System#nanoTime()} they have been queued at
+     */
+    public static final String QUEUED_AT_HEADER = "graphQLQueuedAt";
+
+    public static final String METRICS_PREFIX = "activiti.notifications.graphql.ws.send";
+
+    private static final Logger log = LoggerFactory.getLogger(GraphQLSessionSendQueues.class);
+
+    private static final String SLOW_CONSUMER = "Slow consumer, the subscriptions are not consumed fast enough.";
+
+    private final Map<String, SessionSendQueue> queues = new ConcurrentHashMap<>();
+
+    private final int capacity;
+
+    private final GraphQLSendQueueOverflowPolicy overflowPolicy;
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean sessionMetrics;
+
+    private final Timer latency;
+
+    private final Counter dropped;
+
+    private final Counter disconnected;
+
+    /**
+     * @param sessionMetrics whether to expose the metrics of each session, tagged by session id, in addition to the
+     * metrics of all the sessions
+     */
+    public GraphQLSessionSendQueues(
+        int capacity,
+        GraphQLSendQueueOverflowPolicy overflowPolicy,
+        MeterRegistry meterRegistry,
+        boolean sessionMetrics
+    ) {
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.meterRegistry = meterRegistry;
+        this.sessionMetrics = sessionMetrics;
+
+        this.latency =
+            Timer
+                .builder(METRICS_PREFIX + ".latency")
+                .description("Time from queuing a subscription message to handling it by the WebSocket session")
+                .register(meterRegistry);
+        this.dropped =
+            Counter
+                .builder(METRICS_PREFIX + ".dropped")
+                .description("Subscription messages dropped as the send queue of the session was full")
+                .register(meterRegistry);
+        this.disconnected =
+            Counter
+                .builder(METRICS_PREFIX + ".disconnected")
+                .description("Sessions closed as their send queue was full")
+                .register(meterRegistry);
+        Gauge
+            .builder(METRICS_PREFIX + ".queue.depth", queues, it -> it.values().stream().mapToInt(q -> q.depth).sum())
+            .description("Subscription messages waiting in the send queues of the sessions")
+            .register(meterRegistry);
+    }
+
+    /**
+     * @param channel the client outbound channel of the session, that the queued messages are sent to
+     * @return the send queue of the session
+     */
+    public MessageChannel getSessionChannel(String sessionId, MessageChannel channel) {
+        return queues.computeIfAbsent(sessionId, id -> new SessionSendQueue(id, channel));
+    }
+
+    public void remove(String sessionId) {
+        SessionSendQueue queue = queues.remove(sessionId);
+
+        if (queue != null) {
+            queue.close();
+        }
+    }
+
+    public int getDepth(String sessionId) {
+        SessionSendQueue queue = queues.get(sessionId);
+
+        return queue != null ? queue.depth : 0;
+    }
+
+    public long getDropped(String sessionId) {
+        SessionSendQueue queue = queues.get(sessionId);
+
+        return queue != null ? queue.dropped.get() : 0;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        Long queuedAt = message.getHeaders().get(QUEUED_AT_HEADER, Long.class);
+
+        if (queuedAt != null) {
+            latency.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+
+            String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+            SessionSendQueue queue = sessionId != null ? queues.get(sessionId) : null;
+
+            if (queue != null) {
+                queue.handled();
+            }
+        }
+    }
+
+    private static boolean isData(Message<?> message) {
+        return (
+            message.getPayload() instanceof GraphQLMessage graphQLMessage &&
+            GraphQLMessageType.DATA.equals(graphQLMessage.getType())
+        );
+    }
+
+    private class SessionSendQueue implements MessageChannel {
+
+        private final String sessionId;
+
+        private final MessageChannel channel;
+
+        private final Deque<Message<?>> pending = new ArrayDeque<>();
+
+        private final AtomicLong dropped = new AtomicLong();
+
+        private final List<Meter> meters;
+
+        private volatile int depth;
+
+        private boolean inFlight;
+
+        private boolean closed;
+
+        SessionSendQueue(String sessionId, MessageChannel channel) {
+            this.sessionId = sessionId;
+            this.channel = channel;
+            this.meters =
+                sessionMetrics
+                    ? List.of(
+                        Gauge
+                            .builder(METRICS_PREFIX + ".session.queue.depth", this, it -> it.depth)
+                            .tag("session", sessionId)
+                            .register(meterRegistry),
+                        FunctionCounter
+                            .builder(METRICS_PREFIX + ".session.dropped", dropped, AtomicLong::get)
+                            .tag("session", sessionId)
+                            .register(meterRegistry)
+                    )
+                    : Collections.emptyList();
+        }
+
+        @Override
+        public synchronized boolean send(Message<?> message, long timeout) {
+            if (closed) {
+                return false;
+            }
+
+            if (pending.size() >= capacity && !overflow(message)) {
+                return false;
+            }
+
+            pending.add(queued(message));
+            drain();
+
+            return true;
+        }
+
+        synchronized void handled() {
+            inFlight = false;
+            drain();
+        }
+
+        synchronized void close() {
+            closed = true;
+            pending.clear();
+            depth = 0;
+            meters.forEach(meterRegistry::remove);
+        }
+
+        /**
+         * @return whether the message can be queued
+         */
+        private boolean overflow(Message<?> message) {
+            switch (overflowPolicy) {
+                case DROP_OLDEST -> {
+                    Iterator<Message<?>> iterator = pending.iterator();
+                    while (iterator.hasNext()) {
+                        if (isData(iterator.next())) {
+                            iterator.remove();
+                            drop(1);
+                            break;
+                        }
+                    }
+                    return true;
+                }
+                case DISCONNECT -> {
+                    disconnect(message);
+                    return false;
+                }
+                default -> {
+                    return true;
+                }
+            }
+        }
+
+        private void disconnect(Message<?> message) {
+            log.warn("Closing session {} as its send queue of {} messages is full", sessionId, pending.size());
+
+            drop(pending.size() + (isData(message) ? 1 : 0));
+            pending.clear();
+            depth = 0;
+            closed = true;
+            disconnected.increment();
+
+            String operationId = message.getPayload() instanceof GraphQLMessage graphQLMessage
+                ? graphQLMessage.getId()
+                : null;
+            GraphQLMessage error = new GraphQLMessage(
+                operationId,
+                GraphQLMessageType.CONNECTION_ERROR,
+                Collections.singletonMap("errors", Collections.singletonList(SLOW_CONSUMER))
+            );
+
+            SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.wrap(message);
+            headerAccessor.setHeader(GraphQLBrokerSubProtocolHandler.CLOSE_SESSION_HEADER, true);
+            headerAccessor.setLeaveMutable(true);
+
+            channel.send(MessageBuilder.createMessage(error, headerAccessor.getMessageHeaders()));
+        }
+
+        private void drop(int count) {
+            dropped.addAndGet(count);
+            GraphQLSessionSendQueues.this.dropped.increment(count);
+        }
+
+        private void drain() {
+            while (!inFlight && !closed && !pending.isEmpty()) {
+                Message<?> message = pending.poll();
+                depth = pending.size();
+                inFlight = true;
+
+                try {
+                    // handled at once by a synchronous channel, which drains the next message
+                    channel.send(message);
+                } catch (RuntimeException e) {
+                    log.debug("Failed to send message to session {}", sessionId, e);
+                    inFlight = false;
+                }
+            }
+            depth = pending.size();
+        }
+
+        private Message<?> queued(Message<?> message) {
+            // a copy of the headers, as the headers of the messages of a subscriber can be shared
+            SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.wrap(message);
+            headerAccessor.setHeader(QUEUED_AT_HEADER, System.nanoTime());
+            headerAccessor.setLeaveMutable(true); // must be mutable to preserve publish order!
+
+            return MessageBuilder.createMessage(message.getPayload(), headerAccessor.getMessageHeaders());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.ws.transport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.language.AstPrinter;
+import graphql.parser.Parser;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+
+/**
+ * Shares the execution results of the subscriptions with the same query and variables, i.e. the same selection set
+ * over the same destinations, between all the sessions subscribing to them. The results are published to the sessions
+ * from a single subscription to the publisher of the first session, with their data encoded to JSON once as a
+ * {@link RawValue}, which is written as it is when the message of each session is serialized.
+ */
+public class GraphQLSharedSubscriptionRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(GraphQLSharedSubscriptionRegistry.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<SubscriptionKey, SharedSubscription> subscriptions = new ConcurrentHashMap<>();
+
+    /**
+     * @param publisher the execution results of the subscription, only subscribed to when no other session shares
+     * the subscription
+     */
+    public Publisher<ExecutionResult> share(
+        String query,
+        Map<String, Object> variables,
+        Publisher<ExecutionResult> publisher
+    ) {
+        SubscriptionKey key = new SubscriptionKey(normalize(query), variables);
+
+        return Flux.defer(() ->
+            subscriptions.computeIfAbsent(key, it -> new SharedSubscription(it, publisher)).executionResults
+        );
+    }
+
+    public int size() {
+        return subscriptions.size();
+    }
+
+    private String normalize(String query) {
+        try {
+            return AstPrinter.printAstCompact(Parser.parse(query));
+        } catch (RuntimeException e) {
+            return query;
+        }
+    }
+
+    private ExecutionResult encode(ExecutionResult executionResult) {
+        try {
+            return ExecutionResultImpl
+                .newExecutionResult()
+                .from(executionResult)
+                .data(new RawValue(objectMapper.writeValueAsString(executionResult.getData())))
+                .build();
+        } catch (JsonProcessingException e) {
+            log.warn("Unable to encode execution result data, it will be encoded for each session", e);
+            return executionResult;
+        }
+    }
+
+    private record SubscriptionKey(String query, Map<String, Object> variables) {}
+
+    private class SharedSubscription {
+
+        private final Flux<ExecutionResult> executionResults;
+
+        SharedSubscription(SubscriptionKey key, Publisher<ExecutionResult> publisher) {
+            this.executionResults =
+                Flux
+                    .from(publisher)
+                    .map(GraphQLSharedSubscriptionRegistry.this::encode)
+                    .doFinally(signal -> subscriptions.remove(key, this))
+                    .publish()
+                    .refCount();
+        }
+    }
+}
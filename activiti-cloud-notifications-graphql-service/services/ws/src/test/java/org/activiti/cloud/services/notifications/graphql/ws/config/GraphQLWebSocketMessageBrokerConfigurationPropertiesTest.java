@@ -18,6 +18,7 @@ package org.activiti.cloud.services.notifications.graphql.ws.config;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import graphql.schema.GraphQLSchema;
+import org.activiti.cloud.services.notifications.graphql.ws.transport.GraphQLSendQueueOverflowPolicy;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.SpringBootConfiguration;
@@ -52,5 +53,10 @@ public class GraphQLWebSocketMessageBrokerConfigurationPropertiesTest {
         assertThat(configurationProperties.getEndpoint()).isEqualTo("/ws/graphql");
         assertThat(configurationProperties.getBufferCount()).isEqualTo(50);
         assertThat(configurationProperties.getBufferTimeSpanMs()).isEqualTo(999); // overrides from graphql-ws.properties
+        assertThat(configurationProperties.getSharedSubscriptions()).isTrue();
+        assertThat(configurationProperties.getSendQueueCapacity()).isZero();
+        assertThat(configurationProperties.getSendQueueOverflowPolicy())
+            .isEqualTo(GraphQLSendQueueOverflowPolicy.DROP_OLDEST);
+        assertThat(configurationProperties.getSendQueueSessionMetrics()).isFalse();
     }
 }
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.ws.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.activiti.cloud.services.notifications.graphql.ws.api.GraphQLMessage;
+import org.activiti.cloud.services.notifications.graphql.ws.api.GraphQLMessageType;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+
+public class GraphQLSessionSendQueuesTest {
+
+    private static final String SESSION_ID = "sessionId";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<Message<?>> sent = new ArrayList<>();
+
+    private final MessageChannel outboundChannel = (message, timeout) -> sent.add(message);
+
+    @Test
+    public void should_sendNextMessage_when_previousMessageIsHandled() {
+        //given
+        GraphQLSessionSendQueues sendQueues = sendQueues(GraphQLSendQueueOverflowPolicy.DROP_OLDEST);
+        MessageChannel sessionChannel = sendQueues.getSessionChannel(SESSION_ID, outboundChannel);
+
+        //when
+        sessionChannel.send(data("1"));
+        sessionChannel.send(data("2"));
+
+        //then
+        assertThat(sent).hasSize(1);
+        assertThat(sendQueues.getDepth(SESSION_ID)).isEqualTo(1);
+
+        //when
+        sendQueues.afterMessageHandled(sent.get(0), outboundChannel, null, null);
+
+        //then
+        assertThat(sent)
+            .extracting(message -> ((GraphQLMessage) message.getPayload()).getId())
+            .containsExactly("1", "2");
+        assertThat(sendQueues.getDepth(SESSION_ID)).isZero();
+        assertThat(meterRegistry.get(GraphQLSessionSendQueues.METRICS_PREFIX + ".latency").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    public void should_dropOldestData_when_queueIsFull() {
+        //given
+        GraphQLSessionSendQueues sendQueues = sendQueues(GraphQLSendQueueOverflowPolicy.DROP_OLDEST);
+        MessageChannel sessionChannel = sendQueues.getSessionChannel(SESSION_ID, outboundChannel);
+        sessionChannel.send(data("1"));
+        sessionChannel.send(data("2"));
+        sessionChannel.send(data("3"));
+
+        //when
+        sessionChannel.send(data("4"));
+        sessionChannel.send(message("5", GraphQLMessageType.COMPLETE));
+        sendQueues.afterMessageHandled(sent.get(0), outboundChannel, null, null);
+        sendQueues.afterMessageHandled(sent.get(1), outboundChannel, null, null);
+        sendQueues.afterMessageHandled(sent.get(2), outboundChannel, null, null);
+
+        //then
+        assertThat(sent)
+            .extracting(message -> ((GraphQLMessage) message.getPayload()).getId())
+            .containsExactly("1", "4", "5");
+        assertThat(sendQueues.getDropped(SESSION_ID)).isEqualTo(2);
+        assertThat(meterRegistry.get(GraphQLSessionSendQueues.METRICS_PREFIX + ".dropped").counter().count())
+            .isEqualTo(2);
+    }
+
+    @Test
+    public void should_closeSession_when_queueIsFullAndPolicyIsDisconnect() {
+        //given
+        GraphQLSessionSendQueues sendQueues = sendQueues(GraphQLSendQueueOverflowPolicy.DISCONNECT);
+        MessageChannel sessionChannel = sendQueues.getSessionChannel(SESSION_ID, outboundChannel);
+        sessionChannel.send(data("1"));
+        sessionChannel.send(data("2"));
+        sessionChannel.send(data("3"));
+
+        //when
+        boolean accepted = sessionChannel.send(data("4"));
+
+        //then
+        assertThat(accepted).isFalse();
+        assertThat(sent).hasSize(2);
+        Message<?> closeMessage = sent.get(1);
+        assertThat(((GraphQLMessage) closeMessage.getPayload()).getType())
+            .isEqualTo(GraphQLMessageType.CONNECTION_ERROR);
+        assertThat(closeMessage.getHeaders().get(GraphQLBrokerSubProtocolHandler.CLOSE_SESSION_HEADER)).isEqualTo(true);
+        assertThat(sessionChannel.send(data("5"))).isFalse();
+        assertThat(meterRegistry.get(GraphQLSessionSendQueues.METRICS_PREFIX + ".disconnected").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    public void should_removeSessionMetrics_when_sessionIsRemoved() {
+        //given
+        GraphQLSessionSendQueues sendQueues = new GraphQLSessionSendQueues(
+            2,
+            GraphQLSendQueueOverflowPolicy.DROP_OLDEST,
+            meterRegistry,
+            true
+        );
+        sendQueues.getSessionChannel(SESSION_ID, outboundChannel).send(data("1"));
+        assertThat(meterRegistry.find(GraphQLSessionSendQueues.METRICS_PREFIX + ".session.queue.depth").gauges())
+            .hasSize(1);
+
+        //when
+        sendQueues.remove(SESSION_ID);
+
+        //then
+        assertThat(meterRegistry.find(GraphQLSessionSendQueues.METRICS_PREFIX + ".session.queue.depth").gauges())
+            .isEmpty();
+    }
+
+    private GraphQLSessionSendQueues sendQueues(GraphQLSendQueueOverflowPolicy overflowPolicy) {
+        return new GraphQLSessionSendQueues(2, overflowPolicy, meterRegistry, false);
+    }
+
+    private Message<GraphQLMessage> data(String id) {
+        return message(id, GraphQLMessageType.DATA);
+    }
+
+    private Message<GraphQLMessage> message(String id, GraphQLMessageType type) {
+        SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headerAccessor.setSessionId(SESSION_ID);
+        headerAccessor.setLeaveMutable(true);
+
+        return MessageBuilder.createMessage(
+            new GraphQLMessage(id, type, Map.of("data", id)),
+            headerAccessor.getMessageHeaders()
+        );
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.ws.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.util.RawValue;
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+public class GraphQLSharedSubscriptionRegistryTest {
+
+    private final GraphQLSharedSubscriptionRegistry registry = new GraphQLSharedSubscriptionRegistry();
+
+    @Test
+    public void should_shareExecutionResults_when_queriesOnlyDifferInFormatting() {
+        //given
+        Sinks.Many<ExecutionResult> results = Sinks.many().multicast().directBestEffort();
+        AtomicInteger subscriptions = new AtomicInteger();
+        Flux<ExecutionResult> publisher = results.asFlux().doOnSubscribe(it -> subscriptions.incrementAndGet());
+
+        List<ExecutionResult> first = new ArrayList<>();
+        List<ExecutionResult> second = new ArrayList<>();
+        Disposable firstSubscription = Flux
+            .from(registry.share("subscription { engineEvents { eventType } }", Map.of("app", "rb"), publisher))
+            .subscribe(first::add);
+        Disposable secondSubscription = Flux
+            .from(
+                registry.share(
+                    "subscription {\n  engineEvents {\n    eventType\n  }\n}",
+                    Map.of("app", "rb"),
+                    publisher
+                )
+            )
+            .subscribe(second::add);
+
+        //when
+        results.tryEmitNext(new ExecutionResultImpl(Map.of("eventType", "TASK_CREATED"), List.of()));
+
+        //then
+        assertThat(subscriptions).hasValue(1);
+        assertThat(registry.size()).isEqualTo(1);
+        assertThat(first).hasSize(1);
+        assertThat(second).containsExactlyElementsOf(first);
+        assertThat(first.get(0).<Object>getData()).isEqualTo(new RawValue("{\"eventType\":\"TASK_CREATED\"}"));
+
+        firstSubscription.dispose();
+        secondSubscription.dispose();
+    }
+
+    @Test
+    public void should_notShareExecutionResults_when_variablesDiffer() {
+        //given
+        Flux<ExecutionResult> publisher = Flux.never();
+
+        //when
+        Disposable firstSubscription = Flux
+            .from(registry.share("subscription { engineEvents { eventType } }", Map.of("app", "rb"), publisher))
+            .subscribe();
+        Disposable secondSubscription = Flux
+            .from(registry.share("subscription { engineEvents { eventType } }", Map.of("app", "other"), publisher))
+            .subscribe();
+
+        //then
+        assertThat(registry.size()).isEqualTo(2);
+
+        firstSubscription.dispose();
+        secondSubscription.dispose();
+    }
+
+    @Test
+    public void should_removeSharedSubscription_when_lastSessionCancels() {
+        //given
+        Disposable subscription = Flux
+            .from(registry.share("subscription { engineEvents { eventType } }", Map.of(), Flux.never()))
+            .subscribe();
+
+        //when
+        subscription.dispose();
+
+        //then
+        assertThat(registry.size()).isZero();
+    }
+}
@@ -19,11 +19,12 @@ import java.util.List;
 import java.util.function.Consumer;
 import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
 import org.activiti.cloud.common.messaging.functional.FunctionBinding;
-import org.activiti.cloud.services.query.app.QueryConsumerChannelHandler;
 import org.activiti.cloud.services.query.app.QueryConsumerChannels;
+import org.activiti.cloud.services.query.app.QueryConsumerProjectionExecutor;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
+import org.springframework.messaging.Message;
 
 @AutoConfiguration
 @Import(QueryConsumerChannelsConfiguration.class)
@@ -31,9 +32,9 @@ public class QueryConsumerAutoConfiguration {
 
     @FunctionBinding(input = QueryConsumerChannels.QUERY_CONSUMER)
     @Bean
-    public Consumer<List<CloudRuntimeEvent<?, ?>>> queryConsumerFunction(
-        QueryConsumerChannelHandler queryConsumerChannelHandler
+    public Consumer<Message<List<CloudRuntimeEvent<?, ?>>>> queryConsumerFunction(
+        QueryConsumerProjectionExecutor queryConsumerProjectionExecutor
     ) {
-        return queryConsumerChannelHandler::receive;
+        return queryConsumerProjectionExecutor::receive;
     }
 }
@@ -17,6 +17,8 @@ package org.activiti.cloud.services.query.app;
 
 import jakarta.persistence.EntityManager;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
 import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
 import org.activiti.cloud.services.query.events.handlers.QueryEventHandlerContext;
 import org.activiti.cloud.services.query.events.handlers.QueryEventHandlerContextOptimizer;
@@ -42,11 +44,46 @@ public class QueryConsumerChannelHandler {
         this.entityManager = entityManager;
     }
 
-    public synchronized void receive(List<CloudRuntimeEvent<?, ?>> events) {
+    public void receive(List<CloudRuntimeEvent<?, ?>> events) {
+        receive(events, () -> false);
+    }
+
+    /**
+     * Projects the given events, rolling the projection back instead of committing it if it is cancelled.
+     */
+    public void receive(List<CloudRuntimeEvent<?, ?>> events, BooleanSupplier cancelled) {
         afterCompletion(entityManager::clear);
+        beforeCommit(cancelled);
         eventHandlerContext.handle(optimizer.optimize(events).toArray(new CloudRuntimeEvent[] {}));
     }
 
+    public void receiveBatches(List<List<CloudRuntimeEvent<?, ?>>> batches) {
+        receiveBatches(batches, () -> false);
+    }
+
+    /**
+     * Projects the events of the given messages, rolling the projection back instead of committing it if it is
+     * cancelled.
+     */
+    public void receiveBatches(List<List<CloudRuntimeEvent<?, ?>>> batches, BooleanSupplier cancelled) {
+        afterCompletion(entityManager::clear);
+        beforeCommit(cancelled);
+        eventHandlerContext.handle(optimizer.optimizeBatches(batches).toArray(new CloudRuntimeEvent[] {}));
+    }
+
+    private static void beforeCommit(BooleanSupplier cancelled) {
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    if (cancelled.getAsBoolean()) {
+                        throw new CancellationException("Events projection cancelled before commit");
+                    }
+                }
+            }
+        );
+    }
+
     private static void afterCompletion(Runnable action) {
         TransactionSynchronizationManager.registerSynchronization(
             new TransactionSynchronization() {
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.app;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.messaging.Message;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Shards incoming event batches by root process instance id, taken from the
+ * {@value #ROOT_PROCESS_INSTANCE_ID_HEADER} message header, onto a fixed set of single threaded workers.
+ * Each worker projects its batches through {@link QueryConsumerChannelHandler} in its own transaction,
+ * so batches of the same process instance are projected in order while unrelated process instances
+ * are projected in parallel. The calling consumer thread waits for its batch to be committed, so that
+ * the broker message is acknowledged only after a successful projection. If the consumer thread stops waiting,
+ * its projection is cancelled and rolled back instead of being committed.
+ * <p>
+ * When micro-batching is enabled, a worker drains up to {@code maxBatchSize} pending broker messages and
+ * projects them in a single transaction. It only waits, at most {@code maxBatchWait}, for the messages already
+ * submitted to it, so that a lone message is projected straight away.
+ * If the batch fails, its messages are replayed one by one, so that only the failing messages are rejected.
+ */
+public class QueryConsumerProjectionExecutor implements DisposableBean {
+
+    public static final String ROOT_PROCESS_INSTANCE_ID_HEADER = "rootProcessInstanceId";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryConsumerProjectionExecutor.class);
+
+    private final QueryConsumerChannelHandler queryConsumerChannelHandler;
+    private final List<Worker> workers;
+    private final int maxBatchSize;
+    private final Duration maxBatchWait;
+
+    public QueryConsumerProjectionExecutor(QueryConsumerChannelHandler queryConsumerChannelHandler, int workers) {
+        this(queryConsumerChannelHandler, workers, 1, Duration.ZERO);
+    }
+
+    public QueryConsumerProjectionExecutor(
+        QueryConsumerChannelHandler queryConsumerChannelHandler,
+        int workers,
+        int maxBatchSize,
+        Duration maxBatchWait
+    ) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Number of query consumer projection workers must be positive");
+        }
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Query consumer projection batch size must be positive");
+        }
+        this.queryConsumerChannelHandler = queryConsumerChannelHandler;
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchWait = maxBatchWait;
+        this.workers = IntStream.range(0, workers).mapToObj(Worker::new).toList();
+    }
+
+    public void receive(Message<List<CloudRuntimeEvent<?, ?>>> message) {
+        receive(message.getHeaders().get(ROOT_PROCESS_INSTANCE_ID_HEADER, String.class), message.getPayload());
+    }
+
+    public void receive(String rootProcessInstanceId, List<CloudRuntimeEvent<?, ?>> events) {
+        int worker = resolveWorker(rootProcessInstanceId, events);
+
+        LOGGER.debug("Projecting {} events on worker {}", events.size(), worker);
+
+        Projection projection = new Projection(events, new CompletableFuture<>());
+
+        workers.get(worker).submit(projection);
+
+        try {
+            projection.result().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            projection.result().cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for events projection", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    protected int resolveWorker(String rootProcessInstanceId, List<CloudRuntimeEvent<?, ?>> events) {
+        return Math.floorMod(
+            Objects.hashCode(rootProcessInstanceId != null ? rootProcessInstanceId : resolveProcessInstanceId(events)),
+            workers.size()
+        );
+    }
+
+    // messages sent without execution context, such as the ones of standalone tasks, carry no root header
+    protected String resolveProcessInstanceId(List<CloudRuntimeEvent<?, ?>> events) {
+        return events
+            .stream()
+            .map(CloudRuntimeEvent::getProcessInstanceId)
+            .filter(Objects::nonNull)
+            .findFirst()
+            .orElse(null);
+    }
+
+    protected int getPendingProjections() {
+        return workers.stream().mapToInt(Worker::getPending).sum();
+    }
+
+    @Override
+    public void destroy() {
+        workers.forEach(Worker::shutdown);
+    }
+
+    private void project(List<Projection> batch) {
+        if (batch.size() == 1) {
+            project(batch.get(0));
+            return;
+        }
+
+        try {
+            queryConsumerChannelHandler.receiveBatches(
+                batch.stream().map(Projection::events).toList(),
+                () -> batch.stream().anyMatch(Projection::isCancelled)
+            );
+            batch.forEach(projection -> projection.result().complete(null));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Projection of {} messages batch failed, replaying messages one by one", batch.size(), e);
+            batch.forEach(this::project);
+        }
+    }
+
+    private void project(Projection projection) {
+        if (projection.isCancelled()) {
+            LOGGER.debug("Skipping projection of {} events cancelled by its consumer", projection.events().size());
+            return;
+        }
+        try {
+            queryConsumerChannelHandler.receive(projection.events(), projection::isCancelled);
+            projection.result().complete(null);
+        } catch (RuntimeException e) {
+            projection.result().completeExceptionally(e);
+        }
+    }
+
+    private record Projection(List<CloudRuntimeEvent<?, ?>> events, CompletableFuture<Void> result) {
+        boolean isCancelled() {
+            return result.isCancelled();
+        }
+    }
+
+    private class Worker {
+
+        private final BlockingQueue<Projection> pending = new LinkedBlockingQueue<>();
+        // projections submitted to this worker that are not drained yet
+        private final AtomicInteger arriving = new AtomicInteger();
+        private final ExecutorService executor;
+
+        Worker(int index) {
+            this.executor =
+                Executors.newSingleThreadExecutor(new CustomizableThreadFactory("query-projection-" + index + "-"));
+        }
+
+        void submit(Projection projection) {
+            arriving.incrementAndGet();
+            pending.add(projection);
+            executor.execute(this::drain);
+        }
+
+        int getPending() {
+            return arriving.get();
+        }
+
+        void shutdown() {
+            executor.shutdown();
+        }
+
+        private void drain() {
+            Projection first = pending.poll();
+            if (first == null) {
+                // already projected as part of a previous batch
+                return;
+            }
+            arriving.decrementAndGet();
+
+            List<Projection> batch = new ArrayList<>(List.of(first));
+            long deadline = System.nanoTime() + maxBatchWait.toNanos();
+
+            try {
+                // a message that is not submitted yet may never come: its consumer thread can be the one waiting
+                // for this batch, so the batch is projected as soon as no other message is under way
+                while (batch.size() < maxBatchSize && arriving.get() > 0) {
+                    Projection next = pending.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    arriving.decrementAndGet();
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            project(batch);
+        }
+    }
+}
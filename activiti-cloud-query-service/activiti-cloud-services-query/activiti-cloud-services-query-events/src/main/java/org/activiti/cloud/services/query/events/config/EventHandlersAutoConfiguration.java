@@ -18,6 +18,7 @@ package org.activiti.cloud.services.query.events.config;
 import jakarta.persistence.EntityManager;
 import java.util.Set;
 import org.activiti.cloud.services.query.app.QueryConsumerChannelHandler;
+import org.activiti.cloud.services.query.app.QueryConsumerProjectionExecutor;
 import org.activiti.cloud.services.query.app.repository.ApplicationRepository;
 import org.activiti.cloud.services.query.events.handlers.ApplicationDeployedEventHandler;
 import org.activiti.cloud.services.query.events.handlers.BPMNActivityCancelledEventHandler;
@@ -68,9 +69,11 @@ import org.activiti.cloud.services.query.events.handlers.VariableDeletedEventHan
 import org.activiti.cloud.services.query.events.handlers.VariableUpdatedEventHandler;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 
 @AutoConfiguration
+@EnableConfigurationProperties(QueryConsumerProperties.class)
 public class EventHandlersAutoConfiguration {
 
     @Bean
@@ -83,6 +86,22 @@ public class EventHandlersAutoConfiguration {
         return new QueryConsumerChannelHandler(eventHandlerContext, fetchingOptimizer, entityManager);
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public QueryConsumerProjectionExecutor queryConsumerProjectionExecutor(
+        QueryConsumerChannelHandler queryConsumerChannelHandler,
+        QueryConsumerProperties queryConsumerProperties
+    ) {
+        QueryConsumerProperties.Batch batch = queryConsumerProperties.getBatch();
+
+        return new QueryConsumerProjectionExecutor(
+            queryConsumerChannelHandler,
+            queryConsumerProperties.getWorkers(),
+            batch.isEnabled() ? batch.getMaxSize() : 1,
+            batch.getMaxWait()
+        );
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public QueryEventHandlerContextOptimizer queryEntityGraphFetchingOptimizer(EntityManager entityManager) {
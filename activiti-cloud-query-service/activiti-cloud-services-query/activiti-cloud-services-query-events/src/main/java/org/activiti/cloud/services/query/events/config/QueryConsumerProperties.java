@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = QueryConsumerProperties.QUERY_CONSUMER_PREFIX)
+public class QueryConsumerProperties {
+
+    public static final String QUERY_CONSUMER_PREFIX = "activiti.cloud.query.consumer";
+
+    /**
+     * Number of projection workers. Event batches are sharded by root process instance id onto the workers,
+     * so that events of the same process instance are projected in order and unrelated process instances
+     * are projected in parallel. Default is 1
+     */
+    private int workers = 1;
+
+    /**
+     * Micro-batching of broker messages waiting on the same projection worker
+     */
+    private Batch batch = new Batch();
+
+    public QueryConsumerProperties() {
+        // default constructor
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    public Batch getBatch() {
+        return batch;
+    }
+
+    public void setBatch(Batch batch) {
+        this.batch = batch;
+    }
+
+    public static class Batch {
+
+        /**
+         * Enable projection of several broker messages in a single transaction. Messages are drained from the
+         * consumer threads (see ACT_QUERY_CONSUMER_CONCURRENCY) waiting on the same worker. Default is false
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of broker messages projected in a single transaction. Default is 20
+         */
+        private int maxSize = 20;
+
+        /**
+         * Maximum time to wait for the broker messages already submitted to a worker before projecting a batch. A
+         * batch is projected straight away when no other message is under way. Default is 50ms
+         */
+        private Duration maxWait = Duration.ofMillis(50);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+    }
+}
@@ -22,6 +22,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
+import org.activiti.cloud.services.query.model.ProcessVariableEntity;
 import org.activiti.cloud.services.query.model.TaskEntity;
 import org.hibernate.jpa.AvailableHints;
 
@@ -35,6 +36,8 @@ public class EntityManagerFinder {
     private static final String PROCESS_VARIABLES = "processVariables";
     private static final String TASK_CANDIDATE_USERS = "taskCandidateUsers";
     private static final String TASK_CANDIDATE_GROUPS = "taskCandidateGroups";
+    private static final String PROCESS_INSTANCE_ID = "processInstanceId";
+    private static final String NAME = "name";
     private final EntityManager entityManager;
 
     public EntityManagerFinder(EntityManager entityManager) {
@@ -100,6 +103,25 @@ public class EntityManagerFinder {
         );
     }
 
+    /**
+     * Finds a single process variable by process instance id and name, without loading
+     * the variables collection of the process instance.
+     */
+    public Optional<ProcessVariableEntity> findProcessVariable(String processInstanceId, String variableName) {
+        var criteriaBuilder = entityManager.getCriteriaBuilder();
+        var criteriaQuery = criteriaBuilder.createQuery(ProcessVariableEntity.class);
+        var fromProcessVariable = criteriaQuery.from(ProcessVariableEntity.class);
+
+        criteriaQuery
+            .select(fromProcessVariable)
+            .where(
+                criteriaBuilder.equal(fromProcessVariable.get(PROCESS_INSTANCE_ID), processInstanceId),
+                criteriaBuilder.equal(fromProcessVariable.get(NAME), variableName)
+            );
+
+        return entityManager.createQuery(criteriaQuery).setMaxResults(1).getResultStream().findFirst();
+    }
+
     public Optional<ProcessInstanceEntity> findProcessInstanceWithRelatedEntities(String processInstanceId) {
         EntityGraph<ProcessInstanceEntity> entityGraph = entityManager.createEntityGraph(ProcessInstanceEntity.class);
 
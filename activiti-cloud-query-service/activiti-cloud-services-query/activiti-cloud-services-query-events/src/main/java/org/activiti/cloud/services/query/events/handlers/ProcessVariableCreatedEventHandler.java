@@ -17,10 +17,12 @@ package org.activiti.cloud.services.query.events.handlers;
 
 import jakarta.persistence.EntityManager;
 import java.util.Date;
+import java.util.Optional;
 import java.util.Set;
 import org.activiti.cloud.api.model.shared.events.CloudVariableCreatedEvent;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
 import org.activiti.cloud.services.query.model.ProcessVariableEntity;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,11 +42,11 @@ public class ProcessVariableCreatedEventHandler {
         String processInstanceId = variableCreatedEvent.getEntity().getProcessInstanceId();
         String variableName = variableCreatedEvent.getEntity().getName();
 
-        entityManagerFinder
-            .findProcessInstanceWithVariables(processInstanceId)
+        Optional
+            .ofNullable(entityManager.find(ProcessInstanceEntity.class, processInstanceId))
             .ifPresent(processInstanceEntity -> {
-                processInstanceEntity
-                    .getVariable(variableName)
+                entityManagerFinder
+                    .findProcessVariable(processInstanceId, variableName)
                     .ifPresentOrElse(
                         variableEntity -> {
                             LOGGER.warn(
@@ -56,7 +58,10 @@ public class ProcessVariableCreatedEventHandler {
                                 variableCreatedEvent,
                                 processInstanceEntity
                             );
-                            processInstanceEntity.getVariables().add(variableEntity);
+                            // keep the variables collection in sync only if it was already fetched
+                            if (Hibernate.isInitialized(processInstanceEntity.getVariables())) {
+                                processInstanceEntity.getVariables().add(variableEntity);
+                            }
                             assignToTasks(processInstanceId, variableName, variableEntity);
                         }
                     );
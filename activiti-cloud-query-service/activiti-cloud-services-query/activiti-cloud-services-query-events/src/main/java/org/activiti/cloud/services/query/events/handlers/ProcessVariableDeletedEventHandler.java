@@ -19,6 +19,7 @@ import jakarta.persistence.EntityManager;
 import java.util.Optional;
 import org.activiti.cloud.api.model.shared.events.CloudVariableDeletedEvent;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,21 +38,24 @@ public class ProcessVariableDeletedEventHandler {
     public void handle(CloudVariableDeletedEvent event) {
         String variableName = event.getEntity().getName();
         String processInstanceId = event.getEntity().getProcessInstanceId();
-        Optional<ProcessInstanceEntity> findResult = entityManagerFinder.findProcessInstanceWithVariables(
-            processInstanceId
+        Optional<ProcessInstanceEntity> findResult = Optional.ofNullable(
+            entityManager.find(ProcessInstanceEntity.class, processInstanceId)
         );
         // if a task was cancelled / completed do not handle this event
         if (findResult.isPresent() && !findResult.get().isInFinalState()) {
             try {
                 ProcessInstanceEntity processInstanceEntity = findResult.get();
 
-                processInstanceEntity
-                    .getVariable(variableName)
+                entityManagerFinder
+                    .findProcessVariable(processInstanceId, variableName)
                     .ifPresentOrElse(
                         variableEntity -> {
-                            // Persist into database
-                            processInstanceEntity.getVariables().remove(variableEntity);
+                            // keep the variables collection in sync only if it was already fetched
+                            if (Hibernate.isInitialized(processInstanceEntity.getVariables())) {
+                                processInstanceEntity.getVariables().remove(variableEntity);
+                            }
 
+                            // Persist into database
                             entityManager.remove(variableEntity);
                         },
                         () -> {
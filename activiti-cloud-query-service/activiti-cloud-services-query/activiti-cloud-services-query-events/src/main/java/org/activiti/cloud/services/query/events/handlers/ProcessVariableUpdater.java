@@ -16,7 +16,6 @@
 package org.activiti.cloud.services.query.events.handlers;
 
 import jakarta.persistence.EntityManager;
-import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
 import org.activiti.cloud.services.query.model.ProcessVariableEntity;
 import org.activiti.cloud.services.query.model.QueryException;
 
@@ -31,12 +30,8 @@ public class ProcessVariableUpdater {
     }
 
     public void update(ProcessVariableEntity updatedVariableEntity, String notFoundMessage) {
-        String processInstanceId = updatedVariableEntity.getProcessInstanceId();
-        ProcessInstanceEntity processInstanceEntity = entityManagerFinder
-            .findProcessInstanceWithVariables(processInstanceId)
-            .orElseThrow(() -> new QueryException("Process instance id " + processInstanceId + " not found!"));
-        processInstanceEntity
-            .getVariable(updatedVariableEntity.getName())
+        entityManagerFinder
+            .findProcessVariable(updatedVariableEntity.getProcessInstanceId(), updatedVariableEntity.getName())
             .ifPresentOrElse(
                 variableEntity -> {
                     variableEntity.setLastUpdatedTime(updatedVariableEntity.getLastUpdatedTime());
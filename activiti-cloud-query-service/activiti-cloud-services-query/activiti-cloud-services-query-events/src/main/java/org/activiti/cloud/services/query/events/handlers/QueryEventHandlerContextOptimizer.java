@@ -20,16 +20,26 @@ import jakarta.persistence.EntityGraph;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.Root;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.activiti.api.model.shared.event.VariableEvent;
 import org.activiti.api.model.shared.model.VariableInstance;
+import org.activiti.api.process.model.ProcessInstance;
+import org.activiti.api.process.model.events.ProcessRuntimeEvent;
 import org.activiti.api.task.model.Task;
+import org.activiti.api.task.model.events.TaskRuntimeEvent;
 import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
 import org.activiti.cloud.api.model.shared.events.CloudVariableEvent;
 import org.activiti.cloud.api.model.shared.impl.events.CloudVariableCreatedEventImpl;
@@ -75,7 +85,6 @@ import org.slf4j.LoggerFactory;
 
 public class QueryEventHandlerContextOptimizer {
 
-    public static final String VARIABLES = "variables";
     public static final String TASKS = "tasks";
     public static final String ACTIVITIES = "activities";
     public static final String SERVICE_TASKS = "serviceTasks";
@@ -120,9 +129,7 @@ public class QueryEventHandlerContextOptimizer {
     );
 
     private Comparator<CloudRuntimeEvent<?, ?>> byTimestamp = Comparator.comparingLong(CloudRuntimeEvent::getTimestamp);
-    private Comparator<CloudRuntimeEvent<?, ?>> byEventClass = Comparator.comparing(event ->
-        Optional.ofNullable(order.get(event.getClass())).orElseGet(() -> order.get(CloudRuntimeEvent.class))
-    );
+    private Comparator<CloudRuntimeEvent<?, ?>> byEventClass = Comparator.comparing(this::orderOf);
     private final EntityManager entityManager;
 
     public QueryEventHandlerContextOptimizer(EntityManager entityManager) {
@@ -131,69 +138,208 @@ public class QueryEventHandlerContextOptimizer {
 
     public List<CloudRuntimeEvent<?, ?>> optimize(List<CloudRuntimeEvent<?, ?>> events) {
         resolveProcessInstanceId(events)
-            .ifPresent(processInstanceId -> {
-                LOGGER.debug("Building entity fetch graph for root process instance: {}", processInstanceId);
-                var entityGraph = entityManager.createEntityGraph(ProcessInstanceEntity.class);
-
-                var criteriaBuilder = entityManager.getCriteriaBuilder();
-                var criteriaQuery = criteriaBuilder.createQuery(ProcessInstanceEntity.class);
-                var fromProcessInstance = criteriaQuery.from(ProcessInstanceEntity.class);
-                var whereProcessInstance = criteriaBuilder.equal(fromProcessInstance.get("id"), processInstanceId);
-
-                criteriaQuery.select(fromProcessInstance).where(whereProcessInstance);
-
-                findRuntimeEvents(events, CloudVariableEvent.class, entity -> true, VariableInstance::getName)
-                    .ifPresent(variableNames -> {
-                        fetch(fromProcessInstance, entityGraph, VARIABLES, "name", variableNames);
-                    });
-
-                findRuntimeEvents(events, CloudTaskRuntimeEvent.class, entity -> true, Task::getId)
-                    .ifPresent(taskIds -> {
-                        fetch(fromProcessInstance, entityGraph, TASKS, "id", taskIds);
-                    });
-
-                findRuntimeEvents(
-                    events,
-                    CloudBPMNActivityEvent.class,
-                    entity -> true,
-                    BPMNActivityEntity.IdBuilderHelper::from
-                )
-                    .ifPresent(activityIds -> {
-                        fetch(fromProcessInstance, entityGraph, ACTIVITIES, "id", activityIds);
-                    });
-
-                findRuntimeEvents(
-                    events,
-                    CloudBPMNActivityEvent.class,
-                    entity -> SERVICE_TASKS.equals(entity.getActivityType()),
-                    BPMNActivityEntity.IdBuilderHelper::from
-                )
-                    .ifPresent(serviceTaskIds -> {
-                        fetch(fromProcessInstance, entityGraph, SERVICE_TASKS, "id", serviceTaskIds);
-                    });
-
-                entityManager
-                    .createQuery(criteriaQuery)
-                    .setHint(AvailableHints.HINT_SPEC_LOAD_GRAPH, entityGraph)
-                    .getResultList()
-                    .stream()
-                    .findFirst()
-                    .ifPresent(rootProcessInstance -> {
-                        if (LOGGER.isDebugEnabled()) {
-                            LOGGER.debug(
-                                "Fetched entity graph attributes {} for process instance: {}",
-                                entityGraph
-                                    .getAttributeNodes()
-                                    .stream()
-                                    .map(AttributeNode::getAttributeName)
-                                    .collect(Collectors.toList()),
-                                processInstanceId
-                            );
-                        }
-                    });
+            .ifPresent(processInstanceId -> fetchEntityGraph(List.of(processInstanceId), events));
+
+        return sort(coalesce(events));
+    }
+
+    /**
+     * Optimizes events received in several broker messages with a single entity graph fetch
+     * for all root process instances. Events are coalesced in the order they have been received, then sorted
+     * within each message, preserving message order.
+     */
+    public List<CloudRuntimeEvent<?, ?>> optimizeBatches(List<List<CloudRuntimeEvent<?, ?>>> batches) {
+        var events = batches.stream().flatMap(List::stream).toList();
+        var processInstanceIds = batches
+            .stream()
+            .map(this::resolveProcessInstanceId)
+            .flatMap(Optional::stream)
+            .distinct()
+            .toList();
+
+        if (!processInstanceIds.isEmpty()) {
+            fetchEntityGraph(processInstanceIds, events);
+        }
+
+        Set<CloudRuntimeEvent<?, ?>> coalescedEvents = Collections.newSetFromMap(new IdentityHashMap<>());
+        coalescedEvents.addAll(coalesce(events));
+
+        return batches
+            .stream()
+            .map(batch -> sort(batch.stream().filter(coalescedEvents::contains).collect(Collectors.toList())))
+            .flatMap(List::stream)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Sorts the events by class then timestamp. A variable deleted and then created again is deleted along with
+     * the created variables, as otherwise it would be created before being deleted.
+     */
+    protected List<CloudRuntimeEvent<?, ?>> sort(List<CloudRuntimeEvent<?, ?>> events) {
+        Set<CloudRuntimeEvent<?, ?>> recreatedVariables = findRecreatedVariables(events);
+        if (recreatedVariables.isEmpty()) {
+            return events.stream().sorted(byEventClass.thenComparing(byTimestamp)).collect(Collectors.toList());
+        }
+
+        Comparator<CloudRuntimeEvent<?, ?>> byEventOrder = Comparator.comparing(event ->
+            recreatedVariables.contains(event) ? order.get(CloudVariableCreatedEventImpl.class) : orderOf(event)
+        );
+        return events.stream().sorted(byEventOrder.thenComparing(byTimestamp)).collect(Collectors.toList());
+    }
+
+    private Integer orderOf(CloudRuntimeEvent<?, ?> event) {
+        return Optional.ofNullable(order.get(event.getClass())).orElseGet(() -> order.get(CloudRuntimeEvent.class));
+    }
+
+    /**
+     * @return the variable deleted events followed by a variable created event of the same variable
+     */
+    private Set<CloudRuntimeEvent<?, ?>> findRecreatedVariables(List<CloudRuntimeEvent<?, ?>> events) {
+        Map<VariableKey, CloudRuntimeEvent<?, ?>> deletedEvents = new HashMap<>();
+        Set<CloudRuntimeEvent<?, ?>> recreatedVariables = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (CloudRuntimeEvent<?, ?> event : events) {
+            if (event.getEventType() == VariableEvent.VariableEvents.VARIABLE_DELETED) {
+                deletedEvents.put(VariableKey.of((VariableInstance) event.getEntity()), event);
+            } else if (event.getEventType() == VariableEvent.VariableEvents.VARIABLE_CREATED) {
+                Optional
+                    .ofNullable(deletedEvents.remove(VariableKey.of((VariableInstance) event.getEntity())))
+                    .ifPresent(recreatedVariables::add);
+            }
+        }
+        return recreatedVariables;
+    }
+
+    /**
+     * Folds superseded events of the same entity, so that they are not dispatched to the event handlers:
+     * <ul>
+     *     <li>process updated, task updated, task assigned and variable updated events are overwritten by
+     *     a later event of the same type for the same entity, so only the last one is kept;</li>
+     *     <li>a variable updated and later deleted is only deleted, so its updated events are dropped;</li>
+     *     <li>a variable created and later deleted in the same events is a no-op, so its created, updated
+     *     and deleted events are dropped. A variable deleted and then created again is still deleted, and
+     *     created again.</li>
+     * </ul>
+     * Events must be in the order they have been received, so that a later event is known to supersede an
+     * earlier one.
+     */
+    protected List<CloudRuntimeEvent<?, ?>> coalesce(List<CloudRuntimeEvent<?, ?>> events) {
+        Map<Object, Integer> lastIndexes = new HashMap<>();
+        Map<VariableKey, Integer> createdIndexes = new HashMap<>();
+        Set<Integer> supersededIndexes = new HashSet<>();
+
+        for (int index = 0; index < events.size(); index++) {
+            CloudRuntimeEvent<?, ?> event = events.get(index);
+            Object supersedingKey = resolveSupersedingKey(event);
+
+            if (supersedingKey != null) {
+                Integer previousIndex = lastIndexes.put(supersedingKey, index);
+                if (previousIndex != null) {
+                    supersededIndexes.add(previousIndex);
+                }
+            }
+
+            if (event.getEventType() == VariableEvent.VariableEvents.VARIABLE_CREATED) {
+                createdIndexes.put(VariableKey.of((VariableInstance) event.getEntity()), index);
+            } else if (event.getEventType() == VariableEvent.VariableEvents.VARIABLE_DELETED) {
+                VariableKey variableKey = VariableKey.of((VariableInstance) event.getEntity());
+                Integer updatedIndex = lastIndexes.remove(variableKey);
+                if (updatedIndex != null) {
+                    supersededIndexes.add(updatedIndex);
+                }
+                Integer createdIndex = createdIndexes.remove(variableKey);
+                if (createdIndex != null) {
+                    IntStream
+                        .rangeClosed(createdIndex, index)
+                        .filter(variableIndex -> events.get(variableIndex) instanceof CloudVariableEvent)
+                        .filter(variableIndex ->
+                            variableKey.equals(VariableKey.of((VariableInstance) events.get(variableIndex).getEntity()))
+                        )
+                        .forEach(supersededIndexes::add);
+                }
+            }
+        }
+
+        if (supersededIndexes.isEmpty()) {
+            return events;
+        }
+
+        LOGGER.debug("Coalesced {} superseded events out of {}", supersededIndexes.size(), events.size());
+
+        return IntStream
+            .range(0, events.size())
+            .filter(index -> !supersededIndexes.contains(index))
+            .mapToObj(events::get)
+            .collect(Collectors.toList());
+    }
+
+    protected Object resolveSupersedingKey(CloudRuntimeEvent<?, ?> event) {
+        if (event.getEventType() == VariableEvent.VariableEvents.VARIABLE_UPDATED) {
+            return VariableKey.of((VariableInstance) event.getEntity());
+        } else if (
+            event.getEventType() == TaskRuntimeEvent.TaskEvents.TASK_UPDATED ||
+            event.getEventType() == TaskRuntimeEvent.TaskEvents.TASK_ASSIGNED
+        ) {
+            return List.of(event.getEventType(), ((Task) event.getEntity()).getId());
+        } else if (event.getEventType() == ProcessRuntimeEvent.ProcessEvents.PROCESS_UPDATED) {
+            return List.of(event.getEventType(), ((ProcessInstance) event.getEntity()).getId());
+        }
+        return null;
+    }
+
+    protected void fetchEntityGraph(List<String> processInstanceIds, List<CloudRuntimeEvent<?, ?>> events) {
+        LOGGER.debug("Building entity fetch graph for root process instances: {}", processInstanceIds);
+        var entityGraph = entityManager.createEntityGraph(ProcessInstanceEntity.class);
+
+        var criteriaBuilder = entityManager.getCriteriaBuilder();
+        var criteriaQuery = criteriaBuilder.createQuery(ProcessInstanceEntity.class);
+        var fromProcessInstance = criteriaQuery.from(ProcessInstanceEntity.class);
+        var whereProcessInstance = fromProcessInstance.get("id").in(processInstanceIds);
+
+        criteriaQuery.select(fromProcessInstance).where(whereProcessInstance);
+
+        // the process variable event handlers look up their single variable, so the variables are not fetched
+        findRuntimeEvents(events, CloudTaskRuntimeEvent.class, entity -> true, Task::getId)
+            .ifPresent(taskIds -> {
+                fetch(fromProcessInstance, entityGraph, TASKS, "id", taskIds);
+            });
+
+        findRuntimeEvents(
+            events,
+            CloudBPMNActivityEvent.class,
+            entity -> true,
+            BPMNActivityEntity.IdBuilderHelper::from
+        )
+            .ifPresent(activityIds -> {
+                fetch(fromProcessInstance, entityGraph, ACTIVITIES, "id", activityIds);
+            });
+
+        findRuntimeEvents(
+            events,
+            CloudBPMNActivityEvent.class,
+            entity -> SERVICE_TASKS.equals(entity.getActivityType()),
+            BPMNActivityEntity.IdBuilderHelper::from
+        )
+            .ifPresent(serviceTaskIds -> {
+                fetch(fromProcessInstance, entityGraph, SERVICE_TASKS, "id", serviceTaskIds);
             });
 
-        return events.stream().sorted(byEventClass.thenComparing(byTimestamp)).collect(Collectors.toList());
+        var rootProcessInstances = entityManager
+            .createQuery(criteriaQuery)
+            .setHint(AvailableHints.HINT_SPEC_LOAD_GRAPH, entityGraph)
+            .getResultList();
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(
+                "Fetched entity graph attributes {} for process instances: {}",
+                entityGraph
+                    .getAttributeNodes()
+                    .stream()
+                    .map(AttributeNode::getAttributeName)
+                    .collect(Collectors.toList()),
+                rootProcessInstances.stream().map(ProcessInstanceEntity::getId).collect(Collectors.toList())
+            );
+        }
     }
 
     protected Optional<String> resolveProcessInstanceId(List<CloudRuntimeEvent<?, ?>> events) {
@@ -239,4 +385,14 @@ public class QueryEventHandlerContextOptimizer {
         var join = (Join<?, ?>) from.fetch(association);
         join.on(join.get(attribute).in(ids));
     }
+
+    private record VariableKey(boolean taskVariable, String scopeId, String name) {
+        static VariableKey of(VariableInstance variable) {
+            return new VariableKey(
+                variable.isTaskVariable(),
+                variable.isTaskVariable() ? variable.getTaskId() : variable.getProcessInstanceId(),
+                variable.getName()
+            );
+        }
+    }
 }
@@ -16,11 +16,16 @@
 package org.activiti.cloud.services.query.events.handlers;
 
 import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import jakarta.persistence.EntityManager;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
 import org.activiti.cloud.api.process.model.impl.events.CloudProcessCreatedEventImpl;
 import org.activiti.cloud.api.process.model.impl.events.CloudProcessStartedEventImpl;
@@ -66,4 +71,53 @@ public class QueryConsumerChannelHandlerTest {
         verify(eventHandlerContext).handle(processCreatedEvent, processStartedEvent);
         verify(entityManager).clear();
     }
+
+    @Test
+    public void receiveShouldRollbackProjectionWhenCancelledBeforeCommit() {
+        //given
+        CloudProcessCreatedEventImpl processCreatedEvent = new CloudProcessCreatedEventImpl();
+        List<CloudRuntimeEvent<?, ?>> events = List.of(processCreatedEvent);
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        when(optimizer.optimize(events)).thenReturn(events);
+        doAnswer(invocation -> {
+                cancelled.set(true);
+                return null;
+            })
+            .when(eventHandlerContext)
+            .handle(processCreatedEvent);
+
+        //when
+        Throwable thrown = catchThrowable(() ->
+            new TransactionTemplate(new PseudoTransactionManager())
+                .executeWithoutResult(tx -> consumer.receive(events, cancelled::get))
+        );
+
+        //then
+        assertThat(thrown).isInstanceOf(CancellationException.class);
+        verify(entityManager).clear();
+    }
+
+    @Test
+    public void receiveBatchesShouldHandleEventsOfAllMessages() {
+        //given
+        CloudProcessCreatedEventImpl processCreatedEvent = new CloudProcessCreatedEventImpl();
+        CloudProcessStartedEventImpl processStartedEvent = new CloudProcessStartedEventImpl();
+
+        List<List<CloudRuntimeEvent<?, ?>>> batches = asList(
+            List.of(processCreatedEvent),
+            List.of(processStartedEvent)
+        );
+
+        when(optimizer.optimizeBatches(batches)).thenReturn(asList(processCreatedEvent, processStartedEvent));
+
+        //when
+        new TransactionTemplate(new PseudoTransactionManager())
+            .executeWithoutResult(tx -> consumer.receiveBatches(batches));
+
+        //then
+        verify(optimizer).optimizeBatches(batches);
+        verify(eventHandlerContext).handle(processCreatedEvent, processStartedEvent);
+        verify(entityManager).clear();
+    }
 }
@@ -0,0 +1,315 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.handlers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import org.activiti.api.runtime.model.impl.ProcessInstanceImpl;
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.activiti.cloud.api.process.model.impl.events.CloudProcessCreatedEventImpl;
+import org.activiti.cloud.api.process.model.impl.events.CloudProcessStartedEventImpl;
+import org.activiti.cloud.services.query.app.QueryConsumerChannelHandler;
+import org.activiti.cloud.services.query.app.QueryConsumerProjectionExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+@ExtendWith(MockitoExtension.class)
+public class QueryConsumerProjectionExecutorTest {
+
+    @Mock
+    private QueryConsumerChannelHandler queryConsumerChannelHandler;
+
+    private QueryConsumerProjectionExecutor executor;
+
+    @BeforeEach
+    public void setUp() {
+        executor = new QueryConsumerProjectionExecutor(queryConsumerChannelHandler, 4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    public void receiveShouldDelegateEventsToChannelHandler() {
+        //given
+        List<CloudRuntimeEvent<?, ?>> events = List.of(
+            new CloudProcessCreatedEventImpl(processInstance("1")),
+            new CloudProcessStartedEventImpl(processInstance("1"))
+        );
+
+        //when
+        executor.receive(message(events));
+
+        //then
+        verify(queryConsumerChannelHandler).receive(eq(events), any());
+    }
+
+    @Test
+    public void receiveShouldPropagateProjectionFailure() {
+        //given
+        List<CloudRuntimeEvent<?, ?>> events = List.of(new CloudProcessCreatedEventImpl(processInstance("1")));
+        doThrow(new IllegalStateException("projection failed")).when(queryConsumerChannelHandler).receive(any(), any());
+
+        //then
+        assertThatThrownBy(() -> executor.receive(message(events)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("projection failed");
+    }
+
+    @Test
+    public void receiveShouldProjectPendingMessagesInSingleBatch() {
+        //given
+        TestProjectionExecutor batchingExecutor = new TestProjectionExecutor(2, Duration.ofSeconds(10));
+        List<CloudRuntimeEvent<?, ?>> first = List.of(new CloudProcessCreatedEventImpl(processInstance("1")));
+        List<CloudRuntimeEvent<?, ?>> second = List.of(new CloudProcessCreatedEventImpl(processInstance("2")));
+        CompletableFuture<Void> blockingProjection = projectWhileMessagesQueueUp(batchingExecutor, 2);
+
+        //when
+        CompletableFuture
+            .allOf(
+                blockingProjection,
+                CompletableFuture.runAsync(() -> batchingExecutor.receive(message(first))),
+                CompletableFuture.runAsync(() -> batchingExecutor.receive(message(second)))
+            )
+            .join();
+        batchingExecutor.destroy();
+
+        //then
+        verify(queryConsumerChannelHandler)
+            .receiveBatches(argThat(batches -> Set.copyOf(batches).equals(Set.of(first, second))), any());
+        verify(queryConsumerChannelHandler, never()).receive(eq(first), any());
+        verify(queryConsumerChannelHandler, never()).receive(eq(second), any());
+    }
+
+    @Test
+    public void receiveShouldProjectLoneMessageWithoutWaitingForBatch() {
+        //given
+        QueryConsumerProjectionExecutor batchingExecutor = new QueryConsumerProjectionExecutor(
+            queryConsumerChannelHandler,
+            1,
+            2,
+            Duration.ofSeconds(10)
+        );
+        List<CloudRuntimeEvent<?, ?>> events = List.of(new CloudProcessCreatedEventImpl(processInstance("1")));
+
+        //when
+        CompletableFuture<Void> projection = CompletableFuture.runAsync(() -> batchingExecutor.receive(message(events))
+        );
+
+        //then the projection does not wait for the 10s max wait
+        assertThat(projection).succeedsWithin(Duration.ofSeconds(2));
+        verify(queryConsumerChannelHandler).receive(eq(events), any());
+        batchingExecutor.destroy();
+    }
+
+    @Test
+    public void receiveShouldReplayMessagesOneByOneWhenBatchFails() {
+        //given
+        TestProjectionExecutor batchingExecutor = new TestProjectionExecutor(2, Duration.ofSeconds(10));
+        List<CloudRuntimeEvent<?, ?>> first = List.of(new CloudProcessCreatedEventImpl(processInstance("1")));
+        List<CloudRuntimeEvent<?, ?>> second = List.of(new CloudProcessCreatedEventImpl(processInstance("2")));
+        doThrow(new IllegalStateException("batch failed"))
+            .when(queryConsumerChannelHandler)
+            .receiveBatches(any(), any());
+        doThrow(new IllegalStateException("projection failed"))
+            .when(queryConsumerChannelHandler)
+            .receive(eq(second), any());
+        CompletableFuture<Void> blockingProjection = projectWhileMessagesQueueUp(batchingExecutor, 2);
+
+        //when
+        CompletableFuture<Void> firstProjection = CompletableFuture.runAsync(() ->
+            batchingExecutor.receive(message(first))
+        );
+        CompletableFuture<Void> secondProjection = CompletableFuture.runAsync(() ->
+            batchingExecutor.receive(message(second))
+        );
+
+        //then
+        assertThat(blockingProjection).succeedsWithin(Duration.ofSeconds(10));
+        assertThat(firstProjection).succeedsWithin(Duration.ofSeconds(10));
+        assertThat(secondProjection).failsWithin(Duration.ofSeconds(10));
+        verify(queryConsumerChannelHandler)
+            .receiveBatches(argThat(batches -> Set.copyOf(batches).equals(Set.of(first, second))), any());
+        verify(queryConsumerChannelHandler).receive(eq(first), any());
+        verify(queryConsumerChannelHandler).receive(eq(second), any());
+        batchingExecutor.destroy();
+    }
+
+    @Test
+    public void shouldShardEventsOfSameProcessInstanceOnSameWorker() {
+        //given
+        List<CloudRuntimeEvent<?, ?>> created = List.of(new CloudProcessCreatedEventImpl(processInstance("1")));
+        List<CloudRuntimeEvent<?, ?>> started = List.of(new CloudProcessStartedEventImpl(processInstance("1")));
+        TestProjectionExecutor testProjectionExecutor = new TestProjectionExecutor();
+
+        //then
+        assertThat(testProjectionExecutor.resolveWorker(null, created))
+            .isEqualTo(testProjectionExecutor.resolveWorker(null, started));
+        testProjectionExecutor.destroy();
+    }
+
+    @Test
+    public void shouldShardEventsOfSubProcessesOnWorkerOfRootProcessInstance() {
+        //given
+        TestProjectionExecutor testProjectionExecutor = new TestProjectionExecutor();
+        String rootProcessInstanceId = "root";
+        int rootWorker = testProjectionExecutor.resolveWorker(
+            rootProcessInstanceId,
+            List.of(new CloudProcessStartedEventImpl(processInstance(rootProcessInstanceId)))
+        );
+
+        //then
+        IntStream
+            .range(0, 20)
+            .mapToObj(id ->
+                List.<CloudRuntimeEvent<?, ?>>of(new CloudProcessCreatedEventImpl(processInstance("sub" + id)))
+            )
+            .forEach(subProcessEvents ->
+                assertThat(testProjectionExecutor.resolveWorker(rootProcessInstanceId, subProcessEvents))
+                    .isEqualTo(rootWorker)
+            );
+        testProjectionExecutor.destroy();
+    }
+
+    @Test
+    public void receiveShouldNotProjectMessageWhenConsumerIsInterrupted() throws Exception {
+        //given
+        TestProjectionExecutor singleWorkerExecutor = new TestProjectionExecutor(1, Duration.ZERO);
+        List<CloudRuntimeEvent<?, ?>> blocking = List.of(new CloudProcessCreatedEventImpl(processInstance("0")));
+        List<CloudRuntimeEvent<?, ?>> interrupted = List.of(new CloudProcessCreatedEventImpl(processInstance("1")));
+        CountDownLatch projectionStarted = new CountDownLatch(1);
+        CountDownLatch releaseProjection = new CountDownLatch(1);
+        doAnswer(invocation -> {
+                projectionStarted.countDown();
+                releaseProjection.await();
+                return null;
+            })
+            .when(queryConsumerChannelHandler)
+            .receive(eq(blocking), any());
+        CompletableFuture<Void> blockingProjection = CompletableFuture.runAsync(() ->
+            singleWorkerExecutor.receive(message(blocking))
+        );
+        assertThat(projectionStarted.await(10, TimeUnit.SECONDS)).isTrue();
+        AtomicReference<Throwable> consumerFailure = new AtomicReference<>();
+        Thread consumer = new Thread(() -> {
+            try {
+                singleWorkerExecutor.receive(message(interrupted));
+            } catch (RuntimeException e) {
+                consumerFailure.set(e);
+            }
+        });
+        consumer.start();
+        while (singleWorkerExecutor.getPendingProjections() < 1) {
+            Thread.sleep(10);
+        }
+
+        //when
+        consumer.interrupt();
+        consumer.join(10_000);
+        releaseProjection.countDown();
+
+        //then
+        assertThat(consumerFailure.get()).isInstanceOf(IllegalStateException.class);
+        assertThat(blockingProjection).succeedsWithin(Duration.ofSeconds(10));
+        verify(queryConsumerChannelHandler, after(500).never()).receive(eq(interrupted), any());
+        singleWorkerExecutor.destroy();
+    }
+
+    private Message<List<CloudRuntimeEvent<?, ?>>> message(List<CloudRuntimeEvent<?, ?>> events) {
+        return MessageBuilder
+            .withPayload(events)
+            .setHeader(
+                QueryConsumerProjectionExecutor.ROOT_PROCESS_INSTANCE_ID_HEADER,
+                events.get(0).getProcessInstanceId()
+            )
+            .build();
+    }
+
+    private CompletableFuture<Void> projectWhileMessagesQueueUp(TestProjectionExecutor executor, int messages) {
+        List<CloudRuntimeEvent<?, ?>> blocking = List.of(new CloudProcessCreatedEventImpl(processInstance("0")));
+        CountDownLatch projectionStarted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+                projectionStarted.countDown();
+                while (executor.getPendingProjections() < messages) {
+                    Thread.sleep(10);
+                }
+                return null;
+            })
+            .when(queryConsumerChannelHandler)
+            .receive(eq(blocking), any());
+
+        CompletableFuture<Void> projection = CompletableFuture.runAsync(() -> executor.receive(message(blocking)));
+        try {
+            assertThat(projectionStarted.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return projection;
+    }
+
+    private ProcessInstanceImpl processInstance(String id) {
+        ProcessInstanceImpl processInstance = new ProcessInstanceImpl();
+        processInstance.setId(id);
+        return processInstance;
+    }
+
+    private class TestProjectionExecutor extends QueryConsumerProjectionExecutor {
+
+        TestProjectionExecutor() {
+            super(queryConsumerChannelHandler, 4);
+        }
+
+        TestProjectionExecutor(int maxBatchSize, Duration maxBatchWait) {
+            super(queryConsumerChannelHandler, 1, maxBatchSize, maxBatchWait);
+        }
+
+        @Override
+        public int resolveWorker(String rootProcessInstanceId, List<CloudRuntimeEvent<?, ?>> events) {
+            return super.resolveWorker(rootProcessInstanceId, events);
+        }
+
+        @Override
+        public int getPendingProjections() {
+            return super.getPendingProjections();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.handlers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import org.activiti.api.runtime.model.impl.VariableInstanceImpl;
+import org.activiti.api.task.model.Task;
+import org.activiti.api.task.model.impl.TaskImpl;
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.activiti.cloud.api.model.shared.impl.events.CloudVariableCreatedEventImpl;
+import org.activiti.cloud.api.model.shared.impl.events.CloudVariableDeletedEventImpl;
+import org.activiti.cloud.api.model.shared.impl.events.CloudVariableUpdatedEventImpl;
+import org.activiti.cloud.api.task.model.impl.events.CloudTaskAssignedEventImpl;
+import org.activiti.cloud.api.task.model.impl.events.CloudTaskUpdatedEventImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class QueryEventHandlerContextOptimizerTest {
+
+    @InjectMocks
+    private QueryEventHandlerContextOptimizer optimizer;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Test
+    public void coalesceShouldKeepOnlyLastVariableUpdate() {
+        //given
+        var created = new CloudVariableCreatedEventImpl(variable("var", "v0"));
+        var firstUpdate = new CloudVariableUpdatedEventImpl<>(variable("var", "v1"), "v0");
+        var otherUpdate = new CloudVariableUpdatedEventImpl<>(variable("other", "o1"), "o0");
+        var lastUpdate = new CloudVariableUpdatedEventImpl<>(variable("var", "v2"), "v1");
+
+        //when
+        List<CloudRuntimeEvent<?, ?>> events = optimizer.coalesce(
+            List.of(created, firstUpdate, otherUpdate, lastUpdate)
+        );
+
+        //then
+        assertThat(events).containsExactly(created, otherUpdate, lastUpdate);
+    }
+
+    @Test
+    public void coalesceShouldDropVariableCreatedAndDeletedInSameEvents() {
+        //given
+        var created = new CloudVariableCreatedEventImpl(variable("var", "v0"));
+        var updated = new CloudVariableUpdatedEventImpl<>(variable("var", "v1"), "v0");
+        var otherCreated = new CloudVariableCreatedEventImpl(variable("other", "o0"));
+        var deleted = new CloudVariableDeletedEventImpl(variable("var", "v1"));
+
+        //when
+        List<CloudRuntimeEvent<?, ?>> events = optimizer.coalesce(List.of(created, updated, otherCreated, deleted));
+
+        //then
+        assertThat(events).containsExactly(otherCreated);
+    }
+
+    @Test
+    public void coalesceShouldKeepOnlyDeletedEventOfPreviouslyCreatedVariable() {
+        //given
+        var updated = new CloudVariableUpdatedEventImpl<>(variable("var", "v1"), "v0");
+        var deleted = new CloudVariableDeletedEventImpl(variable("var", "v1"));
+
+        //when
+        List<CloudRuntimeEvent<?, ?>> events = optimizer.coalesce(List.of(updated, deleted));
+
+        //then
+        assertThat(events).containsExactly(deleted);
+    }
+
+    @Test
+    public void coalesceShouldKeepVariableDeletedAndCreatedAgain() {
+        //given
+        var updated = new CloudVariableUpdatedEventImpl<>(variable("var", "v1"), "v0");
+        var deleted = new CloudVariableDeletedEventImpl(variable("var", "v1"));
+        var created = new CloudVariableCreatedEventImpl(variable("var", "v2"));
+
+        //when
+        List<CloudRuntimeEvent<?, ?>> events = optimizer.coalesce(List.of(updated, deleted, created));
+
+        //then
+        assertThat(events).containsExactly(deleted, created);
+    }
+
+    @Test
+    public void sortShouldKeepVariableDeletedBeforeCreatedAgain() {
+        //given
+        var deleted = new CloudVariableDeletedEventImpl(variable("var", "v1"));
+        var otherUpdated = new CloudVariableUpdatedEventImpl<>(variable("other", "o1"), "o0");
+        var created = new CloudVariableCreatedEventImpl(variable("var", "v2"));
+
+        //when
+        List<CloudRuntimeEvent<?, ?>> events = optimizer.sort(List.of(deleted, otherUpdated, created));
+
+        //then
+        assertThat(events).containsExactly(deleted, created, otherUpdated);
+    }
+
+    @Test
+    public void coalesceShouldKeepOnlyVariableCreatedAgainAfterCreatedAndDeleted() {
+        //given
+        var created = new CloudVariableCreatedEventImpl(variable("var", "v0"));
+        var deleted = new CloudVariableDeletedEventImpl(variable("var", "v0"));
+        var createdAgain = new CloudVariableCreatedEventImpl(variable("var", "v1"));
+
+        //when
+        List<CloudRuntimeEvent<?, ?>> events = optimizer.coalesce(List.of(created, deleted, createdAgain));
+
+        //then
+        assertThat(events).containsExactly(createdAgain);
+    }
+
+    @Test
+    public void coalesceShouldKeepLastTaskUpdateOfEachType() {
+        //given
+        var firstUpdate = new CloudTaskUpdatedEventImpl(task("task", "first"));
+        var firstAssignment = new CloudTaskAssignedEventImpl(task("task", "first"));
+        var otherTaskUpdate = new CloudTaskUpdatedEventImpl(task("other", "other"));
+        var lastUpdate = new CloudTaskUpdatedEventImpl(task("task", "last"));
+        var lastAssignment = new CloudTaskAssignedEventImpl(task("task", "last"));
+
+        //when
+        List<CloudRuntimeEvent<?, ?>> events = optimizer.coalesce(
+            List.of(firstUpdate, firstAssignment, otherTaskUpdate, lastUpdate, lastAssignment)
+        );
+
+        //then
+        assertThat(events).containsExactly(otherTaskUpdate, lastUpdate, lastAssignment);
+    }
+
+    private VariableInstanceImpl<String> variable(String name, String value) {
+        return new VariableInstanceImpl<>(name, "string", value, "procInstId", null);
+    }
+
+    private TaskImpl task(String id, String name) {
+        return new TaskImpl(id, name, Task.TaskStatus.ASSIGNED);
+    }
+}
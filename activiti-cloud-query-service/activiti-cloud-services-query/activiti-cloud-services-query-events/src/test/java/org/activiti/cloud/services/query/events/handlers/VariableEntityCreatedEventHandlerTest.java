@@ -16,7 +16,9 @@
 package org.activiti.cloud.services.query.events.handlers;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -62,8 +64,10 @@ public class VariableEntityCreatedEventHandlerTest {
         event.setVariableDefinitionId("variableDefId");
 
         ProcessInstanceEntity processInstanceEntity = new ProcessInstanceEntity();
-        when(entityManagerFinder.findProcessInstanceWithVariables(event.getEntity().getProcessInstanceId()))
-            .thenReturn(Optional.of(processInstanceEntity));
+        when(entityManager.find(ProcessInstanceEntity.class, event.getEntity().getProcessInstanceId()))
+            .thenReturn(processInstanceEntity);
+        when(entityManagerFinder.findProcessVariable(event.getEntity().getProcessInstanceId(), "var"))
+            .thenReturn(Optional.empty());
 
         //when
         processVariableCreatedEventHandler.handle(event);
@@ -83,6 +87,25 @@ public class VariableEntityCreatedEventHandlerTest {
             .isNotTaskVariable()
             .hasProcessInstance(processInstanceEntity)
             .hasVariableDefinitionId("variableDefId");
+        assertThat(processInstanceEntity.getVariables()).containsExactly(variableEntity);
+    }
+
+    @Test
+    public void handleShouldNotCreateProcessInstanceVariableWhenItAlreadyExists() {
+        //given
+        CloudVariableCreatedEventImpl event = new CloudVariableCreatedEventImpl(buildVariable());
+
+        when(entityManager.find(ProcessInstanceEntity.class, event.getEntity().getProcessInstanceId()))
+            .thenReturn(new ProcessInstanceEntity());
+        when(entityManagerFinder.findProcessVariable(event.getEntity().getProcessInstanceId(), "var"))
+            .thenReturn(Optional.of(new ProcessVariableEntity()));
+
+        //when
+        processVariableCreatedEventHandler.handle(event);
+
+        //then
+        verify(entityManager, never()).persist(any());
+        verify(entityManagerFinder, never()).findProcessInstanceWithVariables(any());
     }
 
     private static VariableInstanceImpl<String> buildVariable() {
@@ -16,14 +16,15 @@
 package org.activiti.cloud.services.query.events.handlers;
 
 import static org.activiti.test.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
 
 import jakarta.persistence.EntityManager;
 import java.util.Date;
 import java.util.Optional;
-import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
 import org.activiti.cloud.services.query.model.ProcessVariableEntity;
+import org.activiti.cloud.services.query.model.QueryException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -48,11 +49,8 @@ public class VariableEntityUpdaterTest {
         ProcessVariableEntity currentVariableEntity = new ProcessVariableEntity();
         currentVariableEntity.setName("var");
 
-        ProcessInstanceEntity processInstanceEntity = new ProcessInstanceEntity();
-        processInstanceEntity.getVariables().add(currentVariableEntity);
-
-        given(entityManagerFinder.findProcessInstanceWithVariables("procInstId"))
-            .willReturn(Optional.of(processInstanceEntity));
+        given(entityManagerFinder.findProcessVariable("procInstId", "var"))
+            .willReturn(Optional.of(currentVariableEntity));
         Date now = new Date();
         ProcessVariableEntity updatedVariableEntity = new ProcessVariableEntity();
         updatedVariableEntity.setName("var");
@@ -69,4 +67,18 @@ public class VariableEntityUpdaterTest {
 
         verify(entityManager).persist(currentVariableEntity);
     }
+
+    @Test
+    public void updateShouldThrowNotFoundMessageWhenVariableIsMissing() {
+        //given
+        given(entityManagerFinder.findProcessVariable("procInstId", "var")).willReturn(Optional.empty());
+        ProcessVariableEntity updatedVariableEntity = new ProcessVariableEntity();
+        updatedVariableEntity.setName("var");
+        updatedVariableEntity.setProcessInstanceId("procInstId");
+
+        //then
+        assertThatThrownBy(() -> updater.update(updatedVariableEntity, "error"))
+            .isInstanceOf(QueryException.class)
+            .hasMessage("error");
+    }
 }
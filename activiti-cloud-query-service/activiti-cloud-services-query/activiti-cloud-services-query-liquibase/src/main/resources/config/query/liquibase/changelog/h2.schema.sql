@@ -314,3 +314,4 @@ create index idx_task_owner on task(owner);
 create index idx_process_instance_initiator on process_instance(initiator);
 CREATE INDEX idx_task_process_var_taskId_processVarId ON task_process_variable (task_id, process_variable_id);
 CREATE INDEX idx_task_createdDate ON task (created_date);
+CREATE INDEX idx_proc_var_processInstanceId_name ON process_variable (process_instance_id, name);
@@ -42,6 +42,7 @@ import org.hibernate.annotations.ParamDef;
         @Index(name = "proc_var_processInstanceId_idx", columnList = "processInstanceId", unique = false),
         @Index(name = "proc_var_name_idx", columnList = "name", unique = false),
         @Index(name = "proc_var_executionId_idx", columnList = "executionId", unique = false),
+        @Index(name = "idx_proc_var_processInstanceId_name", columnList = "processInstanceId,name", unique = false),
     }
 )
 @DynamicInsert
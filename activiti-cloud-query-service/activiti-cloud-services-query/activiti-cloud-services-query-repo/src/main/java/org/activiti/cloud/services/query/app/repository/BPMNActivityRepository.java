@@ -22,11 +22,13 @@ import java.util.List;
 import org.activiti.cloud.api.process.model.CloudBPMNActivity;
 import org.activiti.cloud.services.query.model.BPMNActivityEntity;
 import org.activiti.cloud.services.query.model.QBPMNActivityEntity;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.querydsl.binding.QuerydslBinderCustomizer;
 import org.springframework.data.querydsl.binding.QuerydslBindings;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 
 public interface BPMNActivityRepository
     extends
@@ -48,6 +50,14 @@ public interface BPMNActivityRepository
 
     List<BPMNActivityEntity> findByProcessInstanceId(String processInstanceId);
 
+    @Query(
+        "select distinct new org.activiti.cloud.services.query.app.repository.BPMNActivityElementStatus(a.elementId, a.status) " +
+        "from BPMNActivity a where a.processInstanceId = :processInstanceId"
+    )
+    List<BPMNActivityElementStatus> findElementStatusesByProcessInstanceId(
+        @Param("processInstanceId") String processInstanceId
+    );
+
     BPMNActivityEntity findByProcessInstanceIdAndElementId(String processInstanceId, String elementId);
 
     BPMNActivityEntity findByProcessInstanceIdAndElementIdAndExecutionId(
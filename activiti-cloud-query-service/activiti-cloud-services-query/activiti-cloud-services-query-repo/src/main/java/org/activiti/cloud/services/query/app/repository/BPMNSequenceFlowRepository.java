@@ -21,11 +21,13 @@ import com.querydsl.core.types.dsl.StringPath;
 import java.util.List;
 import org.activiti.cloud.services.query.model.BPMNSequenceFlowEntity;
 import org.activiti.cloud.services.query.model.QBPMNSequenceFlowEntity;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.querydsl.binding.QuerydslBinderCustomizer;
 import org.springframework.data.querydsl.binding.QuerydslBindings;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 
 public interface BPMNSequenceFlowRepository
     extends
@@ -42,6 +44,9 @@ public interface BPMNSequenceFlowRepository
 
     List<BPMNSequenceFlowEntity> findByProcessInstanceId(String processInstanceId);
 
+    @Query("select distinct f.elementId from BPMNSequenceFlow f where f.processInstanceId = :processInstanceId")
+    List<String> findDistinctElementIdsByProcessInstanceId(@Param("processInstanceId") String processInstanceId);
+
     BPMNSequenceFlowEntity findByProcessInstanceIdAndElementId(String processInstanceId, String elementId);
 
     BPMNSequenceFlowEntity findByEventId(String eventId);
@@ -16,10 +16,12 @@
 package org.activiti.cloud.services.query.app.repository;
 
 import com.querydsl.core.types.Predicate;
+import java.util.List;
 import org.activiti.cloud.services.query.model.TaskEntity;
 import org.activiti.cloud.services.query.model.VariableValue;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 public interface CustomizedTaskRepository {
     Page<TaskEntity> findByVariableNameAndValue(
@@ -29,6 +31,17 @@ public interface CustomizedTaskRepository {
         Pageable pageable
     );
 
+    /**
+     * Fetches at most {@code limit} tasks sorted by the given sort, without counting the matching tasks.
+     */
+    List<TaskEntity> findByVariableNameAndValue(
+        String name,
+        VariableValue<?> value,
+        Predicate predicate,
+        Sort sort,
+        int limit
+    );
+
     Iterable<TaskEntity> findInProcessInstanceScope(Predicate predicate);
 
     Page<TaskEntity> findInProcessInstanceScope(Predicate predicate, Pageable pageable);
@@ -20,7 +20,6 @@ import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.jpa.JPQLQuery;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
-import jakarta.persistence.EntityManager;
 import java.util.List;
 import org.activiti.cloud.services.query.model.QProcessInstanceEntity;
 import org.activiti.cloud.services.query.model.QTaskEntity;
@@ -29,6 +28,7 @@ import org.activiti.cloud.services.query.model.TaskEntity;
 import org.activiti.cloud.services.query.model.VariableValue;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.support.Querydsl;
 import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
 import org.springframework.data.support.PageableExecutionUtils;
@@ -47,47 +47,76 @@ public class CustomizedTaskRepositoryImpl extends QuerydslRepositorySupport impl
         Predicate predicate,
         Pageable pageable
     ) {
+        Assert.notNull(pageable, "Pageable must not be null!");
+
+        List<String> taskIds = getQuerydsl()
+            .applyPagination(pageable, buildTaskIdsQuery(name, value, predicate))
+            .fetch();
+
+        // the count query is only executed when the size of the result cannot be inferred from the page
+        return PageableExecutionUtils.getPage(
+            fetchTasksWithVariable(name, value, taskIds, pageable.getSort()),
+            pageable,
+            () -> buildTaskIdsQuery(name, value, predicate).fetchCount()
+        );
+    }
+
+    @Override
+    public List<TaskEntity> findByVariableNameAndValue(
+        String name,
+        VariableValue<?> value,
+        Predicate predicate,
+        Sort sort,
+        int limit
+    ) {
+        Assert.notNull(sort, "Sort must not be null!");
+
+        JPQLQuery<String> taskIdsQuery = getQuerydsl()
+            .applySorting(sort, buildTaskIdsQuery(name, value, predicate))
+            .limit(limit);
+
+        return fetchTasksWithVariable(name, value, taskIdsQuery.fetch(), sort);
+    }
+
+    private JPAQuery<String> buildTaskIdsQuery(String name, VariableValue<?> value, Predicate predicate) {
         Assert.notNull(name, "name must not be null!");
         Assert.notNull(value, "value must not be null!");
         Assert.notNull(predicate, "Predicate must not be null!");
-        Assert.notNull(pageable, "Pageable must not be null!");
-
-        EntityManager entityManager = getEntityManager();
-        Querydsl querydsl = getQuerydsl();
-        JPAQueryFactory queryFactory = new JPAQueryFactory(entityManager);
 
         QTaskEntity taskEntity = QTaskEntity.taskEntity;
         QTaskVariableEntity variableEntity = QTaskVariableEntity.taskVariableEntity;
 
-        Predicate condition = variableEntity.name
-            .eq(name)
-            .and(Expressions.booleanTemplate("{0} = {1}", variableEntity.value, value));
-
-        JPAQuery<String> taskIdsQuery = queryFactory
+        return new JPAQueryFactory(getEntityManager())
             .query()
             .select(taskEntity.id)
             .from(taskEntity)
             .innerJoin(taskEntity.variables, variableEntity)
-            .on(condition)
+            .on(variableCondition(variableEntity, name, value))
             .where(predicate);
+    }
 
-        long totalElements = taskIdsQuery.fetchCount();
-
-        List<String> taskIds = querydsl.applyPagination(pageable, taskIdsQuery).fetch();
+    private List<TaskEntity> fetchTasksWithVariable(
+        String name,
+        VariableValue<?> value,
+        List<String> taskIds,
+        Sort sort
+    ) {
+        QTaskEntity taskEntity = QTaskEntity.taskEntity;
+        QTaskVariableEntity variableEntity = QTaskVariableEntity.taskVariableEntity;
 
-        JPQLQuery<TaskEntity> tasksQuery = queryFactory
+        JPQLQuery<TaskEntity> tasksQuery = new JPAQueryFactory(getEntityManager())
             .query()
             .select(taskEntity)
             .from(taskEntity)
             .innerJoin(taskEntity.variables, variableEntity)
-            .on(condition)
+            .on(variableCondition(variableEntity, name, value))
             .where(taskEntity.id.in(taskIds));
 
-        return PageableExecutionUtils.getPage(
-            querydsl.applySorting(pageable.getSort(), tasksQuery).fetch(),
-            pageable,
-            () -> totalElements
-        );
+        return getQuerydsl().applySorting(sort, tasksQuery).fetch();
+    }
+
+    private Predicate variableCondition(QTaskVariableEntity variableEntity, String name, VariableValue<?> value) {
+        return variableEntity.name.eq(name).and(Expressions.booleanTemplate("{0} = {1}", variableEntity.value, value));
     }
 
     @Override
@@ -106,14 +135,13 @@ public class CustomizedTaskRepositoryImpl extends QuerydslRepositorySupport impl
         final Querydsl querydsl = getQuerydsl();
 
         JPQLQuery<String> taskIdsQuery = buildLeftJoin(taskEntity).select(taskEntity.id).where(predicate);
-        final long totalElements = taskIdsQuery.fetchCount();
         List<String> taskIds = querydsl.applyPagination(pageable, taskIdsQuery).fetch();
         JPQLQuery<TaskEntity> tasks = buildLeftJoin(taskEntity).select(taskEntity).where(taskEntity.id.in(taskIds));
 
         return PageableExecutionUtils.getPage(
             querydsl.applySorting(pageable.getSort(), tasks).fetch(),
             pageable,
-            () -> totalElements
+            () -> buildLeftJoin(taskEntity).select(taskEntity.id).where(predicate).fetchCount()
         );
     }
 
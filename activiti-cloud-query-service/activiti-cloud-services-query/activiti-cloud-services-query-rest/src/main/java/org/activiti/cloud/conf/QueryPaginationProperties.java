@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.conf;
+
+import java.time.Duration;
+import org.activiti.cloud.alfresco.data.domain.CountStrategy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = QueryPaginationProperties.QUERY_PAGINATION_PREFIX)
+public class QueryPaginationProperties {
+
+    public static final String QUERY_PAGINATION_PREFIX = "activiti.cloud.query.pagination";
+
+    /**
+     * How the total number of elements of the task and process instance pages is obtained. The strategy used
+     * is exposed in the page metadata. Default is EXACT
+     */
+    private CountStrategy countStrategy = CountStrategy.EXACT;
+
+    /**
+     * Time to live of the counts cached by the CACHED count strategy. Default is 30s
+     */
+    private Duration countCacheTtl = Duration.ofSeconds(30);
+
+    /**
+     * Maximum number of counts cached by the CACHED count strategy. Default is 10000
+     */
+    private long countCacheMaxSize = 10000;
+
+    /**
+     * Number of matching rows counted exactly by the HAS_MORE count strategy, above which only a lower bound of
+     * the total number of elements is reported. Default is 0, so that nothing is counted
+     */
+    private int countThreshold = 0;
+
+    public QueryPaginationProperties() {
+        // default constructor
+    }
+
+    public CountStrategy getCountStrategy() {
+        return countStrategy;
+    }
+
+    public void setCountStrategy(CountStrategy countStrategy) {
+        this.countStrategy = countStrategy;
+    }
+
+    public Duration getCountCacheTtl() {
+        return countCacheTtl;
+    }
+
+    public void setCountCacheTtl(Duration countCacheTtl) {
+        this.countCacheTtl = countCacheTtl;
+    }
+
+    public long getCountCacheMaxSize() {
+        return countCacheMaxSize;
+    }
+
+    public void setCountCacheMaxSize(long countCacheMaxSize) {
+        this.countCacheMaxSize = countCacheMaxSize;
+    }
+
+    public int getCountThreshold() {
+        return countThreshold;
+    }
+
+    public void setCountThreshold(int countThreshold) {
+        this.countThreshold = countThreshold;
+    }
+}
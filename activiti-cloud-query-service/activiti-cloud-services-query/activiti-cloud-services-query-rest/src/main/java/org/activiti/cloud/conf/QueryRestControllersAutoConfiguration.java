@@ -15,6 +15,8 @@
  */
 package org.activiti.cloud.conf;
 
+import java.time.Duration;
+import org.activiti.cloud.services.query.ProcessDiagramCache;
 import org.activiti.cloud.services.query.ProcessDiagramGeneratorWrapper;
 import org.activiti.cloud.services.query.rest.ApplicationAdminController;
 import org.activiti.cloud.services.query.rest.ApplicationController;
@@ -42,6 +44,7 @@ import org.activiti.cloud.services.query.rest.TaskVariableAdminController;
 import org.activiti.cloud.services.query.rest.TaskVariableController;
 import org.activiti.image.ProcessDiagramGenerator;
 import org.activiti.image.impl.DefaultProcessDiagramGenerator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
@@ -97,6 +100,16 @@ public class QueryRestControllersAutoConfiguration {
         return new ProcessDiagramGeneratorWrapper(processDiagramGenerator);
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public ProcessDiagramCache processDiagramCache(
+        @Value("${activiti.diagram.cache.models-max-size:200}") long bpmnModelsMaxSize,
+        @Value("${activiti.diagram.cache.diagrams-max-size:1000}") long diagramsMaxSize,
+        @Value("${activiti.diagram.cache.diagrams-expire-after-access:PT10M}") Duration diagramsExpireAfterAccess
+    ) {
+        return new ProcessDiagramCache(bpmnModelsMaxSize, diagramsMaxSize, diagramsExpireAfterAccess);
+    }
+
     @Bean
     @ConditionalOnMissingBean
     RepositoryRestConfigurer dataRestRepositoryRestConfigurer() {
@@ -15,6 +15,7 @@
  */
 package org.activiti.cloud.conf;
 
+import jakarta.persistence.EntityManager;
 import org.activiti.api.runtime.shared.security.SecurityManager;
 import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
 import org.activiti.cloud.services.query.app.repository.EntityFinder;
@@ -37,6 +38,7 @@ import org.activiti.cloud.services.query.rest.assembler.ProcessInstanceVariableR
 import org.activiti.cloud.services.query.rest.assembler.ServiceTaskRepresentationModelAssembler;
 import org.activiti.cloud.services.query.rest.assembler.TaskRepresentationModelAssembler;
 import org.activiti.cloud.services.query.rest.assembler.TaskVariableRepresentationModelAssembler;
+import org.activiti.cloud.services.query.rest.pagination.PagedQueryExecutor;
 import org.activiti.cloud.services.query.rest.predicate.QueryDslPredicateAggregator;
 import org.activiti.cloud.services.security.ProcessDefinitionFilter;
 import org.activiti.cloud.services.security.ProcessDefinitionKeyBasedRestrictionBuilder;
@@ -50,11 +52,14 @@ import org.activiti.cloud.services.security.TaskLookupRestrictionService;
 import org.activiti.cloud.services.security.TaskVariableLookupRestrictionService;
 import org.activiti.core.common.spring.security.policies.SecurityPoliciesManager;
 import org.activiti.core.common.spring.security.policies.conf.SecurityPoliciesProperties;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 
 @AutoConfiguration
+@EnableConfigurationProperties(QueryPaginationProperties.class)
 public class QueryRestWebMvcAutoConfiguration {
 
     @Bean
@@ -198,6 +203,21 @@ public class QueryRestWebMvcAutoConfiguration {
         );
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public PagedQueryExecutor pagedQueryExecutor(
+        ObjectProvider<EntityManager> entityManager,
+        QueryPaginationProperties queryPaginationProperties
+    ) {
+        return new PagedQueryExecutor(
+            entityManager.getIfAvailable(),
+            queryPaginationProperties.getCountStrategy(),
+            queryPaginationProperties.getCountCacheTtl(),
+            queryPaginationProperties.getCountCacheMaxSize(),
+            queryPaginationProperties.getCountThreshold()
+        );
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public TaskControllerHelper taskControllerHelper(
@@ -206,7 +226,8 @@ public class QueryRestWebMvcAutoConfiguration {
         AlfrescoPagedModelAssembler<TaskEntity> pagedCollectionModelAssembler,
         TaskRepresentationModelAssembler taskRepresentationModelAssembler,
         TaskLookupRestrictionService taskLookupRestrictionService,
-        SecurityManager securityManager
+        SecurityManager securityManager,
+        PagedQueryExecutor pagedQueryExecutor
     ) {
         return new TaskControllerHelper(
             taskRepository,
@@ -215,7 +236,8 @@ public class QueryRestWebMvcAutoConfiguration {
             new QueryDslPredicateAggregator(),
             taskRepresentationModelAssembler,
             taskLookupRestrictionService,
-            securityManager
+            securityManager,
+            pagedQueryExecutor
         );
     }
 
@@ -245,9 +267,15 @@ public class QueryRestWebMvcAutoConfiguration {
     public ProcessInstanceSearchService processInstanceSearchService(
         ProcessInstanceRepository processInstanceRepository,
         ProcessVariableService processVariableService,
-        SecurityManager securityManager
+        SecurityManager securityManager,
+        PagedQueryExecutor pagedQueryExecutor
     ) {
-        return new ProcessInstanceSearchService(processInstanceRepository, processVariableService, securityManager);
+        return new ProcessInstanceSearchService(
+            processInstanceRepository,
+            processVariableService,
+            securityManager,
+            pagedQueryExecutor
+        );
     }
 
     @Bean
@@ -259,7 +287,8 @@ public class QueryRestWebMvcAutoConfiguration {
         ProcessInstanceRestrictionService processInstanceRestrictionService,
         SecurityPoliciesManager securityPoliciesApplicationService,
         SecurityManager securityManager,
-        EntityFinder entityFinder
+        EntityFinder entityFinder,
+        PagedQueryExecutor pagedQueryExecutor
     ) {
         return new ProcessInstanceService(
             processInstanceRepository,
@@ -268,7 +297,8 @@ public class QueryRestWebMvcAutoConfiguration {
             processInstanceRestrictionService,
             securityPoliciesApplicationService,
             securityManager,
-            entityFinder
+            entityFinder,
+            pagedQueryExecutor
         );
     }
 
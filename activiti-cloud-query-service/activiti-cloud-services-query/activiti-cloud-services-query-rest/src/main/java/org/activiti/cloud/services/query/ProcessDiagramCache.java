@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.activiti.bpmn.model.BpmnModel;
+
+/**
+ * Caches the parsed and laid out BPMN models by process definition id, as the model of a process definition
+ * never changes, and the rendered diagrams by process definition id and {@link ProcessDiagramState} digest.
+ * The state is read from the projection on every request, so a diagram is rendered again as soon as the
+ * projection of a new event changes the highlighted elements, while instances in the same state share it.
+ */
+public class ProcessDiagramCache {
+
+    private final Cache<String, BpmnModel> bpmnModels;
+
+    private final Cache<DiagramKey, String> diagrams;
+
+    public ProcessDiagramCache(long bpmnModelsMaxSize, long diagramsMaxSize, Duration diagramsExpireAfterAccess) {
+        this.bpmnModels = Caffeine.newBuilder().maximumSize(bpmnModelsMaxSize).build();
+        this.diagrams =
+            Caffeine.newBuilder().maximumSize(diagramsMaxSize).expireAfterAccess(diagramsExpireAfterAccess).build();
+    }
+
+    /**
+     * @param loader parses and lays out the model, called once per process definition
+     */
+    public BpmnModel getBpmnModel(String processDefinitionId, Function<String, BpmnModel> loader) {
+        return bpmnModels.get(processDefinitionId, loader);
+    }
+
+    public String getDiagram(String processDefinitionId, ProcessDiagramState state, Supplier<String> renderer) {
+        return diagrams.get(new DiagramKey(processDefinitionId, state.digest()), key -> renderer.get());
+    }
+
+    private record DiagramKey(String processDefinitionId, String stateDigest) {}
+}
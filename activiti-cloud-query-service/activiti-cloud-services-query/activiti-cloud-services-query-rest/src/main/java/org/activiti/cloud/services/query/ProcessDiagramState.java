@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Activity and sequence flow state of a process instance, as highlighted on its diagram.
+ */
+public record ProcessDiagramState(
+    List<String> completedActivities,
+    List<String> completedFlows,
+    List<String> currentActivities,
+    List<String> erroredActivities
+) {
+    public ProcessDiagramState {
+        completedActivities = sortedDistinct(completedActivities);
+        completedFlows = sortedDistinct(completedFlows);
+        currentActivities = sortedDistinct(currentActivities);
+        erroredActivities = sortedDistinct(erroredActivities);
+    }
+
+    /**
+     * @return a digest of the state, identical for any two instances highlighting the same elements
+     */
+    public String digest() {
+        String state = Stream
+            .of(completedActivities, completedFlows, currentActivities, erroredActivities)
+            .map(elementIds -> String.join(",", elementIds))
+            .reduce((left, right) -> left + "|" + right)
+            .orElse("");
+        return DigestUtils.md5DigestAsHex(state.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> sortedDistinct(List<String> elementIds) {
+        return elementIds.stream().distinct().sorted().toList();
+    }
+}
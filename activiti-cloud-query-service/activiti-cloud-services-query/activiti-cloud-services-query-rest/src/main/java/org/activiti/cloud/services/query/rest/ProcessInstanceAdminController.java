@@ -28,6 +28,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import org.activiti.cloud.alfresco.argument.resolver.CursorPagination;
 import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
 import org.activiti.cloud.api.process.model.CloudProcessInstance;
 import org.activiti.cloud.services.query.model.JsonViews;
@@ -148,7 +149,7 @@ public class ProcessInstanceAdminController {
     @PostMapping("/search")
     public PagedModel<EntityModel<CloudProcessInstance>> searchProcessInstances(
         @RequestBody ProcessInstanceSearchRequest searchRequest,
-        Pageable pageable
+        @CursorPagination Pageable pageable
     ) {
         return pagedCollectionModelAssembler.toModel(
             pageable,
@@ -25,6 +25,7 @@ import com.querydsl.core.types.Predicate;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import java.util.List;
+import org.activiti.cloud.alfresco.argument.resolver.CursorPagination;
 import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
 import org.activiti.cloud.api.process.model.CloudProcessInstance;
 import org.activiti.cloud.services.query.model.JsonViews;
@@ -112,7 +113,7 @@ public class ProcessInstanceController {
     @PostMapping("/search")
     public PagedModel<EntityModel<CloudProcessInstance>> searchProcessInstances(
         @RequestBody ProcessInstanceSearchRequest searchRequest,
-        Pageable pageable
+        @CursorPagination Pageable pageable
     ) {
         return pagedCollectionModelAssembler.toModel(
             pageable,
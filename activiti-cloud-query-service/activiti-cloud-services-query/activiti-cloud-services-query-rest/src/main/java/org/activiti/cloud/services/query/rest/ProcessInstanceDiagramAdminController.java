@@ -15,6 +15,7 @@
  */
 package org.activiti.cloud.services.query.rest;
 
+import org.activiti.cloud.services.query.ProcessDiagramCache;
 import org.activiti.cloud.services.query.ProcessDiagramGeneratorWrapper;
 import org.activiti.cloud.services.query.app.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,7 +32,8 @@ public class ProcessInstanceDiagramAdminController extends ProcessInstanceDiagra
         ProcessDiagramGeneratorWrapper processDiagramGenerator,
         ProcessInstanceRepository processInstanceRepository,
         BPMNActivityRepository bpmnActivityRepository,
-        EntityFinder entityFinder
+        EntityFinder entityFinder,
+        ProcessDiagramCache processDiagramCache
     ) {
         super(
             processModelRepository,
@@ -39,7 +41,8 @@ public class ProcessInstanceDiagramAdminController extends ProcessInstanceDiagra
             processDiagramGenerator,
             processInstanceRepository,
             bpmnActivityRepository,
-            entityFinder
+            entityFinder,
+            processDiagramCache
         );
     }
 
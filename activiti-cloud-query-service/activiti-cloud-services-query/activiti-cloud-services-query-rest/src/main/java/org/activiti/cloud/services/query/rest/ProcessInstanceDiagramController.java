@@ -16,6 +16,7 @@
 package org.activiti.cloud.services.query.rest;
 
 import org.activiti.api.runtime.shared.security.SecurityManager;
+import org.activiti.cloud.services.query.ProcessDiagramCache;
 import org.activiti.cloud.services.query.ProcessDiagramGeneratorWrapper;
 import org.activiti.cloud.services.query.app.repository.*;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
@@ -44,6 +45,7 @@ public class ProcessInstanceDiagramController extends ProcessInstanceDiagramCont
         ProcessInstanceRepository processInstanceRepository,
         BPMNActivityRepository bpmnActivityRepository,
         EntityFinder entityFinder,
+        ProcessDiagramCache processDiagramCache,
         SecurityPoliciesManager securityPoliciesManager,
         SecurityManager securityManager
     ) {
@@ -53,7 +55,8 @@ public class ProcessInstanceDiagramController extends ProcessInstanceDiagramCont
             processDiagramGenerator,
             processInstanceRepository,
             bpmnActivityRepository,
-            entityFinder
+            entityFinder,
+            processDiagramCache
         );
         this.securityPoliciesManager = securityPoliciesManager;
         this.securityManager = securityManager;
@@ -18,15 +18,15 @@ package org.activiti.cloud.services.query.rest;
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import org.activiti.bpmn.BpmnAutoLayout;
 import org.activiti.bpmn.model.BpmnModel;
-import org.activiti.cloud.api.process.model.CloudBPMNActivity;
 import org.activiti.cloud.api.process.model.CloudBPMNActivity.BPMNActivityStatus;
+import org.activiti.cloud.services.query.ProcessDiagramCache;
 import org.activiti.cloud.services.query.ProcessDiagramGeneratorWrapper;
+import org.activiti.cloud.services.query.ProcessDiagramState;
 import org.activiti.cloud.services.query.app.repository.*;
-import org.activiti.cloud.services.query.model.BPMNActivityEntity;
-import org.activiti.cloud.services.query.model.BPMNSequenceFlowEntity;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
 import org.activiti.cloud.services.query.model.ProcessModelEntity;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -47,6 +47,8 @@ public abstract class ProcessInstanceDiagramControllerBase {
 
     protected final ProcessDiagramGeneratorWrapper processDiagramGenerator;
 
+    protected final ProcessDiagramCache processDiagramCache;
+
     @Autowired
     public ProcessInstanceDiagramControllerBase(
         ProcessModelRepository processModelRepository,
@@ -54,7 +56,8 @@ public abstract class ProcessInstanceDiagramControllerBase {
         ProcessDiagramGeneratorWrapper processDiagramGenerator,
         ProcessInstanceRepository processInstanceRepository,
         BPMNActivityRepository bpmnActivityRepository,
-        EntityFinder entityFinder
+        EntityFinder entityFinder,
+        ProcessDiagramCache processDiagramCache
     ) {
         this.processInstanceRepository = processInstanceRepository;
         this.processModelRepository = processModelRepository;
@@ -62,66 +65,51 @@ public abstract class ProcessInstanceDiagramControllerBase {
         this.processDiagramGenerator = processDiagramGenerator;
         this.bpmnActivityRepository = bpmnActivityRepository;
         this.bpmnSequenceFlowRepository = bpmnSequenceFlowRepository;
+        this.processDiagramCache = processDiagramCache;
     }
 
     public String generateDiagram(String processInstanceId) {
         String processDefinitionId = resolveProcessDefinitionId(processInstanceId);
-        BpmnModel bpmnModel = getBpmnModel(processDefinitionId);
-
-        if (!bpmnModel.hasDiagramInterchangeInfo()) new BpmnAutoLayout(bpmnModel).execute();
-
-        List<String> highLightedActivities = resolveCompletedActivitiesIds(processInstanceId);
-        List<String> highLightedFlows = resolveCompletedFlows(bpmnModel, processInstanceId);
-        List<String> currentActivities = resolveStartedActivitiesIds(processInstanceId);
-        List<String> erroredActivities = resolveErroredActivitiesIds(processInstanceId);
-
-        return new String(
-            processDiagramGenerator.generateDiagram(
-                bpmnModel,
-                highLightedActivities,
-                highLightedFlows,
-                currentActivities,
-                erroredActivities
-            ),
-            StandardCharsets.UTF_8
-        );
-    }
-
-    protected List<String> resolveCompletedFlows(BpmnModel bpmnModel, String processInstanceId) {
-        List<String> completedFlows = bpmnSequenceFlowRepository
-            .findByProcessInstanceId(processInstanceId)
-            .stream()
-            .map(BPMNSequenceFlowEntity::getElementId)
-            .distinct()
-            .collect(Collectors.toList());
-        return completedFlows;
-    }
+        BpmnModel bpmnModel = processDiagramCache.getBpmnModel(processDefinitionId, this::getLaidOutBpmnModel);
+        ProcessDiagramState state = resolveDiagramState(processInstanceId);
 
-    protected List<String> resolveStartedActivitiesIds(String processInstanceId) {
-        return bpmnActivityRepository
-            .findByProcessInstanceIdAndStatus(processInstanceId, CloudBPMNActivity.BPMNActivityStatus.STARTED)
-            .stream()
-            .map(BPMNActivityEntity::getElementId)
-            .distinct()
-            .collect(Collectors.toList());
+        return processDiagramCache.getDiagram(processDefinitionId, state, () -> renderDiagram(bpmnModel, state));
     }
 
-    protected List<String> resolveCompletedActivitiesIds(String processInstanceId) {
-        return bpmnActivityRepository
-            .findByProcessInstanceIdAndStatus(processInstanceId, BPMNActivityStatus.COMPLETED)
+    protected ProcessDiagramState resolveDiagramState(String processInstanceId) {
+        Map<BPMNActivityStatus, List<String>> activitiesByStatus = bpmnActivityRepository
+            .findElementStatusesByProcessInstanceId(processInstanceId)
             .stream()
-            .map(BPMNActivityEntity::getElementId)
-            .distinct()
-            .collect(Collectors.toList());
+            .filter(elementStatus -> elementStatus.status() != null)
+            .collect(
+                Collectors.groupingBy(
+                    BPMNActivityElementStatus::status,
+                    Collectors.mapping(BPMNActivityElementStatus::elementId, Collectors.toList())
+                )
+            );
+
+        return new ProcessDiagramState(
+            activitiesByStatus.getOrDefault(BPMNActivityStatus.COMPLETED, List.of()),
+            bpmnSequenceFlowRepository.findDistinctElementIdsByProcessInstanceId(processInstanceId),
+            activitiesByStatus.getOrDefault(BPMNActivityStatus.STARTED, List.of()),
+            activitiesByStatus.getOrDefault(BPMNActivityStatus.ERROR, List.of())
+        );
     }
 
-    protected List<String> resolveErroredActivitiesIds(String processInstanceId) {
-        return bpmnActivityRepository
-            .findByProcessInstanceIdAndStatus(processInstanceId, BPMNActivityStatus.ERROR)
-            .stream()
-            .map(BPMNActivityEntity::getElementId)
-            .distinct()
-            .collect(Collectors.toList());
+    private String renderDiagram(BpmnModel bpmnModel, ProcessDiagramState state) {
+        // the model is shared by all the instances of the process definition and the generator adjusts its graphic info
+        synchronized (bpmnModel) {
+            return new String(
+                processDiagramGenerator.generateDiagram(
+                    bpmnModel,
+                    state.completedActivities(),
+                    state.completedFlows(),
+                    state.currentActivities(),
+                    state.erroredActivities()
+                ),
+                StandardCharsets.UTF_8
+            );
+        }
     }
 
     protected String resolveProcessDefinitionId(String processInstanceId) {
@@ -134,6 +122,14 @@ public abstract class ProcessInstanceDiagramControllerBase {
         return processInstanceEntity.getProcessDefinitionId();
     }
 
+    protected BpmnModel getLaidOutBpmnModel(String processDefinitionId) {
+        BpmnModel bpmnModel = getBpmnModel(processDefinitionId);
+        if (!bpmnModel.hasDiagramInterchangeInfo()) {
+            new BpmnAutoLayout(bpmnModel).execute();
+        }
+        return bpmnModel;
+    }
+
     protected BpmnModel getBpmnModel(String processDefinitionId) {
         ProcessModelEntity processModelEntity = entityFinder.findById(
             processModelRepository,
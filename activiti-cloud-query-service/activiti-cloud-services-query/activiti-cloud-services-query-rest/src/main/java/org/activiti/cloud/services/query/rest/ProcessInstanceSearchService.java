@@ -15,11 +15,17 @@
  */
 package org.activiti.cloud.services.query.rest;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 import org.activiti.api.runtime.shared.security.SecurityManager;
+import org.activiti.cloud.alfresco.argument.resolver.CursorPageRequest;
 import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
 import org.activiti.cloud.services.query.model.ProcessVariableKey;
+import org.activiti.cloud.services.query.rest.pagination.KeysetPagination;
+import org.activiti.cloud.services.query.rest.pagination.PagedQueryExecutor;
+import org.activiti.cloud.services.query.rest.payload.CloudRuntimeEntitySort;
 import org.activiti.cloud.services.query.rest.payload.ProcessInstanceSearchRequest;
 import org.activiti.cloud.services.query.rest.specification.ProcessInstanceSpecification;
 import org.springframework.data.domain.Page;
@@ -35,22 +41,29 @@ public class ProcessInstanceSearchService {
 
     private final SecurityManager securityManager;
 
+    private final PagedQueryExecutor pagedQueryExecutor;
+
     public ProcessInstanceSearchService(
         ProcessInstanceRepository processInstanceRepository,
         ProcessVariableService processVariableService,
-        SecurityManager securityManager
+        SecurityManager securityManager,
+        PagedQueryExecutor pagedQueryExecutor
     ) {
         this.processInstanceRepository = processInstanceRepository;
         this.processVariableService = processVariableService;
         this.securityManager = securityManager;
+        this.pagedQueryExecutor = pagedQueryExecutor;
     }
 
     @Transactional(readOnly = true)
     public Page<ProcessInstanceEntity> searchRestricted(ProcessInstanceSearchRequest searchRequest, Pageable pageable) {
+        String userId = securityManager.getAuthenticatedUserId();
         return search(
             searchRequest.processVariableKeys(),
+            searchRequest.sort(),
             pageable,
-            ProcessInstanceSpecification.restricted(searchRequest, securityManager.getAuthenticatedUserId())
+            ProcessInstanceSpecification.restricted(searchRequest, userId),
+            Arrays.asList(searchRequest, userId)
         );
     }
 
@@ -61,30 +74,60 @@ public class ProcessInstanceSearchService {
     ) {
         return search(
             searchRequest.processVariableKeys(),
+            searchRequest.sort(),
             pageable,
-            ProcessInstanceSpecification.unrestricted(searchRequest)
+            ProcessInstanceSpecification.unrestricted(searchRequest),
+            searchRequest
         );
     }
 
     /**
-     * @param processVariableKeys the process variables to fetch for each process instance, each represented by process definition key and variable name
-     * @param pageable the page request. N.B. the sort contained in this pageable will be ignored and the sort from the search request will be used instead
+     * @param processVariableKeys the process variables to fetch for each process instance, each represented by process
+     *                            definition key and variable name
+     * @param sort the sort from the search request, used to seek when the page request is a {@link CursorPageRequest}
+     * @param pageable the page request. N.B. the sort contained in this pageable will be ignored and the sort from the
+     *                 search request will be used instead
      * @param specification the specification to use for the search. It includes the sorting parameter.
+     * @param countKey the values the specification has been built from, used to cache the count of the search
      * @return the page of process instances
      */
     private Page<ProcessInstanceEntity> search(
         Set<ProcessVariableKey> processVariableKeys,
+        CloudRuntimeEntitySort sort,
         Pageable pageable,
-        ProcessInstanceSpecification specification
+        ProcessInstanceSpecification specification,
+        Object countKey
     ) {
-        Page<ProcessInstanceEntity> processInstances = processInstanceRepository.findAll(
-            specification,
-            PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())
-        );
+        Page<ProcessInstanceEntity> processInstances = pageable instanceof CursorPageRequest cursorPageRequest
+            ? findCursorPage(specification, sort, cursorPageRequest)
+            : pagedQueryExecutor.findAll(
+                processInstanceRepository,
+                ProcessInstanceEntity.class,
+                specification,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()),
+                countKey
+            );
         processVariableService.fetchProcessVariablesForProcessInstances(
             processInstances.getContent(),
             processVariableKeys
         );
         return processInstances;
     }
+
+    private Page<ProcessInstanceEntity> findCursorPage(
+        ProcessInstanceSpecification specification,
+        CloudRuntimeEntitySort sort,
+        CursorPageRequest cursorPageRequest
+    ) {
+        KeysetPagination keysetPagination = new KeysetPagination(
+            ProcessInstanceEntity.class,
+            KeysetPagination.resolveOrder(sort),
+            cursorPageRequest
+        );
+        List<ProcessInstanceEntity> processInstances = processInstanceRepository.findBy(
+            keysetPagination.seek(specification),
+            query -> query.limit(keysetPagination.getLimit()).all()
+        );
+        return keysetPagination.toPage(processInstances, cursorPageRequest);
+    }
 }
@@ -24,12 +24,14 @@ import jakarta.persistence.PersistenceContext;
 import java.util.List;
 import java.util.Optional;
 import org.activiti.api.runtime.shared.security.SecurityManager;
+import org.activiti.cloud.alfresco.data.domain.CountedPage;
 import org.activiti.cloud.services.query.app.repository.EntityFinder;
 import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
 import org.activiti.cloud.services.query.app.repository.TaskRepository;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
 import org.activiti.cloud.services.query.model.QProcessInstanceEntity;
 import org.activiti.cloud.services.query.model.QTaskEntity;
+import org.activiti.cloud.services.query.rest.pagination.PagedQueryExecutor;
 import org.activiti.cloud.services.query.rest.payload.ProcessInstanceSearchRequest;
 import org.activiti.cloud.services.security.ProcessInstanceRestrictionService;
 import org.activiti.core.common.spring.security.policies.ActivitiForbiddenException;
@@ -62,6 +64,8 @@ public class ProcessInstanceService {
 
     private final EntityFinder entityFinder;
 
+    private final PagedQueryExecutor pagedQueryExecutor;
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -72,7 +76,8 @@ public class ProcessInstanceService {
         ProcessInstanceRestrictionService processInstanceRestrictionService,
         SecurityPoliciesManager securityPoliciesApplicationService,
         SecurityManager securityManager,
-        EntityFinder entityFinder
+        EntityFinder entityFinder,
+        PagedQueryExecutor pagedQueryExecutor
     ) {
         this.processInstanceRepository = processInstanceRepository;
         this.taskRepository = taskRepository;
@@ -81,6 +86,7 @@ public class ProcessInstanceService {
         this.securityPoliciesApplicationService = securityPoliciesApplicationService;
         this.securityManager = securityManager;
         this.entityFinder = entityFinder;
+        this.pagedQueryExecutor = pagedQueryExecutor;
     }
 
     public Page<ProcessInstanceEntity> findAll(Predicate predicate, Pageable pageable) {
@@ -89,7 +95,12 @@ public class ProcessInstanceService {
             SecurityPolicyAccess.READ
         );
 
-        return processInstanceRepository.findAll(transformedPredicate, pageable);
+        return pagedQueryExecutor.findAll(
+            processInstanceRepository,
+            QProcessInstanceEntity.processInstanceEntity,
+            transformedPredicate,
+            pageable
+        );
     }
 
     @Transactional
@@ -105,6 +116,9 @@ public class ProcessInstanceService {
         var ids = processInstanceEntities.map(ProcessInstanceEntity::getId).toList();
         var result = processInstanceRepository.findByIdIsIn(ids, pageable.getSort());
 
+        if (processInstanceEntities instanceof CountedPage<ProcessInstanceEntity> countedPage) {
+            return new CountedPage<>(result, pageable, countedPage.getTotalElements(), countedPage.getCountStrategy());
+        }
         return new PageImpl<>(result, pageable, processInstanceEntities.getTotalElements());
     }
 
@@ -163,7 +177,12 @@ public class ProcessInstanceService {
         BooleanExpression expression = process.parentId.eq(processInstanceId);
         Predicate extendedPredicate = expression.and(transformedPredicate);
 
-        return processInstanceRepository.findAll(extendedPredicate, pageable);
+        return pagedQueryExecutor.findAll(
+            processInstanceRepository,
+            QProcessInstanceEntity.processInstanceEntity,
+            extendedPredicate,
+            pageable
+        );
     }
 
     @Transactional(readOnly = true)
@@ -30,6 +30,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import org.activiti.cloud.alfresco.argument.resolver.CursorPagination;
 import org.activiti.cloud.api.task.model.QueryCloudTask;
 import org.activiti.cloud.services.query.app.repository.EntityFinder;
 import org.activiti.cloud.services.query.app.repository.TaskRepository;
@@ -99,7 +100,7 @@ public class TaskAdminController {
             root = TaskEntity.class
         ) Predicate predicate,
         VariableSearch variableSearch,
-        Pageable pageable
+        @CursorPagination Pageable pageable
     ) {
         return taskControllerHelper.findAll(
             predicate,
@@ -130,7 +131,7 @@ public class TaskAdminController {
             defaultValue = ""
         ) List<String> processVariableKeys,
         VariableSearch variableSearch,
-        Pageable pageable
+        @CursorPagination Pageable pageable
     ) {
         return taskControllerHelper.findAllWithProcessVariables(
             predicate,
@@ -146,7 +147,7 @@ public class TaskAdminController {
     @PostMapping("/search")
     public PagedModel<EntityModel<QueryCloudTask>> searchTasks(
         @RequestBody TaskSearchRequest taskSearchRequest,
-        Pageable pageable
+        @CursorPagination Pageable pageable
     ) {
         return taskControllerHelper.searchTasksUnrestricted(taskSearchRequest, pageable);
     }
@@ -158,7 +159,7 @@ public class TaskAdminController {
         ) Predicate predicate,
         @RequestBody(required = false) TasksQueryBody payload,
         VariableSearch variableSearch,
-        Pageable pageable
+        @CursorPagination Pageable pageable
     ) {
         TasksQueryBody queryBody = Optional.ofNullable(payload).orElse(new TasksQueryBody());
 
@@ -30,6 +30,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.activiti.api.runtime.shared.security.SecurityManager;
+import org.activiti.cloud.alfresco.argument.resolver.CursorPagination;
 import org.activiti.cloud.api.task.model.QueryCloudTask;
 import org.activiti.cloud.api.task.model.QueryCloudTask.TaskPermissions;
 import org.activiti.cloud.services.query.app.repository.EntityFinder;
@@ -115,7 +116,7 @@ public class TaskController {
             root = TaskEntity.class
         ) Predicate predicate,
         VariableSearch variableSearch,
-        Pageable pageable
+        @CursorPagination Pageable pageable
     ) {
         return taskControllerHelper.findAll(
             predicate,
@@ -134,7 +135,7 @@ public class TaskController {
     @PostMapping("/search")
     public PagedModel<EntityModel<QueryCloudTask>> searchTasks(
         @RequestBody TaskSearchRequest taskSearchRequest,
-        Pageable pageable
+        @CursorPagination Pageable pageable
     ) {
         return taskControllerHelper.searchTasksRestricted(taskSearchRequest, pageable);
     }
@@ -158,7 +159,7 @@ public class TaskController {
             defaultValue = ""
         ) List<String> processVariableKeys,
         VariableSearch variableSearch,
-        Pageable pageable
+        @CursorPagination Pageable pageable
     ) {
         return taskControllerHelper.findAllWithProcessVariables(
             predicate,
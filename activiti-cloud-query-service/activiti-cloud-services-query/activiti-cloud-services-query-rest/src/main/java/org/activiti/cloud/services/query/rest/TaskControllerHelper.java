@@ -17,13 +17,19 @@
 package org.activiti.cloud.services.query.rest;
 
 import com.querydsl.core.types.Predicate;
+import java.util.Arrays;
 import java.util.List;
 import org.activiti.api.runtime.shared.security.SecurityManager;
+import org.activiti.cloud.alfresco.argument.resolver.CursorPageRequest;
 import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
 import org.activiti.cloud.api.task.model.QueryCloudTask;
 import org.activiti.cloud.services.query.app.repository.TaskRepository;
+import org.activiti.cloud.services.query.model.QTaskEntity;
 import org.activiti.cloud.services.query.model.TaskEntity;
 import org.activiti.cloud.services.query.rest.assembler.TaskRepresentationModelAssembler;
+import org.activiti.cloud.services.query.rest.pagination.KeysetPagination;
+import org.activiti.cloud.services.query.rest.pagination.PagedQueryExecutor;
+import org.activiti.cloud.services.query.rest.payload.CloudRuntimeEntitySort;
 import org.activiti.cloud.services.query.rest.payload.TaskSearchRequest;
 import org.activiti.cloud.services.query.rest.predicate.QueryDslPredicateAggregator;
 import org.activiti.cloud.services.query.rest.predicate.QueryDslPredicateFilter;
@@ -51,6 +57,8 @@ public class TaskControllerHelper {
 
     private final SecurityManager securityManager;
 
+    private final PagedQueryExecutor pagedQueryExecutor;
+
     public TaskControllerHelper(
         TaskRepository taskRepository,
         ProcessVariableService processVariableService,
@@ -58,7 +66,8 @@ public class TaskControllerHelper {
         QueryDslPredicateAggregator predicateAggregator,
         TaskRepresentationModelAssembler taskRepresentationModelAssembler,
         TaskLookupRestrictionService taskLookupRestrictionService,
-        SecurityManager securityManager
+        SecurityManager securityManager,
+        PagedQueryExecutor pagedQueryExecutor
     ) {
         this.taskRepository = taskRepository;
         this.processVariableService = processVariableService;
@@ -67,6 +76,7 @@ public class TaskControllerHelper {
         this.taskRepresentationModelAssembler = taskRepresentationModelAssembler;
         this.taskLookupRestrictionService = taskLookupRestrictionService;
         this.securityManager = securityManager;
+        this.pagedQueryExecutor = pagedQueryExecutor;
     }
 
     public PagedModel<EntityModel<QueryCloudTask>> findAll(
@@ -97,14 +107,13 @@ public class TaskControllerHelper {
         TaskSearchRequest taskSearchRequest,
         Pageable pageable
     ) {
+        String userId = securityManager.getAuthenticatedUserId();
+        List<String> userGroups = securityManager.getAuthenticatedUserGroups();
         return searchTasks(
             taskSearchRequest,
             pageable,
-            TaskSpecification.restricted(
-                taskSearchRequest,
-                securityManager.getAuthenticatedUserId(),
-                securityManager.getAuthenticatedUserGroups()
-            )
+            TaskSpecification.restricted(taskSearchRequest, userId, userGroups),
+            Arrays.asList(taskSearchRequest, userId, userGroups)
         );
     }
 
@@ -113,15 +122,23 @@ public class TaskControllerHelper {
         TaskSearchRequest taskSearchRequest,
         Pageable pageable
     ) {
-        return searchTasks(taskSearchRequest, pageable, TaskSpecification.unrestricted(taskSearchRequest));
+        return searchTasks(
+            taskSearchRequest,
+            pageable,
+            TaskSpecification.unrestricted(taskSearchRequest),
+            taskSearchRequest
+        );
     }
 
     private PagedModel<EntityModel<QueryCloudTask>> searchTasks(
         TaskSearchRequest taskSearchRequest,
         Pageable pageable,
-        TaskSpecification taskSpecification
+        TaskSpecification taskSpecification,
+        Object countKey
     ) {
-        Page<TaskEntity> tasks = taskRepository.findAll(taskSpecification, pageable);
+        Page<TaskEntity> tasks = pageable instanceof CursorPageRequest cursorPageRequest
+            ? findCursorPage(taskSpecification, taskSearchRequest.sort(), cursorPageRequest)
+            : pagedQueryExecutor.findAll(taskRepository, TaskEntity.class, taskSpecification, pageable, countKey);
         processVariableService.fetchProcessVariablesForTasks(
             tasks.getContent(),
             taskSearchRequest.processVariableKeys()
@@ -177,6 +194,9 @@ public class TaskControllerHelper {
         List<QueryDslPredicateFilter> filters
     ) {
         Predicate extendedPredicate = predicateAggregator.applyFilters(predicate, filters);
+        if (pageable instanceof CursorPageRequest cursorPageRequest) {
+            return findCursorPage(extendedPredicate, variableSearch, cursorPageRequest);
+        }
 
         Page<TaskEntity> page;
         if (variableSearch.isSet()) {
@@ -188,7 +208,7 @@ public class TaskControllerHelper {
                     pageable
                 );
         } else {
-            page = taskRepository.findAll(extendedPredicate, pageable);
+            page = pagedQueryExecutor.findAll(taskRepository, QTaskEntity.taskEntity, extendedPredicate, pageable);
         }
         return page;
     }
@@ -200,6 +220,9 @@ public class TaskControllerHelper {
         List<QueryDslPredicateFilter> filters
     ) {
         Predicate extendedPredicate = predicateAggregator.applyFilters(predicate, filters);
+        if (pageable instanceof CursorPageRequest cursorPageRequest) {
+            return findCursorPage(extendedPredicate, variableSearch, cursorPageRequest);
+        }
         if (variableSearch.isSet()) {
             return taskRepository.findByVariableNameAndValue(
                 variableSearch.getName(),
@@ -208,7 +231,56 @@ public class TaskControllerHelper {
                 pageable
             );
         } else {
-            return taskRepository.findAll(extendedPredicate, pageable);
+            return pagedQueryExecutor.findAll(taskRepository, QTaskEntity.taskEntity, extendedPredicate, pageable);
         }
     }
+
+    private Page<TaskEntity> findCursorPage(
+        Predicate predicate,
+        VariableSearch variableSearch,
+        CursorPageRequest cursorPageRequest
+    ) {
+        KeysetPagination keysetPagination = new KeysetPagination(
+            TaskEntity.class,
+            KeysetPagination.resolveOrder(cursorPageRequest.getSort()),
+            cursorPageRequest
+        );
+        Predicate seekPredicate = keysetPagination.seek(predicate, QTaskEntity.taskEntity);
+
+        List<TaskEntity> tasks;
+        if (variableSearch.isSet()) {
+            tasks =
+                taskRepository.findByVariableNameAndValue(
+                    variableSearch.getName(),
+                    variableSearch.getValue(),
+                    seekPredicate,
+                    keysetPagination.getSort(),
+                    keysetPagination.getLimit()
+                );
+        } else {
+            tasks =
+                taskRepository.findBy(
+                    seekPredicate,
+                    query -> query.sortBy(keysetPagination.getSort()).limit(keysetPagination.getLimit()).all()
+                );
+        }
+        return keysetPagination.toPage(tasks, cursorPageRequest);
+    }
+
+    private Page<TaskEntity> findCursorPage(
+        TaskSpecification taskSpecification,
+        CloudRuntimeEntitySort sort,
+        CursorPageRequest cursorPageRequest
+    ) {
+        KeysetPagination keysetPagination = new KeysetPagination(
+            TaskEntity.class,
+            KeysetPagination.resolveOrder(sort),
+            cursorPageRequest
+        );
+        List<TaskEntity> tasks = taskRepository.findBy(
+            keysetPagination.seek(taskSpecification),
+            query -> query.limit(keysetPagination.getLimit()).all()
+        );
+        return keysetPagination.toPage(tasks, cursorPageRequest);
+    }
 }
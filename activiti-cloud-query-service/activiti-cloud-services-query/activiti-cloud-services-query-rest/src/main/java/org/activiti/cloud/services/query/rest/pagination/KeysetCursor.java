@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.pagination;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Date;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Position of the last element of a page fetched using keyset pagination: the value of the sort property
+ * and the id used as tie-breaker. It is exchanged with clients as an opaque, URL safe token.
+ *
+ * @param field the sort property, {@code null} when sorting only by id
+ * @param direction the direction of the sort property
+ * @param value the value of the sort property for the last element of the page
+ * @param id the id of the last element of the page
+ */
+public record KeysetCursor(String field, Sort.Direction direction, Object value, String id) {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public static KeysetCursor decode(String token) {
+        try {
+            return OBJECT_MAPPER.readValue(Base64.getUrlDecoder().decode(token), KeysetCursor.class);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(OBJECT_MAPPER.writeValueAsBytes(this));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to encode cursor " + this, e);
+        }
+    }
+
+    /**
+     * @return true if this cursor has been produced by a request sorted by the given order
+     */
+    public boolean matches(Sort.Order order) {
+        if (order == null) {
+            return field == null;
+        }
+        return order.getProperty().equals(field) && order.getDirection() == direction;
+    }
+
+    /**
+     * Converts the JSON decoded sort value back to the type of the sort property.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public Object valueAs(Class<?> propertyType) {
+        Class<?> type = ClassUtils.resolvePrimitiveIfNecessary(propertyType);
+        if (value == null || type.isInstance(value)) {
+            return value;
+        }
+        if (Date.class.isAssignableFrom(type) && value instanceof Number number) {
+            return new Date(number.longValue());
+        }
+        if (type.isEnum()) {
+            return Enum.valueOf((Class<? extends Enum>) type, value.toString());
+        }
+        return DefaultConversionService.getSharedInstance().convert(value, type);
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.pagination;
+
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.ComparablePath;
+import com.querydsl.core.types.dsl.EntityPathBase;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.core.types.dsl.StringPath;
+import java.beans.PropertyDescriptor;
+import java.util.List;
+import org.activiti.cloud.alfresco.argument.resolver.CursorPageRequest;
+import org.activiti.cloud.alfresco.data.domain.CursorPage;
+import org.activiti.cloud.services.query.rest.payload.CloudRuntimeEntitySort;
+import org.activiti.cloud.services.query.rest.specification.KeysetSpecification;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Keyset (seek) pagination of a query sorted by a single property, using the entity id as tie-breaker.
+ * Instead of skipping the rows of the previous pages, the query seeks past the position encoded in the cursor,
+ * so that fetching a page costs the same regardless of its depth. No count query is executed: one extra row
+ * is fetched to know whether there is a next page.
+ */
+public class KeysetPagination {
+
+    private static final String ID = "id";
+
+    private final Class<?> entityClass;
+    private final Sort.Order order;
+    private final KeysetCursor cursor;
+    private final int pageSize;
+
+    /**
+     * @param entityClass the paged entity, which must have a string id property
+     * @param order the sort property, {@code null} to sort by id only
+     * @param pageRequest the requested page
+     */
+    public KeysetPagination(Class<?> entityClass, Sort.Order order, CursorPageRequest pageRequest) {
+        this.entityClass = entityClass;
+        this.order = order;
+        this.pageSize = pageRequest.getPageSize();
+        this.cursor = pageRequest.isFirstPage() ? null : KeysetCursor.decode(pageRequest.getCursor());
+        if (cursor != null && !cursor.matches(order)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor does not match the requested sort");
+        }
+    }
+
+    public static Sort.Order resolveOrder(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        if (orders.size() > 1) {
+            throw new ResponseStatusException(
+                HttpStatus.BAD_REQUEST,
+                "Cursor pagination supports sorting by a single property"
+            );
+        }
+        return orders.isEmpty() ? null : orders.get(0);
+    }
+
+    public static Sort.Order resolveOrder(CloudRuntimeEntitySort sort) {
+        if (sort == null) {
+            return null;
+        }
+        if (sort.isProcessVariable()) {
+            throw new ResponseStatusException(
+                HttpStatus.BAD_REQUEST,
+                "Cursor pagination does not support sorting by process variable"
+            );
+        }
+        return new Sort.Order(sort.direction(), sort.field());
+    }
+
+    /**
+     * @return the number of rows to fetch: one more than the page size, to know whether there is a next page
+     */
+    public int getLimit() {
+        return pageSize + 1;
+    }
+
+    /**
+     * @return the keyset order: the sort property with nulls last, then the id
+     */
+    public Sort getSort() {
+        Sort byId = Sort.by(Sort.Direction.ASC, ID);
+        return order == null ? byId : Sort.by(order.nullsLast()).and(byId);
+    }
+
+    public <T> Specification<T> seek(Specification<T> specification) {
+        return new KeysetSpecification<>(specification, order, cursor);
+    }
+
+    /**
+     * Restricts the given predicate to the rows following the cursor. The query must be sorted by {@link #getSort()}.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public Predicate seek(Predicate predicate, EntityPathBase<?> root) {
+        if (cursor == null) {
+            return predicate;
+        }
+
+        PathBuilder<?> path = new PathBuilder<>(root.getType(), root.getMetadata());
+        StringPath id = path.getString(ID);
+        BooleanExpression afterId = id.gt(cursor.id());
+        if (order == null) {
+            return ExpressionUtils.allOf(predicate, afterId);
+        }
+
+        ComparablePath<Comparable> sortProperty = path.getComparable(order.getProperty(), Comparable.class);
+        Comparable value = (Comparable) cursor.valueAs(getPropertyType(order.getProperty()));
+        if (value == null) {
+            return ExpressionUtils.allOf(predicate, sortProperty.isNull().and(afterId));
+        }
+
+        BooleanExpression beyondValue = order.isAscending() ? sortProperty.gt(value) : sortProperty.lt(value);
+        BooleanExpression seekCondition = beyondValue.or(sortProperty.eq(value).and(afterId)).or(sortProperty.isNull());
+
+        return ExpressionUtils.allOf(predicate, seekCondition);
+    }
+
+    /**
+     * Builds the page out of the fetched rows, encoding the position of its last element as next cursor
+     * when more rows are available.
+     */
+    public <T> CursorPage<T> toPage(List<T> rows, CursorPageRequest pageRequest) {
+        boolean hasNext = rows.size() > pageSize;
+        List<T> content = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? toCursor(content.get(content.size() - 1)).encode() : null;
+        return new CursorPage<>(content, pageRequest, nextCursor);
+    }
+
+    private KeysetCursor toCursor(Object entity) {
+        BeanWrapper entityWrapper = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+        String id = (String) entityWrapper.getPropertyValue(ID);
+        if (order == null) {
+            return new KeysetCursor(null, null, null, id);
+        }
+        return new KeysetCursor(
+            order.getProperty(),
+            order.getDirection(),
+            entityWrapper.getPropertyValue(order.getProperty()),
+            id
+        );
+    }
+
+    private Class<?> getPropertyType(String property) {
+        PropertyDescriptor propertyDescriptor = BeanUtils.getPropertyDescriptor(entityClass, property);
+        if (propertyDescriptor == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown sort property: " + property);
+        }
+        return propertyDescriptor.getPropertyType();
+    }
+}
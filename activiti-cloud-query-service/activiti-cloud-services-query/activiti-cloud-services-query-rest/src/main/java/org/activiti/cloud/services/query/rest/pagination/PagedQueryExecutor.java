@@ -0,0 +1,229 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.pagination;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.EntityPathBase;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.jpa.JPQLQuery;
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import org.activiti.cloud.alfresco.data.domain.CountStrategy;
+import org.activiti.cloud.alfresco.data.domain.CountedPage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.jpa.repository.support.Querydsl;
+import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+
+/**
+ * Executes paged queries obtaining the total number of elements with the configured {@link CountStrategy},
+ * as the count query over the same joins as the page query is often slower than the page query itself.
+ * With the {@link CountStrategy#EXACT} strategy the repository is queried as usual. With the other strategies
+ * the page is fetched with one extra row, so that whether there are more elements is known without counting, and:
+ * <ul>
+ *     <li>{@link CountStrategy#CACHED}: the exact count is cached for a short while, keyed by the query</li>
+ *     <li>{@link CountStrategy#HAS_MORE}: the matching rows are only counted up to a threshold, if any, above
+ *     which only a lower bound of the total number of elements is known</li>
+ * </ul>
+ * The total number of elements is counted exactly when it can be inferred from the page itself.
+ */
+public class PagedQueryExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PagedQueryExecutor.class);
+
+    private static final String ID = "id";
+
+    private final EntityManager entityManager;
+    private final CountStrategy countStrategy;
+    private final Cache<CountKey, Long> countCache;
+    private final int countThreshold;
+
+    public PagedQueryExecutor(EntityManager entityManager) {
+        this(entityManager, CountStrategy.EXACT, Duration.ofSeconds(30), 10000, 0);
+    }
+
+    public PagedQueryExecutor(
+        EntityManager entityManager,
+        CountStrategy countStrategy,
+        Duration countCacheTtl,
+        long countCacheMaxSize,
+        int countThreshold
+    ) {
+        this.entityManager = entityManager;
+        this.countStrategy = countStrategy;
+        this.countCache = Caffeine.newBuilder().expireAfterWrite(countCacheTtl).maximumSize(countCacheMaxSize).build();
+        this.countThreshold = countThreshold;
+    }
+
+    public <T> Page<T> findAll(
+        QuerydslPredicateExecutor<T> repository,
+        EntityPathBase<T> root,
+        Predicate predicate,
+        Pageable pageable
+    ) {
+        if (countStrategy == CountStrategy.EXACT || pageable.isUnpaged()) {
+            return repository.findAll(predicate, pageable);
+        }
+
+        PathBuilder<T> path = new PathBuilder<>(root.getType(), root.getMetadata());
+        JPQLQuery<T> query = new Querydsl(entityManager, path)
+            .applySorting(pageable.getSort(), new JPAQuery<T>(entityManager).select(root).from(root).where(predicate))
+            .offset(pageable.getOffset())
+            .limit(pageable.getPageSize() + 1L);
+
+        return toPage(
+            query.fetch(),
+            pageable,
+            root.getType(),
+            predicate,
+            () -> repository.count(predicate),
+            () ->
+                new JPAQuery<String>(entityManager)
+                    .select(path.getString(ID))
+                    .from(root)
+                    .where(predicate)
+                    .limit(countThreshold + 1L)
+                    .fetch()
+                    .size()
+        );
+    }
+
+    /**
+     * @param countKey the values the specification has been built from, used as count cache key as specifications
+     * cannot be compared
+     */
+    public <T> Page<T> findAll(
+        JpaSpecificationExecutor<T> repository,
+        Class<T> domainClass,
+        Specification<T> specification,
+        Pageable pageable,
+        Object countKey
+    ) {
+        if (countStrategy == CountStrategy.EXACT || pageable.isUnpaged()) {
+            return repository.findAll(specification, pageable);
+        }
+
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = criteriaBuilder.createQuery(domainClass);
+        Root<T> root = query.from(domainClass);
+        applySpecification(specification, root, query, criteriaBuilder);
+        query.select(root);
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+        }
+
+        List<T> rows = entityManager
+            .createQuery(query)
+            .setFirstResult(Math.toIntExact(pageable.getOffset()))
+            .setMaxResults(pageable.getPageSize() + 1)
+            .getResultList();
+
+        return toPage(
+            rows,
+            pageable,
+            domainClass,
+            countKey,
+            () -> repository.count(specification),
+            () -> probe(domainClass, specification)
+        );
+    }
+
+    /**
+     * @param rows the rows of the page, including the first row of the next page when there is one
+     * @param exactCount counts the matching rows
+     * @param probe counts the matching rows up to the count threshold plus one
+     */
+    <T> Page<T> toPage(
+        List<T> rows,
+        Pageable pageable,
+        Class<?> domainClass,
+        Object countKey,
+        LongSupplier exactCount,
+        IntSupplier probe
+    ) {
+        int pageSize = pageable.getPageSize();
+        List<T> content = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+
+        if (rows.size() <= pageSize && (!rows.isEmpty() || pageable.getOffset() == 0)) {
+            return new CountedPage<>(content, pageable, pageable.getOffset() + rows.size(), CountStrategy.EXACT);
+        }
+
+        return switch (countStrategy) {
+            case EXACT -> new CountedPage<>(content, pageable, exactCount.getAsLong(), CountStrategy.EXACT);
+            case CACHED -> new CountedPage<>(
+                content,
+                pageable,
+                countCache.get(new CountKey(domainClass, countKey), key -> exactCount.getAsLong()),
+                CountStrategy.CACHED
+            );
+            case HAS_MORE -> hasMore(content, pageable, pageable.getOffset() + rows.size(), probe);
+        };
+    }
+
+    private <T> Page<T> hasMore(List<T> content, Pageable pageable, long knownRows, IntSupplier probe) {
+        // the rows up to the first one of the next page are known to exist, counting fewer rows tells nothing more
+        if (knownRows > countThreshold) {
+            return new CountedPage<>(content, pageable, knownRows, CountStrategy.HAS_MORE);
+        }
+
+        int probed = probe.getAsInt();
+        if (probed <= countThreshold) {
+            return new CountedPage<>(content, pageable, probed, CountStrategy.EXACT);
+        }
+
+        LOGGER.debug("More than {} matching rows, reporting {} as lower bound", countThreshold, probed);
+        return new CountedPage<>(content, pageable, probed, CountStrategy.HAS_MORE);
+    }
+
+    private <T> int probe(Class<T> domainClass, Specification<T> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object> query = criteriaBuilder.createQuery();
+        Root<T> root = query.from(domainClass);
+        applySpecification(specification, root, query, criteriaBuilder);
+        // the order is irrelevant to count
+        query.select(root.get(ID)).orderBy(List.of());
+
+        return entityManager.createQuery(query).setMaxResults(countThreshold + 1).getResultList().size();
+    }
+
+    private <T> void applySpecification(
+        Specification<T> specification,
+        Root<T> root,
+        CriteriaQuery<?> query,
+        CriteriaBuilder criteriaBuilder
+    ) {
+        jakarta.persistence.criteria.Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+
+    private record CountKey(Class<?> domainClass, Object query) {}
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.specification;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.activiti.cloud.services.query.rest.pagination.KeysetCursor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Decorates a specification to fetch the page following the given cursor. The sorting applied by the decorated
+ * specification is replaced by the keyset order: the sort property with nulls last, then the id as tie-breaker.
+ */
+public class KeysetSpecification<T> implements Specification<T> {
+
+    private static final String ID = "id";
+
+    private final Specification<T> specification;
+    private final Sort.Order order;
+    private final KeysetCursor cursor;
+
+    /**
+     * @param specification the specification to decorate
+     * @param order the sort property, {@code null} to sort by id only
+     * @param cursor the position of the last element of the previous page, {@code null} for the first page
+     */
+    public KeysetSpecification(Specification<T> specification, Sort.Order order, KeysetCursor cursor) {
+        this.specification = specification;
+        this.order = order;
+        this.cursor = cursor;
+    }
+
+    @Override
+    public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        applyKeysetOrder(root, query, criteriaBuilder);
+        if (cursor == null) {
+            return predicate;
+        }
+        return criteriaBuilder.and(predicate, getSeekCondition(root, criteriaBuilder));
+    }
+
+    private void applyKeysetOrder(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
+        Path<String> id = root.get(ID);
+        if (order == null) {
+            query.orderBy(criteriaBuilder.asc(id));
+        } else {
+            Path<?> sortProperty = root.get(order.getProperty());
+            query.orderBy(
+                criteriaBuilder.asc(sortProperty.isNull()),
+                order.isAscending() ? criteriaBuilder.asc(sortProperty) : criteriaBuilder.desc(sortProperty),
+                criteriaBuilder.asc(id)
+            );
+        }
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Predicate getSeekCondition(Root<T> root, CriteriaBuilder criteriaBuilder) {
+        Predicate afterId = criteriaBuilder.greaterThan(root.get(ID), cursor.id());
+        if (order == null) {
+            return afterId;
+        }
+
+        Path<Comparable> sortProperty = root.get(order.getProperty());
+        Comparable value = (Comparable) cursor.valueAs(sortProperty.getJavaType());
+        if (value == null) {
+            return criteriaBuilder.and(criteriaBuilder.isNull(sortProperty), afterId);
+        }
+        return criteriaBuilder.or(
+            order.isAscending()
+                ? criteriaBuilder.greaterThan(sortProperty, value)
+                : criteriaBuilder.lessThan(sortProperty, value),
+            criteriaBuilder.and(criteriaBuilder.equal(sortProperty, value), afterId),
+            criteriaBuilder.isNull(sortProperty)
+        );
+    }
+}
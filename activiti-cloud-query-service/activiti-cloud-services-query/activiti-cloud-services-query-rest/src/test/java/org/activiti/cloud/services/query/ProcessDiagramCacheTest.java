@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.activiti.bpmn.model.BpmnModel;
+import org.junit.jupiter.api.Test;
+
+public class ProcessDiagramCacheTest {
+
+    private final ProcessDiagramCache processDiagramCache = new ProcessDiagramCache(10, 10, Duration.ofMinutes(1));
+
+    @Test
+    public void getBpmnModel_should_loadModelOnce_when_requestedSeveralTimes() {
+        //given
+        AtomicInteger loads = new AtomicInteger();
+
+        //when
+        BpmnModel first = processDiagramCache.getBpmnModel(
+            "definitionId",
+            id -> {
+                loads.incrementAndGet();
+                return new BpmnModel();
+            }
+        );
+        BpmnModel second = processDiagramCache.getBpmnModel(
+            "definitionId",
+            id -> {
+                loads.incrementAndGet();
+                return new BpmnModel();
+            }
+        );
+
+        //then
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    public void getDiagram_should_reuseDiagram_when_stateIsUnchanged() {
+        //given
+        AtomicInteger renders = new AtomicInteger();
+        ProcessDiagramState state = new ProcessDiagramState(
+            List.of("start", "task1"),
+            List.of("flow1"),
+            List.of("task2"),
+            List.of()
+        );
+        ProcessDiagramState sameStateInOtherOrder = new ProcessDiagramState(
+            List.of("task1", "start", "task1"),
+            List.of("flow1"),
+            List.of("task2"),
+            List.of()
+        );
+
+        //when
+        processDiagramCache.getDiagram("definitionId", state, () -> "svg" + renders.incrementAndGet());
+        String diagram = processDiagramCache.getDiagram(
+            "definitionId",
+            sameStateInOtherOrder,
+            () -> "svg" + renders.incrementAndGet()
+        );
+
+        //then
+        assertThat(diagram).isEqualTo("svg1");
+        assertThat(renders).hasValue(1);
+    }
+
+    @Test
+    public void getDiagram_should_renderDiagramAgain_when_stateChanges() {
+        //given
+        ProcessDiagramState state = new ProcessDiagramState(List.of("start"), List.of(), List.of("task1"), List.of());
+        ProcessDiagramState nextState = new ProcessDiagramState(
+            List.of("start", "task1"),
+            List.of("flow1"),
+            List.of("task2"),
+            List.of()
+        );
+
+        //when
+        String diagram = processDiagramCache.getDiagram("definitionId", state, () -> "before");
+        String nextDiagram = processDiagramCache.getDiagram("definitionId", nextState, () -> "after");
+
+        //then
+        assertThat(diagram).isEqualTo("before");
+        assertThat(nextDiagram).isEqualTo("after");
+    }
+}
@@ -17,27 +17,37 @@
 package org.activiti.cloud.services.query.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 import com.querydsl.core.types.Predicate;
 import java.util.Collections;
 import java.util.List;
+import org.activiti.cloud.alfresco.argument.resolver.CursorPageRequest;
 import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
+import org.activiti.cloud.alfresco.data.domain.CursorPage;
 import org.activiti.cloud.api.task.model.QueryCloudTask;
 import org.activiti.cloud.services.query.app.repository.TaskRepository;
 import org.activiti.cloud.services.query.model.TaskEntity;
 import org.activiti.cloud.services.query.model.VariableValue;
 import org.activiti.cloud.services.query.rest.assembler.TaskRepresentationModelAssembler;
+import org.activiti.cloud.services.query.rest.pagination.KeysetCursor;
+import org.activiti.cloud.services.query.rest.pagination.PagedQueryExecutor;
 import org.activiti.cloud.services.query.rest.predicate.QueryDslPredicateAggregator;
 import org.activiti.cloud.services.query.rest.predicate.QueryDslPredicateFilter;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
 
@@ -62,6 +72,12 @@ public class TaskControllerHelperTest {
     @Mock
     private PagedModel<EntityModel<QueryCloudTask>> cloudTaskPagedModel;
 
+    @Spy
+    private PagedQueryExecutor pagedQueryExecutor = new PagedQueryExecutor(null);
+
+    @Captor
+    private ArgumentCaptor<CursorPage<TaskEntity>> cursorPageCaptor;
+
     @Test
     public void findAll_should_useFindByVariableNameAndValue_when_variableSearchIsSet() {
         //given
@@ -125,4 +141,43 @@ public class TaskControllerHelperTest {
         //then
         assertThat(resultPagedModel).isEqualTo(cloudTaskPagedModel);
     }
+
+    @Test
+    public void findAll_should_fetchOneMoreTaskThanPageSize_when_cursorIsRequested() {
+        //given
+        Predicate initialPredicate = mock(Predicate.class);
+        List<QueryDslPredicateFilter> filters = Collections.emptyList();
+        Predicate extendedPredicate = mock(Predicate.class);
+        given(predicateAggregator.applyFilters(initialPredicate, filters)).willReturn(extendedPredicate);
+
+        VariableSearch variableSearch = new VariableSearch("var", new VariableValue<>("any"), "string");
+        CursorPageRequest pageable = new CursorPageRequest("", 2, PageRequest.of(0, 2));
+        given(
+            taskRepository.findByVariableNameAndValue(
+                variableSearch.getName(),
+                variableSearch.getValue(),
+                extendedPredicate,
+                Sort.by(Sort.Direction.ASC, "id"),
+                3
+            )
+        )
+            .willReturn(List.of(task("1"), task("2"), task("3")));
+
+        //when
+        taskControllerHelper.findAll(initialPredicate, variableSearch, pageable, filters);
+
+        //then
+        verify(pagedCollectionModelAssembler)
+            .toModel(eq(pageable), cursorPageCaptor.capture(), eq(taskRepresentationModelAssembler));
+        CursorPage<TaskEntity> page = cursorPageCaptor.getValue();
+        assertThat(page.getContent()).extracting(TaskEntity::getId).containsExactly("1", "2");
+        assertThat(page.hasNext()).isTrue();
+        assertThat(KeysetCursor.decode(page.getNextCursor()).id()).isEqualTo("2");
+    }
+
+    private TaskEntity task(String id) {
+        TaskEntity taskEntity = new TaskEntity();
+        taskEntity.setId(id);
+        return taskEntity;
+    }
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.pagination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Date;
+import java.util.List;
+import org.activiti.api.task.model.Task;
+import org.activiti.cloud.alfresco.argument.resolver.CursorPageRequest;
+import org.activiti.cloud.alfresco.data.domain.CursorPage;
+import org.activiti.cloud.services.query.model.TaskEntity;
+import org.activiti.cloud.services.query.rest.payload.CloudRuntimeEntitySort;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.web.server.ResponseStatusException;
+
+public class KeysetPaginationTest {
+
+    private static final Sort.Order BY_CREATED_DATE = Sort.Order.desc("createdDate");
+
+    @Test
+    public void toPage_should_encodePositionOfLastElement_when_moreRowsAreAvailable() {
+        //given
+        KeysetPagination keysetPagination = new KeysetPagination(TaskEntity.class, BY_CREATED_DATE, pageRequest(null));
+
+        //when
+        CursorPage<TaskEntity> page = keysetPagination.toPage(
+            List.of(task("1", new Date(3000)), task("2", new Date(2000)), task("3", new Date(1000))),
+            pageRequest(null)
+        );
+
+        //then
+        assertThat(page.getContent()).extracting(TaskEntity::getId).containsExactly("1", "2");
+        KeysetCursor cursor = KeysetCursor.decode(page.getNextCursor());
+        assertThat(cursor.matches(BY_CREATED_DATE)).isTrue();
+        assertThat(cursor.id()).isEqualTo("2");
+        assertThat(cursor.valueAs(Date.class)).isEqualTo(new Date(2000));
+    }
+
+    @Test
+    public void toPage_should_notReturnCursor_when_lastPageIsReached() {
+        //given
+        KeysetPagination keysetPagination = new KeysetPagination(TaskEntity.class, BY_CREATED_DATE, pageRequest(null));
+
+        //when
+        CursorPage<TaskEntity> page = keysetPagination.toPage(List.of(task("1", null)), pageRequest(null));
+
+        //then
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    public void should_rejectCursor_when_sortHasChanged() {
+        //given
+        String cursor = new KeysetCursor("name", Sort.Direction.ASC, "task", "1").encode();
+
+        //then
+        assertThatThrownBy(() -> new KeysetPagination(TaskEntity.class, BY_CREATED_DATE, pageRequest(cursor)))
+            .isInstanceOf(ResponseStatusException.class)
+            .hasMessageContaining("Cursor does not match the requested sort");
+    }
+
+    @Test
+    public void should_rejectMalformedCursor() {
+        assertThatThrownBy(() -> new KeysetPagination(TaskEntity.class, BY_CREATED_DATE, pageRequest("not a cursor")))
+            .isInstanceOf(ResponseStatusException.class)
+            .hasMessageContaining("Invalid cursor");
+    }
+
+    @Test
+    public void resolveOrder_should_rejectProcessVariableSort() {
+        CloudRuntimeEntitySort sort = new CloudRuntimeEntitySort("var", Sort.Direction.ASC, true, List.of("key"), null);
+
+        assertThatThrownBy(() -> KeysetPagination.resolveOrder(sort)).isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    public void resolveOrder_should_rejectMultipleSortProperties() {
+        Sort sort = Sort.by("name", "createdDate");
+
+        assertThatThrownBy(() -> KeysetPagination.resolveOrder(sort)).isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    public void valueAs_should_convertDecodedValueToPropertyType() {
+        //given
+        KeysetCursor cursor = KeysetCursor.decode(
+            new KeysetCursor("status", Sort.Direction.ASC, Task.TaskStatus.ASSIGNED, "1").encode()
+        );
+
+        //then
+        assertThat(cursor.valueAs(Task.TaskStatus.class)).isEqualTo(Task.TaskStatus.ASSIGNED);
+    }
+
+    private CursorPageRequest pageRequest(String cursor) {
+        return new CursorPageRequest(cursor, 2, PageRequest.of(0, 2));
+    }
+
+    private TaskEntity task(String id, Date createdDate) {
+        TaskEntity taskEntity = new TaskEntity();
+        taskEntity.setId(id);
+        taskEntity.setCreatedDate(createdDate);
+        return taskEntity;
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.pagination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.activiti.cloud.alfresco.data.domain.CountStrategy;
+import org.activiti.cloud.alfresco.data.domain.CountedPage;
+import org.activiti.cloud.services.query.model.TaskEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+public class PagedQueryExecutorTest {
+
+    private static final List<String> FULL_PAGE_AND_MORE = List.of("a", "b", "c");
+
+    @Test
+    public void toPage_should_inferTotal_when_lastPageIsNotFull() {
+        //given
+        PagedQueryExecutor executor = executor(CountStrategy.HAS_MORE);
+        AtomicInteger counts = new AtomicInteger();
+
+        //when
+        Page<String> page = executor.toPage(
+            List.of("a"),
+            PageRequest.of(1, 2),
+            TaskEntity.class,
+            "query",
+            () -> counts.incrementAndGet(),
+            () -> counts.incrementAndGet()
+        );
+
+        //then
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(((CountedPage<String>) page).getCountStrategy()).isEqualTo(CountStrategy.EXACT);
+        assertThat(counts).hasValue(0);
+    }
+
+    @Test
+    public void toPage_should_notCount_when_strategyIsHasMore() {
+        //given
+        PagedQueryExecutor executor = executor(CountStrategy.HAS_MORE, 0);
+
+        //when
+        Page<String> page = executor.toPage(
+            FULL_PAGE_AND_MORE,
+            PageRequest.of(0, 2),
+            TaskEntity.class,
+            "query",
+            () -> {
+                throw new AssertionError("should not count");
+            },
+            () -> {
+                throw new AssertionError("should not probe");
+            }
+        );
+
+        //then
+        assertThat(page.getContent()).containsExactly("a", "b");
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(((CountedPage<String>) page).getCountStrategy()).isEqualTo(CountStrategy.HAS_MORE);
+    }
+
+    @Test
+    public void toPage_should_reuseCachedCount_when_sameQueryIsPaged() {
+        //given
+        PagedQueryExecutor executor = executor(CountStrategy.CACHED);
+        AtomicInteger counts = new AtomicInteger();
+
+        //when
+        executor.toPage(
+            FULL_PAGE_AND_MORE,
+            PageRequest.of(0, 2),
+            TaskEntity.class,
+            "query",
+            () -> counts.incrementAndGet() * 100,
+            () -> 0
+        );
+        Page<String> page = executor.toPage(
+            FULL_PAGE_AND_MORE,
+            PageRequest.of(1, 2),
+            TaskEntity.class,
+            "query",
+            () -> counts.incrementAndGet() * 100,
+            () -> 0
+        );
+
+        //then
+        assertThat(counts).hasValue(1);
+        assertThat(page.getTotalElements()).isEqualTo(100);
+        assertThat(((CountedPage<String>) page).getCountStrategy()).isEqualTo(CountStrategy.CACHED);
+    }
+
+    @Test
+    public void toPage_should_countProbedRows_when_belowCountThreshold() {
+        //given
+        PagedQueryExecutor executor = executor(CountStrategy.HAS_MORE, 10);
+
+        //when
+        Page<String> page = executor.toPage(
+            FULL_PAGE_AND_MORE,
+            PageRequest.of(0, 2),
+            TaskEntity.class,
+            "query",
+            () -> {
+                throw new AssertionError("should not count");
+            },
+            () -> 7
+        );
+
+        //then
+        assertThat(page.getTotalElements()).isEqualTo(7);
+        assertThat(((CountedPage<String>) page).getCountStrategy()).isEqualTo(CountStrategy.EXACT);
+    }
+
+    @Test
+    public void toPage_should_reportLowerBound_when_aboveCountThreshold() {
+        //given
+        PagedQueryExecutor executor = executor(CountStrategy.HAS_MORE, 10);
+
+        //when
+        Page<String> page = executor.toPage(
+            FULL_PAGE_AND_MORE,
+            PageRequest.of(0, 2),
+            TaskEntity.class,
+            "query",
+            () -> {
+                throw new AssertionError("should not count");
+            },
+            () -> 11
+        );
+
+        //then
+        assertThat(page.getTotalElements()).isEqualTo(11);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(((CountedPage<String>) page).getCountStrategy()).isEqualTo(CountStrategy.HAS_MORE);
+    }
+
+    @Test
+    public void toPage_should_notProbe_when_rowsBeforeNextPageExceedCountThreshold() {
+        //given
+        PagedQueryExecutor executor = executor(CountStrategy.HAS_MORE, 10);
+
+        //when
+        Page<String> page = executor.toPage(
+            FULL_PAGE_AND_MORE,
+            PageRequest.of(50, 2),
+            TaskEntity.class,
+            "query",
+            () -> {
+                throw new AssertionError("should not count");
+            },
+            () -> {
+                throw new AssertionError("should not probe");
+            }
+        );
+
+        //then
+        assertThat(page.getTotalElements()).isEqualTo(103);
+        assertThat(((CountedPage<String>) page).getCountStrategy()).isEqualTo(CountStrategy.HAS_MORE);
+    }
+
+    private PagedQueryExecutor executor(CountStrategy countStrategy) {
+        return executor(countStrategy, 10);
+    }
+
+    private PagedQueryExecutor executor(CountStrategy countStrategy, int countThreshold) {
+        return new PagedQueryExecutor(null, countStrategy, Duration.ofMinutes(1), 10, countThreshold);
+    }
+}
@@ -24,6 +24,7 @@ import org.activiti.cloud.services.messages.events.producer.MessageSubscriptionC
 import org.activiti.cloud.services.messages.events.producer.StartMessageDeployedEventMessageProducer;
 import org.activiti.cloud.services.messages.events.support.BpmnMessageEventMessageBuilderFactory;
 import org.activiti.cloud.services.messages.events.support.MessageEventsDispatcher;
+import org.activiti.cloud.services.messages.events.support.MessageEventsPartitionKeyExtractor;
 import org.activiti.cloud.services.messages.events.support.MessageSubscriptionEventMessageBuilderFactory;
 import org.activiti.cloud.services.messages.events.support.StartMessageDeployedEventMessageBuilderFactory;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
@@ -49,6 +50,12 @@ public class MessageEventsAutoConfiguration {
         return new MessageEventsDispatcher(messageEventsSource.messageEventsOutput(), bindingServiceProperties);
     }
 
+    @Bean(MessageEventsPartitionKeyExtractor.MESSAGE_EVENTS_PARTITION_KEY_EXTRACTOR_NAME)
+    @ConditionalOnMissingBean(name = MessageEventsPartitionKeyExtractor.MESSAGE_EVENTS_PARTITION_KEY_EXTRACTOR_NAME)
+    public MessageEventsPartitionKeyExtractor messageEventsPartitionKeyExtractor() {
+        return new MessageEventsPartitionKeyExtractor();
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public BpmnMessageEventMessageBuilderFactory messageEventPayloadMessageBuilderFactory(
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.events.config;
+
+import static org.activiti.cloud.services.messages.events.support.MessageEventsPartitionKeyExtractor.MESSAGE_EVENTS_PARTITION_KEY_EXTRACTOR_NAME;
+import static org.springframework.core.env.StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.activiti.cloud.services.messages.events.channels.MessageEventsSource;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+/**
+ * Partitions the message events producer by correlation id when partitioned messaging is enabled.
+ */
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class MessageEventsProducerEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final String ACTIVITI_CLOUD_MESSAGING_PARTITIONED = "activiti.cloud.messaging.partitioned";
+    static final String ACTIVITI_CLOUD_MESSAGING_PARTITION_COUNT = "activiti.cloud.messaging.partition-count";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!environment.getProperty(ACTIVITI_CLOUD_MESSAGING_PARTITIONED, Boolean.class, false)) {
+            return;
+        }
+
+        String binding = "spring.cloud.stream.bindings." + MessageEventsSource.MESSAGE_EVENTS_OUTPUT + ".producer.";
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put(binding + "partitionKeyExtractorName", MESSAGE_EVENTS_PARTITION_KEY_EXTRACTOR_NAME);
+        properties.put(
+            binding + "partitionCount",
+            environment.getProperty(ACTIVITI_CLOUD_MESSAGING_PARTITION_COUNT, Integer.class, 1)
+        );
+
+        environment
+            .getPropertySources()
+            .addAfter(
+                SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME,
+                new MapPropertySource(MessageEventsProducerEnvironmentPostProcessor.class.getSimpleName(), properties)
+            );
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.events.support;
+
+import static org.activiti.cloud.services.events.message.RuntimeBundleInfoMessageHeaders.APP_NAME;
+import static org.activiti.cloud.services.messages.events.MessageEventHeaders.MESSAGE_EVENT_CORRELATION_KEY;
+import static org.activiti.cloud.services.messages.events.MessageEventHeaders.MESSAGE_EVENT_NAME;
+
+import org.springframework.cloud.stream.binder.PartitionKeyExtractorStrategy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+
+/**
+ * Routes the message events by the correlation id the messages service aggregates them by, so that all the events
+ * of a message group are consumed by the messages service instance owning their partition.
+ */
+public class MessageEventsPartitionKeyExtractor implements PartitionKeyExtractorStrategy {
+
+    public static final String MESSAGE_EVENTS_PARTITION_KEY_EXTRACTOR_NAME = "messageEventsPartitionKeyExtractor";
+
+    @Override
+    public Object extractKey(Message<?> message) {
+        // the same key as Correlations.getCorrelationId in the messages service
+        MessageHeaders headers = message.getHeaders();
+        StringBuilder builder = new StringBuilder();
+        builder
+            .append(headers.get(APP_NAME, String.class))
+            .append(":")
+            .append(headers.get(MESSAGE_EVENT_NAME, String.class));
+
+        String correlationKey = headers.get(MESSAGE_EVENT_CORRELATION_KEY, String.class);
+        if (correlationKey != null) {
+            builder.append(":").append(correlationKey);
+        }
+
+        return builder.toString();
+    }
+}
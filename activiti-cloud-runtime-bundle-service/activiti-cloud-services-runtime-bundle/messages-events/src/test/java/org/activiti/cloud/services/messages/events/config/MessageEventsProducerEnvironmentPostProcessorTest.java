@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.events.config;
+
+import static org.activiti.cloud.services.messages.events.config.MessageEventsProducerEnvironmentPostProcessor.ACTIVITI_CLOUD_MESSAGING_PARTITIONED;
+import static org.activiti.cloud.services.messages.events.config.MessageEventsProducerEnvironmentPostProcessor.ACTIVITI_CLOUD_MESSAGING_PARTITION_COUNT;
+import static org.activiti.cloud.services.messages.events.support.MessageEventsPartitionKeyExtractor.MESSAGE_EVENTS_PARTITION_KEY_EXTRACTOR_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.core.env.StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME;
+
+import org.activiti.cloud.services.messages.events.channels.MessageEventsSource;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.SpringApplication;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+
+public class MessageEventsProducerEnvironmentPostProcessorTest {
+
+    private static final String PRODUCER_BINDING =
+        "spring.cloud.stream.bindings." + MessageEventsSource.MESSAGE_EVENTS_OUTPUT + ".producer.";
+
+    private final MessageEventsProducerEnvironmentPostProcessor processor = new MessageEventsProducerEnvironmentPostProcessor();
+
+    @Test
+    public void should_partitionMessageEventsByCorrelationId_when_messagingIsPartitioned() {
+        //given
+        final MutablePropertySources propertySources = mock(MutablePropertySources.class);
+        final ConfigurableEnvironment environment = buildEnvironment(true, 4, propertySources);
+        final ArgumentCaptor<MapPropertySource> captor = ArgumentCaptor.forClass(MapPropertySource.class);
+
+        //when
+        processor.postProcessEnvironment(environment, mock(SpringApplication.class));
+
+        //then
+        verify(propertySources).addAfter(eq(SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME), captor.capture());
+        assertThat(captor.getValue().getProperty(PRODUCER_BINDING + "partitionKeyExtractorName"))
+            .isEqualTo(MESSAGE_EVENTS_PARTITION_KEY_EXTRACTOR_NAME);
+        assertThat(captor.getValue().getProperty(PRODUCER_BINDING + "partitionCount")).isEqualTo(4);
+    }
+
+    @Test
+    public void should_notPartitionMessageEvents_when_messagingIsNotPartitioned() {
+        //given
+        final MutablePropertySources propertySources = mock(MutablePropertySources.class);
+        final ConfigurableEnvironment environment = buildEnvironment(false, 4, propertySources);
+
+        //when
+        processor.postProcessEnvironment(environment, mock(SpringApplication.class));
+
+        //then
+        verifyNoInteractions(propertySources);
+    }
+
+    private ConfigurableEnvironment buildEnvironment(
+        boolean partitioned,
+        int partitionCount,
+        MutablePropertySources propertySources
+    ) {
+        final ConfigurableEnvironment environment = mock(ConfigurableEnvironment.class);
+        given(environment.getProperty(ACTIVITI_CLOUD_MESSAGING_PARTITIONED, Boolean.class, false))
+            .willReturn(partitioned);
+        given(environment.getProperty(ACTIVITI_CLOUD_MESSAGING_PARTITION_COUNT, Integer.class, 1))
+            .willReturn(partitionCount);
+        given(environment.getPropertySources()).willReturn(propertySources);
+        return environment;
+    }
+}
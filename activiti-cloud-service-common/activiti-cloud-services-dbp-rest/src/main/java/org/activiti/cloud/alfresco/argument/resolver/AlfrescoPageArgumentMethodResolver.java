@@ -68,6 +68,8 @@ public class AlfrescoPageArgumentMethodResolver implements PageableArgumentResol
 
         if (isPaginationValueExceedingLimit(alfrescoQueryParameters, basePageable)) {
             throw new IllegalStateException("Exceeded max limit of " + maxItemsLimit + " elements");
+        } else if (alfrescoQueryParameters.getCursorParameter().isSet()) {
+            return toCursorPageRequest(parameter, alfrescoQueryParameters, basePageable);
         } else if (
             alfrescoQueryParameters.getSkipCountParameter().isSet() ||
             alfrescoQueryParameters.getMaxItemsParameter().isSet()
@@ -82,6 +84,24 @@ public class AlfrescoPageArgumentMethodResolver implements PageableArgumentResol
         }
     }
 
+    private CursorPageRequest toCursorPageRequest(
+        MethodParameter parameter,
+        AlfrescoQueryParameters alfrescoQueryParameters,
+        Pageable basePageable
+    ) {
+        if (!parameter.hasParameterAnnotation(CursorPagination.class)) {
+            throw new IllegalStateException("cursor is not supported by this endpoint, use skipCount instead");
+        }
+        if (alfrescoQueryParameters.getSkipCountParameter().isSet()) {
+            throw new IllegalStateException("skipCount cannot be combined with cursor");
+        }
+        int maxItems = alfrescoQueryParameters.getMaxItemsParameter().isSet()
+            ? alfrescoQueryParameters.getMaxItemsParameter().getValue()
+            : basePageable.getPageSize();
+
+        return new CursorPageRequest(alfrescoQueryParameters.getCursorParameter().getValue(), maxItems, basePageable);
+    }
+
     private boolean isPaginationValueExceedingLimit(
         AlfrescoQueryParameters alfrescoQueryParameters,
         Pageable basePageable
@@ -26,7 +26,11 @@ public class AlfrescoPageParameterParser {
     }
 
     public AlfrescoQueryParameters parseParameters(NativeWebRequest webRequest) {
-        return new AlfrescoQueryParameters(parseSkipCount(webRequest), parseMaxItems(webRequest));
+        return new AlfrescoQueryParameters(
+            parseSkipCount(webRequest),
+            parseMaxItems(webRequest),
+            parseCursor(webRequest)
+        );
     }
 
     protected MaxItemsParameter parseMaxItems(NativeWebRequest webRequest) {
@@ -50,4 +54,9 @@ public class AlfrescoPageParameterParser {
         }
         return new SkipCountParameter(isSet, skipCount);
     }
+
+    protected CursorParameter parseCursor(NativeWebRequest webRequest) {
+        String cursor = webRequest.getParameter("cursor");
+        return new CursorParameter(cursor != null, cursor);
+    }
 }
@@ -21,9 +21,20 @@ public class AlfrescoQueryParameters {
 
     private MaxItemsParameter maxItemsParameter;
 
+    private CursorParameter cursorParameter;
+
     public AlfrescoQueryParameters(SkipCountParameter skipCountParameter, MaxItemsParameter maxItemsParameter) {
+        this(skipCountParameter, maxItemsParameter, new CursorParameter(false, null));
+    }
+
+    public AlfrescoQueryParameters(
+        SkipCountParameter skipCountParameter,
+        MaxItemsParameter maxItemsParameter,
+        CursorParameter cursorParameter
+    ) {
         this.skipCountParameter = skipCountParameter;
         this.maxItemsParameter = maxItemsParameter;
+        this.cursorParameter = cursorParameter;
     }
 
     public SkipCountParameter getSkipCountParameter() {
@@ -33,4 +44,8 @@ public class AlfrescoQueryParameters {
     public MaxItemsParameter getMaxItemsParameter() {
         return maxItemsParameter;
     }
+
+    public CursorParameter getCursorParameter() {
+        return cursorParameter;
+    }
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.alfresco.argument.resolver;
+
+import java.util.Objects;
+import org.springframework.data.domain.AbstractPageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Page request for keyset (seek) pagination. Instead of an offset, it carries an opaque continuation token
+ * returned by the previous page; an empty cursor requests the first page. The offset is always zero, and
+ * the page number is meaningless, since the position in the result set is encoded in the cursor.
+ * <p>
+ * The cursor of the next page is only known once the page has been fetched: the request of a fetched page
+ * carries it, see {@link #withNextCursor(String)}, so that {@link #next()} requests the page after it.
+ */
+public class CursorPageRequest extends AbstractPageRequest implements Pageable {
+
+    private final String cursor;
+    private final Pageable pageable;
+    private final String nextCursor;
+
+    public CursorPageRequest(String cursor, int maxItems, Pageable pageable) {
+        this(cursor, maxItems, pageable, null);
+    }
+
+    private CursorPageRequest(String cursor, int maxItems, Pageable pageable, String nextCursor) {
+        super(0, maxItems);
+        this.cursor = cursor;
+        this.pageable = pageable;
+        this.nextCursor = nextCursor;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public boolean isFirstPage() {
+        return cursor == null || cursor.isBlank();
+    }
+
+    public Pageable getPageable() {
+        return pageable;
+    }
+
+    /**
+     * @return the cursor of the page after the one fetched with this request, {@code null} when the page has not
+     * been fetched yet or when it is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * @return this request once its page has been fetched, {@code nextCursor} being the position of its last
+     * element, or {@code null} when it is the last page
+     */
+    public CursorPageRequest withNextCursor(String nextCursor) {
+        return new CursorPageRequest(cursor, getPageSize(), pageable, nextCursor);
+    }
+
+    @Override
+    public Sort getSort() {
+        return pageable.getSort();
+    }
+
+    /**
+     * @throws IllegalStateException when there is no page after the one of this request, or when it has not
+     * been fetched yet
+     */
+    @Override
+    public CursorPageRequest next() {
+        if (nextCursor == null) {
+            throw new IllegalStateException("The next page is only known once a page with more elements is fetched");
+        }
+        return new CursorPageRequest(nextCursor, getPageSize(), pageable);
+    }
+
+    @Override
+    public CursorPageRequest previous() {
+        return first();
+    }
+
+    @Override
+    public CursorPageRequest first() {
+        return new CursorPageRequest(null, getPageSize(), pageable);
+    }
+
+    /**
+     * The position of the other pages is not encoded in a cursor, they are requested by offset.
+     */
+    @Override
+    public Pageable withPage(int pageNumber) {
+        if (pageNumber == 0) {
+            return first();
+        }
+        return new AlfrescoPageRequest(0, getPageSize(), pageable).withPage(pageNumber);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+
+        CursorPageRequest that = (CursorPageRequest) o;
+
+        return (
+            Objects.equals(cursor, that.cursor) &&
+            Objects.equals(pageable, that.pageable) &&
+            Objects.equals(nextCursor, that.nextCursor)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), cursor, pageable, nextCursor);
+    }
+}
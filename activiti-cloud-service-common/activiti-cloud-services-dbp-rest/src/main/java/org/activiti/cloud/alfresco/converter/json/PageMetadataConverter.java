@@ -15,6 +15,7 @@
  */
 package org.activiti.cloud.alfresco.converter.json;
 
+import org.activiti.cloud.alfresco.data.domain.CountStrategy;
 import org.activiti.cloud.alfresco.data.domain.ExtendedPageMetadata;
 import org.activiti.cloud.alfresco.rest.model.PaginationMetadata;
 import org.springframework.hateoas.PagedModel;
@@ -23,17 +24,24 @@ public class PageMetadataConverter {
 
     public PaginationMetadata toAlfrescoPageMetadata(PagedModel.PageMetadata basePageMetadata, long count) {
         long skipCount = basePageMetadata.getNumber() * basePageMetadata.getSize();
+        String nextCursor = null;
+        CountStrategy countStrategy = null;
         if (basePageMetadata instanceof ExtendedPageMetadata) {
             skipCount = ((ExtendedPageMetadata) basePageMetadata).getSkipCount();
+            nextCursor = ((ExtendedPageMetadata) basePageMetadata).getNextCursor();
+            countStrategy = ((ExtendedPageMetadata) basePageMetadata).getCountStrategy();
         }
 
-        // the page number starts from zero, so it's necessary to increment by one before comparing with total pages
+        // the page number starts from zero, so it's necessary to increment by one before comparing with total pages;
+        // the elements after a cursor page are not counted, there are more of them when it has a next cursor
         return new PaginationMetadata(
             skipCount,
             basePageMetadata.getSize(),
             count,
-            basePageMetadata.getTotalPages() > basePageMetadata.getNumber() + 1,
-            basePageMetadata.getTotalElements()
+            nextCursor != null || basePageMetadata.getTotalPages() > basePageMetadata.getNumber() + 1,
+            basePageMetadata.getTotalElements(),
+            nextCursor,
+            countStrategy
         );
     }
 }
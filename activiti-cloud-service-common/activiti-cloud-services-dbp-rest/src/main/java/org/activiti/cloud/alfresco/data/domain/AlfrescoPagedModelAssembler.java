@@ -20,15 +20,26 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.Links;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.RepresentationModel;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
+import org.springframework.http.HttpMethod;
 import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
 
 public class AlfrescoPagedModelAssembler<T> extends PagedResourcesAssembler<T> {
 
+    private static final String CURSOR = "cursor";
+
     private final ExtendedPageMetadataConverter extendedPageMetadataConverter;
+    private final UriComponents baseUri;
 
     /**
      * Creates a new {@link PagedResourcesAssembler} using the given {@link PageableHandlerMethodArgumentResolver} and
@@ -43,6 +54,7 @@ public class AlfrescoPagedModelAssembler<T> extends PagedResourcesAssembler<T> {
         ExtendedPageMetadataConverter extendedPageMetadataConverter
     ) {
         super(resolver, baseUri);
+        this.baseUri = baseUri;
         this.extendedPageMetadataConverter =
             extendedPageMetadataConverter == null ? new ExtendedPageMetadataConverter() : extendedPageMetadataConverter;
     }
@@ -55,10 +67,51 @@ public class AlfrescoPagedModelAssembler<T> extends PagedResourcesAssembler<T> {
         PagedModel<R> pagedModel = toModel(page, assembler);
         ExtendedPageMetadata extendedPageMetadata = extendedPageMetadataConverter.toExtendedPageMetadata(
             pageable.getOffset(),
-            pagedModel.getMetadata()
+            pagedModel.getMetadata(),
+            page instanceof CursorPage<T> cursorPage ? cursorPage.getNextCursor() : null,
+            resolveCountStrategy(page)
         );
-        pagedModel = PagedModel.of(pagedModel.getContent(), extendedPageMetadata, pagedModel.getLinks());
+        Links links = page instanceof CursorPage<T> cursorPage
+            ? toCursorLinks(pagedModel.getLinks(), cursorPage)
+            : pagedModel.getLinks();
+        pagedModel = PagedModel.of(pagedModel.getContent(), extendedPageMetadata, links);
 
         return pagedModel;
     }
+
+    /**
+     * The next page of a cursor page is requested with its next cursor, and its last page is unknown. The next page
+     * of a search posting its criteria is not linked, as a link cannot carry them: its next cursor is only exposed
+     * in the page metadata, to be posted again with the same criteria.
+     */
+    private Links toCursorLinks(Links links, CursorPage<T> cursorPage) {
+        Links cursorLinks = links.without(IanaLinkRelations.NEXT).without(IanaLinkRelations.LAST);
+        if (cursorPage.getNextCursor() == null || !isGetRequest()) {
+            return cursorLinks;
+        }
+
+        UriComponentsBuilder nextUri = baseUri != null
+            ? UriComponentsBuilder.fromUri(baseUri.toUri())
+            : ServletUriComponentsBuilder.fromCurrentRequest();
+        nextUri
+            .replaceQueryParam(CURSOR, cursorPage.getNextCursor())
+            .replaceQueryParam("skipCount")
+            .replaceQueryParam("page");
+
+        return cursorLinks.and(Link.of(nextUri.toUriString(), IanaLinkRelations.NEXT));
+    }
+
+    private static boolean isGetRequest() {
+        return (
+            !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) ||
+            HttpMethod.GET.matches(attributes.getRequest().getMethod())
+        );
+    }
+
+    private CountStrategy resolveCountStrategy(Page<T> page) {
+        if (page instanceof CountedPage<T> countedPage) {
+            return countedPage.getCountStrategy();
+        }
+        return page instanceof CursorPage ? CountStrategy.HAS_MORE : null;
+    }
 }
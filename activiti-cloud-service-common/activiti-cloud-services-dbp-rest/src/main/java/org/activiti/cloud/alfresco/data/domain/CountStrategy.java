@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.alfresco.data.domain;
+
+/**
+ * How the total number of elements of a page has been obtained.
+ */
+public enum CountStrategy {
+    /**
+     * The total number of elements is exact.
+     */
+    EXACT,
+
+    /**
+     * The total number of elements has been counted exactly, but may have been cached for a short while.
+     */
+    CACHED,
+
+    /**
+     * The total number of elements has not been counted, or only up to a threshold it exceeds: it is only known
+     * whether there are more elements after the page, so the total number of elements is a lower bound.
+     */
+    HAS_MORE,
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.alfresco.data.domain;
+
+import java.util.List;
+import org.activiti.cloud.alfresco.argument.resolver.CursorPageRequest;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Page fetched using keyset (seek) pagination. The elements after this page are not counted: the total number
+ * of elements is the number of elements of this page, and it is only known whether there are more elements,
+ * which can be fetched using {@link #getNextCursor()} or {@link #nextPageable()}.
+ */
+public class CursorPage<T> extends PageImpl<T> {
+
+    private final String nextCursor;
+
+    public CursorPage(List<T> content, Pageable pageable, String nextCursor) {
+        super(
+            content,
+            pageable instanceof CursorPageRequest cursorPageRequest
+                ? cursorPageRequest.withNextCursor(nextCursor)
+                : pageable,
+            content.size()
+        );
+        this.nextCursor = nextCursor;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
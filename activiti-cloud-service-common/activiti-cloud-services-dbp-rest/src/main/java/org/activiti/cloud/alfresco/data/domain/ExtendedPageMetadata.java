@@ -16,6 +16,7 @@
 package org.activiti.cloud.alfresco.data.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import org.springframework.hateoas.PagedModel;
 
 public class ExtendedPageMetadata extends PagedModel.PageMetadata {
@@ -23,12 +24,59 @@ public class ExtendedPageMetadata extends PagedModel.PageMetadata {
     @JsonIgnore
     private long skipCount;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private CountStrategy countStrategy;
+
     public ExtendedPageMetadata(long skipCount, long size, long number, long totalElements, long totalPages) {
+        this(skipCount, size, number, totalElements, totalPages, null);
+    }
+
+    public ExtendedPageMetadata(
+        long skipCount,
+        long size,
+        long number,
+        long totalElements,
+        long totalPages,
+        String nextCursor
+    ) {
+        this(skipCount, size, number, totalElements, totalPages, nextCursor, null);
+    }
+
+    public ExtendedPageMetadata(
+        long skipCount,
+        long size,
+        long number,
+        long totalElements,
+        long totalPages,
+        String nextCursor,
+        CountStrategy countStrategy
+    ) {
         super(size, number, totalElements, totalPages);
         this.skipCount = skipCount;
+        this.nextCursor = nextCursor;
+        this.countStrategy = countStrategy;
     }
 
     public long getSkipCount() {
         return skipCount;
     }
+
+    /**
+     * @return the cursor to fetch the next page when keyset pagination is used, {@code null} otherwise or when
+     * this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * @return how the total number of elements has been obtained, {@code null} when it has been counted exactly
+     * using the default page query
+     */
+    public CountStrategy getCountStrategy() {
+        return countStrategy;
+    }
 }
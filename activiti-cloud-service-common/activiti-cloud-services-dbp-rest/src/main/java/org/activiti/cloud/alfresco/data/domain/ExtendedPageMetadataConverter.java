@@ -20,6 +20,23 @@ import org.springframework.hateoas.PagedModel;
 public class ExtendedPageMetadataConverter {
 
     public ExtendedPageMetadata toExtendedPageMetadata(long skipCount, PagedModel.PageMetadata basePageMetadata) {
+        return toExtendedPageMetadata(skipCount, basePageMetadata, null);
+    }
+
+    public ExtendedPageMetadata toExtendedPageMetadata(
+        long skipCount,
+        PagedModel.PageMetadata basePageMetadata,
+        String nextCursor
+    ) {
+        return toExtendedPageMetadata(skipCount, basePageMetadata, nextCursor, null);
+    }
+
+    public ExtendedPageMetadata toExtendedPageMetadata(
+        long skipCount,
+        PagedModel.PageMetadata basePageMetadata,
+        String nextCursor,
+        CountStrategy countStrategy
+    ) {
         long totalPages = basePageMetadata.getTotalPages();
         int skipCountRemainder = Math.toIntExact(skipCount % basePageMetadata.getSize());
         if (skipCountRemainder != 0) {
@@ -41,7 +58,9 @@ public class ExtendedPageMetadataConverter {
             basePageMetadata.getSize(),
             basePageMetadata.getNumber(),
             basePageMetadata.getTotalElements(),
-            totalPages
+            totalPages,
+            nextCursor,
+            countStrategy
         );
     }
 }
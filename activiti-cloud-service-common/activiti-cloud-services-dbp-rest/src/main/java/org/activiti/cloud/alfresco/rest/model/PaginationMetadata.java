@@ -15,6 +15,9 @@
  */
 package org.activiti.cloud.alfresco.rest.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.activiti.cloud.alfresco.data.domain.CountStrategy;
+
 public class PaginationMetadata {
 
     private long skipCount;
@@ -27,14 +30,45 @@ public class PaginationMetadata {
 
     private long totalItems;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private CountStrategy countStrategy;
+
     public PaginationMetadata() {}
 
     public PaginationMetadata(long skipCount, long maxItems, long count, boolean hasMoreItems, long totalItems) {
+        this(skipCount, maxItems, count, hasMoreItems, totalItems, null);
+    }
+
+    public PaginationMetadata(
+        long skipCount,
+        long maxItems,
+        long count,
+        boolean hasMoreItems,
+        long totalItems,
+        String nextCursor
+    ) {
+        this(skipCount, maxItems, count, hasMoreItems, totalItems, nextCursor, null);
+    }
+
+    public PaginationMetadata(
+        long skipCount,
+        long maxItems,
+        long count,
+        boolean hasMoreItems,
+        long totalItems,
+        String nextCursor,
+        CountStrategy countStrategy
+    ) {
         this.skipCount = skipCount;
         this.maxItems = maxItems;
         this.count = count;
         this.hasMoreItems = hasMoreItems;
         this.totalItems = totalItems;
+        this.nextCursor = nextCursor;
+        this.countStrategy = countStrategy;
     }
 
     public long getSkipCount() {
@@ -56,4 +90,12 @@ public class PaginationMetadata {
     public long getTotalItems() {
         return totalItems;
     }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public CountStrategy getCountStrategy() {
+        return countStrategy;
+    }
 }
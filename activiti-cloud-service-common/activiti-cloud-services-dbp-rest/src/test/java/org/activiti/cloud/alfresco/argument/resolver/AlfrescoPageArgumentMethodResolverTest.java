@@ -16,6 +16,7 @@
 package org.activiti.cloud.alfresco.argument.resolver;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -161,4 +162,110 @@ public class AlfrescoPageArgumentMethodResolverTest {
         //then
         assertThat(resolvedPageable).isEqualTo(basePageable);
     }
+
+    @Test
+    public void resolveArgumentShouldReturnACursorPageRequestWhenCursorIsSet() throws Exception {
+        //given
+        MethodParameter methodParameter = mock(MethodParameter.class);
+        given(methodParameter.hasParameterAnnotation(CursorPagination.class)).willReturn(true);
+        ModelAndViewContainer modelAndViewContainer = mock(ModelAndViewContainer.class);
+        NativeWebRequest webRequest = mock(NativeWebRequest.class);
+        WebDataBinderFactory binderFactory = mock(WebDataBinderFactory.class);
+
+        Pageable basePageable = mock(Pageable.class);
+        given(
+            pageableHandlerMethodArgumentResolver.resolveArgument(
+                methodParameter,
+                modelAndViewContainer,
+                webRequest,
+                binderFactory
+            )
+        )
+            .willReturn(basePageable);
+        given(pageParameterParser.parseParameters(webRequest))
+            .willReturn(
+                new AlfrescoQueryParameters(
+                    new SkipCountParameter(false, 0),
+                    new MaxItemsParameter(true, 20),
+                    new CursorParameter(true, "token")
+                )
+            );
+
+        //when
+        Pageable resolvedPageable = alfrescoPageArgumentMethodResolver.resolveArgument(
+            methodParameter,
+            modelAndViewContainer,
+            webRequest,
+            binderFactory
+        );
+
+        //then
+        assertThat(resolvedPageable).isInstanceOf(CursorPageRequest.class);
+        CursorPageRequest cursorPageRequest = (CursorPageRequest) resolvedPageable;
+        assertThat(cursorPageRequest.getCursor()).isEqualTo("token");
+        assertThat(cursorPageRequest.getPageSize()).isEqualTo(20);
+        assertThat(cursorPageRequest.getOffset()).isZero();
+        assertThat(cursorPageRequest.getPageable()).isEqualTo(basePageable);
+    }
+
+    @Test
+    public void resolveArgumentShouldRejectCursorCombinedWithSkipCount() throws Exception {
+        //given
+        MethodParameter methodParameter = mock(MethodParameter.class);
+        given(methodParameter.hasParameterAnnotation(CursorPagination.class)).willReturn(true);
+        ModelAndViewContainer modelAndViewContainer = mock(ModelAndViewContainer.class);
+        NativeWebRequest webRequest = mock(NativeWebRequest.class);
+        WebDataBinderFactory binderFactory = mock(WebDataBinderFactory.class);
+
+        given(pageParameterParser.parseParameters(webRequest))
+            .willReturn(
+                new AlfrescoQueryParameters(
+                    new SkipCountParameter(true, 40L),
+                    new MaxItemsParameter(true, 20),
+                    new CursorParameter(true, "token")
+                )
+            );
+
+        //then
+        assertThatThrownBy(() ->
+                alfrescoPageArgumentMethodResolver.resolveArgument(
+                    methodParameter,
+                    modelAndViewContainer,
+                    webRequest,
+                    binderFactory
+                )
+            )
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("skipCount cannot be combined with cursor");
+    }
+
+    @Test
+    public void resolveArgumentShouldRejectCursorWhenEndpointDoesNotSupportIt() throws Exception {
+        //given
+        MethodParameter methodParameter = mock(MethodParameter.class);
+        ModelAndViewContainer modelAndViewContainer = mock(ModelAndViewContainer.class);
+        NativeWebRequest webRequest = mock(NativeWebRequest.class);
+        WebDataBinderFactory binderFactory = mock(WebDataBinderFactory.class);
+
+        given(pageParameterParser.parseParameters(webRequest))
+            .willReturn(
+                new AlfrescoQueryParameters(
+                    new SkipCountParameter(false, 0),
+                    new MaxItemsParameter(true, 20),
+                    new CursorParameter(true, "token")
+                )
+            );
+
+        //then
+        assertThatThrownBy(() ->
+                alfrescoPageArgumentMethodResolver.resolveArgument(
+                    methodParameter,
+                    modelAndViewContainer,
+                    webRequest,
+                    binderFactory
+                )
+            )
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("cursor is not supported by this endpoint, use skipCount instead");
+    }
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.alfresco.argument.resolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+class CursorPageRequestTest {
+
+    @Test
+    void nextShouldRequestThePageAfterTheNextCursor() {
+        //given
+        CursorPageRequest fetched = new CursorPageRequest("first", 10, null).withNextCursor("second");
+
+        //when
+        CursorPageRequest next = fetched.next();
+
+        //then
+        assertThat(next.getCursor()).isEqualTo("second");
+        assertThat(next.getNextCursor()).isNull();
+        assertThat(next.getPageSize()).isEqualTo(10);
+    }
+
+    @Test
+    void nextShouldThrowWhenTheNextCursorIsUnknown() {
+        //given
+        CursorPageRequest cursorPageRequest = new CursorPageRequest("first", 10, null);
+
+        //then
+        assertThrows(IllegalStateException.class, cursorPageRequest::next);
+    }
+
+    @Test
+    void withPageShouldReturnTheFirstPageForPageZero() {
+        //given
+        CursorPageRequest cursorPageRequest = new CursorPageRequest("first", 10, null);
+
+        //when
+        Pageable firstPage = cursorPageRequest.withPage(0);
+
+        //then
+        assertThat(firstPage).isInstanceOf(CursorPageRequest.class);
+        assertThat(((CursorPageRequest) firstPage).isFirstPage()).isTrue();
+    }
+
+    @Test
+    void withPageShouldFallBackToAnOffsetForOtherPages() {
+        //given
+        CursorPageRequest cursorPageRequest = new CursorPageRequest("first", 10, null);
+
+        //when
+        Pageable thirdPage = cursorPageRequest.withPage(2);
+
+        //then
+        assertThat(thirdPage).isInstanceOf(AlfrescoPageRequest.class);
+        assertThat(thirdPage.getOffset()).isEqualTo(20);
+        assertThat(thirdPage.getPageSize()).isEqualTo(10);
+    }
+}
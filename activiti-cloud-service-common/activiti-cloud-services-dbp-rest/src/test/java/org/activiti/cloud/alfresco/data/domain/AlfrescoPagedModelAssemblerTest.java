@@ -21,7 +21,9 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 
 import java.util.Collections;
+import java.util.List;
 import org.activiti.cloud.alfresco.argument.resolver.AlfrescoPageRequest;
+import org.activiti.cloud.alfresco.argument.resolver.CursorPageRequest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -29,10 +31,17 @@ import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.RepresentationModel;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.UriComponentsBuilder;
 
 @ExtendWith(MockitoExtension.class)
 public class AlfrescoPagedModelAssemblerTest {
@@ -66,7 +75,14 @@ public class AlfrescoPagedModelAssemblerTest {
 
         doReturn(basePagedModel).when(alfrescoPagedModelAssembler).toModel(page, resourceAssembler);
         ExtendedPageMetadata extendedPageMetadata = mock(ExtendedPageMetadata.class);
-        given(extendedPageMetadataConverter.toExtendedPageMetadata(alfrescoPageRequest.getOffset(), baseMetadata))
+        given(
+            extendedPageMetadataConverter.toExtendedPageMetadata(
+                alfrescoPageRequest.getOffset(),
+                baseMetadata,
+                null,
+                null
+            )
+        )
             .willReturn(extendedPageMetadata);
 
         //when
@@ -82,4 +98,122 @@ public class AlfrescoPagedModelAssemblerTest {
         assertThat(pagedCollectionModel.getContent()).containsExactly(resourceSupport);
         assertThat(pagedCollectionModel.getLinks()).contains(link);
     }
+
+    @Test
+    public void toResourceShouldExposeNextCursorOfCursorPage() {
+        //given
+        AlfrescoPagedModelAssembler<String> cursorPagedModelAssembler = new AlfrescoPagedModelAssembler<>(
+            null,
+            UriComponentsBuilder.fromUriString("http://localhost/v1/tasks?cursor=first&maxItems=2").build(),
+            new ExtendedPageMetadataConverter()
+        );
+        CursorPageRequest cursorPageRequest = new CursorPageRequest("first", 2, Pageable.ofSize(2));
+        CursorPage<String> cursorPage = new CursorPage<>(List.of("a", "b"), cursorPageRequest, "next");
+
+        //when
+        PagedModel<EntityModel<String>> pagedCollectionModel = cursorPagedModelAssembler.toModel(
+            cursorPageRequest,
+            cursorPage,
+            EntityModel::of
+        );
+
+        //then
+        ExtendedPageMetadata metadata = (ExtendedPageMetadata) pagedCollectionModel.getMetadata();
+        assertThat(metadata.getNextCursor()).isEqualTo("next");
+        assertThat(metadata.getCountStrategy()).isEqualTo(CountStrategy.HAS_MORE);
+        assertThat(cursorPage.getTotalElements()).isEqualTo(2);
+        assertThat(pagedCollectionModel.getLink(IanaLinkRelations.NEXT))
+            .map(Link::getHref)
+            .hasValueSatisfying(href -> assertThat(href).contains("cursor=next").doesNotContain("cursor=first"));
+        assertThat(pagedCollectionModel.getLink(IanaLinkRelations.LAST)).isEmpty();
+    }
+
+    @Test
+    public void toResourceShouldNotLinkNextPageOfLastCursorPage() {
+        //given
+        AlfrescoPagedModelAssembler<String> cursorPagedModelAssembler = new AlfrescoPagedModelAssembler<>(
+            null,
+            UriComponentsBuilder.fromUriString("http://localhost/v1/tasks?cursor=first&maxItems=2").build(),
+            new ExtendedPageMetadataConverter()
+        );
+        CursorPageRequest cursorPageRequest = new CursorPageRequest("first", 2, Pageable.ofSize(2));
+        CursorPage<String> cursorPage = new CursorPage<>(List.of("a"), cursorPageRequest, null);
+
+        //when
+        PagedModel<EntityModel<String>> pagedCollectionModel = cursorPagedModelAssembler.toModel(
+            cursorPageRequest,
+            cursorPage,
+            EntityModel::of
+        );
+
+        //then
+        assertThat(cursorPage.hasNext()).isFalse();
+        assertThat(pagedCollectionModel.getLink(IanaLinkRelations.NEXT)).isEmpty();
+    }
+
+    @Test
+    public void toResourceShouldOnlyExposeNextCursorWhenSearchCriteriaArePosted() {
+        //given
+        AlfrescoPagedModelAssembler<String> cursorPagedModelAssembler = new AlfrescoPagedModelAssembler<>(
+            null,
+            null,
+            new ExtendedPageMetadataConverter()
+        );
+        CursorPageRequest cursorPageRequest = new CursorPageRequest("first", 2, Pageable.ofSize(2));
+        CursorPage<String> cursorPage = new CursorPage<>(List.of("a", "b"), cursorPageRequest, "next");
+        RequestContextHolder.setRequestAttributes(
+            new ServletRequestAttributes(new MockHttpServletRequest("POST", "/v1/tasks/search"))
+        );
+
+        //when
+        PagedModel<EntityModel<String>> pagedCollectionModel;
+        try {
+            pagedCollectionModel = cursorPagedModelAssembler.toModel(cursorPageRequest, cursorPage, EntityModel::of);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        //then
+        ExtendedPageMetadata metadata = (ExtendedPageMetadata) pagedCollectionModel.getMetadata();
+        assertThat(metadata.getNextCursor()).isEqualTo("next");
+        assertThat(pagedCollectionModel.getLink(IanaLinkRelations.NEXT)).isEmpty();
+    }
+
+    @Test
+    public void toResourceShouldExposeCountStrategyOfCountedPage() {
+        //given
+        AlfrescoPageRequest alfrescoPageRequest = new AlfrescoPageRequest(0, 2, Pageable.ofSize(2));
+        CountedPage<String> countedPage = new CountedPage<>(
+            List.of("a", "b"),
+            alfrescoPageRequest,
+            1000,
+            CountStrategy.HAS_MORE
+        );
+
+        PagedModel.PageMetadata baseMetadata = new PagedModel.PageMetadata(2, 0, 1000);
+        PagedModel<RepresentationModel> basePagedModel = PagedModel.of(Collections.emptyList(), baseMetadata);
+
+        doReturn(basePagedModel).when(alfrescoPagedModelAssembler).toModel(countedPage, resourceAssembler);
+        ExtendedPageMetadata extendedPageMetadata = new ExtendedPageMetadata(
+            0,
+            2,
+            0,
+            1000,
+            500,
+            null,
+            CountStrategy.HAS_MORE
+        );
+        given(extendedPageMetadataConverter.toExtendedPageMetadata(0, baseMetadata, null, CountStrategy.HAS_MORE))
+            .willReturn(extendedPageMetadata);
+
+        //when
+        PagedModel<RepresentationModel<?>> pagedCollectionModel = alfrescoPagedModelAssembler.toModel(
+            alfrescoPageRequest,
+            countedPage,
+            resourceAssembler
+        );
+
+        //then
+        assertThat(pagedCollectionModel.getMetadata()).isEqualTo(extendedPageMetadata);
+    }
 }